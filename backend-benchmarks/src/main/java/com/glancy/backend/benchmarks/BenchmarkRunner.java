@@ -0,0 +1,46 @@
+package com.glancy.backend.benchmarks;
+
+import java.io.File;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Accepts the regular JMH command line and, unless {@code -rf}/{@code -rff}
+ * are given, writes JSON results to {@code target/jmh/<commit>.json} so that runs from different commits can be
+ * compared side by side (for example with {@code jmh.morethan.me}). The commit id is taken from
+ * {@code -Dbenchmark.commit}, then the {@code GIT_COMMIT} environment variable, and falls back to {@code local}.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(cli);
+        if (cli.getResultFormat().hasValue() || cli.getResult().hasValue()) {
+            new Runner(builder.build()).run();
+            return;
+        }
+        File output = new File("target/jmh", resolveCommit() + ".json");
+        File directory = output.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException("Cannot create result directory " + directory);
+        }
+        builder.resultFormat(ResultFormatType.JSON).result(output.getPath());
+        new Runner(builder.build()).run();
+        System.out.println("JMH results written to " + output.getAbsolutePath());
+    }
+
+    private static String resolveCommit() {
+        String commit = System.getProperty("benchmark.commit");
+        if (commit == null || commit.isBlank()) {
+            commit = System.getenv("GIT_COMMIT");
+        }
+        return commit == null || commit.isBlank() ? "local" : commit.trim();
+    }
+}
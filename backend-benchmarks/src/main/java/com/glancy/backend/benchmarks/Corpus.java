@@ -0,0 +1,29 @@
+package com.glancy.backend.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/** Loads recorded model outputs and prompt files bundled on the benchmark classpath. */
+public final class Corpus {
+
+    private Corpus() {}
+
+    /** Reads {@code corpus/<name>} from the benchmark module. */
+    public static String sample(String name) {
+        return read("corpus/" + name);
+    }
+
+    /** Reads a classpath resource as UTF-8, failing the benchmark setup when it is missing. */
+    public static String read(String path) {
+        try (InputStream in = Corpus.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing benchmark resource: " + path);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read benchmark resource: " + path, ex);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.glancy.backend.llm.parser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glancy.backend.benchmarks.Corpus;
+import com.glancy.backend.entity.Language;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 背景： - 每次模型返回都会经过 {@link JacksonWordResponseParser}，JSON 解析失败后再回退到 Markdown 抽取，是检索链路上的纯 CPU 热点。 目的： -
+ * 以录制的真实模型输出（Markdown、JSON、带围栏的 JSON）为语料，分别度量完整解析与 Markdown 抽取的耗时与分配。 关键决策与取舍： -
+ * 基准置于与被测类相同的包内，以便直接调用包级可见的 {@link MarkdownWordExtractor}，无需为基准放宽生产代码可见性。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordResponseParserBenchmark {
+
+    @Param({
+        "english_to_chinese_run.md",
+        "english_to_english_illuminate.md",
+        "chinese_to_chinese_guangmang.md",
+        "json_glow.json",
+        "fenced_json_glow.txt"
+    })
+    public String sample;
+
+    private JacksonWordResponseParser parser;
+    private String content;
+    private String term;
+    private Language language;
+
+    @Setup
+    public void setUp() {
+        parser = new JacksonWordResponseParser(new ObjectMapper());
+        content = Corpus.sample(sample);
+        String stem = sample.substring(0, sample.lastIndexOf('.'));
+        term = stem.substring(stem.lastIndexOf('_') + 1);
+        language = sample.startsWith("chinese_") ? Language.CHINESE : Language.ENGLISH;
+    }
+
+    @Benchmark
+    public ParsedWord parse() {
+        return parser.parse(content, term, language);
+    }
+
+    @Benchmark
+    public MarkdownWordSnapshot extractMarkdown() {
+        return MarkdownWordExtractor.extract(content, term);
+    }
+}
@@ -0,0 +1,39 @@
+package com.glancy.backend.llm.search;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** 度量每次查词入口处 {@link SearchContentManagerImpl#normalize(String)} 对典型输入（纯 ASCII、全角与标点混排、中文）的开销。 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchContentNormalizeBenchmark {
+
+    @Param({"run", "  Serendipity  ", "Ｒｕｎ　ｉｎｔｏ，Trouble!!", "光芒 万丈。"})
+    public String input;
+
+    private SearchContentManagerImpl manager;
+
+    @Setup
+    public void setUp() {
+        manager = new SearchContentManagerImpl();
+    }
+
+    @Benchmark
+    public String normalize() {
+        return manager.normalize(input);
+    }
+}
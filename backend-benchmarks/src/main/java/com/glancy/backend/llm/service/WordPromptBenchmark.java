@@ -0,0 +1,79 @@
+package com.glancy.backend.llm.service;
+
+import com.glancy.backend.benchmarks.Corpus;
+import com.glancy.backend.dto.WordPersonalizationContext;
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
+import com.glancy.backend.llm.model.ChatMessage;
+import com.glancy.backend.llm.prompt.PromptTemplateRenderer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 背景： - 每次未命中缓存的查词都要渲染若干模板片段并装配消息列表，模板渲染基于正则替换。 目的： - 分别度量单个模板渲染与完整消息装配（含/不含个性化信号）的耗时与分配，作为
+ * Prompt 相关改动的回归基线。 关键决策与取舍： - 系统提示词取自生产类路径下的 {@code prompts/english_to_chinese.txt}，与线上负载一致。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordPromptBenchmark {
+
+    private PromptTemplateRenderer renderer;
+    private WordPromptAssembler assembler;
+    private String systemPrompt;
+    private Map<String, String> personaContext;
+    private WordPersonalizationContext personalization;
+    private WordPersonalizationContext anonymous;
+
+    @Setup
+    public void setUp() {
+        renderer = new PromptTemplateRenderer();
+        assembler = new WordPromptAssembler(renderer, new WordEntryProfileResolver(renderer));
+        systemPrompt = Corpus.read("prompts/english_to_chinese.txt");
+        personaContext = Map.of(
+                "personaDescriptor", "一名准备雅思考试的大学生",
+                "toneClause", "，请保持耐心鼓励的语气",
+                "goalClause", "，学习目标是提升学术写作",
+                "interestsClause", "，关注领域包含科技、心理学");
+        personalization = new WordPersonalizationContext(
+                "一名准备雅思考试的大学生",
+                true,
+                "大学生",
+                "提升学术写作",
+                "耐心鼓励",
+                List.of("科技", "心理学"),
+                List.of("illuminate", "serendipity", "glow"));
+        anonymous = new WordPersonalizationContext(null, false, null, null, null, List.of(), List.of());
+    }
+
+    @Benchmark
+    public String renderPersona() {
+        return renderer.render(WordPromptTemplateConstants.PERSONA_BASE, personaContext);
+    }
+
+    @Benchmark
+    public List<ChatMessage> composePersonalized() {
+        return assembler.composeMessages(
+                systemPrompt, "run", personalization, Language.ENGLISH, DictionaryFlavor.BILINGUAL);
+    }
+
+    @Benchmark
+    public List<ChatMessage> composeAnonymous() {
+        return assembler.composeMessages(
+                systemPrompt, "run", anonymous, Language.ENGLISH, DictionaryFlavor.MONOLINGUAL_ENGLISH);
+    }
+}
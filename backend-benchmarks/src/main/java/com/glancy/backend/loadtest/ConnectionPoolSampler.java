@@ -0,0 +1,163 @@
+package com.glancy.backend.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Polls the backend's Prometheus endpoint for the Hikari pool gauges. A sample counts as saturated when requests are
+ * waiting for a connection or every connection is in use; requests whose lifetime overlaps a saturated sample are
+ * attributed to it per endpoint. The actuator only answers the ADMIN account, so the endpoint is called with the
+ * configured Basic credentials; if it fails anyway, sampling stops and the report says why.
+ */
+final class ConnectionPoolSampler {
+
+    private final GlancyApi api;
+    private final String metricsUrl;
+    private final String user;
+    private final String password;
+    private final AtomicBoolean warned = new AtomicBoolean();
+
+    private volatile long lastSaturatedNanos = Long.MIN_VALUE;
+    private volatile boolean available = true;
+    private volatile String unavailableReason;
+    private ScheduledFuture<?> task;
+
+    private long samples;
+    private long saturatedSamples;
+    private double maxActive;
+    private double maxPending;
+    private double maxConnections;
+    private double timeoutsAtStart = Double.NaN;
+    private double timeoutsLatest;
+
+    ConnectionPoolSampler(GlancyApi api, String metricsUrl, String user, String password) {
+        this.api = api;
+        this.metricsUrl = metricsUrl;
+        this.user = user;
+        this.password = password;
+    }
+
+    void start(ScheduledExecutorService scheduler, Duration interval) {
+        long millis = Math.max(50, interval.toMillis());
+        task = scheduler.scheduleAtFixedRate(this::poll, 0, millis, TimeUnit.MILLISECONDS);
+    }
+
+    void stop() {
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    /** Clears the aggregates so that only the measured window is reported. */
+    synchronized void resetWindow() {
+        samples = 0;
+        saturatedSamples = 0;
+        maxActive = 0;
+        maxPending = 0;
+        timeoutsAtStart = Double.NaN;
+    }
+
+    boolean saturatedSince(long startNanos) {
+        return lastSaturatedNanos >= startNanos;
+    }
+
+    synchronized Snapshot snapshot() {
+        double timeouts = Double.isNaN(timeoutsAtStart) ? 0 : timeoutsLatest - timeoutsAtStart;
+        return new Snapshot(
+                available,
+                unavailableReason,
+                samples,
+                saturatedSamples,
+                maxActive,
+                maxPending,
+                maxConnections,
+                timeouts);
+    }
+
+    private void poll() {
+        if (!available) {
+            return;
+        }
+        api.text(metricsUrl, user, password)
+                .timeout(Duration.ofSeconds(2))
+                .subscribe(this::accept, this::disableOnFirstFailure);
+    }
+
+    private void disableOnFirstFailure(Throwable error) {
+        if (warned.compareAndSet(false, true)) {
+            unavailableReason = describe(error);
+            System.err.printf(
+                    "WARNING: connection pool metrics unavailable at %s (%s); pool saturation will not be reported%n",
+                    metricsUrl, unavailableReason);
+        }
+        available = false;
+    }
+
+    /** Anonymous actuator calls are answered with 404 rather than 401, so both point at missing credentials. */
+    private String describe(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            if (status == 401 || status == 403 || status == 404) {
+                return "HTTP " + status + ", "
+                        + (user == null || user.isBlank()
+                                ? "pass --metrics-user and --metrics-password of the ADMIN account"
+                                : "check --metrics-user and --metrics-password");
+            }
+            return "HTTP " + status;
+        }
+        return String.valueOf(error.getMessage());
+    }
+
+    private synchronized void accept(String exposition) {
+        double active = 0;
+        double pending = 0;
+        double max = 0;
+        double timeouts = 0;
+        for (String line : exposition.split("\n")) {
+            if (line.startsWith("hikaricp_connections_active")) {
+                active += value(line);
+            } else if (line.startsWith("hikaricp_connections_pending")) {
+                pending += value(line);
+            } else if (line.startsWith("hikaricp_connections_max")) {
+                max += value(line);
+            } else if (line.startsWith("hikaricp_connections_timeout_total")) {
+                timeouts += value(line);
+            }
+        }
+        samples++;
+        maxActive = Math.max(maxActive, active);
+        maxPending = Math.max(maxPending, pending);
+        maxConnections = max;
+        if (Double.isNaN(timeoutsAtStart)) {
+            timeoutsAtStart = timeouts;
+        }
+        timeoutsLatest = timeouts;
+        if (pending > 0 || (max > 0 && active >= max)) {
+            saturatedSamples++;
+            lastSaturatedNanos = System.nanoTime();
+        }
+    }
+
+    private static double value(String line) {
+        return Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1).trim());
+    }
+
+    record Snapshot(
+            boolean available,
+            String unavailableReason,
+            long samples,
+            long saturatedSamples,
+            double maxActive,
+            double maxPending,
+            double maxConnections,
+            double connectionTimeouts) {
+
+        double saturatedShare() {
+            return samples == 0 ? 0 : (double) saturatedSamples / samples;
+        }
+    }
+}
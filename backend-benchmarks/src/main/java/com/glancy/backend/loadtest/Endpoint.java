@@ -0,0 +1,31 @@
+package com.glancy.backend.loadtest;
+
+import java.time.Duration;
+
+/** Endpoints exercised by the load test, with the default p99 latency objective each one is held to. */
+enum Endpoint {
+    /** Lookups of terms warmed before measurement, answered from stored words. */
+    LOOKUP_WARM("lookup-warm", Duration.ofMillis(500)),
+    /** Lookups of never-seen terms, each one a full model generation. */
+    LOOKUP_COLD("lookup-cold", Duration.ofSeconds(60)),
+    TTS_WORD("tts-word", Duration.ofSeconds(2)),
+    TTS_SENTENCE("tts-sentence", Duration.ofSeconds(3)),
+    HISTORY("history", Duration.ofMillis(300)),
+    LOGIN("login", Duration.ofSeconds(1));
+
+    private final String key;
+    private final Duration defaultP99;
+
+    Endpoint(String key, Duration defaultP99) {
+        this.key = key;
+        this.defaultP99 = defaultP99;
+    }
+
+    String key() {
+        return key;
+    }
+
+    Duration defaultP99() {
+        return defaultP99;
+    }
+}
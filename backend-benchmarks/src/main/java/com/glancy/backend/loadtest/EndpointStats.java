@@ -0,0 +1,92 @@
+package com.glancy.backend.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome counters and a latency histogram for one endpoint. Latencies are measured from the request's scheduled
+ * start, not from when it was actually sent, so a stalled client or server cannot hide queueing delay (no coordinated
+ * omission).
+ */
+final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder transportErrors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder duringPoolSaturation = new LongAdder();
+
+    void record(long latencyNanos, Outcome outcome, boolean overlappedPoolSaturation) {
+        latencies.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        switch (outcome) {
+            case SUCCESS -> succeeded.increment();
+            case CLIENT_ERROR -> clientErrors.increment();
+            case SERVER_ERROR -> serverErrors.increment();
+            case TIMEOUT -> timeouts.increment();
+            case TRANSPORT_ERROR -> transportErrors.increment();
+        }
+        if (overlappedPoolSaturation) {
+            duringPoolSaturation.increment();
+        }
+    }
+
+    /** A request that was never sent because the generator already had {@code maxInFlight} requests open. */
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    Histogram latencies() {
+        return latencies;
+    }
+
+    long completed() {
+        return succeeded.sum() + errors();
+    }
+
+    long succeeded() {
+        return succeeded.sum();
+    }
+
+    long clientErrors() {
+        return clientErrors.sum();
+    }
+
+    long serverErrors() {
+        return serverErrors.sum();
+    }
+
+    long timeouts() {
+        return timeouts.sum();
+    }
+
+    long transportErrors() {
+        return transportErrors.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    long errors() {
+        return clientErrors.sum() + serverErrors.sum() + timeouts.sum() + transportErrors.sum();
+    }
+
+    long duringPoolSaturation() {
+        return duringPoolSaturation.sum();
+    }
+
+    enum Outcome {
+        SUCCESS,
+        CLIENT_ERROR,
+        SERVER_ERROR,
+        TIMEOUT,
+        TRANSPORT_ERROR
+    }
+}
@@ -0,0 +1,118 @@
+package com.glancy.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.JdkClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Thin WebClient wrapper over the endpoints the load test drives. Measured calls consume the whole body and resolve to
+ * the HTTP status, so latency includes transferring large payloads such as TTS audio.
+ */
+final class GlancyApi {
+
+    static final String TOKEN_HEADER = "X-USER-TOKEN";
+
+    private static final int MAX_IN_MEMORY_BYTES = 16 * 1024 * 1024;
+
+    private final WebClient client;
+
+    GlancyApi(String baseUrl) {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.client = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new JdkClientHttpConnector(http))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_BYTES))
+                .build();
+    }
+
+    Mono<Integer> lookup(String token, String term) {
+        return client.get()
+                .uri(uri -> uri.path("/api/words")
+                        .queryParam("term", term)
+                        .queryParam("language", "ENGLISH")
+                        .queryParam("flavor", "BILINGUAL")
+                        .build())
+                .header(TOKEN_HEADER, token)
+                .exchangeToMono(response -> response.toBodilessEntity())
+                .map(entity -> entity.getStatusCode().value());
+    }
+
+    Mono<Integer> synthesize(String token, String path, String text, String language, String voice) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("text", text);
+        body.put("lang", language);
+        if (voice != null) {
+            body.put("voice", voice);
+        }
+        body.put("shortcut", false);
+        return client.post()
+                .uri(path)
+                .header(TOKEN_HEADER, token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchangeToMono(response -> response.toBodilessEntity())
+                .map(entity -> entity.getStatusCode().value());
+    }
+
+    Mono<Integer> history(String token) {
+        return client.get()
+                .uri(uri -> uri.path("/api/search-records/user")
+                        .queryParam("page", 0)
+                        .queryParam("size", 20)
+                        .build())
+                .header(TOKEN_HEADER, token)
+                .exchangeToMono(response -> response.toBodilessEntity())
+                .map(entity -> entity.getStatusCode().value());
+    }
+
+    Mono<Integer> loginStatus(String account, String password, String device) {
+        return client.post()
+                .uri("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("account", account, "password", password, "deviceInfo", device))
+                .exchangeToMono(response -> response.toBodilessEntity())
+                .map(entity -> entity.getStatusCode().value());
+    }
+
+    /** Logs in and returns the session token, failing on any non-2xx answer. */
+    Mono<String> login(String account, String password) {
+        return client.post()
+                .uri("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("account", account, "password", password, "deviceInfo", "load-test"))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(body -> body.path("token").asText());
+    }
+
+    /** Registers the account; an already existing account is not an error. */
+    Mono<Void> register(String username, String password, String email, String phone) {
+        return client.post()
+                .uri("/api/users/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("username", username, "password", password, "email", email, "phone", phone))
+                .exchangeToMono(response -> response.releaseBody());
+    }
+
+    /** Fetches a plain-text resource, authenticating with HTTP Basic when {@code user} is not blank. */
+    Mono<String> text(String url, String user, String password) {
+        return client.get()
+                .uri(url)
+                .headers(headers -> {
+                    if (user != null && !user.isBlank()) {
+                        headers.setBasicAuth(user, password == null ? "" : password);
+                    }
+                })
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+}
@@ -0,0 +1,162 @@
+package com.glancy.backend.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the load test, given as {@code --name=value}. Durations use ISO-8601 ({@code PT2M}) or a
+ * plain number with {@code ms}/{@code s}/{@code m} suffix. Unknown options are rejected so that typos do not silently
+ * fall back to defaults.
+ */
+record LoadTestOptions(
+        String baseUrl,
+        String metricsUrl,
+        String metricsUser,
+        String metricsPassword,
+        Duration warmup,
+        Duration duration,
+        double rate,
+        int maxInFlight,
+        Duration requestTimeout,
+        int users,
+        String password,
+        Map<String, Integer> mix,
+        int vocabulary,
+        double zipfExponent,
+        double cacheHitRatio,
+        int loginBurstSize,
+        Duration loginBurstInterval,
+        Duration poolSampleInterval,
+        Map<Endpoint, Duration> p99Objectives,
+        double maxErrorRate,
+        String ttsLanguage,
+        String ttsVoice,
+        long seed,
+        String commit) {
+
+    private static final Map<String, String> DEFAULTS = defaults();
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException(
+                        "Unknown option --" + name + "; known options: " + DEFAULTS.keySet());
+            }
+            values.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+        String baseUrl = stripTrailingSlash(values.get("base-url"));
+        String metricsUrl = values.get("metrics-url").isBlank()
+                ? baseUrl + "/actuator/prometheus"
+                : values.get("metrics-url");
+        Map<Endpoint, Duration> objectives = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            objectives.put(endpoint, duration(values.get("slo." + endpoint.key() + ".p99")));
+        }
+        return new LoadTestOptions(
+                baseUrl,
+                metricsUrl,
+                values.get("metrics-user"),
+                values.get("metrics-password"),
+                duration(values.get("warmup")),
+                duration(values.get("duration")),
+                Double.parseDouble(values.get("rate")),
+                Integer.parseInt(values.get("max-in-flight")),
+                duration(values.get("request-timeout")),
+                Integer.parseInt(values.get("users")),
+                values.get("password"),
+                parseMix(values.get("mix")),
+                Integer.parseInt(values.get("vocabulary")),
+                Double.parseDouble(values.get("zipf-exponent")),
+                Double.parseDouble(values.get("cache-hit-ratio")),
+                Integer.parseInt(values.get("login-burst-size")),
+                duration(values.get("login-burst-interval")),
+                duration(values.get("pool-sample-interval")),
+                objectives,
+                Double.parseDouble(values.get("slo.error-rate")),
+                values.get("tts-language"),
+                values.get("tts-voice").isBlank() ? null : values.get("tts-voice"),
+                Long.parseLong(values.get("seed")),
+                resolveCommit(values.get("commit")));
+    }
+
+    private static Map<String, String> defaults() {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("base-url", "http://localhost:8080");
+        defaults.put("metrics-url", "");
+        defaults.put("metrics-user", "");
+        defaults.put("metrics-password", "");
+        defaults.put("warmup", "PT30S");
+        defaults.put("duration", "PT2M");
+        defaults.put("rate", "50");
+        defaults.put("max-in-flight", "2000");
+        defaults.put("request-timeout", "PT120S");
+        defaults.put("users", "50");
+        defaults.put("password", "LoadTest#2024");
+        defaults.put("mix", "lookup=60,tts-word=15,tts-sentence=5,history=20");
+        defaults.put("vocabulary", "200");
+        defaults.put("zipf-exponent", "1.0");
+        defaults.put("cache-hit-ratio", "0.8");
+        defaults.put("login-burst-size", "50");
+        defaults.put("login-burst-interval", "PT30S");
+        defaults.put("pool-sample-interval", "PT0.5S");
+        for (Endpoint endpoint : Endpoint.values()) {
+            defaults.put("slo." + endpoint.key() + ".p99", endpoint.defaultP99().toString());
+        }
+        defaults.put("slo.error-rate", "0.01");
+        defaults.put("tts-language", "en-US");
+        defaults.put("tts-voice", "");
+        defaults.put("seed", "42");
+        defaults.put("commit", "");
+        return defaults;
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2 || !TrafficMix.KINDS.contains(pair[0])) {
+                throw new IllegalArgumentException(
+                        "Invalid mix entry '" + part + "'; expected one of " + TrafficMix.KINDS);
+            }
+            mix.put(pair[0], Integer.parseInt(pair[1]));
+        }
+        return mix;
+    }
+
+    static Duration duration(String value) {
+        String trimmed = value.trim();
+        if (trimmed.startsWith("P") || trimmed.startsWith("p")) {
+            return Duration.parse(trimmed.toUpperCase());
+        }
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        if (trimmed.endsWith("s")) {
+            return Duration.ofMillis(Math.round(Double.parseDouble(trimmed.substring(0, trimmed.length() - 1)) * 1000));
+        }
+        if (trimmed.endsWith("m")) {
+            return Duration.ofSeconds(Math.round(Double.parseDouble(trimmed.substring(0, trimmed.length() - 1)) * 60));
+        }
+        throw new IllegalArgumentException("Unsupported duration '" + value + "'");
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private static String resolveCommit(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured.trim();
+        }
+        String env = System.getenv("GIT_COMMIT");
+        return env == null || env.isBlank() ? "local" : env.trim();
+    }
+}
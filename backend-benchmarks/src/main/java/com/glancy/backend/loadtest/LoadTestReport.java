@@ -0,0 +1,178 @@
+package com.glancy.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Summary of the measured window: throughput, latency percentiles, error rate and pool-saturation overlap per
+ * endpoint, checked against the configured objectives. Printed as a table and written as JSON named after the commit
+ * so that runs of consecutive releases can be compared.
+ */
+final class LoadTestReport {
+
+    private final LoadTestOptions options;
+    private final ConnectionPoolSampler.Snapshot pool;
+    private final Duration window;
+    private final List<EndpointSummary> endpoints = new ArrayList<>();
+    private final List<String> violations = new ArrayList<>();
+
+    LoadTestReport(
+            LoadTestOptions options,
+            Map<Endpoint, EndpointStats> stats,
+            ConnectionPoolSampler.Snapshot pool,
+            Duration window) {
+        this.options = options;
+        this.pool = pool;
+        this.window = window;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointSummary summary = summarize(entry.getKey(), entry.getValue());
+            if (summary.requests() == 0) {
+                continue;
+            }
+            endpoints.add(summary);
+            if (!summary.p99Met()) {
+                violations.add(String.format(
+                        "%s p99 %.1f ms exceeds %d ms", summary.endpoint(), summary.p99Ms(), summary.p99ObjectiveMs()));
+            }
+            if (summary.errorRate() > options.maxErrorRate()) {
+                violations.add(String.format(
+                        "%s error rate %.2f%% exceeds %.2f%%",
+                        summary.endpoint(), summary.errorRate() * 100, options.maxErrorRate() * 100));
+            }
+        }
+    }
+
+    List<String> violations() {
+        return violations;
+    }
+
+    void print(PrintStream out) {
+        out.printf(
+                "%n%-13s %8s %8s %9s %9s %9s %9s %9s %7s %6s  %s%n",
+                "endpoint", "requests", "rps", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms", "errors", "pool",
+                "p99 SLO");
+        for (EndpointSummary summary : endpoints) {
+            out.printf(
+                    "%-13s %8d %8.1f %9.1f %9.1f %9.1f %9.1f %9.1f %6.2f%% %5.1f%%  %s (%d ms)%n",
+                    summary.endpoint(),
+                    summary.requests(),
+                    summary.throughput(),
+                    summary.p50Ms(),
+                    summary.p95Ms(),
+                    summary.p99Ms(),
+                    summary.p999Ms(),
+                    summary.maxMs(),
+                    summary.errorRate() * 100,
+                    summary.poolSaturatedShare() * 100,
+                    summary.p99Met() ? "pass" : "FAIL",
+                    summary.p99ObjectiveMs());
+        }
+        if (pool.available()) {
+            out.printf(
+                    "%nConnection pool: max active %.0f/%.0f, max pending %.0f, saturated in %.1f%% of %d samples, "
+                            + "%.0f connection timeouts%n",
+                    pool.maxActive(),
+                    pool.maxConnections(),
+                    pool.maxPending(),
+                    pool.saturatedShare() * 100,
+                    pool.samples(),
+                    pool.connectionTimeouts());
+        } else {
+            out.printf(
+                    "%nWARNING: connection pool saturation was NOT measured: metrics endpoint %s unavailable (%s)%n",
+                    options.metricsUrl(), pool.unavailableReason());
+        }
+        if (violations.isEmpty()) {
+            out.println("All objectives met");
+        } else {
+            violations.forEach(violation -> out.println("SLO violation: " + violation));
+        }
+    }
+
+    /** Writes the report to {@code <directory>/<commit>.json} and returns the file. */
+    Path write(Path directory) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("commit", options.commit());
+        document.put("finishedAt", Instant.now().toString());
+        document.put("baseUrl", options.baseUrl());
+        document.put("offeredRate", options.rate());
+        document.put("windowSeconds", window.toSeconds());
+        document.put("mix", options.mix());
+        document.put("cacheHitRatio", options.cacheHitRatio());
+        document.put("endpoints", endpoints);
+        document.put("pool", pool);
+        document.put("violations", violations);
+        Path file = directory.resolve(options.commit() + ".json");
+        try {
+            Files.createDirectories(directory);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), document);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write load test report " + file, ex);
+        }
+        return file;
+    }
+
+    private EndpointSummary summarize(Endpoint endpoint, EndpointStats stats) {
+        Histogram latencies = stats.latencies();
+        long completed = stats.completed();
+        long requests = completed + stats.dropped();
+        long objective = options.p99Objectives().get(endpoint).toMillis();
+        double p99 = millis(latencies.getValueAtPercentile(99));
+        return new EndpointSummary(
+                endpoint.key(),
+                requests,
+                completed / Math.max(1.0, window.toMillis() / 1000.0),
+                millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(95)),
+                p99,
+                millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()),
+                stats.succeeded(),
+                stats.clientErrors(),
+                stats.serverErrors(),
+                stats.timeouts(),
+                stats.transportErrors(),
+                stats.dropped(),
+                requests == 0 ? 0 : (double) (stats.errors() + stats.dropped()) / requests,
+                completed == 0 ? 0 : (double) stats.duringPoolSaturation() / completed,
+                objective,
+                completed == 0 || p99 <= objective);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /** One row of the report; record components become the JSON fields. */
+    record EndpointSummary(
+            String endpoint,
+            long requests,
+            double throughput,
+            double p50Ms,
+            double p95Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs,
+            long succeeded,
+            long clientErrors,
+            long serverErrors,
+            long timeouts,
+            long transportErrors,
+            long dropped,
+            double errorRate,
+            double poolSaturatedShare,
+            long p99ObjectiveMs,
+            boolean p99Met) {}
+}
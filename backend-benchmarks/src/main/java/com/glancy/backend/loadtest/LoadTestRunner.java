@@ -0,0 +1,327 @@
+package com.glancy.backend.loadtest;
+
+import com.glancy.backend.benchmarks.Corpus;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Open-loop load generator for a running backend, usually started with the {@code simulator} profile so that model
+ * and TTS calls hit local stand-ins.
+ *
+ * <p>Requests are scheduled at a fixed arrival rate regardless of how fast the server answers, and latency is taken
+ * from the scheduled start, so overload shows up as latency instead of silently lowering the offered load. The run
+ * has three phases: account setup and vocabulary warm-up (every warm term is looked up once), a warm-up window whose
+ * results are discarded, and the measured window. Login bursts fire on their own schedule on top of the mix. The
+ * process exits with status 1 when a latency or error-rate objective is missed, so it can gate a release.
+ *
+ * <pre>
+ * java -cp backend-benchmarks/target/benchmarks.jar com.glancy.backend.loadtest.LoadTestRunner \
+ *     --base-url=http://localhost:8080 --rate=100 --duration=PT5M --cache-hit-ratio=0.8
+ * </pre>
+ */
+public final class LoadTestRunner {
+
+    private static final String[] SENTENCES = {
+        "The children ran across the field to greet their grandfather.",
+        "Her lecture illuminated several aspects of medieval trade.",
+        "The embers glowed softly in the fireplace long after midnight.",
+        "She found the book in a small shop by pure serendipity.",
+        "Leave the engine running while I check the tyres.",
+        "The lantern cast long shadows on the walls of the cave."
+    };
+    private static final int WARM_UP_CONCURRENCY = 64;
+    private static final int SETUP_CONCURRENCY = 8;
+
+    private final LoadTestOptions options;
+    private final GlancyApi api;
+    private final SplittableRandom random;
+    private final SplittableRandom burstRandom;
+    private final Semaphore inFlight;
+    private final TrafficMix mix;
+    private final ConnectionPoolSampler pool;
+    private final String coldPrefix;
+    private final AtomicLong coldCounter = new AtomicLong();
+    private final AtomicLong loginCounter = new AtomicLong();
+
+    private volatile Map<Endpoint, EndpointStats> stats = newStats();
+    private List<Account> accounts;
+    private List<String> burstAccounts;
+    private List<String> vocabulary;
+    private ZipfSampler zipf;
+    private long issued;
+
+    LoadTestRunner(LoadTestOptions options) {
+        this.options = options;
+        this.api = new GlancyApi(options.baseUrl());
+        this.random = new SplittableRandom(options.seed());
+        this.burstRandom = random.split();
+        this.inFlight = new Semaphore(options.maxInFlight());
+        this.mix = new TrafficMix(options.mix(), options.cacheHitRatio());
+        this.pool = new ConnectionPoolSampler(
+                api, options.metricsUrl(), options.metricsUser(), options.metricsPassword());
+        this.coldPrefix = "zq" + letters(System.currentTimeMillis() / 1000);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        System.exit(new LoadTestRunner(options).run());
+    }
+
+    int run() throws InterruptedException {
+        accounts = prepareAccounts();
+        burstAccounts = registerBurstAccounts();
+        vocabulary = loadVocabulary(options.vocabulary());
+        zipf = new ZipfSampler(vocabulary.size(), options.zipfExponent());
+        warmVocabulary();
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "load-test-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.start(scheduler, options.poolSampleInterval());
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        ScheduledFuture<?> ticker =
+                scheduler.scheduleAtFixedRate(() -> issueDue(start, end), 0, 5, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> bursts = scheduleLoginBursts(scheduler);
+        scheduler.schedule(this::beginMeasurement, options.warmup().toNanos(), TimeUnit.NANOSECONDS);
+        System.out.printf(
+                "Offering %.1f req/s for %s (+%s warm-up) against %s%n",
+                options.rate(), options.duration(), options.warmup(), options.baseUrl());
+
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, end - System.nanoTime()));
+        ticker.cancel(false);
+        if (bursts != null) {
+            bursts.cancel(false);
+        }
+        drain();
+        pool.stop();
+        scheduler.shutdownNow();
+
+        LoadTestReport report = new LoadTestReport(options, stats, pool.snapshot(), options.duration());
+        report.print(System.out);
+        Path output = report.write(Path.of("target", "loadtest"));
+        System.out.println("Load test report written to " + output.toAbsolutePath());
+        return report.violations().isEmpty() ? 0 : 1;
+    }
+
+    private void beginMeasurement() {
+        stats = newStats();
+        pool.resetWindow();
+        System.out.println("Warm-up window finished; measuring");
+    }
+
+    /** Runs on the single ticker thread, so {@link #issued} and {@link #random} need no synchronisation. */
+    private void issueDue(long start, long end) {
+        long now = System.nanoTime();
+        long due = (long) ((now - start) / 1_000_000_000.0 * options.rate());
+        while (issued < due) {
+            long intended = start + (long) (issued * 1_000_000_000.0 / options.rate());
+            if (intended >= end) {
+                return;
+            }
+            issued++;
+            Endpoint endpoint = mix.next(random);
+            issue(endpoint, intended, request(endpoint, random));
+        }
+    }
+
+    private ScheduledFuture<?> scheduleLoginBursts(ScheduledExecutorService scheduler) {
+        if (options.loginBurstSize() <= 0 || options.loginBurstInterval().isZero()) {
+            return null;
+        }
+        long interval = options.loginBurstInterval().toNanos();
+        return scheduler.scheduleAtFixedRate(
+                () -> {
+                    long intended = System.nanoTime();
+                    for (int i = 0; i < options.loginBurstSize(); i++) {
+                        issue(Endpoint.LOGIN, intended, request(Endpoint.LOGIN, burstRandom));
+                    }
+                },
+                interval,
+                interval,
+                TimeUnit.NANOSECONDS);
+    }
+
+    private Mono<Integer> request(Endpoint endpoint, SplittableRandom random) {
+        Account account = accounts.get(random.nextInt(accounts.size()));
+        return switch (endpoint) {
+            case LOOKUP_WARM -> api.lookup(account.token(), vocabulary.get(zipf.sample(random)));
+            case LOOKUP_COLD -> api.lookup(account.token(), coldPrefix + letters(coldCounter.getAndIncrement()));
+            case TTS_WORD -> api.synthesize(
+                    account.token(),
+                    "/api/tts/word",
+                    vocabulary.get(zipf.sample(random)),
+                    options.ttsLanguage(),
+                    options.ttsVoice());
+            case TTS_SENTENCE -> api.synthesize(
+                    account.token(),
+                    "/api/tts/sentence",
+                    SENTENCES[random.nextInt(SENTENCES.length)],
+                    options.ttsLanguage(),
+                    options.ttsVoice());
+            case HISTORY -> api.history(account.token());
+            case LOGIN -> api.loginStatus(
+                    burstAccounts.get(random.nextInt(burstAccounts.size())),
+                    options.password(),
+                    "load-test-" + loginCounter.getAndIncrement());
+        };
+    }
+
+    private void issue(Endpoint endpoint, long intendedNanos, Mono<Integer> call) {
+        EndpointStats target = stats.get(endpoint);
+        if (!inFlight.tryAcquire()) {
+            target.recordDropped();
+            return;
+        }
+        call.timeout(options.requestTimeout())
+                .doFinally(signal -> inFlight.release())
+                .subscribe(
+                        status -> complete(target, intendedNanos, outcome(status)),
+                        error -> complete(target, intendedNanos, outcome(error)));
+    }
+
+    private void complete(EndpointStats target, long intendedNanos, EndpointStats.Outcome outcome) {
+        target.record(System.nanoTime() - intendedNanos, outcome, pool.saturatedSince(intendedNanos));
+    }
+
+    private void drain() throws InterruptedException {
+        int permits = options.maxInFlight();
+        if (inFlight.tryAcquire(permits, options.requestTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            inFlight.release(permits);
+        } else {
+            System.err.printf(
+                    "%d requests still open after %s%n",
+                    permits - inFlight.availablePermits(), options.requestTimeout());
+        }
+    }
+
+    private List<Account> prepareAccounts() {
+        List<Account> prepared = Flux.range(0, options.users())
+                .flatMap(
+                        index -> {
+                            String username = "lt_user_" + index;
+                            return register(username, String.format("139%08d", index))
+                                    .then(api.login(username, options.password()))
+                                    .map(token -> new Account(username, token))
+                                    .onErrorResume(error -> {
+                                        System.err.printf("Could not log in %s: %s%n", username, error.getMessage());
+                                        return Mono.empty();
+                                    });
+                        },
+                        SETUP_CONCURRENCY)
+                .collectList()
+                .block(Duration.ofMinutes(5));
+        if (prepared == null || prepared.isEmpty()) {
+            throw new IllegalStateException("No load-test account could log in at " + options.baseUrl());
+        }
+        System.out.printf("Prepared %d accounts%n", prepared.size());
+        return prepared;
+    }
+
+    /**
+     * A login ends the account's other sessions, so bursts log into accounts of their own instead of revoking the
+     * tokens the rest of the mix is using.
+     */
+    private List<String> registerBurstAccounts() {
+        int count = Math.max(1, options.loginBurstSize());
+        return Flux.range(0, count)
+                .flatMap(
+                        index -> {
+                            String username = "lt_login_" + index;
+                            return register(username, String.format("138%08d", index))
+                                    .thenReturn(username);
+                        },
+                        SETUP_CONCURRENCY)
+                .collectList()
+                .block(Duration.ofMinutes(5));
+    }
+
+    /** Registers an account; failures are ignored because the account usually exists from an earlier run. */
+    private Mono<Void> register(String username, String phone) {
+        return api.register(username, options.password(), username + "@loadtest.glancy.local", phone)
+                .onErrorResume(error -> Mono.empty());
+    }
+
+    private void warmVocabulary() {
+        long started = System.nanoTime();
+        Long failures = Flux.fromIterable(vocabulary)
+                .flatMap(
+                        term -> api.lookup(accounts.get(0).token(), term)
+                                .timeout(options.requestTimeout())
+                                .map(status -> status >= 400 ? 1L : 0L)
+                                .onErrorReturn(1L),
+                        WARM_UP_CONCURRENCY)
+                .reduce(0L, Long::sum)
+                .block();
+        System.out.printf(
+                "Warmed %d terms (%d failed) in %ds%n",
+                vocabulary.size(), failures, Duration.ofNanos(System.nanoTime() - started).toSeconds());
+    }
+
+    private static List<String> loadVocabulary(int size) {
+        List<String> words = new ArrayList<>(Corpus.read("loadtest/vocabulary.txt")
+                .lines()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .toList());
+        if (size > words.size()) {
+            System.err.printf(
+                    "Vocabulary has %d real words; padding to %d with synthetic terms%n", words.size(), size);
+            for (int rank = words.size(); rank < size; rank++) {
+                words.add("zw" + letters(rank));
+            }
+        }
+        return words.subList(0, Math.max(1, size));
+    }
+
+    private static EndpointStats.Outcome outcome(int status) {
+        if (status >= 500) {
+            return EndpointStats.Outcome.SERVER_ERROR;
+        }
+        return status >= 400 ? EndpointStats.Outcome.CLIENT_ERROR : EndpointStats.Outcome.SUCCESS;
+    }
+
+    private static EndpointStats.Outcome outcome(Throwable error) {
+        return error instanceof TimeoutException
+                ? EndpointStats.Outcome.TIMEOUT
+                : EndpointStats.Outcome.TRANSPORT_ERROR;
+    }
+
+    /** Letters-only encoding so generated terms pass the backend's term normalisation unchanged. */
+    static String letters(long value) {
+        StringBuilder builder = new StringBuilder();
+        long remaining = value;
+        do {
+            builder.append((char) ('a' + remaining % 26));
+            remaining /= 26;
+        } while (remaining > 0);
+        return builder.reverse().toString();
+    }
+
+    private static Map<Endpoint, EndpointStats> newStats() {
+        Map<Endpoint, EndpointStats> fresh = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            fresh.put(endpoint, new EndpointStats());
+        }
+        return fresh;
+    }
+
+    private record Account(String username, String token) {}
+}
@@ -0,0 +1,49 @@
+package com.glancy.backend.loadtest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks the endpoint of each scheduled request from the weighted mix. Lookups are split into warm and cold by the
+ * cache-hit ratio: warm lookups draw a Zipf-ranked term from the pre-warmed vocabulary, cold lookups use a term that
+ * has never been requested, which guarantees a model call.
+ */
+final class TrafficMix {
+
+    static final List<String> KINDS = List.of("lookup", "tts-word", "tts-sentence", "history", "login");
+
+    private final String[] kinds;
+    private final int[] cumulativeWeights;
+    private final double cacheHitRatio;
+
+    TrafficMix(Map<String, Integer> weights, double cacheHitRatio) {
+        this.kinds = weights.keySet().toArray(String[]::new);
+        this.cumulativeWeights = new int[kinds.length];
+        int total = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            total += Math.max(0, weights.get(kinds[i]));
+            cumulativeWeights[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Traffic mix must have a positive weight");
+        }
+        this.cacheHitRatio = cacheHitRatio;
+    }
+
+    Endpoint next(RandomGenerator random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (roll >= cumulativeWeights[index]) {
+            index++;
+        }
+        return switch (kinds[index]) {
+            case "lookup" -> random.nextDouble() < cacheHitRatio ? Endpoint.LOOKUP_WARM : Endpoint.LOOKUP_COLD;
+            case "tts-word" -> Endpoint.TTS_WORD;
+            case "tts-sentence" -> Endpoint.TTS_SENTENCE;
+            case "history" -> Endpoint.HISTORY;
+            case "login" -> Endpoint.LOGIN;
+            default -> throw new IllegalStateException("Unknown traffic kind " + kinds[index]);
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.glancy.backend.service.email.localization;
+
+import com.glancy.backend.config.EmailVerificationLocalizationProperties.Rule;
+import com.glancy.backend.config.EmailVerificationProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link CidrBasedVerificationLocaleResolver#resolve(String)} on IPv4 and IPv6 addresses that hit one of the
+ * three real rules or no rule at all, with rule tables of growing size. Synthetic rules use the {@code 10/8} and
+ * documentation ranges so that they never contain the probed addresses; with longest-prefix matching the cost should
+ * stay flat as the table grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerificationLocaleResolverBenchmark {
+
+    @Param({"3", "64", "512"})
+    public int rules;
+
+    @Param({"36.112.10.4", "3.120.4.9", "2001:200:1::8", "198.51.100.23"})
+    public String ip;
+
+    private CidrBasedVerificationLocaleResolver resolver;
+
+    @Setup
+    public void setUp() {
+        EmailVerificationProperties properties = new EmailVerificationProperties();
+        List<Rule> table = new ArrayList<>();
+        for (int i = 0; i < rules - 3; i++) {
+            String cidr = i % 2 == 0 ? "10." + (i % 256) + ".0.0/16" : "2001:db8:" + Integer.toHexString(i) + "::/48";
+            table.add(rule(cidr, "en-GB"));
+        }
+        table.add(rule("36.0.0.0/4", "zh-CN"));
+        table.add(rule("3.0.0.0/8", "en-US"));
+        table.add(rule("2001:200::/23", "ja-JP"));
+        properties.getLocalization().setRules(table);
+        resolver = new CidrBasedVerificationLocaleResolver(properties);
+    }
+
+    @Benchmark
+    public Locale resolve() {
+        return resolver.resolve(ip);
+    }
+
+    private static Rule rule(String cidr, String languageTag) {
+        Rule rule = new Rule();
+        rule.setCidr(cidr);
+        rule.setLanguageTag(languageTag);
+        return rule;
+    }
+}
@@ -0,0 +1,46 @@
+package com.glancy.backend.service.shortcut;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures binding normalisation on update and alias expansion, which runs for every binding whenever shortcuts are
+ * listed or checked for conflicts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShortcutBindingNormalizerBenchmark {
+
+    private static final List<String> KEYS = List.of("shift", "ctrl", "k");
+
+    private final ShortcutBindingNormalizer normalizer = new ShortcutBindingNormalizer();
+
+    @Benchmark
+    public String normalize() {
+        return normalizer.normalize(KEYS);
+    }
+
+    @Benchmark
+    public Set<String> expandModAliases() {
+        return normalizer.expandAliases("MOD+K");
+    }
+
+    @Benchmark
+    public Set<String> expandPlainBinding() {
+        return normalizer.expandAliases("ALT+ENTER");
+    }
+}
@@ -0,0 +1,35 @@
+package com.glancy.backend.service.tts.cache;
+
+import com.glancy.backend.entity.TtsScope;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures the SHA-256 cache key computed for every synthesis request, for a single word and a full sentence. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TtsCacheKeyBenchmark {
+
+    private static final String SENTENCE = "The children ran across the field to greet their grandfather.";
+
+    @Benchmark
+    public String word() {
+        return TtsCacheKey.compute("Serendipity", "en-US", "en_female_anna", "mp3", 1.0, TtsScope.WORD);
+    }
+
+    @Benchmark
+    public String sentence() {
+        return TtsCacheKey.compute(SENTENCE, "en-US", "en_female_anna", "mp3", 1.0, TtsScope.SENTENCE);
+    }
+}
@@ -1,9 +1,12 @@
 package com.glancy.backend.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.glancy.backend.config.DoubaoProperties;
 import com.glancy.backend.dto.ChatCompletionResponse;
 import com.glancy.backend.exception.BusinessException;
 import com.glancy.backend.exception.UnauthorizedException;
+import com.glancy.backend.llm.llm.DictionaryModelCallMetrics;
 import com.glancy.backend.llm.llm.DictionaryModelClient;
 import com.glancy.backend.llm.llm.DictionaryModelRequestFallbacks;
 import com.glancy.backend.llm.llm.DictionaryModelRequestOptions;
@@ -12,18 +15,24 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Slf4j
 @Component("doubaoClient")
 public class DoubaoClient implements DictionaryModelClient {
 
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+    private static final String STREAM_DONE = "[DONE]";
+
     private final WebClient webClient;
     private final String chatPath;
     private final String apiKey;
@@ -33,11 +42,14 @@ public class DoubaoClient implements DictionaryModelClient {
     private final String defaultThinkingType;
     private final boolean offlineMode;
     private final DoubaoOfflineResponseBuilder offlineResponseBuilder;
+    private final DictionaryModelCallMetrics callMetrics;
+    private final ObjectMapper chunkMapper = new ObjectMapper();
 
     public DoubaoClient(
             WebClient.Builder builder,
             DoubaoProperties properties,
-            DoubaoOfflineResponseBuilder offlineResponseBuilder) {
+            DoubaoOfflineResponseBuilder offlineResponseBuilder,
+            DictionaryModelCallMetrics callMetrics) {
         this.webClient =
                 builder.baseUrl(trimTrailingSlash(properties.getBaseUrl())).build();
         this.chatPath = ensureLeadingSlash(properties.getChatPath());
@@ -50,6 +62,7 @@ public class DoubaoClient implements DictionaryModelClient {
                 DictionaryModelRequestFallbacks.resolveThinkingType(properties.getDefaultThinkingType());
         this.offlineMode = apiKey == null || apiKey.isBlank();
         this.offlineResponseBuilder = offlineResponseBuilder;
+        this.callMetrics = callMetrics;
         if (offlineMode) {
             log.warn("Doubao API key is empty");
         } else {
@@ -76,7 +89,7 @@ public class DoubaoClient implements DictionaryModelClient {
         logRequest(metadata);
         Map<String, Object> body = prepareRequestBody(metadata);
         try {
-            return executeOnlineRequest(body);
+            return executeOnlineRequest(body, metadata, options);
         } catch (UnauthorizedException ex) {
             return handleUnauthorized(messages, ex);
         }
@@ -87,9 +100,12 @@ public class DoubaoClient implements DictionaryModelClient {
         body.put("model", model);
         body.put("temperature", metadata.temperature());
         body.put("stream", metadata.stream());
+        if (metadata.stream()) {
+            body.put("stream_options", Map.of("include_usage", true));
+        }
         body.put("thinking", Map.of("type", metadata.thinkingType()));
-        if (maxCompletionTokens != null && maxCompletionTokens > 0) {
-            body.put("max_completion_tokens", maxCompletionTokens);
+        if (metadata.maxCompletionTokens() != null && metadata.maxCompletionTokens() > 0) {
+            body.put("max_completion_tokens", metadata.maxCompletionTokens());
         }
 
         List<Map<String, String>> reqMessages = new ArrayList<>();
@@ -103,12 +119,12 @@ public class DoubaoClient implements DictionaryModelClient {
         return body;
     }
 
-    private WebClient.RequestHeadersSpec<?> prepareRequest(Map<String, Object> body) {
+    private WebClient.RequestHeadersSpec<?> prepareRequest(Map<String, Object> body, MediaType accept) {
         return webClient
                 .post()
                 .uri(chatPath)
                 .contentType(MediaType.APPLICATION_JSON)
-                .accept(MediaType.APPLICATION_JSON)
+                .accept(accept)
                 .headers(h -> {
                     if (apiKey != null && !apiKey.isEmpty()) {
                         h.setBearerAuth(apiKey);
@@ -123,26 +139,73 @@ public class DoubaoClient implements DictionaryModelClient {
                 options == null ? DictionaryModelRequestOptions.defaults() : options;
         boolean stream = safeOptions.resolveStream(defaultStream);
         String thinkingType = safeOptions.resolveThinkingType(defaultThinkingType);
-        return new RequestMetadata(messages, temperature, stream, thinkingType);
+        Integer maxTokens = safeOptions.resolveMaxCompletionTokens(maxCompletionTokens);
+        return new RequestMetadata(messages, temperature, stream, thinkingType, maxTokens);
     }
 
     private void logRequest(RequestMetadata metadata) {
         log.info(
-                "DoubaoClient.generateEntry called with {} messages, temperature={}, stream={}, thinkingType={}",
+                "DoubaoClient.generateEntry called with {} messages, temperature={}, stream={}, thinkingType={}, "
+                        + "maxCompletionTokens={}",
                 metadata.messages().size(),
                 metadata.temperature(),
                 metadata.stream(),
-                metadata.thinkingType());
+                metadata.thinkingType(),
+                metadata.maxCompletionTokens());
+    }
+
+    private String executeOnlineRequest(
+            Map<String, Object> body, RequestMetadata metadata, DictionaryModelRequestOptions options) {
+        DictionaryModelCallMetrics.Call call = callMetrics.start(name(), model, options, metadata.stream());
+        try {
+            Completion completion = metadata.stream() ? executeStreaming(body, call) : executeBlocking(body, call);
+            String content = completion.content();
+            call.success(content, completion.finishReason());
+            log.info("DoubaoClient.generateEntry aggregated response length={}", content.length());
+            return content;
+        } catch (RuntimeException ex) {
+            call.failure(ex);
+            throw ex;
+        }
     }
 
-    private String executeOnlineRequest(Map<String, Object> body) {
-        return prepareRequest(body)
-                .exchangeToMono(this::handleSyncResponse)
-                .map(this::extractAssistantContent)
-                .doOnNext(content ->
-                        log.info("DoubaoClient.generateEntry aggregated response length={}", content.length()))
+    private Completion executeBlocking(Map<String, Object> body, DictionaryModelCallMetrics.Call call) {
+        return prepareRequest(body, MediaType.APPLICATION_JSON)
+                .exchangeToMono(resp -> handleSyncResponse(resp, call))
+                .map(response -> {
+                    recordUsage(response, call);
+                    return extractAssistantContent(response);
+                })
                 .blockOptional()
-                .orElse("");
+                .orElse(Completion.EMPTY);
+    }
+
+    /** 逐块聚合 SSE 增量；首个非空增量记录 TTFT，末块的 usage 计入 token 指标。 */
+    private Completion executeStreaming(Map<String, Object> body, DictionaryModelCallMetrics.Call call) {
+        StreamAccumulator accumulator = new StreamAccumulator();
+        prepareRequest(body, MediaType.TEXT_EVENT_STREAM)
+                .exchangeToFlux(resp -> handleStreamResponse(resp, call))
+                .map(ServerSentEvent::data)
+                .filter(data -> data != null && !data.isBlank())
+                .takeWhile(data -> !STREAM_DONE.equals(data.trim()))
+                .doOnNext(data -> accumulator.accept(parseChunk(data), call))
+                .blockLast();
+        return accumulator.toCompletion();
+    }
+
+    private ChatCompletionResponse parseChunk(String data) {
+        try {
+            return chunkMapper.readValue(data, ChatCompletionResponse.class);
+        } catch (JsonProcessingException ex) {
+            throw new BusinessException("Malformed Doubao stream chunk", ex);
+        }
+    }
+
+    private void recordUsage(ChatCompletionResponse response, DictionaryModelCallMetrics.Call call) {
+        ChatCompletionResponse.Usage usage = response == null ? null : response.getUsage();
+        if (usage != null) {
+            call.usage(usage.getPromptTokens(), usage.getCompletionTokens(), usage.cachedTokens());
+        }
     }
 
     private String handleUnauthorized(List<ChatMessage> messages, UnauthorizedException ex) {
@@ -153,32 +216,51 @@ public class DoubaoClient implements DictionaryModelClient {
         return offlineResponseBuilder.build(messages);
     }
 
-    private Mono<ChatCompletionResponse> handleSyncResponse(ClientResponse resp) {
+    private Mono<ChatCompletionResponse> handleSyncResponse(
+            ClientResponse resp, DictionaryModelCallMetrics.Call call) {
+        call.status(resp.statusCode().value());
+        RuntimeException error = statusError(resp);
+        if (error != null) {
+            return resp.releaseBody().then(Mono.error(error));
+        }
+        return resp.bodyToMono(ChatCompletionResponse.class)
+                .doOnNext(body -> log.debug("Doubao sync response payload received: {}", body));
+    }
+
+    private Flux<ServerSentEvent<String>> handleStreamResponse(
+            ClientResponse resp, DictionaryModelCallMetrics.Call call) {
+        call.status(resp.statusCode().value());
+        RuntimeException error = statusError(resp);
+        if (error != null) {
+            return resp.releaseBody().thenMany(Flux.error(error));
+        }
+        return resp.bodyToFlux(SSE_TYPE);
+    }
+
+    private RuntimeException statusError(ClientResponse resp) {
         if (resp.statusCode().is4xxClientError()) {
             if (resp.statusCode().value() == 401) {
-                return Mono.error(new UnauthorizedException("Invalid Doubao API key"));
+                return new UnauthorizedException("Invalid Doubao API key");
             }
-            return Mono.error(new BusinessException("Failed to call Doubao API: " + resp.statusCode()));
+            return new BusinessException("Failed to call Doubao API: " + resp.statusCode());
         }
         if (resp.statusCode().is5xxServerError()) {
-            return Mono.error(new BusinessException("Doubao API returned 5xx: " + resp.statusCode()));
+            return new BusinessException("Doubao API returned 5xx: " + resp.statusCode());
         }
-        return resp.bodyToMono(ChatCompletionResponse.class)
-                .doOnNext(body -> log.debug("Doubao sync response payload received: {}", body));
+        return null;
     }
 
-    private String extractAssistantContent(ChatCompletionResponse response) {
+    private Completion extractAssistantContent(ChatCompletionResponse response) {
         if (response == null || response.getChoices() == null) {
             log.warn("Doubao aggregated response missing choices - returning empty content");
-            return "";
+            return Completion.EMPTY;
         }
         return response.getChoices().stream()
-                .map(ChatCompletionResponse.Choice::getMessage)
-                .filter(Objects::nonNull)
-                .map(ChatCompletionResponse.Message::getContent)
-                .filter(Objects::nonNull)
+                .filter(choice -> choice.getMessage() != null
+                        && choice.getMessage().getContent() != null)
                 .findFirst()
-                .orElse("");
+                .map(choice -> new Completion(choice.getMessage().getContent(), choice.getFinishReason()))
+                .orElse(Completion.EMPTY);
     }
 
     private String trimTrailingSlash(String url) {
@@ -204,5 +286,41 @@ public class DoubaoClient implements DictionaryModelClient {
     }
 
     private record RequestMetadata(
-            List<ChatMessage> messages, double temperature, boolean stream, String thinkingType) {}
+            List<ChatMessage> messages,
+            double temperature,
+            boolean stream,
+            String thinkingType,
+            Integer maxCompletionTokens) {}
+
+    private record Completion(String content, String finishReason) {
+        static final Completion EMPTY = new Completion("", null);
+    }
+
+    private final class StreamAccumulator {
+
+        private final StringBuilder content = new StringBuilder();
+        private String finishReason;
+
+        void accept(ChatCompletionResponse chunk, DictionaryModelCallMetrics.Call call) {
+            recordUsage(chunk, call);
+            if (chunk.getChoices() == null || chunk.getChoices().isEmpty()) {
+                return;
+            }
+            ChatCompletionResponse.Choice choice = chunk.getChoices().get(0);
+            if (choice.getDelta() != null && choice.getDelta().getContent() != null) {
+                String delta = choice.getDelta().getContent();
+                if (!delta.isEmpty()) {
+                    call.firstToken();
+                    content.append(delta);
+                }
+            }
+            if (choice.getFinishReason() != null) {
+                finishReason = choice.getFinishReason();
+            }
+        }
+
+        Completion toCompletion() {
+            return new Completion(content.toString(), finishReason);
+        }
+    }
 }
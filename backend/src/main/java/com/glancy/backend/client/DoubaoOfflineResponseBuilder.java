@@ -1,5 +1,7 @@
 package com.glancy.backend.client;
 
+import com.glancy.backend.llm.completion.CompletionSentinel;
+import com.glancy.backend.llm.llm.DictionaryModelFallback;
 import com.glancy.backend.llm.model.ChatMessage;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -9,12 +11,17 @@ import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
-class DoubaoOfflineResponseBuilder {
+class DoubaoOfflineResponseBuilder implements DictionaryModelFallback {
 
     private static final Pattern TERM_PATTERN = Pattern.compile("\\\"term\\\"\\s*:\\s*\\\"([^\\\"]+)\\\"");
     private static final Pattern TERM_LINE_PATTERN =
             Pattern.compile("term\\s*[:：]\\s*([^\\n]+)", Pattern.CASE_INSENSITIVE);
 
+    @Override
+    public String generateEntry(List<ChatMessage> messages) {
+        return build(messages);
+    }
+
     String build(List<ChatMessage> messages) {
         String term = inferTerm(messages);
         String sanitizedTerm = term.replaceAll("[\\r\\n]+", " ").trim();
@@ -30,7 +37,8 @@ class DoubaoOfflineResponseBuilder {
                 + "\"definitions\":[{\"partOfSpeech\":\"general\",\"meanings\":[\""
                 + escapeJson(definition)
                 + "\"]}]"
-                + "}";
+                + "}"
+                + CompletionSentinel.MARKER;
         log.info("Returning offline Doubao response for term '{}'", sanitizedTerm);
         return json;
     }
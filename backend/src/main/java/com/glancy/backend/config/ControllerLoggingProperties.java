@@ -0,0 +1,23 @@
+package com.glancy.backend.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Volume controls for the controller entry/exit log written by {@code ControllerLoggingAspect}. */
+@Data
+@ConfigurationProperties(prefix = "controller-logging")
+public class ControllerLoggingProperties {
+
+    /** Share of successful calls logged at INFO; failures and slow calls are always logged. */
+    private double successSampleRate = 0.1;
+
+    /** Successful calls at least this slow are logged at WARN regardless of sampling. */
+    private Duration slowThreshold = Duration.ofSeconds(2);
+
+    /** Longest rendering of a single argument or return value. */
+    private int maxPayloadChars = 256;
+
+    /** Elements of a collection or map rendered before the rest is elided. */
+    private int maxCollectionItems = 5;
+}
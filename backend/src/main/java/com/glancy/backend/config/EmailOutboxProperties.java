@@ -0,0 +1,61 @@
+package com.glancy.backend.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Tuning of the transactional email outbox and the dispatcher that drains it over pooled SMTP connections. */
+@Data
+@ConfigurationProperties(prefix = "mail.outbox")
+public class EmailOutboxProperties {
+
+    /** When disabled this instance only queues messages; another instance (or a later start) sends them. */
+    private boolean dispatcherEnabled = true;
+
+    /** Parallel senders; each keeps one authenticated SMTP connection open between messages. */
+    private int workers = 4;
+
+    /** Maximum number of messages claimed per poll. */
+    private int batchSize = 50;
+
+    /** Poll interval while idle; commits that queue a message wake the dispatcher immediately. */
+    private Duration pollInterval = Duration.ofSeconds(5);
+
+    /** How long a claimed message is reserved before another dispatcher may take it over. */
+    private Duration lease = Duration.ofMinutes(2);
+
+    /** Attempts before a transient failure becomes final. */
+    private int maxAttempts = 5;
+
+    /** Delay before the first retry; doubled on every further attempt. */
+    private Duration retryBackoff = Duration.ofSeconds(30);
+
+    /** Pooled SMTP connections unused for longer than this are closed and reopened on demand. */
+    private Duration connectionIdleTimeout = Duration.ofSeconds(60);
+
+    /** Sent and failed messages are deleted after this long. */
+    private Duration retention = Duration.ofDays(7);
+
+    /** Upper bound on the time spent finishing in-flight sends during shutdown. */
+    private Duration shutdownTimeout = Duration.ofSeconds(15);
+
+    /** Sending rate towards mailbox providers that have no entry in {@link #providers}. */
+    private double defaultPermitsPerSecond = 20;
+
+    /** Per mailbox provider rate limits, keyed by a provider name used in metrics and logs. */
+    private Map<String, ProviderLimit> providers = new LinkedHashMap<>();
+
+    /** Rate limit shared by all recipient domains of one mailbox provider. */
+    @Data
+    public static class ProviderLimit {
+
+        /** Recipient domains served by the provider, e.g. {@code qq.com} and {@code foxmail.com}. */
+        private List<String> domains = new ArrayList<>();
+
+        private double permitsPerSecond = 5;
+    }
+}
@@ -7,6 +7,10 @@ public class EmailVerificationAudiencePolicyProperties {
     private Duration inactivityThreshold = Duration.ofDays(365);
     private int softBounceSuppressionThreshold = 3;
     private int hardBounceSuppressionThreshold = 1;
+    private int cacheMaxEntries = 100_000;
+    private Duration cacheTtl = Duration.ofMinutes(5);
+    private Duration interactionFlushInterval = Duration.ofSeconds(30);
+    private int interactionFlushBatchSize = 500;
 
     public Duration getInactivityThreshold() {
         return inactivityThreshold;
@@ -32,6 +36,41 @@ public class EmailVerificationAudiencePolicyProperties {
         this.hardBounceSuppressionThreshold = hardBounceSuppressionThreshold;
     }
 
+    /** Addresses whose consent state is kept in memory. */
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(int cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    /** Bounds how long suppressions recorded by another instance stay invisible to this one. */
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    /** Interaction and delivery timestamps are coalesced in memory and written at this interval. */
+    public Duration getInteractionFlushInterval() {
+        return interactionFlushInterval;
+    }
+
+    public void setInteractionFlushInterval(Duration interactionFlushInterval) {
+        this.interactionFlushInterval = interactionFlushInterval;
+    }
+
+    public int getInteractionFlushBatchSize() {
+        return interactionFlushBatchSize;
+    }
+
+    public void setInteractionFlushBatchSize(int interactionFlushBatchSize) {
+        this.interactionFlushBatchSize = interactionFlushBatchSize;
+    }
+
     void validate() {
         if (inactivityThreshold == null || inactivityThreshold.isZero() || inactivityThreshold.isNegative()) {
             throw new IllegalStateException("mail.verification.audience-policy.inactivity-threshold must be positive");
@@ -44,5 +83,14 @@ public class EmailVerificationAudiencePolicyProperties {
             throw new IllegalStateException(
                     "mail.verification.audience-policy.hard-bounce-suppression-threshold must be >= 1");
         }
+        if (cacheMaxEntries < 1 || interactionFlushBatchSize < 1) {
+            throw new IllegalStateException(
+                    "mail.verification.audience-policy cache-max-entries and interaction-flush-batch-size must be >= 1");
+        }
+        if (cacheTtl == null || cacheTtl.isNegative() || interactionFlushInterval == null
+                || interactionFlushInterval.isZero() || interactionFlushInterval.isNegative()) {
+            throw new IllegalStateException(
+                    "mail.verification.audience-policy cache-ttl and interaction-flush-interval must be positive");
+        }
     }
 }
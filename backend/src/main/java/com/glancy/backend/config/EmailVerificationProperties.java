@@ -27,6 +27,7 @@ public class EmailVerificationProperties {
             new EmailVerificationAudiencePolicyProperties();
     private final EmailVerificationStreamsProperties streams = new EmailVerificationStreamsProperties();
     private final EmailVerificationLocalizationProperties localization = new EmailVerificationLocalizationProperties();
+    private final EmailVerificationSweeperProperties sweeper = new EmailVerificationSweeperProperties();
 
     @PostConstruct
     void validate() {
@@ -98,6 +99,10 @@ public class EmailVerificationProperties {
         return localization;
     }
 
+    public EmailVerificationSweeperProperties getSweeper() {
+        return sweeper;
+    }
+
     private void validateSender() {
         if (!StringUtils.hasText(from)) {
             throw new IllegalStateException("mail.verification.from must be configured");
@@ -142,5 +147,6 @@ public class EmailVerificationProperties {
         streams.validate(from);
         deliverability.validate(compliance);
         localization.validate();
+        sweeper.validate();
     }
 }
@@ -0,0 +1,48 @@
+package com.glancy.backend.config;
+
+import java.time.Duration;
+
+/** Hard deletion of expired verification codes in bounded chunks. */
+public class EmailVerificationSweeperProperties {
+
+    private Duration interval = Duration.ofMinutes(5);
+    private int batchSize = 1000;
+    private Duration grace = Duration.ofHours(1);
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /** How long expired codes are kept before deletion, so that late submissions are still logged as expired. */
+    public Duration getGrace() {
+        return grace;
+    }
+
+    public void setGrace(Duration grace) {
+        this.grace = grace;
+    }
+
+    void validate() {
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalStateException("mail.verification.sweeper.interval must be positive");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalStateException("mail.verification.sweeper.batch-size must be positive");
+        }
+        if (grace == null || grace.isNegative()) {
+            throw new IllegalStateException("mail.verification.sweeper.grace must not be negative");
+        }
+    }
+}
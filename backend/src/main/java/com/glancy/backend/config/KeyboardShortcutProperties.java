@@ -0,0 +1,23 @@
+package com.glancy.backend.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "keyboard-shortcuts")
+public class KeyboardShortcutProperties {
+
+    private Cache cache = new Cache();
+
+    /** Per-user cache of the resolved {@code KeyboardShortcutResponse}. */
+    @Data
+    public static class Cache {
+
+        /** Users kept in memory; the least recently used entry is dropped beyond this. */
+        private int maxEntries = 10_000;
+
+        /** Upper bound on staleness for changes written by another instance. */
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,41 @@
+package com.glancy.backend.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** BCrypt work isolation and login attempt throttling for password logins. */
+@Data
+@ConfigurationProperties(prefix = "password-hashing")
+public class PasswordHashingProperties {
+
+    /** BCrypt log rounds shared by registration and login. */
+    private int strength = 10;
+
+    /** Threads dedicated to hashing; {@code 0} uses one per available core. */
+    private int workerThreads = 0;
+
+    /**
+     * Hash requests allowed to wait for a worker before new ones are rejected with 503. Password logins verify outside
+     * any transaction, so waiting requests hold no database connection; the queue only bounds the added latency.
+     */
+    private int queueCapacity = 4;
+
+    /** Longest a request waits for its hash, queueing included, before it is answered with 503. */
+    private Duration maxWait = Duration.ofSeconds(3);
+
+    private Throttle throttle = new Throttle();
+
+    /** Fixed-window limits on failed attempts, checked before any hashing happens. */
+    @Data
+    public static class Throttle {
+
+        private Duration window = Duration.ofMinutes(1);
+
+        /** Failed password attempts per account within one window. */
+        private int maxAttemptsPerAccount = 10;
+
+        /** Failed password attempts per client IP within one window; kept high because carrier NAT shares addresses. */
+        private int maxAttemptsPerIp = 120;
+    }
+}
@@ -0,0 +1,23 @@
+package com.glancy.backend.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "personalization")
+public class PersonalizationProperties {
+
+    private Cache cache = new Cache();
+
+    /** Per-user cache of the signals behind {@code WordPersonalizationContext}. */
+    @Data
+    public static class Cache {
+
+        /** Users kept in memory; the least recently used entry is dropped beyond this. */
+        private int maxEntries = 10_000;
+
+        /** Upper bound on staleness for changes that do not invalidate explicitly, such as canonical term sync. */
+        private Duration ttl = Duration.ofMinutes(30);
+    }
+}
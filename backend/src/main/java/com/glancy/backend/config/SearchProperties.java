@@ -1,5 +1,6 @@
 package com.glancy.backend.config;
 
+import java.time.Duration;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -9,9 +10,72 @@ public class SearchProperties {
 
     private Limit limit = new Limit();
 
+    private WriteBehind writeBehind = new WriteBehind();
+
+    private HistoryClear historyClear = new HistoryClear();
+
+    private StageTiming stageTiming = new StageTiming();
+
     @Data
     public static class Limit {
 
         private int nonMember = 10;
     }
+
+    /** Tuning for the queue that defers history side effects of a word lookup. */
+    @Data
+    public static class WriteBehind {
+
+        /** When disabled every side effect is written synchronously inside the lookup transaction. */
+        private boolean enabled = false;
+
+        /** Maximum number of pending side effects; submissions beyond this fall back to synchronous writes. */
+        private int capacity = 10_000;
+
+        /** Maximum number of side effects applied per JDBC batch. */
+        private int batchSize = 100;
+
+        /** How long the flusher waits for more work before applying a partial batch. */
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        /** Attempts per batch before it is moved to the journal's dead-letter file. */
+        private int maxAttempts = 5;
+
+        /** Upper bound on the time spent draining the queue during shutdown. */
+        private Duration shutdownTimeout = Duration.ofSeconds(15);
+
+        /** Append-only journal backing the queue; blank keeps the queue in memory only. */
+        private String journalPath;
+
+        /** Whether each journal append is forced to the storage device before the lookup returns. */
+        private boolean journalFsync = false;
+    }
+
+    /** Chunking of the bulk soft-delete behind "clear search history". */
+    @Data
+    public static class HistoryClear {
+
+        /** Rows soft-deleted per statement; each chunk commits on its own to keep row locks short. */
+        private int batchSize = 1_000;
+
+        /** Histories larger than this are cleared in the background and answered with a job id. */
+        private long asyncThreshold = 5_000;
+
+        /** Worker threads shared by all background clear jobs. */
+        private int workerThreads = 2;
+
+        /** How long a finished job stays queryable. */
+        private Duration jobRetention = Duration.ofHours(1);
+    }
+
+    /** Per-stage timing of word lookups. */
+    @Data
+    public static class StageTiming {
+
+        /** When disabled no stage timers are recorded and no Server-Timing headers are emitted. */
+        private boolean enabled = true;
+
+        /** Fraction of single-word lookups answered with a Server-Timing header; 0 turns the header off. */
+        private double serverTimingSampleRate = 0.0;
+    }
 }
@@ -0,0 +1,113 @@
+package com.glancy.backend.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the upstream simulators that stand in for Doubao and Volcengine TTS under the {@code simulator}
+ * profile. Every random draw is derived from {@link #seed}, so the same seed and the same request sequence replay the
+ * same latencies, payload sizes and injected faults.
+ */
+@Data
+@ConfigurationProperties(prefix = "simulator")
+public class SimulatorProperties {
+
+    /** Seed shared by every simulated upstream. */
+    private long seed = 42L;
+
+    private final Doubao doubao = new Doubao();
+
+    private final Tts tts = new Tts();
+
+    /** Chat completions simulator compatible with {@code /api/v3/chat/completions}. */
+    @Data
+    public static class Doubao {
+
+        /** Time to first token; non-streaming responses add the generation time on top. */
+        private Latency ttft = new Latency(Duration.ofMillis(600), 0.5);
+
+        /** Median generation speed. */
+        private double tokensPerSecond = 60;
+
+        /** Lognormal spread of the generation speed between requests. */
+        private double tokensPerSecondSigma = 0.25;
+
+        /** Tokens carried by one streamed chunk. */
+        private int tokensPerChunk = 3;
+
+        /** Characters per token used to derive token counts from text, tuned for mixed Chinese/English entries. */
+        private double charsPerToken = 1.5;
+
+        /**
+         * Directory of recorded model outputs replayed by term; the file name without extension is the term. Terms
+         * without a recording get a synthetic entry.
+         */
+        private String replayDirectory;
+
+        /** Median size in characters of synthetic entries; actual sizes vary by ±25%. */
+        private int syntheticEntryChars = 2400;
+
+        private Faults faults = new Faults();
+    }
+
+    /** Volcengine TTS simulator compatible with {@code /api/v1/tts}. */
+    @Data
+    public static class Tts {
+
+        /** Fixed part of the synthesis latency. */
+        private Latency latency = new Latency(Duration.ofMillis(350), 0.4);
+
+        /** Synthesis time per second of produced audio, added to {@link #latency}. */
+        private double realTimeFactor = 0.1;
+
+        /** Audio duration produced per character of input at speed 1.0. */
+        private Duration audioPerChar = Duration.ofMillis(75);
+
+        /** Bitrate used to size the returned audio. */
+        private int bitrateKbps = 64;
+
+        private Faults faults = new Faults();
+    }
+
+    /** Lognormal latency distribution given by its median and the standard deviation of its logarithm. */
+    @Data
+    public static class Latency {
+
+        private Duration median;
+
+        private double sigma;
+
+        public Latency() {
+            this(Duration.ZERO, 0);
+        }
+
+        public Latency(Duration median, double sigma) {
+            this.median = median;
+            this.sigma = sigma;
+        }
+    }
+
+    /** Per-request probabilities of injected failures; they are drawn in this order and add up. */
+    @Data
+    public static class Faults {
+
+        /** Share of requests answered with 429. */
+        private double rateLimitedRate = 0;
+
+        /** Share of requests answered with 500. */
+        private double serverErrorRate = 0;
+
+        /** Share of requests that hang for {@link #timeoutHang} before answering 504. */
+        private double timeoutRate = 0;
+
+        /** Share of streamed responses that stop halfway without a finish reason or {@code [DONE]}. */
+        private double truncatedStreamRate = 0;
+
+        /** Latency of 429 and 500 answers. */
+        private Latency errorLatency = new Latency(Duration.ofMillis(150), 0.3);
+
+        /** How long a simulated timeout keeps the connection open. */
+        private Duration timeoutHang = Duration.ofSeconds(65);
+    }
+}
@@ -0,0 +1,19 @@
+package com.glancy.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Limits for {@code POST /api/words/batch}. */
+@Data
+@ConfigurationProperties(prefix = "word-batch")
+public class WordBatchProperties {
+
+    /** Maximum number of terms accepted per request. */
+    private int maxTerms = 50;
+
+    /** Cache misses of one request resolved against the model at the same time. */
+    private int concurrency = 4;
+
+    /** Threads shared by all batch requests for model lookups. */
+    private int workerThreads = 16;
+}
@@ -0,0 +1,35 @@
+package com.glancy.backend.config;
+
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Offline pre-generation of dictionary entries from ranked term lists. */
+@Data
+@ConfigurationProperties(prefix = "word-warmup")
+public class WordWarmupProperties {
+
+    /** Start every configured target when the application starts; otherwise jobs are started on demand. */
+    private boolean autoStart = false;
+
+    /** Model calls per minute shared by all warm-up jobs, to leave headroom for live traffic. */
+    private int ratePerMinute = 30;
+
+    /** Dictionary client used for generation; blank uses the default client. */
+    private String model;
+
+    /** Directory holding one checkpoint file per target. */
+    private String checkpointDir = "data/word-warmup";
+
+    /** Terms processed between checkpoint writes. */
+    private int checkpointInterval = 25;
+
+    /**
+     * Ranked term list per language and flavor, one term per line, most frequent first. Values are Spring resource
+     * locations such as {@code file:data/word-warmup/english-top-50k.txt}.
+     */
+    private Map<Language, Map<DictionaryFlavor, String>> termLists = new EnumMap<>(Language.class);
+}
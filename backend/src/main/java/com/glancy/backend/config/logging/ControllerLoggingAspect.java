@@ -1,7 +1,7 @@
 package com.glancy.backend.config.logging;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
+import com.glancy.backend.config.ControllerLoggingProperties;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.IntStream;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -13,7 +13,13 @@ import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.stereotype.Component;
 
-/** Aspect that logs controller method entry and exit using structured logging. */
+/**
+ * Aspect that logs controller method entry and exit using structured logging.
+ *
+ * <p>Entry is logged at DEBUG only. Exits are logged at INFO for a sampled share of successful calls, at WARN when a
+ * call exceeds the slow threshold and at ERROR when it fails. Arguments and return values go through
+ * {@link LogPayloadSummarizer} and are only rendered once a line is actually written.
+ */
 @Aspect
 @Component
 public class ControllerLoggingAspect {
@@ -21,23 +27,64 @@ public class ControllerLoggingAspect {
     private static final Logger log = LoggerFactory.getLogger(ControllerLoggingAspect.class);
 
     private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final ControllerLoggingProperties properties;
+    private final LogPayloadSummarizer summarizer;
+
+    public ControllerLoggingAspect(ControllerLoggingProperties properties) {
+        this.properties = properties;
+        this.summarizer =
+                new LogPayloadSummarizer(properties.getMaxPayloadChars(), properties.getMaxCollectionItems());
+    }
 
     @Around("within(@org.springframework.web.bind.annotation.RestController *)")
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         String method = signature.getDeclaringType().getSimpleName() + "." + signature.getName();
-        Map<String, Object> params = buildParameterMap(signature, joinPoint.getArgs());
-        log.info("controller.entry method={} params={}", method, params);
+        if (log.isDebugEnabled()) {
+            String params = summarizeParameters(signature, joinPoint.getArgs());
+            log.debug("controller.entry method={} params={}", method, params);
+        }
+        long start = System.nanoTime();
         try {
             Object result = joinPoint.proceed();
-            log.info("controller.exit method={} result={}", method, result);
+            logExit(signature, method, joinPoint.getArgs(), result, System.nanoTime() - start);
             return result;
         } catch (Throwable ex) {
-            log.error("controller.error method={} message={}", method, ex.getMessage(), ex);
+            log.error(
+                    "controller.error method={} durationMs={} params={} message={}",
+                    method,
+                    (System.nanoTime() - start) / 1_000_000,
+                    summarizeParameters(signature, joinPoint.getArgs()),
+                    ex.getMessage(),
+                    ex);
             throw ex;
         }
     }
 
+    private void logExit(MethodSignature signature, String method, Object[] args, Object result, long elapsedNanos) {
+        long durationMs = elapsedNanos / 1_000_000;
+        if (elapsedNanos >= properties.getSlowThreshold().toNanos()) {
+            log.warn(
+                    "controller.slow method={} durationMs={} params={} result={}",
+                    method,
+                    durationMs,
+                    summarizeParameters(signature, args),
+                    summarizer.summarize(result));
+        } else if (log.isInfoEnabled() && sampled()) {
+            log.info(
+                    "controller.exit method={} durationMs={} params={} result={}",
+                    method,
+                    durationMs,
+                    summarizeParameters(signature, args),
+                    summarizer.summarize(result));
+        }
+    }
+
+    private boolean sampled() {
+        double rate = properties.getSuccessSampleRate();
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
     private String[] resolveParameterNames(MethodSignature signature, Object[] args) {
         String[] names = signature.getParameterNames();
         if (names == null) {
@@ -49,20 +96,25 @@ public class ControllerLoggingAspect {
         return names;
     }
 
-    private Map<String, Object> buildParameterMap(MethodSignature signature, Object[] args) {
-        Map<String, Object> params = new LinkedHashMap<>();
-        if (args == null) {
-            return params;
+    private String summarizeParameters(MethodSignature signature, Object[] args) {
+        if (args == null || args.length == 0) {
+            return "{}";
         }
         String[] paramNames = resolveParameterNames(signature, args);
         int nameLength = paramNames != null ? paramNames.length : 0;
         if (paramNames != null && nameLength != args.length) {
             log.debug("Parameter name count {} does not match argument count {}", nameLength, args.length);
         }
+        StringBuilder params = new StringBuilder(128).append('{');
         for (int i = 0; i < args.length; i++) {
-            params.put(resolveParamName(paramNames, nameLength, i), args[i]);
+            if (i > 0) {
+                params.append(", ");
+            }
+            params.append(resolveParamName(paramNames, nameLength, i))
+                    .append('=')
+                    .append(summarizer.summarize(args[i]));
         }
-        return params;
+        return params.append('}').toString();
     }
 
     private String resolveParamName(String[] paramNames, int nameLength, int index) {
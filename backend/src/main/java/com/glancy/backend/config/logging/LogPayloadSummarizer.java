@@ -0,0 +1,174 @@
+package com.glancy.backend.config.logging;
+
+import com.glancy.backend.dto.TtsResponse;
+import com.glancy.backend.dto.WordResponse;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Renders controller arguments and return values for the log without ever materializing large payloads.
+ *
+ * <p>Each type is rendered by the first registered summarizer it matches; the choice is cached per concrete class.
+ * Byte arrays, streams and files are reduced to their size, strings and {@code toString()} output are cut at
+ * {@code maxChars}, and collections show at most {@code maxItems} elements. Response types known to carry large
+ * bodies, such as TTS audio and word markdown, only contribute their identifying fields.
+ */
+final class LogPayloadSummarizer {
+
+    private static final String ELLIPSIS = "…";
+
+    private final int maxChars;
+    private final int maxItems;
+    private final List<Entry> summarizers = new ArrayList<>();
+    private final Map<Class<?>, BiConsumer<Object, StringBuilder>> resolved = new ConcurrentHashMap<>();
+
+    LogPayloadSummarizer(int maxChars, int maxItems) {
+        this.maxChars = Math.max(16, maxChars);
+        this.maxItems = Math.max(0, maxItems);
+        register(byte[].class, (value, out) -> out.append("byte[").append(value.length).append(']'));
+        register(CharSequence.class, (value, out) -> appendCapped(out, value));
+        register(Number.class, (value, out) -> out.append(value));
+        register(Boolean.class, (value, out) -> out.append(value));
+        register(Enum.class, (value, out) -> out.append(value.name()));
+        register(TtsResponse.class, LogPayloadSummarizer::appendTts);
+        register(WordResponse.class, LogPayloadSummarizer::appendWord);
+        register(ResponseEntity.class, (value, out) -> {
+            out.append("ResponseEntity(status=").append(value.getStatusCode().value()).append(", body=");
+            append(value.getBody(), out);
+            out.append(')');
+        });
+        register(HttpEntity.class, (value, out) -> {
+            out.append("HttpEntity(body=");
+            append(value.getBody(), out);
+            out.append(')');
+        });
+        register(Optional.class, (value, out) -> {
+            if (value.isEmpty()) {
+                out.append("Optional.empty");
+                return;
+            }
+            out.append("Optional[");
+            append(value.get(), out);
+            out.append(']');
+        });
+        register(MultipartFile.class, (value, out) -> out.append("MultipartFile(name=")
+                .append(value.getOriginalFilename())
+                .append(", size=")
+                .append(value.getSize())
+                .append(')'));
+        register(Collection.class, (value, out) -> appendItems(out, "size=" + value.size(), value.iterator()));
+        register(Map.class, (value, out) -> appendItems(out, "size=" + value.size(), value.entrySet().iterator()));
+        registerOpaque(ServletRequest.class);
+        registerOpaque(ServletResponse.class);
+        registerOpaque(InputStream.class);
+        registerOpaque(OutputStream.class);
+        registerOpaque(Resource.class);
+        registerOpaque(StreamingResponseBody.class);
+    }
+
+    String summarize(Object value) {
+        StringBuilder out = new StringBuilder(64);
+        append(value, out);
+        return out.toString();
+    }
+
+    private void append(Object value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        resolved.computeIfAbsent(value.getClass(), this::resolve).accept(value, out);
+    }
+
+    private BiConsumer<Object, StringBuilder> resolve(Class<?> type) {
+        for (Entry entry : summarizers) {
+            if (entry.type().isAssignableFrom(type)) {
+                return entry.summarizer();
+            }
+        }
+        return (value, out) -> appendCapped(out, value.toString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void register(Class<T> type, BiConsumer<T, StringBuilder> summarizer) {
+        summarizers.add(new Entry(type, (value, out) -> summarizer.accept((T) value, out)));
+    }
+
+    private void registerOpaque(Class<?> type) {
+        summarizers.add(new Entry(type, (value, out) -> out.append('<').append(type.getSimpleName()).append('>')));
+    }
+
+    private void appendCapped(StringBuilder out, CharSequence text) {
+        if (text.length() <= maxChars) {
+            out.append(text);
+            return;
+        }
+        out.append(text, 0, maxChars).append(ELLIPSIS).append("(length=").append(text.length()).append(')');
+    }
+
+    private void appendItems(StringBuilder out, String header, Iterator<?> items) {
+        out.append('[').append(header);
+        int shown = 0;
+        while (items.hasNext() && shown < maxItems) {
+            out.append(shown == 0 ? ": " : ", ");
+            Object item = items.next();
+            if (item instanceof Map.Entry<?, ?> entry) {
+                append(entry.getKey(), out);
+                out.append('=');
+                append(entry.getValue(), out);
+            } else {
+                append(item, out);
+            }
+            shown++;
+        }
+        if (items.hasNext()) {
+            out.append(", ").append(ELLIPSIS);
+        }
+        out.append(']');
+    }
+
+    private static void appendTts(TtsResponse value, StringBuilder out) {
+        out.append("TtsResponse(bytes=")
+                .append(value.getData() == null ? 0 : value.getData().length)
+                .append(", format=")
+                .append(value.getFormat())
+                .append(", durationMs=")
+                .append(value.getDurationMs())
+                .append(", fromCache=")
+                .append(value.isFromCache())
+                .append(')');
+    }
+
+    private static void appendWord(WordResponse value, StringBuilder out) {
+        out.append("WordResponse(id=")
+                .append(value.getId())
+                .append(", term=")
+                .append(value.getTerm())
+                .append(", language=")
+                .append(value.getLanguage())
+                .append(", flavor=")
+                .append(value.getFlavor())
+                .append(", versionId=")
+                .append(value.getVersionId())
+                .append(", markdownLength=")
+                .append(value.getMarkdown() == null ? 0 : value.getMarkdown().length())
+                .append(')');
+    }
+
+    private record Entry(Class<?> type, BiConsumer<Object, StringBuilder> summarizer) {}
+}
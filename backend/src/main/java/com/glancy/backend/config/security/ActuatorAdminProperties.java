@@ -0,0 +1,31 @@
+package com.glancy.backend.config.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.StringUtils;
+
+/** HTTP Basic account guarding every actuator endpoint except health; startup fails when it is not configured. */
+@Data
+@ConfigurationProperties(prefix = "actuator.admin")
+public class ActuatorAdminProperties {
+
+    private String username;
+
+    /** Stored in Spring Security's {@code {id}encoded} form, e.g. {@code {bcrypt}$2a$10$...}. */
+    private String password;
+
+    @PostConstruct
+    void validate() {
+        if (!StringUtils.hasText(username)) {
+            throw new IllegalStateException("actuator.admin.username must be configured (ACTUATOR_ADMIN_USERNAME)");
+        }
+        if (!StringUtils.hasText(password)) {
+            throw new IllegalStateException("actuator.admin.password must be configured (ACTUATOR_ADMIN_PASSWORD)");
+        }
+        if (!password.startsWith("{") || password.indexOf('}') < 2) {
+            throw new IllegalStateException(
+                    "actuator.admin.password must carry an encoder id prefix such as {bcrypt}");
+        }
+    }
+}
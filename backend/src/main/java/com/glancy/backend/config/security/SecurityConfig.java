@@ -5,6 +5,9 @@ import com.glancy.backend.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.access.AccessDeniedException;
@@ -19,15 +22,18 @@ import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-/** 安全配置（Spring Security，全拼 Security Framework）。 仅增加令牌追踪与失败日志，不改变现有鉴权与授权规则。 */
+/** 安全配置（Spring Security，全拼 Security Framework）。 业务接口沿用令牌校验，actuator 端点除健康检查外需管理员凭据。 */
 @Configuration
+@EnableConfigurationProperties(ActuatorAdminProperties.class)
 @Slf4j
 public class SecurityConfig {
 
     private final UserService userService;
+    private final ActuatorAdminProperties actuatorAdmin;
 
-    public SecurityConfig(UserService userService) {
+    public SecurityConfig(UserService userService, ActuatorAdminProperties actuatorAdmin) {
         this.userService = userService;
+        this.actuatorAdmin = actuatorAdmin;
     }
 
     @Bean
@@ -39,7 +45,13 @@ public class SecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.cors(Customizer.withDefaults())
                 .csrf(csrf -> csrf.disable())
-                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                // 运维端点（指标、路由健康、预热控制）仅对管理员开放，健康检查保持匿名可访问供探活使用
+                .authorizeHttpRequests(auth -> auth.requestMatchers(EndpointRequest.to(HealthEndpoint.class))
+                        .permitAll()
+                        .requestMatchers(EndpointRequest.toAnyEndpoint())
+                        .hasRole("ADMIN")
+                        .anyRequest()
+                        .permitAll())
                 // 在匿名认证过滤器之前增加令牌追踪过滤器，确保所有请求都被记录
                 .addFilterBefore(new TokenTraceFilter(), AnonymousAuthenticationFilter.class)
                 .addFilterBefore(tokenAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class)
@@ -88,8 +100,9 @@ public class SecurityConfig {
 
     @Bean
     public UserDetailsService users() {
-        return new InMemoryUserDetailsManager(User.withUsername("admin")
-                .password("{noop}password") // 明文密码，实际使用中应改为加密密码
+        // 凭据来自必填配置（见 ActuatorAdminProperties），未配置时启动即失败
+        return new InMemoryUserDetailsManager(User.withUsername(actuatorAdmin.getUsername())
+                .password(actuatorAdmin.getPassword())
                 .roles("ADMIN")
                 .build());
     }
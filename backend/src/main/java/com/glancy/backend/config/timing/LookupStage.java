@@ -0,0 +1,25 @@
+package com.glancy.backend.config.timing;
+
+/** Stages of a single word lookup, in pipeline order. The metric name doubles as the Server-Timing entry. */
+public enum LookupStage {
+    NORMALIZATION("normalize"),
+    PERSONALIZATION_CONTEXT("personalization_context"),
+    RECORD_UPSERT("record_upsert"),
+    CACHE_QUERY("cache_query"),
+    PROMPT_ASSEMBLY("prompt_assembly"),
+    MODEL_CALL("model_call"),
+    PARSE("parse"),
+    PERSISTENCE("persistence"),
+    VERSION_WRITE("version_write"),
+    PERSONALIZATION_NARRATIVE("personalization_narrative");
+
+    private final String metricName;
+
+    LookupStage(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String metricName() {
+        return metricName;
+    }
+}
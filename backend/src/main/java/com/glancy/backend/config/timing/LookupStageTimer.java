@@ -0,0 +1,103 @@
+package com.glancy.backend.config.timing;
+
+import com.glancy.backend.config.SearchProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the stages of a word lookup.
+ *
+ * <p>Callers bracket a stage with {@link #start()} and {@link #stop(LookupStage, long)}; both work on primitive
+ * nanosecond timestamps against timers registered up front, so the hot path allocates nothing. A request sampled via
+ * {@link #beginSampledRequest()} additionally accumulates its own per-stage durations on the calling thread, which
+ * {@link #finishSampledRequest()} renders as a {@code Server-Timing} header value. Stages that run on other threads,
+ * such as batch lookups on the worker pool, only feed the metrics.
+ */
+@Component
+public class LookupStageTimer {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final String METRIC_NAME = "glancy.lookup.stage";
+    private static final LookupStage[] STAGES = LookupStage.values();
+    private static final int REQUEST_START_SLOT = STAGES.length;
+
+    private final ThreadLocal<long[]> sampledRequest = new ThreadLocal<>();
+    private final SearchProperties.StageTiming properties;
+    private final Timer[] timers;
+
+    public LookupStageTimer(SearchProperties searchProperties, MeterRegistry meterRegistry) {
+        this.properties = searchProperties.getStageTiming();
+        this.timers = new Timer[STAGES.length];
+        for (LookupStage stage : STAGES) {
+            timers[stage.ordinal()] = Timer.builder(METRIC_NAME)
+                    .description("Time spent in one stage of a word lookup")
+                    .tag("stage", stage.metricName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+
+    /** Returns the timestamp to hand back to {@link #stop(LookupStage, long)}. */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    public void stop(LookupStage stage, long startNanos) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        timers[stage.ordinal()].record(elapsed, TimeUnit.NANOSECONDS);
+        long[] sample = sampledRequest.get();
+        if (sample != null) {
+            sample[stage.ordinal()] += elapsed;
+        }
+    }
+
+    /**
+     * Decides whether the lookup on the current thread reports a {@code Server-Timing} header.
+     *
+     * @return {@code true} when sampled; the caller must then call {@link #finishSampledRequest()} on the same thread
+     */
+    public boolean beginSampledRequest() {
+        double rate = properties.getServerTimingSampleRate();
+        if (!properties.isEnabled() || rate <= 0 || ThreadLocalRandom.current().nextDouble() >= rate) {
+            return false;
+        }
+        long[] sample = new long[STAGES.length + 1];
+        sample[REQUEST_START_SLOT] = System.nanoTime();
+        sampledRequest.set(sample);
+        return true;
+    }
+
+    /** Clears the sample of the current thread and renders it, or returns {@code null} when none was started. */
+    public String finishSampledRequest() {
+        long[] sample = sampledRequest.get();
+        if (sample == null) {
+            return null;
+        }
+        sampledRequest.remove();
+        StringBuilder header = new StringBuilder(256);
+        for (LookupStage stage : STAGES) {
+            if (sample[stage.ordinal()] > 0) {
+                appendEntry(header, stage.metricName(), sample[stage.ordinal()]);
+            }
+        }
+        appendEntry(header, "total", System.nanoTime() - sample[REQUEST_START_SLOT]);
+        return header.toString();
+    }
+
+    private static void appendEntry(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name)
+                .append(";dur=")
+                .append(String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0));
+    }
+}
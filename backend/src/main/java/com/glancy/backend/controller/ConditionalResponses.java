@@ -0,0 +1,33 @@
+package com.glancy.backend.controller;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/** Answers conditional GETs for per-user resources before their body is loaded. */
+final class ConditionalResponses {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {}
+
+    /**
+     * Returns 304 when the request's {@code If-None-Match} matches {@code etag}; otherwise loads the body and tags it.
+     * Without an ETag the body is loaded unconditionally so the loader can report a missing resource.
+     */
+    static <T> ResponseEntity<T> ifNoneMatch(Optional<String> etag, WebRequest request, Supplier<T> loader) {
+        if (etag.isEmpty()) {
+            return ResponseEntity.ok(loader.get());
+        }
+        if (request.checkNotModified(etag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag.get())
+                    .cacheControl(REVALIDATE)
+                    .build();
+        }
+        return ResponseEntity.ok().eTag(etag.get()).cacheControl(REVALIDATE).body(loader.get());
+    }
+}
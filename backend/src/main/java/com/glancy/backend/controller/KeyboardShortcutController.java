@@ -4,8 +4,10 @@ import com.glancy.backend.config.auth.AuthenticatedUser;
 import com.glancy.backend.dto.KeyboardShortcutResponse;
 import com.glancy.backend.dto.KeyboardShortcutUpdateRequest;
 import com.glancy.backend.entity.ShortcutAction;
+import com.glancy.backend.service.UserSettingsRevisionService;
 import com.glancy.backend.service.shortcut.KeyboardShortcutService;
 import jakarta.validation.Valid;
+import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /** 管理用户快捷键的读取、更新与重置。 */
 @RestController
@@ -23,15 +26,24 @@ import org.springframework.web.bind.annotation.RestController;
 public class KeyboardShortcutController {
 
     private final KeyboardShortcutService keyboardShortcutService;
+    private final UserSettingsRevisionService settingsRevisionService;
 
-    public KeyboardShortcutController(KeyboardShortcutService keyboardShortcutService) {
+    public KeyboardShortcutController(
+            KeyboardShortcutService keyboardShortcutService, UserSettingsRevisionService settingsRevisionService) {
         this.keyboardShortcutService = keyboardShortcutService;
+        this.settingsRevisionService = settingsRevisionService;
     }
 
-    /** 获取用户当前快捷键配置。 */
+    /** 获取用户当前快捷键配置，未变更时返回 304。 */
     @GetMapping("/user")
-    public ResponseEntity<KeyboardShortcutResponse> getShortcuts(@AuthenticatedUser Long userId) {
-        return ResponseEntity.ok(keyboardShortcutService.getShortcuts(userId));
+    public ResponseEntity<KeyboardShortcutResponse> getShortcuts(@AuthenticatedUser Long userId, WebRequest request) {
+        // 先读修订号再加载内容，响应体不会比其 ETag 对应的修订更旧，缓存也按同一修订号命中
+        Optional<Long> revision = settingsRevisionService.currentRevision(userId);
+        return ConditionalResponses.ifNoneMatch(
+                revision.map(value -> UserSettingsRevisionService.etag("shortcuts", value)),
+                request,
+                () -> revision.map(value -> keyboardShortcutService.getShortcuts(userId, value))
+                        .orElseGet(() -> keyboardShortcutService.getShortcuts(userId)));
     }
 
     /** 更新指定动作的快捷键。 */
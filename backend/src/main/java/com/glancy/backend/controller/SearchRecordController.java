@@ -1,6 +1,7 @@
 package com.glancy.backend.controller;
 
 import com.glancy.backend.config.auth.AuthenticatedUser;
+import com.glancy.backend.dto.SearchHistoryClearResponse;
 import com.glancy.backend.dto.SearchRecordRequest;
 import com.glancy.backend.dto.SearchRecordResponse;
 import com.glancy.backend.service.SearchRecordService;
@@ -42,7 +43,7 @@ public class SearchRecordController {
     public ResponseEntity<SearchRecordResponse> create(
             @AuthenticatedUser Long userId, @Valid @RequestBody SearchRecordRequest req) {
         SearchRecordResponse resp = searchRecordService.saveRecord(userId, req);
-        log.info("Create search record response: {}", resp);
+        log.info("Created search record {} for user {}", resp.id(), userId);
         return new ResponseEntity<>(resp, HttpStatus.CREATED);
     }
 
@@ -54,23 +55,37 @@ public class SearchRecordController {
             @RequestParam(name = "size", required = false) Integer size) {
         SearchRecordPageRequest pageRequest = SearchRecordPageRequest.of(page, size);
         List<SearchRecordResponse> resp = searchRecordService.getRecords(userId, pageRequest);
-        log.info("List search records response for user {}: {}", userId, resp);
+        log.info("Listed {} search records for user {}", resp.size(), userId);
         return ResponseEntity.ok(resp);
     }
 
-    /** Clear all search records for a user. */
+    /**
+     * Clear all search records for a user. Small histories are cleared before responding with 204; large ones are
+     * cleared in the background and answered with 202 and a job that can be polled for progress.
+     */
     @DeleteMapping("/user")
-    public ResponseEntity<Void> clear(@AuthenticatedUser Long userId) {
-        searchRecordService.clearRecords(userId);
-        log.info("Cleared search records for user {}", userId);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<SearchHistoryClearResponse> clear(@AuthenticatedUser Long userId) {
+        SearchHistoryClearResponse job = searchRecordService.clearRecords(userId);
+        if (job.finished()) {
+            log.info("Cleared search records for user {}", userId);
+            return ResponseEntity.noContent().build();
+        }
+        log.info("Accepted search record clear job {} for user {}", job.jobId(), userId);
+        return ResponseEntity.accepted().body(job);
+    }
+
+    /** Report the progress of a background clear job started by the user. */
+    @GetMapping("/user/clear-jobs/{jobId}")
+    public ResponseEntity<SearchHistoryClearResponse> clearJob(
+            @AuthenticatedUser Long userId, @PathVariable String jobId) {
+        return ResponseEntity.ok(searchRecordService.getClearJob(userId, jobId));
     }
 
     /** Mark a search record as favorite for the user. */
     @PostMapping("/user/{recordId}/favorite")
     public ResponseEntity<SearchRecordResponse> favorite(@AuthenticatedUser Long userId, @PathVariable Long recordId) {
         SearchRecordResponse resp = searchRecordService.favoriteRecord(userId, recordId);
-        log.info("Favorite search record response: {}", resp);
+        log.info("Favorited record {} for user {}", recordId, userId);
         return ResponseEntity.ok(resp);
     }
 
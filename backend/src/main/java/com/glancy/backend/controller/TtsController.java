@@ -41,15 +41,15 @@ public class TtsController {
             @AuthenticatedUser Long userId, HttpServletRequest httpRequest, @Valid @RequestBody TtsRequest request) {
         String rid = String.valueOf(httpRequest.getAttribute("req.id"));
         String tokenStatus = String.valueOf(httpRequest.getAttribute("auth.token.status"));
-        log.info("RID={}, entering {}, tokenStatus={}", rid, "synthesizeWord", tokenStatus);
+        log.debug("RID={}, entering {}, tokenStatus={}", rid, "synthesizeWord", tokenStatus);
         String ip = httpRequest.getRemoteAddr();
         log.info(
-                "Synthesizing word for user={}, ip={}, lang={}, voice={}, text={}",
+                "Synthesizing word for user={}, ip={}, lang={}, voice={}, textLength={}",
                 userId,
                 ip,
                 request.getLang(),
                 request.getVoice(),
-                request.getText());
+                lengthOf(request.getText()));
         Optional<TtsResponse> resp = ttsService.synthesizeWord(userId, ip, request);
         return buildResponse(userId, "Word synthesis", resp);
     }
@@ -65,14 +65,14 @@ public class TtsController {
         String ip = httpRequest.getRemoteAddr();
         String rid = String.valueOf(httpRequest.getAttribute("req.id"));
         String tokenStatus = String.valueOf(httpRequest.getAttribute("auth.token.status"));
-        log.info("RID={}, entering {}, tokenStatus={}", rid, "streamWord", tokenStatus);
+        log.debug("RID={}, entering {}, tokenStatus={}", rid, "streamWord", tokenStatus);
         log.info(
-                "Streaming word for user={}, ip={}, lang={}, voice={}, text={}",
+                "Streaming word for user={}, ip={}, lang={}, voice={}, textLength={}",
                 userId,
                 ip,
                 query.getLang(),
                 query.getVoice(),
-                query.getText());
+                lengthOf(query.getText()));
         Optional<TtsResponse> resp = ttsService.synthesizeWord(userId, ip, req);
         return buildResponse(userId, "Word stream", resp);
     }
@@ -83,7 +83,7 @@ public class TtsController {
             @AuthenticatedUser Long userId, HttpServletRequest httpRequest, @Valid @RequestBody TtsRequest request) {
         String rid = String.valueOf(httpRequest.getAttribute("req.id"));
         String tokenStatus = String.valueOf(httpRequest.getAttribute("auth.token.status"));
-        log.info("RID={}, entering {}, tokenStatus={}", rid, "synthesizeSentence", tokenStatus);
+        log.debug("RID={}, entering {}, tokenStatus={}", rid, "synthesizeSentence", tokenStatus);
         String ip = httpRequest.getRemoteAddr();
         log.info(
                 "Synthesizing sentence for user={}, ip={}, lang={}, voice={}",
@@ -106,18 +106,22 @@ public class TtsController {
         String ip = httpRequest.getRemoteAddr();
         String rid = String.valueOf(httpRequest.getAttribute("req.id"));
         String tokenStatus = String.valueOf(httpRequest.getAttribute("auth.token.status"));
-        log.info("RID={}, entering {}, tokenStatus={}", rid, "streamSentence", tokenStatus);
+        log.debug("RID={}, entering {}, tokenStatus={}", rid, "streamSentence", tokenStatus);
         log.info(
-                "Streaming sentence for user={}, ip={}, lang={}, voice={}, text={}",
+                "Streaming sentence for user={}, ip={}, lang={}, voice={}, textLength={}",
                 userId,
                 ip,
                 query.getLang(),
                 query.getVoice(),
-                query.getText());
+                lengthOf(query.getText()));
         Optional<TtsResponse> resp = ttsService.synthesizeSentence(userId, ip, req);
         return buildResponse(userId, "Sentence stream", resp);
     }
 
+    private static int lengthOf(String text) {
+        return text == null ? 0 : text.length();
+    }
+
     private ResponseEntity<TtsResponse> buildResponse(Long userId, String action, Optional<TtsResponse> resp) {
         if (resp.isPresent()) {
             TtsResponse body = resp.get();
@@ -97,8 +97,8 @@ public class UserController {
 
     /** Authenticate a user with username/email and password. */
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest req) {
-        LoginResponse resp = userService.login(req);
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest req, HttpServletRequest httpRequest) {
+        LoginResponse resp = userService.login(req, clientIpResolver.resolve(httpRequest));
         return new ResponseEntity<>(resp, HttpStatus.OK);
     }
 
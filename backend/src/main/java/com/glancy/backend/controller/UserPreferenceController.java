@@ -5,6 +5,7 @@ import com.glancy.backend.dto.UserPreferenceRequest;
 import com.glancy.backend.dto.UserPreferenceResponse;
 import com.glancy.backend.dto.UserPreferenceUpdateRequest;
 import com.glancy.backend.service.UserPreferenceService;
+import com.glancy.backend.service.UserSettingsRevisionService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /** Manage user interface and language preferences. */
 @RestController
@@ -23,9 +25,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserPreferenceController {
 
     private final UserPreferenceService userPreferenceService;
+    private final UserSettingsRevisionService settingsRevisionService;
 
-    public UserPreferenceController(UserPreferenceService userPreferenceService) {
+    public UserPreferenceController(
+            UserPreferenceService userPreferenceService, UserSettingsRevisionService settingsRevisionService) {
         this.userPreferenceService = userPreferenceService;
+        this.settingsRevisionService = settingsRevisionService;
     }
 
     /** Persist UI and language preferences for a user. */
@@ -44,10 +49,12 @@ public class UserPreferenceController {
         return ResponseEntity.ok(resp);
     }
 
-    /** Retrieve preferences previously saved for the user. */
+    /** Retrieve preferences previously saved for the user, answering 304 while they are unchanged. */
     @GetMapping("/user")
-    public ResponseEntity<UserPreferenceResponse> getPreference(@AuthenticatedUser Long userId) {
-        UserPreferenceResponse resp = userPreferenceService.getPreference(userId);
-        return ResponseEntity.ok(resp);
+    public ResponseEntity<UserPreferenceResponse> getPreference(@AuthenticatedUser Long userId, WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(
+                settingsRevisionService.currentEtag(userId, "preferences"),
+                request,
+                () -> userPreferenceService.getPreference(userId));
     }
 }
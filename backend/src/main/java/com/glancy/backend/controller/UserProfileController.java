@@ -4,6 +4,7 @@ import com.glancy.backend.config.auth.AuthenticatedUser;
 import com.glancy.backend.dto.UserProfileRequest;
 import com.glancy.backend.dto.UserProfileResponse;
 import com.glancy.backend.service.UserProfileService;
+import com.glancy.backend.service.UserSettingsRevisionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /** Manage user personal profiles. */
 @RestController
@@ -20,9 +22,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserProfileController {
 
     private final UserProfileService userProfileService;
+    private final UserSettingsRevisionService settingsRevisionService;
 
-    public UserProfileController(UserProfileService userProfileService) {
+    public UserProfileController(
+            UserProfileService userProfileService, UserSettingsRevisionService settingsRevisionService) {
         this.userProfileService = userProfileService;
+        this.settingsRevisionService = settingsRevisionService;
     }
 
     /** Save profile for a user. */
@@ -33,10 +38,12 @@ public class UserProfileController {
         return new ResponseEntity<>(resp, HttpStatus.CREATED);
     }
 
-    /** Retrieve profile for a user. */
+    /** Retrieve profile for a user, answering 304 while it is unchanged. */
     @GetMapping("/user")
-    public ResponseEntity<UserProfileResponse> getProfile(@AuthenticatedUser Long userId) {
-        UserProfileResponse resp = userProfileService.getProfile(userId);
-        return ResponseEntity.ok(resp);
+    public ResponseEntity<UserProfileResponse> getProfile(@AuthenticatedUser Long userId, WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(
+                settingsRevisionService.currentEtag(userId, "profile"),
+                request,
+                () -> userProfileService.getProfile(userId));
     }
 }
@@ -1,19 +1,32 @@
 package com.glancy.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.glancy.backend.config.auth.AuthenticatedUser;
+import com.glancy.backend.config.timing.LookupStageTimer;
 import com.glancy.backend.controller.request.WordLookupRequest;
+import com.glancy.backend.dto.WordBatchLookupItem;
+import com.glancy.backend.dto.WordBatchLookupRequest;
 import com.glancy.backend.dto.WordResponse;
 import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.service.WordBatchService;
 import com.glancy.backend.service.WordService;
 import com.glancy.backend.service.word.WordSearchOptions;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Provides dictionary lookup functionality. Each request also records the search for history
@@ -25,12 +38,25 @@ import org.springframework.web.bind.annotation.RestController;
 public class WordController {
 
     private final WordService wordService;
+    private final WordBatchService wordBatchService;
+    private final ObjectMapper objectMapper;
+    private final LookupStageTimer stageTimer;
 
-    public WordController(WordService wordService) {
+    public WordController(
+            WordService wordService,
+            WordBatchService wordBatchService,
+            ObjectMapper objectMapper,
+            LookupStageTimer stageTimer) {
         this.wordService = wordService;
+        this.wordBatchService = wordBatchService;
+        this.objectMapper = objectMapper;
+        this.stageTimer = stageTimer;
     }
 
-    /** Look up a word definition and save the search record. */
+    /**
+     * Look up a word definition and save the search record. Sampled lookups report their per-stage durations in a
+     * {@code Server-Timing} header.
+     */
     @GetMapping
     public ResponseEntity<WordResponse> getWord(
             @AuthenticatedUser Long userId, @ModelAttribute WordLookupRequest lookupRequest)
@@ -44,8 +70,47 @@ public class WordController {
                 lookupRequest.getModel(),
                 lookupRequest.isForceNew(),
                 lookupRequest.isCaptureHistory());
-        WordResponse resp = wordService.findWordForUser(userId, options);
-        return ResponseEntity.ok(resp);
+        boolean sampled = stageTimer.beginSampledRequest();
+        WordResponse resp;
+        String serverTiming = null;
+        try {
+            resp = wordService.findWordForUser(userId, options);
+        } finally {
+            if (sampled) {
+                serverTiming = stageTimer.finishSampledRequest();
+            }
+        }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (serverTiming != null) {
+            ok.header(LookupStageTimer.SERVER_TIMING_HEADER, serverTiming);
+        }
+        return ok.body(resp);
+    }
+
+    /**
+     * Look up several words at once. Results are streamed as newline-delimited JSON, one {@link WordBatchLookupItem}
+     * per distinct term in completion order; a term that fails is reported on its own line. If the client goes away,
+     * the failed write cancels the generations still outstanding.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<StreamingResponseBody> lookupBatch(
+            @AuthenticatedUser Long userId, @Valid @RequestBody WordBatchLookupRequest request) {
+        wordBatchService.validate(request);
+        StreamingResponseBody body = out -> wordBatchService.lookup(userId, request, item -> writeLine(out, item));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream out, WordBatchLookupItem item) {
+        try {
+            byte[] line = objectMapper.writeValueAsBytes(item);
+            synchronized (out) {
+                out.write(line);
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
     }
 
     private void validateLookupRequest(WordLookupRequest lookupRequest) throws MissingServletRequestParameterException {
@@ -1,20 +1,28 @@
 package com.glancy.backend.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 import lombok.Data;
 
+/** Chat completions payload; streaming chunks reuse it with {@code delta} instead of {@code message}. */
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class ChatCompletionResponse {
 
+    private String model;
     private List<Choice> choices;
+    private Usage usage;
 
     @Data
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class Choice {
 
         private Message message;
+        private Message delta;
+
+        @JsonProperty("finish_reason")
+        private String finishReason;
     }
 
     @Data
@@ -24,4 +32,30 @@ public class ChatCompletionResponse {
         private String role;
         private String content;
     }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Usage {
+
+        @JsonProperty("prompt_tokens")
+        private Integer promptTokens;
+
+        @JsonProperty("completion_tokens")
+        private Integer completionTokens;
+
+        @JsonProperty("prompt_tokens_details")
+        private PromptTokensDetails promptTokensDetails;
+
+        public Integer cachedTokens() {
+            return promptTokensDetails == null ? null : promptTokensDetails.getCachedTokens();
+        }
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class PromptTokensDetails {
+
+        @JsonProperty("cached_tokens")
+        private Integer cachedTokens;
+    }
 }
@@ -0,0 +1,25 @@
+package com.glancy.backend.dto;
+
+import java.time.LocalDateTime;
+
+/** Progress of a "clear search history" request; large histories are cleared in the background. */
+public record SearchHistoryClearResponse(
+        String jobId,
+        Status status,
+        long totalRecords,
+        long clearedRecords,
+        long clearedVersions,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt) {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public boolean finished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
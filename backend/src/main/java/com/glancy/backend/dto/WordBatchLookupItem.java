@@ -0,0 +1,25 @@
+package com.glancy.backend.dto;
+
+/** One line of a batch lookup stream: the requested term with either its entry or the reason it failed. */
+public record WordBatchLookupItem(String term, Status status, WordResponse word, String error) {
+
+    public enum Status {
+        /** Served from the word table without calling the model. */
+        CACHED,
+        /** Generated by the model for this request. */
+        GENERATED,
+        FAILED
+    }
+
+    public static WordBatchLookupItem cached(String term, WordResponse word) {
+        return new WordBatchLookupItem(term, Status.CACHED, word, null);
+    }
+
+    public static WordBatchLookupItem generated(String term, WordResponse word) {
+        return new WordBatchLookupItem(term, Status.GENERATED, word, null);
+    }
+
+    public static WordBatchLookupItem failed(String term, String error) {
+        return new WordBatchLookupItem(term, Status.FAILED, null, error);
+    }
+}
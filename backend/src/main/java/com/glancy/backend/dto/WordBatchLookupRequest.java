@@ -0,0 +1,23 @@
+package com.glancy.backend.dto;
+
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.Data;
+
+/** Request payload for looking up several words of one language and flavor in a single call. */
+@Data
+public class WordBatchLookupRequest {
+
+    @NotEmpty(message = "{validation.wordBatch.terms.notempty}")
+    private List<String> terms;
+
+    @NotNull(message = "{validation.wordBatch.language.notnull}")
+    private Language language;
+
+    private DictionaryFlavor flavor = DictionaryFlavor.BILINGUAL;
+
+    private String model;
+}
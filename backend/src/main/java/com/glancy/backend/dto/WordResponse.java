@@ -27,4 +27,6 @@ public class WordResponse {
     private Long versionId;
     private PersonalizedWordExplanation personalization;
     private DictionaryFlavor flavor;
+    /** 模型全部不可用时返回的离线占位内容：仅供本次展示，不入缓存、不记历史。 */
+    private boolean degraded;
 }
@@ -0,0 +1,35 @@
+package com.glancy.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.MappedSuperclass;
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+/**
+ * Soft-delete flag and audit timestamps shared by every entity. Identifier mapping is left to subclasses so that
+ * high-volume tables can extend {@link PooledIdEntity} instead of {@link BaseEntity}'s identity column.
+ */
+@MappedSuperclass
+@EntityListeners(AuditingEntityListener.class)
+@Data
+@NoArgsConstructor
+public abstract class AuditableEntity {
+
+    @Column(nullable = false)
+    private Boolean deleted = false;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false, columnDefinition = "DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6)")
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(
+            nullable = false,
+            columnDefinition = "DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+    private LocalDateTime updatedAt;
+}
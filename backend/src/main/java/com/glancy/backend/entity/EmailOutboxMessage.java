@@ -0,0 +1,67 @@
+package com.glancy.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Fully prepared outbound email written in the same transaction as the business change that triggers it and delivered
+ * later by the outbox dispatcher. The payload is the serialized MIME message; it is cleared once the message reaches a
+ * final state so that codes and personal data do not linger.
+ */
+@Entity
+@Table(
+        name = "email_outbox",
+        indexes = {
+            @Index(name = "idx_email_outbox_due", columnList = "status, nextAttemptAt"),
+            @Index(name = "idx_email_outbox_claim", columnList = "claimToken"),
+        })
+@Getter
+@Setter
+public class EmailOutboxMessage extends PooledIdEntity {
+
+    @Column(nullable = false, length = 320)
+    private String recipient;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private EmailStream stream;
+
+    /** Rate-limit bucket of the recipient's mailbox provider, resolved when the message is queued. */
+    @Column(nullable = false, length = 64)
+    private String provider;
+
+    @Lob
+    @Column(length = 16 * 1024 * 1024)
+    private byte[] payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmailOutboxStatus status = EmailOutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /** Messages still unsent at this time are dropped, e.g. when the verification code they carry has expired. */
+    private LocalDateTime expiresAt;
+
+    @Column(length = 36)
+    private String claimToken;
+
+    private LocalDateTime lockedUntil;
+
+    @Column(length = 512)
+    private String lastError;
+
+    private LocalDateTime sentAt;
+}
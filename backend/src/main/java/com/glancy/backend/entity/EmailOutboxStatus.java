@@ -0,0 +1,12 @@
+package com.glancy.backend.entity;
+
+/** Delivery state of an {@link EmailOutboxMessage}. */
+public enum EmailOutboxStatus {
+    /** Waiting for its next attempt. */
+    PENDING,
+    /** Claimed by a dispatcher until {@code lockedUntil}; reclaimed afterwards if the dispatcher died. */
+    SENDING,
+    SENT,
+    /** Permanently rejected, out of attempts or expired before it could be sent. */
+    FAILED
+}
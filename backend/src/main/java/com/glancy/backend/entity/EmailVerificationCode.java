@@ -6,24 +6,25 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.Setter;
 
 /**
  * Verification code issued to confirm ownership of an email address for authentication related
- * flows.
+ * flows. Only the latest code of an (email, purpose) pair matters, so the pair is unique and issuing a new code
+ * overwrites the row; expired rows are removed by {@code EmailVerificationCodeSweeper}.
  */
 @Entity
 @Table(
         name = "email_verification_codes",
-        indexes = {
-            @Index(name = "idx_email_purpose_active", columnList = "email, purpose, expiresAt"),
-            @Index(name = "idx_email_created", columnList = "email, createdAt"),
-        })
+        uniqueConstraints =
+                @UniqueConstraint(name = "uk_email_verification_email_purpose", columnNames = {"email", "purpose"}),
+        indexes = @Index(name = "idx_email_verification_expires", columnList = "expiresAt"))
 @Getter
 @Setter
-public class EmailVerificationCode extends BaseEntity {
+public class EmailVerificationCode extends PooledIdEntity {
 
     @Column(nullable = false, length = 100)
     private String email;
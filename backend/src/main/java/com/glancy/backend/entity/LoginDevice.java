@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -14,7 +15,9 @@ import lombok.NoArgsConstructor;
 
 /** Records each device a user has logged in from. */
 @Entity
-@Table(name = "login_devices")
+@Table(
+        name = "login_devices",
+        indexes = @Index(name = "idx_login_devices_user_time", columnList = "user_id, loginTime"))
 @Data
 @NoArgsConstructor
 public class LoginDevice {
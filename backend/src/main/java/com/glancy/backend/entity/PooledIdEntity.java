@@ -0,0 +1,28 @@
+package com.glancy.backend.entity;
+
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Base class for high-volume tables whose ids come from a per-entity sequence ({@code <entity>_seq}, emulated as a
+ * table on MySQL) rather than an identity column.
+ *
+ * <p>Hibernate has to execute identity inserts one by one to read back the key, which disables JDBC batching. Sequence
+ * values are reserved in blocks of 50 and handed out by the pooled-lo optimizer, so inserts of these entities and their
+ * element collections are batched according to {@code hibernate.jdbc.batch_size}.
+ */
+@MappedSuperclass
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public abstract class PooledIdEntity extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+}
@@ -17,7 +17,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
-public class SearchRecord extends BaseEntity {
+public class SearchRecord extends PooledIdEntity {
 
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
@@ -36,4 +36,17 @@ public class SearchRecord extends BaseEntity {
 
     @Column(nullable = false)
     private Boolean favorite = false;
+
+    /**
+     * Highest version number handed out for this record. Only the atomic increments in
+     * {@code SearchRecordRepository} and {@code LookupSideEffectWriter} write it, so concurrent version inserts from
+     * the request thread and the write-behind flusher never reuse a number.
+     */
+    @Column(
+            name = "version_count",
+            nullable = false,
+            insertable = false,
+            updatable = false,
+            columnDefinition = "INT DEFAULT 0")
+    private Integer versionCount;
 }
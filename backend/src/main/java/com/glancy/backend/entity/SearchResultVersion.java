@@ -13,13 +13,16 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
-/** Immutable snapshot of a search result persisted for history review. */
+/**
+ * Immutable snapshot of a search result persisted for history review. Sequence-based ids also let the lookup path
+ * hand out a version id before the row is written behind.
+ */
 @Entity
 @Table(name = "search_result_versions")
 @Data
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
-public class SearchResultVersion extends BaseEntity {
+public class SearchResultVersion extends PooledIdEntity {
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
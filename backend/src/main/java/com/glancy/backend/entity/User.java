@@ -53,6 +53,11 @@ public class User extends BaseEntity {
     @JsonIgnore
     private String loginToken;
 
+    /** 偏好、资料或快捷键每次变更时递增，用作条件请求的 ETag；只由 {@code UserRepository} 的批量更新写入。 */
+    @JsonIgnore
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long settingsRevision;
+
     /** 判断给定时间点用户会员是否有效，统一落地到布尔标识以兼容既有查询逻辑。 */
     public boolean hasActiveMembershipAt(LocalDateTime evaluationTime) {
         if (membershipType == null || membershipType == MembershipType.NONE) {
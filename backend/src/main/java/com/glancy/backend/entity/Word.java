@@ -26,7 +26,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
-public class Word extends BaseEntity {
+public class Word extends PooledIdEntity {
 
     @Column(nullable = false, length = 100)
     private String term;
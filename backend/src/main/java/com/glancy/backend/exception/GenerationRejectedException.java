@@ -0,0 +1,9 @@
+package com.glancy.backend.exception;
+
+/** Raised when model output fails the quality gate, or the same entry failed it moments ago. */
+public class GenerationRejectedException extends ServiceDegradedException {
+
+    public GenerationRejectedException(String message) {
+        super(message);
+    }
+}
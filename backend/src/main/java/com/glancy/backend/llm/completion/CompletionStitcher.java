@@ -0,0 +1,26 @@
+package com.glancy.backend.llm.completion;
+
+/** 拼接被截断的输出与续写片段：续写开头若重复了前文末尾，只保留一份。 */
+public final class CompletionStitcher {
+
+    private CompletionStitcher() {}
+
+    /**
+     * @param overlapWindow 最多检查的重叠字符数，限制在前文末尾与续写开头之间做 O(window²) 的比较
+     */
+    public static String stitch(String partial, String continuation, int overlapWindow) {
+        if (partial == null || partial.isEmpty()) {
+            return continuation == null ? "" : continuation;
+        }
+        if (continuation == null || continuation.isEmpty()) {
+            return partial;
+        }
+        int maxOverlap = Math.min(Math.max(0, overlapWindow), Math.min(partial.length(), continuation.length()));
+        for (int length = maxOverlap; length > 0; length--) {
+            if (partial.regionMatches(partial.length() - length, continuation, 0, length)) {
+                return partial + continuation.substring(length);
+            }
+        }
+        return partial + continuation;
+    }
+}
@@ -2,6 +2,7 @@ package com.glancy.backend.llm.config;
 
 import com.glancy.backend.entity.DictionaryFlavor;
 import com.glancy.backend.entity.Language;
+import java.time.Duration;
 import java.util.Map;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -19,6 +20,11 @@ public class LLMConfig {
     private String promptPath = "prompts/english_to_chinese.txt";
     private Map<String, String> promptPaths;
     private Map<String, Map<String, String>> promptFlavorPaths;
+    private QualityGate qualityGate = new QualityGate();
+    private Routing routing = new Routing();
+    private Hedging hedging = new Hedging();
+    private Continuation continuation = new Continuation();
+    private TokenBudget tokenBudget = new TokenBudget();
 
     public String resolvePromptPath(Language language) {
         if (promptPaths != null && language != null) {
@@ -51,4 +57,64 @@ public class LLMConfig {
         }
         return resolvePromptPath(language);
     }
+
+    /** 模型输出质量闸门：不合格的生成不落库，并在短时间内对同一词条快速失败，避免反复触发昂贵的生成。 */
+    @Data
+    public static class QualityGate {
+
+        private boolean rejectMissingSentinel = true;
+        private boolean rejectFallbackDefinition = true;
+        private Duration negativeCacheTtl = Duration.ofMinutes(2);
+        private int negativeCacheMaxEntries = 5000;
+    }
+
+    /** 模型路由与熔断：连续失败达到阈值后打开熔断，冷却结束后仅放行一次探测请求。 */
+    @Data
+    public static class Routing {
+
+        private int failureThreshold = 5;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int windowSize = 100;
+        private int minSamples = 10;
+        private Duration slowCallThreshold = Duration.ofSeconds(45);
+        private boolean offlineFallbackEnabled = true;
+    }
+
+    /** 对冲请求：主请求超过历史耗时分位仍未返回时，向备用（或同一）客户端再发一次，取先通过完成哨兵的结果。 */
+    @Data
+    public static class Hedging {
+
+        private boolean enabled = false;
+        private double delayPercentile = 0.95;
+        private Duration initialDelay = Duration.ofSeconds(20);
+        private Duration minDelay = Duration.ofSeconds(2);
+        private double budgetRatio = 0.05;
+        private int workerThreads = 16;
+    }
+
+    /** 续写：缺少完成哨兵时携带已生成内容请求模型从中断处继续，而不是整条重新生成。 */
+    @Data
+    public static class Continuation {
+
+        private boolean enabled = true;
+        private int maxRounds = 2;
+        private int overlapWindow = 200;
+    }
+
+    /**
+     * 自适应输出预算：按 (语言, 词典风格, 词条类别) 记录完整输出的长度，以其分位数乘以余量作为 max_completion_tokens。 样本不足时不下发预算，沿用客户端配置的上限。
+     */
+    @Data
+    public static class TokenBudget {
+
+        private boolean enabled = true;
+        private double percentile = 0.95;
+        private double headroom = 1.3;
+        /** 字符到 token 的换算系数；取偏保守的 1.0，宁可多给也不因估算偏小导致截断。 */
+        private double tokensPerChar = 1.0;
+        private int minTokens = 1024;
+        private int maxTokens = 20480;
+        private int minSamples = 20;
+        private int windowSize = 200;
+    }
 }
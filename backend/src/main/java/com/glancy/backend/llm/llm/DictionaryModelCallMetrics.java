@@ -0,0 +1,168 @@
+package com.glancy.backend.llm.llm;
+
+import com.glancy.backend.llm.completion.CompletionSentinel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 背景： - 模型客户端只取回正文，供应商返回的 usage、状态码与耗时全部丢弃，无法回答「token 与时间花在哪」。 目的： - 为单次模型 HTTP
+ * 调用提供统一的打点入口：按模型统计 prompt/completion/cached token，记录延迟直方图、流式首 token 时间（TTFT）、按状态类别的错误数与缺失哨兵次数。
+ * 关键决策与取舍： - 所有指标携带 client、model、language、flavor 标签，language/flavor 来自 {@link DictionaryModelRequestOptions}，缺失时记为
+ * unknown；取值均为有限枚举，基数可控。 - 延迟与 TTFT 发布直方图桶而非客户端分位数，便于 Prometheus 跨实例聚合。 - 时间取自注册表时钟，测试可替换为模拟时钟。
+ * 影响范围： - 仅新增指标，不改变调用结果与异常语义。
+ */
+@Component
+public class DictionaryModelCallMetrics {
+
+    static final String PREFIX = "glancy.llm.request";
+    static final String TOKENS = "glancy.llm.tokens";
+    private static final String UNKNOWN = "unknown";
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(50);
+    private static final Duration MAX_EXPECTED = Duration.ofMinutes(3);
+
+    private final MeterRegistry meterRegistry;
+
+    public DictionaryModelCallMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** 在发出 HTTP 请求前调用，返回的观测对象负责记录本次调用的全部指标。 */
+    public Call start(String client, String model, DictionaryModelRequestOptions options, boolean stream) {
+        DictionaryModelRequestOptions safeOptions =
+                options == null ? DictionaryModelRequestOptions.defaults() : options;
+        Tags tags = Tags.of(
+                "client", tagValue(client),
+                "model", tagValue(model),
+                "language", tagValue(safeOptions.language()),
+                "flavor", tagValue(safeOptions.flavor()));
+        return new Call(tags, stream, meterRegistry.config().clock().monotonicTime());
+    }
+
+    private static String tagValue(Object value) {
+        if (value == null) {
+            return UNKNOWN;
+        }
+        String text = value.toString();
+        return text.isBlank() ? UNKNOWN : text;
+    }
+
+    /** 单次调用的观测对象；非线程安全，由发起调用的线程或同一条响应流使用。 */
+    public final class Call {
+
+        private final Tags tags;
+        private final boolean stream;
+        private final long startNanos;
+        private int status;
+        private boolean firstTokenSeen;
+
+        private Call(Tags tags, boolean stream, long startNanos) {
+            this.tags = tags;
+            this.stream = stream;
+            this.startNanos = startNanos;
+        }
+
+        /** 记录供应商返回的 HTTP 状态码，用于失败时归类。 */
+        public void status(int statusCode) {
+            this.status = statusCode;
+        }
+
+        /** 流式响应收到首个非空片段时调用；只记录第一次。 */
+        public void firstToken() {
+            if (firstTokenSeen) {
+                return;
+            }
+            firstTokenSeen = true;
+            Timer.builder(PREFIX + ".ttft")
+                    .description("Time from request start to the first streamed content token")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MIN_EXPECTED)
+                    .maximumExpectedValue(MAX_EXPECTED)
+                    .register(meterRegistry)
+                    .record(elapsedNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        /** 按模型累计 usage 块中的 token 数，缺失字段跳过。 */
+        public void usage(Integer promptTokens, Integer completionTokens, Integer cachedTokens) {
+            countTokens("prompt", promptTokens);
+            countTokens("completion", completionTokens);
+            countTokens("cached", cachedTokens);
+        }
+
+        /** 调用成功返回正文后调用；正文缺少完成哨兵时额外计数。 */
+        public void success(String content, String finishReason) {
+            recordLatency("success");
+            if (!CompletionSentinel.inspect(content).satisfied()) {
+                Counter.builder(PREFIX + ".sentinel_missing")
+                        .description("Model responses that ended without the completion sentinel")
+                        .tags(tags)
+                        .tag("finish_reason", tagValue(finishReason))
+                        .register(meterRegistry)
+                        .increment();
+            }
+        }
+
+        /** 调用失败时调用，按状态类别（4xx/5xx/timeout/io/other）计数。 */
+        public void failure(Throwable error) {
+            recordLatency("error");
+            Counter.builder(PREFIX + ".errors")
+                    .description("Failed model calls by status class")
+                    .tags(tags)
+                    .tag("status_class", statusClass(error))
+                    .register(meterRegistry)
+                    .increment();
+        }
+
+        private void countTokens(String type, Integer count) {
+            if (count == null || count <= 0) {
+                return;
+            }
+            Counter.builder(TOKENS)
+                    .description("Tokens reported in the provider usage block")
+                    .tags(tags)
+                    .tag("type", type)
+                    .register(meterRegistry)
+                    .increment(count);
+        }
+
+        private void recordLatency(String outcome) {
+            Timer.builder(PREFIX + ".latency")
+                    .description("End-to-end latency of a single model HTTP call")
+                    .tags(tags)
+                    .tag("stream", Boolean.toString(stream))
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MIN_EXPECTED)
+                    .maximumExpectedValue(MAX_EXPECTED)
+                    .register(meterRegistry)
+                    .record(elapsedNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        private long elapsedNanos() {
+            return meterRegistry.config().clock().monotonicTime() - startNanos;
+        }
+
+        private String statusClass(Throwable error) {
+            if (status >= 400) {
+                return (status / 100) + "xx";
+            }
+            String statusClass = "other";
+            for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+                if (cause instanceof TimeoutException || cause.getClass().getSimpleName().contains("Timeout")) {
+                    return "timeout";
+                }
+                if (cause instanceof IOException) {
+                    statusClass = "io";
+                }
+            }
+            return statusClass;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.glancy.backend.llm.llm;
+
+import com.glancy.backend.llm.model.ChatMessage;
+import java.util.List;
+
+/** 所有模型客户端的熔断均已打开时的兜底生成器，只在本地拼装内容，不发起任何网络调用。 */
+public interface DictionaryModelFallback {
+
+    String generateEntry(List<ChatMessage> messages);
+}
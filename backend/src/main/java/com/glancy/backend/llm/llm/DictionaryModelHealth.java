@@ -0,0 +1,148 @@
+package com.glancy.backend.llm.llm;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * 单个模型客户端的滚动健康状态：最近 {@code windowSize} 次调用的耗时与成败，以及熔断状态机。
+ *
+ * <p>CLOSED 下连续失败达到阈值即转为 OPEN；冷却期结束后第一个请求转为 HALF_OPEN 探测，探测成功恢复 CLOSED，失败则重新计时。探测期间其余请求直接跳过该客户端。
+ */
+public final class DictionaryModelHealth {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String clientName;
+    private final long[] latencyMillis;
+    private final boolean[] failed;
+    private int next;
+    private int samples;
+    private int consecutiveFailures;
+    private State state = State.CLOSED;
+    private Instant openedAt;
+    private boolean probeInFlight;
+
+    DictionaryModelHealth(String clientName, int windowSize) {
+        this.clientName = clientName;
+        int size = Math.max(1, windowSize);
+        this.latencyMillis = new long[size];
+        this.failed = new boolean[size];
+    }
+
+    /** 判断当前是否允许向该客户端发起请求；冷却结束时由本次调用承担半开探测。 */
+    synchronized boolean tryAcquire(Instant now, Duration openDuration) {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (now.isBefore(openedAt.plus(openDuration))) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    synchronized void recordSuccess(Duration latency) {
+        record(latency, false);
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+        openedAt = null;
+    }
+
+    synchronized void recordFailure(Duration latency, Instant now, int failureThreshold) {
+        record(latency, true);
+        consecutiveFailures++;
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || consecutiveFailures >= Math.max(1, failureThreshold)) {
+            state = State.OPEN;
+            openedAt = now;
+        }
+    }
+
+    /** 调用被对冲放弃时既不算成功也不算失败，只归还探测名额，让下一个请求重新承担半开探测。 */
+    synchronized void releaseProbe() {
+        probeInFlight = false;
+    }
+
+    synchronized boolean isOpen() {
+        return state != State.CLOSED;
+    }
+
+    /** 样本不足时视为未知而非慢速，避免冷启动阶段的个别长尾把客户端排到末尾。 */
+    synchronized boolean isSlow(Duration threshold, int minSamples) {
+        return samples >= Math.max(1, minSamples) && percentile(0.95) > threshold.toMillis();
+    }
+
+    synchronized long p95Millis() {
+        return percentile(0.95);
+    }
+
+    synchronized long percentileMillis(double quantile) {
+        return percentile(quantile);
+    }
+
+    synchronized int samples() {
+        return samples;
+    }
+
+    synchronized Snapshot snapshot() {
+        int failures = 0;
+        for (int i = 0; i < samples; i++) {
+            if (failed[i]) {
+                failures++;
+            }
+        }
+        double errorRate = samples == 0 ? 0.0 : (double) failures / samples;
+        return new Snapshot(
+                clientName,
+                state,
+                consecutiveFailures,
+                samples,
+                errorRate,
+                percentile(0.5),
+                percentile(0.95),
+                openedAt);
+    }
+
+    private void record(Duration latency, boolean failure) {
+        latencyMillis[next] = latency.toMillis();
+        failed[next] = failure;
+        next = (next + 1) % latencyMillis.length;
+        samples = Math.min(samples + 1, latencyMillis.length);
+    }
+
+    private long percentile(double quantile) {
+        if (samples == 0) {
+            return 0L;
+        }
+        long[] sorted = Arrays.copyOf(latencyMillis, samples);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(quantile * samples) - 1;
+        return sorted[Math.max(0, Math.min(index, samples - 1))];
+    }
+
+    /** 供 actuator 与日志读取的只读视图。 */
+    public record Snapshot(
+            String client,
+            State state,
+            int consecutiveFailures,
+            int samples,
+            double errorRate,
+            long p50Millis,
+            long p95Millis,
+            Instant openedAt) {}
+}
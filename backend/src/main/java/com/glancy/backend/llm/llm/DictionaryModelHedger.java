@@ -0,0 +1,227 @@
+package com.glancy.backend.llm.llm;
+
+import com.glancy.backend.llm.config.LLMConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 背景： - 查词 p99 主要由偶发的超慢模型响应决定，单纯加超时只会把慢请求变成失败请求。 目的： - 主请求超过延迟阈值仍未返回时补发一次对冲请求，取先被判定为可用（通常即带有完成哨兵）
+ * 的结果并取消落败的一方。 关键决策与取舍： - 对冲请求数受 {@code budgetRatio} 约束，额外的 token 成本有硬上限；线程池打满时直接退化为不对冲，而不是排队放大延迟。 -
+ * 落败请求通过中断取消，阻塞中的 WebClient 调用会随之释放连接；被放弃的调用不计入客户端健康度。
+ */
+@Slf4j
+@Component
+public class DictionaryModelHedger {
+
+    private static final String METRIC_PREFIX = "glancy.llm.hedging";
+
+    private final LLMConfig.Hedging properties;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+
+    public DictionaryModelHedger(LLMConfig config, MeterRegistry meterRegistry) {
+        this.properties = config.getHedging();
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threadIndex = new AtomicInteger();
+        int threads = Math.max(2, properties.getWorkerThreads());
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "llm-hedge-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 执行主请求，超过 {@code delay} 未返回且预算允许时补发对冲请求。
+     *
+     * @param primary 主请求
+     * @param hedge 惰性解析的对冲请求，返回空表示当前没有可用的对冲目标
+     * @param acceptable 对冲发出后，先完成且满足该条件的结果胜出；都不满足时返回最先完成的结果
+     */
+    public <T> T execute(
+            HedgeableCall<T> primary,
+            Duration delay,
+            Supplier<Optional<HedgeableCall<T>>> hedge,
+            Predicate<T> acceptable) {
+        requests.incrementAndGet();
+        long start = System.nanoTime();
+        BlockingQueue<Completion<T>> completions = new LinkedBlockingQueue<>();
+        List<Attempt<T>> attempts = new ArrayList<>(2);
+        try {
+            attempts.add(submit(0, primary, completions));
+        } catch (RejectedExecutionException ex) {
+            outcome("pool_saturated");
+            return primary.call(() -> false);
+        }
+        try {
+            Completion<T> first = completions.poll(Math.max(0, delay.toMillis()), TimeUnit.MILLISECONDS);
+            if (first != null) {
+                record(start, "primary");
+                return first.resultOrThrow();
+            }
+            Optional<HedgeableCall<T>> hedgeCall = acquireHedge(hedge);
+            if (hedgeCall.isEmpty()) {
+                T content = completions.take().resultOrThrow();
+                record(start, "primary");
+                return content;
+            }
+            attempts.add(submit(1, hedgeCall.get(), completions));
+            outcome("issued");
+            return race(attempts, completions, acceptable, start);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for dictionary model response", ex);
+        } catch (RejectedExecutionException ex) {
+            outcome("pool_saturated");
+            return awaitPrimary(attempts.get(0), start);
+        } finally {
+            attempts.forEach(Attempt::abandon);
+        }
+    }
+
+    private <T> Optional<HedgeableCall<T>> acquireHedge(Supplier<Optional<HedgeableCall<T>>> hedge) {
+        if (hedges.get() > requests.get() * properties.getBudgetRatio()) {
+            outcome("budget_exhausted");
+            return Optional.empty();
+        }
+        Optional<HedgeableCall<T>> call = hedge.get();
+        if (call.isPresent()) {
+            hedges.incrementAndGet();
+        } else {
+            outcome("no_target");
+        }
+        return call;
+    }
+
+    private <T> T race(
+            List<Attempt<T>> attempts, BlockingQueue<Completion<T>> completions, Predicate<T> acceptable, long start)
+            throws InterruptedException {
+        Completion<T> unsatisfied = null;
+        RuntimeException failure = null;
+        for (int received = 0; received < attempts.size(); received++) {
+            Completion<T> completion = completions.take();
+            if (completion.failure() != null) {
+                failure = failure != null ? failure : completion.failure();
+                continue;
+            }
+            if (acceptable.test(completion.content())) {
+                outcome(completion.index() == 0 ? "primary_won" : "hedge_won");
+                record(start, completion.index() == 0 ? "primary" : "hedge");
+                return completion.content();
+            }
+            unsatisfied = unsatisfied != null ? unsatisfied : completion;
+        }
+        if (unsatisfied != null) {
+            record(start, unsatisfied.index() == 0 ? "primary" : "hedge");
+            return unsatisfied.content();
+        }
+        throw failure;
+    }
+
+    private <T> T awaitPrimary(Attempt<T> primary, long start) {
+        try {
+            T content = primary.future.get();
+            record(start, "primary");
+            return content;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for dictionary model response", ex);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(ex);
+        }
+    }
+
+    private <T> Attempt<T> submit(int index, HedgeableCall<T> call, BlockingQueue<Completion<T>> completions) {
+        Attempt<T> attempt = new Attempt<>();
+        attempt.future = executor.submit(() -> {
+            try {
+                T content = call.call(attempt.abandoned::get);
+                attempt.finished.set(true);
+                completions.offer(new Completion<>(index, content, null));
+                return content;
+            } catch (RuntimeException ex) {
+                attempt.finished.set(true);
+                completions.offer(new Completion<>(index, null, ex));
+                throw ex;
+            }
+        });
+        return attempt;
+    }
+
+    private void record(long startNanos, String winner) {
+        Timer.builder(METRIC_PREFIX + ".latency")
+                .tag("winner", winner)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void outcome(String outcome) {
+        meterRegistry.counter(METRIC_PREFIX + ".hedges", "outcome", outcome).increment();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** 一次可被放弃的模型调用，{@code abandoned} 为真时调用方不再关心其结果。 */
+    @FunctionalInterface
+    public interface HedgeableCall<T> {
+        T call(BooleanSupplier abandoned);
+    }
+
+    private static final class Attempt<T> {
+
+        private final AtomicBoolean abandoned = new AtomicBoolean();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile Future<T> future;
+
+        void abandon() {
+            if (!finished.get() && future != null) {
+                abandoned.set(true);
+                future.cancel(true);
+            }
+        }
+    }
+
+    private record Completion<T>(int index, T content, RuntimeException failure) {
+
+        T resultOrThrow() {
+            if (failure != null) {
+                throw failure;
+            }
+            return content;
+        }
+    }
+}
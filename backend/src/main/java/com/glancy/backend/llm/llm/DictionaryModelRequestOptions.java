@@ -1,5 +1,7 @@
 package com.glancy.backend.llm.llm;
 
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
 import java.util.Objects;
 
 /**
@@ -11,10 +13,16 @@ public final class DictionaryModelRequestOptions {
 
     private final Boolean stream;
     private final String thinkingType;
+    private final Integer maxCompletionTokens;
+    private final Language language;
+    private final DictionaryFlavor flavor;
 
     private DictionaryModelRequestOptions(Builder builder) {
         this.stream = builder.stream;
         this.thinkingType = builder.thinkingType;
+        this.maxCompletionTokens = builder.maxCompletionTokens;
+        this.language = builder.language;
+        this.flavor = builder.flavor;
     }
 
     public static Builder builder() {
@@ -33,6 +41,20 @@ public final class DictionaryModelRequestOptions {
         return thinkingType;
     }
 
+    public Integer maxCompletionTokens() {
+        return maxCompletionTokens;
+    }
+
+    /** 请求所属的词条语言，仅用于指标标签，不下发给供应商。 */
+    public Language language() {
+        return language;
+    }
+
+    /** 请求所属的词典风味，仅用于指标标签，不下发给供应商。 */
+    public DictionaryFlavor flavor() {
+        return flavor;
+    }
+
     public boolean resolveStream(boolean fallback) {
         return stream == null ? fallback : stream.booleanValue();
     }
@@ -41,10 +63,18 @@ public final class DictionaryModelRequestOptions {
         return Objects.requireNonNullElse(thinkingType, fallback);
     }
 
+    /** 调用方给出的正数预算优先，否则使用客户端配置的上限。 */
+    public Integer resolveMaxCompletionTokens(Integer fallback) {
+        return maxCompletionTokens != null && maxCompletionTokens > 0 ? maxCompletionTokens : fallback;
+    }
+
     public static final class Builder {
 
         private Boolean stream;
         private String thinkingType;
+        private Integer maxCompletionTokens;
+        private Language language;
+        private DictionaryFlavor flavor;
 
         private Builder() {}
 
@@ -58,6 +88,21 @@ public final class DictionaryModelRequestOptions {
             return this;
         }
 
+        public Builder maxCompletionTokens(Integer maxCompletionTokens) {
+            this.maxCompletionTokens = maxCompletionTokens;
+            return this;
+        }
+
+        public Builder language(Language language) {
+            this.language = language;
+            return this;
+        }
+
+        public Builder flavor(DictionaryFlavor flavor) {
+            this.flavor = flavor;
+            return this;
+        }
+
         public DictionaryModelRequestOptions build() {
             return new DictionaryModelRequestOptions(this);
         }
@@ -0,0 +1,234 @@
+package com.glancy.backend.llm.llm;
+
+import com.glancy.backend.exception.ServiceDegradedException;
+import com.glancy.backend.llm.completion.CompletionSentinel;
+import com.glancy.backend.llm.config.LLMConfig;
+import com.glancy.backend.llm.model.ChatMessage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 背景： - {@link DictionaryModelClientFactory} 只是名称到客户端的静态映射，请求的模型变慢或持续失败时，所有查词都会被拖垮。 目的： -
+ * 按客户端维护滚动的耗时分位与错误率，连续失败后打开熔断，并依次路由到下一个健康客户端；全部不可用时退回 {@link DictionaryModelFallback}。 关键决策与取舍： -
+ * 优先尊重调用方指定的模型，只有当它的 p95 超过慢调用阈值时才让位给更快的健康客户端。 - 单次调用失败后若已无其他候选则原样抛出，离线兜底只在所有熔断都打开时启用，避免瞬时错误被替换成占位词条。 - 开启对冲时由
+ * {@link DictionaryModelHedger} 以该客户端历史耗时分位作为等待阈值补发请求，被放弃的一方不计入健康度，但会归还其持有的半开探测名额。
+ */
+@Slf4j
+@Component
+public class DictionaryModelRouter {
+
+    private static final String METRIC_PREFIX = "glancy.llm.routing";
+    private static final String UNAVAILABLE_MESSAGE = "词典模型暂不可用，请稍后重试";
+
+    private final DictionaryModelClientFactory clientFactory;
+    private final LLMConfig config;
+    private final DictionaryModelFallback fallback;
+    private final DictionaryModelHedger hedger;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DictionaryModelHealth> health = new ConcurrentHashMap<>();
+
+    public DictionaryModelRouter(
+            DictionaryModelClientFactory clientFactory,
+            LLMConfig config,
+            DictionaryModelFallback fallback,
+            DictionaryModelHedger hedger,
+            Clock clock,
+            MeterRegistry meterRegistry) {
+        this.clientFactory = clientFactory;
+        this.config = config;
+        this.fallback = fallback;
+        this.hedger = hedger;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** 按健康度与耗时选择客户端生成词条，返回实际生成内容的客户端名称。 */
+    public RoutedEntry generate(
+            String requestedClient,
+            List<ChatMessage> messages,
+            double temperature,
+            DictionaryModelRequestOptions options) {
+        LLMConfig.Routing routing = config.getRouting();
+        List<DictionaryModelClient> candidates = candidates(requestedClient, routing);
+        RuntimeException lastFailure = null;
+        for (DictionaryModelClient client : candidates) {
+            if (!healthOf(client.name()).tryAcquire(clock.instant(), routing.getOpenDuration())) {
+                count(client.name(), "skipped");
+                continue;
+            }
+            try {
+                return invoke(client, candidates, new Request(messages, temperature, options));
+            } catch (RuntimeException ex) {
+                log.warn(
+                        "Dictionary model client '{}' failed, trying next candidate: {}",
+                        client.name(),
+                        ex.getMessage());
+                lastFailure = ex;
+            }
+        }
+        if (lastFailure != null) {
+            throw lastFailure;
+        }
+        if (routing.isOfflineFallbackEnabled() && fallback != null) {
+            log.warn("All dictionary model circuits are open, serving offline fallback entry");
+            meterRegistry.counter(METRIC_PREFIX + ".offline_fallbacks").increment();
+            return new RoutedEntry(fallback.generateEntry(messages), "offline", true);
+        }
+        throw new ServiceDegradedException(UNAVAILABLE_MESSAGE);
+    }
+
+    /**
+     * 只向指定客户端发送请求：不改道、不对冲、不走离线兜底，供必须由同一模型接续的场景使用。
+     *
+     * @throws ServiceDegradedException 该客户端不存在或熔断打开时
+     */
+    public RoutedEntry generatePinned(
+            String clientName,
+            List<ChatMessage> messages,
+            double temperature,
+            DictionaryModelRequestOptions options) {
+        DictionaryModelClient client = clientFactory.get(clientName);
+        if (client == null
+                || !healthOf(client.name()).tryAcquire(clock.instant(), config.getRouting().getOpenDuration())) {
+            count(clientName, "skipped");
+            throw new ServiceDegradedException(UNAVAILABLE_MESSAGE);
+        }
+        return attempt(client, new Request(messages, temperature, options), () -> false);
+    }
+
+    public List<DictionaryModelHealth.Snapshot> snapshot() {
+        return clientFactory.getClientNames().stream()
+                .map(name -> healthOf(name).snapshot())
+                .toList();
+    }
+
+    private List<DictionaryModelClient> candidates(String requestedClient, LLMConfig.Routing routing) {
+        DictionaryModelClient primary = resolvePrimary(requestedClient);
+        List<DictionaryModelClient> candidates = new ArrayList<>();
+        candidates.add(primary);
+        for (String name : clientFactory.getClientNames()) {
+            DictionaryModelClient client = clientFactory.get(name);
+            if (client != null && !name.equals(primary.name())) {
+                candidates.add(client);
+            }
+        }
+        if (candidates.size() == 1) {
+            return candidates;
+        }
+        candidates.sort(Comparator.comparing((DictionaryModelClient client) ->
+                        healthOf(client.name()).isSlow(routing.getSlowCallThreshold(), routing.getMinSamples()))
+                .thenComparing(client -> client != primary)
+                .thenComparingLong(client -> healthOf(client.name()).p95Millis()));
+        return candidates;
+    }
+
+    private RoutedEntry invoke(
+            DictionaryModelClient client, List<DictionaryModelClient> candidates, Request request) {
+        if (!hedger.isEnabled()) {
+            return attempt(client, request, () -> false);
+        }
+        return hedger.execute(
+                abandoned -> attempt(client, request, abandoned),
+                hedgeDelay(client),
+                () -> hedgeTarget(client, candidates).map(target -> abandoned -> attempt(target, request, abandoned)),
+                entry -> CompletionSentinel.inspect(entry.content()).satisfied());
+    }
+
+    private RoutedEntry attempt(DictionaryModelClient client, Request request, BooleanSupplier abandoned) {
+        DictionaryModelHealth clientHealth = healthOf(client.name());
+        Instant start = clock.instant();
+        try {
+            String content = client.generateEntry(request.messages(), request.temperature(), request.options());
+            clientHealth.recordSuccess(Duration.between(start, clock.instant()));
+            count(client.name(), "success");
+            return new RoutedEntry(content, client.name(), false);
+        } catch (RuntimeException ex) {
+            if (abandoned.getAsBoolean()) {
+                count(client.name(), "abandoned");
+                throw ex;
+            }
+            Instant now = clock.instant();
+            clientHealth.recordFailure(
+                    Duration.between(start, now), now, config.getRouting().getFailureThreshold());
+            count(client.name(), "failure");
+            throw ex;
+        } finally {
+            // 被放弃的调用无论以何种方式结束都要归还半开探测名额，否则该客户端会一直被视为探测中而永远不再被路由
+            if (abandoned.getAsBoolean()) {
+                clientHealth.releaseProbe();
+            }
+        }
+    }
+
+    /** 对冲优先发往另一个未熔断的客户端；没有时才重复请求同一客户端，半开探测中的客户端不做对冲。 */
+    private Optional<DictionaryModelClient> hedgeTarget(
+            DictionaryModelClient primary, List<DictionaryModelClient> candidates) {
+        for (DictionaryModelClient candidate : candidates) {
+            if (candidate != primary && !healthOf(candidate.name()).isOpen()) {
+                return Optional.of(candidate);
+            }
+        }
+        return healthOf(primary.name()).isOpen() ? Optional.empty() : Optional.of(primary);
+    }
+
+    private Duration hedgeDelay(DictionaryModelClient client) {
+        LLMConfig.Hedging hedging = config.getHedging();
+        DictionaryModelHealth clientHealth = healthOf(client.name());
+        long delayMillis = clientHealth.samples() >= Math.max(1, config.getRouting().getMinSamples())
+                ? clientHealth.percentileMillis(hedging.getDelayPercentile())
+                : hedging.getInitialDelay().toMillis();
+        return Duration.ofMillis(Math.max(delayMillis, hedging.getMinDelay().toMillis()));
+    }
+
+    private DictionaryModelClient resolvePrimary(String clientName) {
+        String requested = clientName != null ? clientName : config.getDefaultClient();
+        DictionaryModelClient client = clientFactory.get(requested);
+        if (client != null) {
+            return client;
+        }
+        log.warn("Dictionary model client '{}' not found, falling back to default", requested);
+        String defaultClient = config.getDefaultClient();
+        DictionaryModelClient defaultModelClient = clientFactory.get(defaultClient);
+        if (defaultModelClient == null) {
+            throw new IllegalStateException(String.format(
+                    "Dictionary model client '%s' not available and default '%s' not configured",
+                    requested, defaultClient));
+        }
+        return defaultModelClient;
+    }
+
+    private DictionaryModelHealth healthOf(String clientName) {
+        return health.computeIfAbsent(clientName, name -> {
+            DictionaryModelHealth created =
+                    new DictionaryModelHealth(name, config.getRouting().getWindowSize());
+            Gauge.builder(METRIC_PREFIX + ".circuit.open", created, h -> h.isOpen() ? 1 : 0)
+                    .tag("client", name)
+                    .register(meterRegistry);
+            return created;
+        });
+    }
+
+    private void count(String client, String outcome) {
+        meterRegistry
+                .counter(METRIC_PREFIX + ".calls", "client", client, "outcome", outcome)
+                .increment();
+    }
+
+    private record Request(List<ChatMessage> messages, double temperature, DictionaryModelRequestOptions options) {}
+
+    /** 生成结果及实际承担本次请求的客户端；{@code offline} 表示来自本地兜底。 */
+    public record RoutedEntry(String content, String clientName, boolean offline) {}
+}
@@ -0,0 +1,21 @@
+package com.glancy.backend.llm.llm;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/** Exposes per-client circuit state and rolling latency at {@code GET /actuator/llmrouting}. */
+@Component
+@Endpoint(id = "llmrouting")
+@RequiredArgsConstructor
+public class DictionaryModelRoutingEndpoint {
+
+    private final DictionaryModelRouter router;
+
+    @ReadOperation
+    public List<DictionaryModelHealth.Snapshot> clients() {
+        return router.snapshot();
+    }
+}
@@ -41,8 +41,9 @@ public class JacksonWordResponseParser implements WordResponseParser {
                 markdown,
                 null,
                 null,
-                null);
-        return new ParsedWord(response, markdown);
+                null,
+                false);
+        return new ParsedWord(response, markdown, snapshot.fallbackOnly());
     }
 
     private Optional<JsonNode> tryParseJson(String candidate) {
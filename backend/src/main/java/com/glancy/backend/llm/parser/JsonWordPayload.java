@@ -39,7 +39,8 @@ final class JsonWordPayload {
                 markdown,
                 null,
                 null,
-                null);
+                null,
+                false);
         return new ParsedWord(response, markdown);
     }
 
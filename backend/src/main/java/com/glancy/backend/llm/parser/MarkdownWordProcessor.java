@@ -26,6 +26,7 @@ final class MarkdownWordProcessor {
     private String example;
     private String phonetic;
     private String firstContentLine;
+    private boolean definitionInferred;
 
     private final Set<String> definitions = new LinkedHashSet<>();
     private final Set<String> synonyms = new LinkedHashSet<>();
@@ -157,6 +158,7 @@ final class MarkdownWordProcessor {
     private void ensureFallbackDefinition() {
         if (definitions.isEmpty() && firstContentLine != null) {
             definitions.add(firstContentLine);
+            definitionInferred = true;
         }
     }
 
@@ -177,7 +179,8 @@ final class MarkdownWordProcessor {
                 List.copyOf(variations),
                 List.copyOf(phrases),
                 example,
-                phonetic);
+                phonetic,
+                definitionInferred);
     }
 
     private static String selectFirstNonBlank(String current, String candidate) {
@@ -11,9 +11,16 @@ record MarkdownWordSnapshot(
         List<String> variations,
         List<String> phrases,
         String example,
-        String phonetic) {
+        String phonetic,
+        boolean definitionInferred) {
+
+    /** 没有识别出任何释义、只能以首行内容兜底时，视为模型输出不可用。 */
+    boolean fallbackOnly() {
+        return definitions.isEmpty() || definitionInferred;
+    }
+
     static MarkdownWordSnapshot empty(String fallbackTerm) {
         List<String> empty = List.of();
-        return new MarkdownWordSnapshot(fallbackTerm, empty, empty, empty, empty, empty, empty, null, null);
+        return new MarkdownWordSnapshot(fallbackTerm, empty, empty, empty, empty, empty, empty, null, null, false);
     }
 }
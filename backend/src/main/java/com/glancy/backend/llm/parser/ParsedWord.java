@@ -2,5 +2,15 @@ package com.glancy.backend.llm.parser;
 
 import com.glancy.backend.dto.WordResponse;
 
-/** Wrapper for a parsed word response alongside the original markdown text. */
-public record ParsedWord(WordResponse parsed, String markdown) {}
+/**
+ * Wrapper for a parsed word response alongside the original markdown text.
+ *
+ * <p>{@code fallbackOnly} marks markdown output where no definition section was recognised and the parser had to fall
+ * back to the first content line, which in practice means the model returned something other than an entry.
+ */
+public record ParsedWord(WordResponse parsed, String markdown, boolean fallbackOnly) {
+
+    public ParsedWord(WordResponse parsed, String markdown) {
+        this(parsed, markdown, false);
+    }
+}
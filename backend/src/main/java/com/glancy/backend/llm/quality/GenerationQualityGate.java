@@ -0,0 +1,122 @@
+package com.glancy.backend.llm.quality;
+
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
+import com.glancy.backend.exception.GenerationRejectedException;
+import com.glancy.backend.llm.completion.CompletionSentinel.CompletionCheck;
+import com.glancy.backend.llm.config.LLMConfig;
+import com.glancy.backend.llm.parser.ParsedWord;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 背景： - 模型偶发返回截断（缺少完成哨兵）或无法识别释义的内容，原流程仅记录告警后照常落库，且同一词条的后续请求会再次触发同样昂贵的生成。 目的： -
+ * 在落库前拦截不合格输出，并以 (归一化词条, 语言, 词典风格) 为键做短 TTL 的负缓存，窗口内的重复请求直接快速失败。 关键决策与取舍： - 负缓存只记录失败时间，不缓存内容；TTL
+ * 刻意很短，让模型抖动恢复后尽快重新生成。 - 超出容量时先清理过期项，仍不足则丢弃最早到期的键，保持内存有界。
+ */
+@Slf4j
+@Component
+public class GenerationQualityGate {
+
+    private static final String METRIC_PREFIX = "glancy.llm.quality";
+    private static final String REJECTED_MESSAGE = "词条生成质量不合格，请稍后重试";
+
+    private final LLMConfig.QualityGate properties;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Instant> rejectedUntil = new ConcurrentHashMap<>();
+
+    public GenerationQualityGate(LLMConfig config, Clock clock, MeterRegistry meterRegistry) {
+        this.properties = config.getQualityGate();
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** 若该词条刚被判定为不合格且仍在负缓存窗口内，直接抛出，避免再次调用模型。 */
+    public void checkRecentRejection(String normalizedTerm, Language language, DictionaryFlavor flavor) {
+        Key key = new Key(normalizedTerm, language, flavor);
+        Instant until = rejectedUntil.get(key);
+        if (until == null) {
+            return;
+        }
+        if (!until.isAfter(clock.instant())) {
+            rejectedUntil.remove(key, until);
+            return;
+        }
+        meterRegistry.counter(METRIC_PREFIX + ".negative_cache.hits").increment();
+        log.info("Skipping generation for '{}' ({}, {}): rejected until {}", normalizedTerm, language, flavor, until);
+        throw new GenerationRejectedException(REJECTED_MESSAGE);
+    }
+
+    /** 校验一次生成结果；不合格时写入负缓存并抛出，调用方不得落库。 */
+    public void verify(
+            String normalizedTerm,
+            Language language,
+            DictionaryFlavor flavor,
+            CompletionCheck completion,
+            ParsedWord parsed) {
+        Optional<GenerationRejection> rejection = evaluate(completion, parsed);
+        if (rejection.isEmpty()) {
+            return;
+        }
+        meterRegistry
+                .counter(METRIC_PREFIX + ".rejections", "reason", rejection.get().name())
+                .increment();
+        remember(new Key(normalizedTerm, language, flavor));
+        log.warn(
+                "Rejected generation for '{}' ({}, {}): {}",
+                normalizedTerm,
+                language,
+                flavor,
+                rejection.get());
+        throw new GenerationRejectedException(REJECTED_MESSAGE);
+    }
+
+    Optional<GenerationRejection> evaluate(CompletionCheck completion, ParsedWord parsed) {
+        if (properties.isRejectMissingSentinel() && !completion.satisfied()) {
+            return Optional.of(GenerationRejection.MISSING_SENTINEL);
+        }
+        if (properties.isRejectFallbackDefinition() && parsed.fallbackOnly()) {
+            return Optional.of(GenerationRejection.FALLBACK_DEFINITION);
+        }
+        return Optional.empty();
+    }
+
+    int size() {
+        return rejectedUntil.size();
+    }
+
+    private void remember(Key key) {
+        if (properties.getNegativeCacheTtl().isZero()
+                || properties.getNegativeCacheTtl().isNegative()) {
+            return;
+        }
+        Instant now = clock.instant();
+        if (rejectedUntil.size() >= Math.max(1, properties.getNegativeCacheMaxEntries())) {
+            evict(now);
+        }
+        rejectedUntil.put(key, now.plus(properties.getNegativeCacheTtl()));
+    }
+
+    private void evict(Instant now) {
+        rejectedUntil.values().removeIf(until -> !until.isAfter(now));
+        int overflow = rejectedUntil.size() - Math.max(1, properties.getNegativeCacheMaxEntries()) + 1;
+        Iterator<Map.Entry<Key, Instant>> iterator = rejectedUntil.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .limit(Math.max(0, overflow))
+                .iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Instant> oldest = iterator.next();
+            rejectedUntil.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private record Key(String normalizedTerm, Language language, DictionaryFlavor flavor) {}
+}
@@ -0,0 +1,9 @@
+package com.glancy.backend.llm.quality;
+
+/** Why a generation was judged unusable. */
+public enum GenerationRejection {
+    /** The model stopped before emitting the completion sentinel, usually a truncated entry. */
+    MISSING_SENTINEL,
+    /** Markdown fallback found no definitions and could only reuse the first content line. */
+    FALLBACK_DEFINITION
+}
@@ -0,0 +1,101 @@
+package com.glancy.backend.llm.service;
+
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
+import com.glancy.backend.llm.config.LLMConfig;
+import com.glancy.backend.llm.llm.DictionaryModelRequestOptions;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * 背景： - 所有请求共用同一个 max_completion_tokens（20480），单字条目与英文短语的输出长度相差一个数量级，失控输出也只能等到上限才结束。 目的： - 按 (语言,
+ * 词典风格, 词条类别) 学习完整输出的长度分布，为每次请求下发贴合实际的预算。 关键决策与取舍： - 只记录带完成哨兵的输出，被截断的长度是删失数据，计入会让预算越学越小。 -
+ * 以字符数近似 token，换算系数取保守值；预算偏小导致的截断由续写兜底。
+ */
+@Component
+public class CompletionTokenBudgets {
+
+    private static final String METRIC_NAME = "glancy.llm.token_budget";
+
+    private final LLMConfig.TokenBudget properties;
+    private final WordEntryProfileResolver entryProfileResolver;
+    private final MeterRegistry meterRegistry;
+    private final Map<BudgetKey, LengthWindow> windows = new ConcurrentHashMap<>();
+
+    public CompletionTokenBudgets(
+            LLMConfig config, WordEntryProfileResolver entryProfileResolver, MeterRegistry meterRegistry) {
+        this.properties = config.getTokenBudget();
+        this.entryProfileResolver = entryProfileResolver;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public BudgetKey keyFor(Language language, DictionaryFlavor flavor, String normalizedTerm) {
+        return new BudgetKey(language, flavor, entryProfileResolver.category(language, normalizedTerm));
+    }
+
+    /** 返回该类别当前的请求参数，并带上语言与风味供客户端打点；样本不足或未启用时不设置预算。 */
+    public DictionaryModelRequestOptions optionsFor(BudgetKey key) {
+        DictionaryModelRequestOptions.Builder options =
+                DictionaryModelRequestOptions.builder().language(key.language()).flavor(key.flavor());
+        if (!properties.isEnabled()) {
+            return options.build();
+        }
+        LengthWindow window = windows.get(key);
+        if (window == null || window.samples() < Math.max(1, properties.getMinSamples())) {
+            return options.build();
+        }
+        double chars = window.percentile(properties.getPercentile());
+        long estimated = (long) Math.ceil(chars * properties.getTokensPerChar() * properties.getHeadroom());
+        int budget = (int) Math.max(properties.getMinTokens(), Math.min(properties.getMaxTokens(), estimated));
+        DistributionSummary.builder(METRIC_NAME)
+                .tag("language", String.valueOf(key.language()))
+                .tag("flavor", String.valueOf(key.flavor()))
+                .tag("category", key.category())
+                .register(meterRegistry)
+                .record(budget);
+        return options.maxCompletionTokens(budget).build();
+    }
+
+    /** 记录一次完整输出的长度；未完成的输出直接忽略。 */
+    public void observe(BudgetKey key, String content, boolean complete) {
+        if (!properties.isEnabled() || !complete || content == null || content.isEmpty()) {
+            return;
+        }
+        windows.computeIfAbsent(key, ignored -> new LengthWindow(properties.getWindowSize()))
+                .add(content.codePointCount(0, content.length()));
+    }
+
+    public record BudgetKey(Language language, DictionaryFlavor flavor, String category) {}
+
+    private static final class LengthWindow {
+
+        private final long[] lengths;
+        private int next;
+        private int samples;
+
+        private LengthWindow(int size) {
+            this.lengths = new long[Math.max(1, size)];
+        }
+
+        synchronized void add(long length) {
+            lengths[next] = length;
+            next = (next + 1) % lengths.length;
+            samples = Math.min(samples + 1, lengths.length);
+        }
+
+        synchronized int samples() {
+            return samples;
+        }
+
+        synchronized long percentile(double quantile) {
+            long[] sorted = Arrays.copyOf(lengths, samples);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(quantile * samples) - 1;
+            return sorted[Math.max(0, Math.min(index, samples - 1))];
+        }
+    }
+}
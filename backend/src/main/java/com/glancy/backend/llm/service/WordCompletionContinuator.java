@@ -0,0 +1,103 @@
+package com.glancy.backend.llm.service;
+
+import com.glancy.backend.exception.ServiceDegradedException;
+import com.glancy.backend.llm.completion.CompletionSentinel;
+import com.glancy.backend.llm.completion.CompletionStitcher;
+import com.glancy.backend.llm.config.LLMConfig;
+import com.glancy.backend.llm.llm.DictionaryModelRequestOptions;
+import com.glancy.backend.llm.llm.DictionaryModelRouter;
+import com.glancy.backend.llm.llm.DictionaryModelRouter.RoutedEntry;
+import com.glancy.backend.llm.model.ChatMessage;
+import com.glancy.backend.llm.model.ChatRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 背景： - 缺少 {@link CompletionSentinel#MARKER} 通常意味着输出触及 max-completion-tokens 被截断，原流程直接解析残缺词条，用户只能整条重新生成。 目的：
+ * - 把已生成的内容作为 assistant 消息回传并追加续写指令，只生成缺失的尾部，再与前文拼接。 关键决策与取舍： - 续写轮数有上限，避免失控输出反复续写；仍缺少哨兵时交由质量闸门处理。 -
+ * 续写经 {@link DictionaryModelRouter#generatePinned} 固定发往生成首段的客户端，不改道也不走离线兜底，保证上下文与文风一致；该客户端中途熔断时停止续写并返回残缺的首段，
+ * 交由质量闸门拒绝，而不是把离线占位拼接进词条。
+ */
+@Slf4j
+@Component
+public class WordCompletionContinuator {
+
+    static final String CONTINUE_INSTRUCTION = "上一条回复因长度限制被截断。请从中断处紧接着继续输出剩余内容，不要重复已输出的部分，也不要添加任何说明；全部完成后输出 "
+            + CompletionSentinel.MARKER
+            + "。";
+    private static final String METRIC_PREFIX = "glancy.llm.continuation";
+
+    private final DictionaryModelRouter router;
+    private final LLMConfig.Continuation properties;
+    private final MeterRegistry meterRegistry;
+
+    public WordCompletionContinuator(DictionaryModelRouter router, LLMConfig config, MeterRegistry meterRegistry) {
+        this.router = router;
+        this.properties = config.getContinuation();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** 若首段输出缺少完成哨兵，则按上限轮数续写并返回拼接后的结果；否则原样返回。 */
+    public RoutedEntry complete(
+            RoutedEntry entry,
+            List<ChatMessage> messages,
+            double temperature,
+            DictionaryModelRequestOptions options) {
+        if (!properties.isEnabled() || entry.offline() || isComplete(entry.content()) || isBlank(entry.content())) {
+            return entry;
+        }
+        String content = entry.content();
+        int rounds = 0;
+        while (rounds < properties.getMaxRounds() && !isComplete(content)) {
+            rounds++;
+            RoutedEntry next;
+            try {
+                next = router.generatePinned(
+                        entry.clientName(), continuationMessages(messages, content), temperature, options);
+            } catch (ServiceDegradedException ex) {
+                log.warn(
+                        "Client '{}' became unavailable during continuation, keeping partial entry",
+                        entry.clientName());
+                meterRegistry
+                        .counter(METRIC_PREFIX + ".requests", "outcome", "unavailable")
+                        .increment();
+                meterRegistry.counter(METRIC_PREFIX + ".rounds").increment(rounds);
+                return entry;
+            }
+            if (isBlank(next.content())) {
+                break;
+            }
+            content = CompletionStitcher.stitch(content, next.content(), properties.getOverlapWindow());
+        }
+        boolean completed = isComplete(content);
+        meterRegistry
+                .counter(METRIC_PREFIX + ".requests", "outcome", completed ? "completed" : "exhausted")
+                .increment();
+        meterRegistry.counter(METRIC_PREFIX + ".rounds").increment(rounds);
+        log.info(
+                "Continued truncated completion from client '{}' in {} round(s), sentinelPresent={}",
+                entry.clientName(),
+                rounds,
+                completed);
+        return new RoutedEntry(content, entry.clientName(), false);
+    }
+
+    private List<ChatMessage> continuationMessages(List<ChatMessage> messages, String partial) {
+        List<ChatMessage> continuation = new ArrayList<>(messages.size() + 2);
+        continuation.addAll(messages);
+        continuation.add(new ChatMessage(ChatRole.ASSISTANT.role(), partial));
+        continuation.add(new ChatMessage(ChatRole.USER.role(), CONTINUE_INSTRUCTION));
+        return continuation;
+    }
+
+    private static boolean isComplete(String content) {
+        return CompletionSentinel.inspect(content).satisfied();
+    }
+
+    private static boolean isBlank(String content) {
+        return content == null || content.isBlank();
+    }
+}
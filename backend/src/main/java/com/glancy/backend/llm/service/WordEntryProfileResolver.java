@@ -34,10 +34,17 @@ public class WordEntryProfileResolver {
         return strategy.resolve(normalizedTerm, flavor);
     }
 
+    /** 返回词条的结构类别（如单字、多字词、短语），供 token 预算等按词条形态分桶的场景使用。 */
+    public String category(Language language, String normalizedTerm) {
+        return strategies.getOrDefault(language, defaultStrategy).category(normalizedTerm);
+    }
+
     public record EntryProfile(String typeLabel, String guidance) {}
 
     private interface LanguageEntryProfileStrategy {
         EntryProfile resolve(String normalizedTerm, DictionaryFlavor flavor);
+
+        String category(String normalizedTerm);
     }
 
     private static final class DefaultEntryProfileStrategy implements LanguageEntryProfileStrategy {
@@ -54,6 +61,14 @@ public class WordEntryProfileResolver {
             String guidance = renderer.render(WordPromptTemplateConstants.ENTRY_GUIDANCE_DEFAULT, Map.of());
             return new EntryProfile(label, guidance);
         }
+
+        @Override
+        public String category(String normalizedTerm) {
+            if (!StringUtils.hasText(normalizedTerm)) {
+                return "EMPTY_OR_UNKNOWN";
+            }
+            return normalizedTerm.strip().contains(" ") ? "PHRASE" : "WORD";
+        }
     }
 
     private static final class ChineseEntryProfileStrategy implements LanguageEntryProfileStrategy {
@@ -101,6 +116,11 @@ public class WordEntryProfileResolver {
             return template.render(renderer);
         }
 
+        @Override
+        public String category(String normalizedTerm) {
+            return categorize(normalizedTerm).name();
+        }
+
         private Category categorize(String normalizedTerm) {
             if (!StringUtils.hasText(normalizedTerm)) {
                 return Category.EMPTY_OR_UNKNOWN;
@@ -1,5 +1,7 @@
 package com.glancy.backend.llm.service;
 
+import com.glancy.backend.config.timing.LookupStage;
+import com.glancy.backend.config.timing.LookupStageTimer;
 import com.glancy.backend.dto.WordPersonalizationContext;
 import com.glancy.backend.dto.WordResponse;
 import com.glancy.backend.entity.DictionaryFlavor;
@@ -7,12 +9,14 @@ import com.glancy.backend.entity.Language;
 import com.glancy.backend.llm.completion.CompletionSentinel;
 import com.glancy.backend.llm.completion.CompletionSentinel.CompletionCheck;
 import com.glancy.backend.llm.config.LLMConfig;
-import com.glancy.backend.llm.llm.DictionaryModelClient;
-import com.glancy.backend.llm.llm.DictionaryModelClientFactory;
+import com.glancy.backend.llm.llm.DictionaryModelRequestOptions;
+import com.glancy.backend.llm.llm.DictionaryModelRouter;
+import com.glancy.backend.llm.llm.DictionaryModelRouter.RoutedEntry;
 import com.glancy.backend.llm.model.ChatMessage;
 import com.glancy.backend.llm.parser.ParsedWord;
 import com.glancy.backend.llm.parser.WordResponseParser;
 import com.glancy.backend.llm.prompt.PromptManager;
+import com.glancy.backend.llm.quality.GenerationQualityGate;
 import com.glancy.backend.llm.search.SearchContentManager;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
@@ -28,26 +32,38 @@ import org.springframework.stereotype.Service;
 @Service
 public class WordSearcherImpl implements WordSearcher {
 
-    private final DictionaryModelClientFactory clientFactory;
+    private final DictionaryModelRouter router;
     private final LLMConfig config;
     private final PromptManager promptManager;
     private final SearchContentManager searchContentManager;
     private final WordResponseParser parser;
     private final WordPromptAssembler promptAssembler;
+    private final GenerationQualityGate qualityGate;
+    private final WordCompletionContinuator continuator;
+    private final CompletionTokenBudgets tokenBudgets;
+    private final LookupStageTimer stageTimer;
 
     public WordSearcherImpl(
-            DictionaryModelClientFactory clientFactory,
+            DictionaryModelRouter router,
             LLMConfig config,
             PromptManager promptManager,
             SearchContentManager searchContentManager,
             WordResponseParser parser,
-            WordPromptAssembler promptAssembler) {
-        this.clientFactory = clientFactory;
+            WordPromptAssembler promptAssembler,
+            GenerationQualityGate qualityGate,
+            WordCompletionContinuator continuator,
+            CompletionTokenBudgets tokenBudgets,
+            LookupStageTimer stageTimer) {
+        this.router = router;
         this.config = config;
         this.promptManager = promptManager;
         this.searchContentManager = searchContentManager;
         this.parser = parser;
         this.promptAssembler = promptAssembler;
+        this.qualityGate = qualityGate;
+        this.continuator = continuator;
+        this.tokenBudgets = tokenBudgets;
+        this.stageTimer = stageTimer;
     }
 
     @Override
@@ -65,31 +81,69 @@ public class WordSearcherImpl implements WordSearcher {
                 language,
                 flavor,
                 personalizationContext != null && personalizationContext.hasSignals());
-        SearchInputs inputs = buildSearchInputs(term, language, flavor, clientName);
-        DictionaryModelClient client = resolveClient(inputs.clientName());
+        SearchInputs inputs = buildSearchInputs(term, clientName);
+        qualityGate.checkRecentRejection(inputs.cleanInput(), language, flavor);
+        long promptStart = stageTimer.start();
+        String prompt = promptManager.loadPrompt(config.resolvePromptPath(language, flavor));
         List<ChatMessage> messages = promptAssembler.composeMessages(
-                inputs.prompt(), inputs.cleanInput(), personalizationContext, language, flavor);
-        String content = client.generateEntry(messages, config.getTemperature());
-        CompletionCheck completion = inspectCompletion(inputs.clientName(), content);
+                prompt, inputs.cleanInput(), personalizationContext, language, flavor);
+        stageTimer.stop(LookupStage.PROMPT_ASSEMBLY, promptStart);
+        CompletionTokenBudgets.BudgetKey budgetKey = tokenBudgets.keyFor(language, flavor, inputs.cleanInput());
+        DictionaryModelRequestOptions options = tokenBudgets.optionsFor(budgetKey);
+        long modelStart = stageTimer.start();
+        RoutedEntry entry = continuator.complete(
+                router.generate(inputs.clientName(), messages, config.getTemperature(), options),
+                messages,
+                config.getTemperature(),
+                options);
+        stageTimer.stop(LookupStage.MODEL_CALL, modelStart);
+        return toResponse(inputs, term, language, flavor, budgetKey, entry);
+    }
+
+    private WordResponse toResponse(
+            SearchInputs inputs,
+            String term,
+            Language language,
+            DictionaryFlavor flavor,
+            CompletionTokenBudgets.BudgetKey budgetKey,
+            RoutedEntry entry) {
+        String content = entry.content();
+        CompletionCheck completion = inspectCompletion(entry.clientName(), content);
+        if (!entry.offline()) {
+            tokenBudgets.observe(budgetKey, content, completion.satisfied());
+        }
+        long parseStart = stageTimer.start();
         ParsedWord parsed = parser.parse(sanitizedContent(content, completion), term, language);
+        stageTimer.stop(LookupStage.PARSE, parseStart);
+        if (entry.offline()) {
+            return degraded(parsed.parsed());
+        }
+        qualityGate.verify(inputs.cleanInput(), language, flavor, completion, parsed);
         return parsed.parsed();
     }
 
-    private SearchInputs buildSearchInputs(String term, Language language, DictionaryFlavor flavor, String clientName) {
+    /** 离线占位不经质量门禁（避免被负缓存），仅标记为降级，由调用方跳过缓存与历史写入。 */
+    private WordResponse degraded(WordResponse response) {
+        log.warn("All dictionary model circuits are open, returning degraded offline entry");
+        response.setDegraded(true);
+        return response;
+    }
+
+    /** 归一化阶段由调用方 {@code WordService} 计时，这里只做检索模型所需的输入清洗，不重复记录。 */
+    private SearchInputs buildSearchInputs(String term, String clientName) {
         String cleanInput = searchContentManager.normalize(term);
-        String promptPath = config.resolvePromptPath(language, flavor);
-        String prompt = promptManager.loadPrompt(promptPath);
         String resolvedClientName = clientName != null ? clientName : config.getDefaultClient();
-        return new SearchInputs(cleanInput, prompt, resolvedClientName);
+        return new SearchInputs(cleanInput, resolvedClientName);
     }
 
     private CompletionCheck inspectCompletion(String resolvedClientName, String content) {
         CompletionCheck completion = CompletionSentinel.inspect(content);
         log.info(
-                "Dictionary model client '{}' returned content (sentinelPresent={}): {}",
+                "Dictionary model client '{}' returned {} chars (sentinelPresent={})",
                 resolvedClientName,
-                completion.satisfied(),
-                content);
+                content == null ? 0 : content.length(),
+                completion.satisfied());
+        log.debug("Dictionary model client '{}' returned content: {}", resolvedClientName, content);
         if (!completion.satisfied()) {
             log.warn(
                     "Dictionary model client '{}' response missing completion sentinel '{}'",
@@ -103,21 +157,5 @@ public class WordSearcherImpl implements WordSearcher {
         return completion.sanitizedContent() != null ? completion.sanitizedContent() : content;
     }
 
-    private DictionaryModelClient resolveClient(String clientName) {
-        DictionaryModelClient client = clientFactory.get(clientName);
-        if (client != null) {
-            return client;
-        }
-        log.warn("Dictionary model client '{}' not found, falling back to default", clientName);
-        String fallback = config.getDefaultClient();
-        DictionaryModelClient fallbackClient = clientFactory.get(fallback);
-        if (fallbackClient == null) {
-            throw new IllegalStateException(String.format(
-                    "Dictionary model client '%s' not available and default '%s' not configured",
-                    clientName, fallback));
-        }
-        return fallbackClient;
-    }
-
-    private record SearchInputs(String cleanInput, String prompt, String clientName) {}
+    private record SearchInputs(String cleanInput, String clientName) {}
 }
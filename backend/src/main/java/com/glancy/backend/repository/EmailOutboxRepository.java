@@ -0,0 +1,87 @@
+package com.glancy.backend.repository;
+
+import com.glancy.backend.entity.EmailOutboxMessage;
+import com.glancy.backend.entity.EmailOutboxStatus;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the email outbox. Claiming and every state change after it are conditional updates keyed by the
+ * claim token, so several instances can dispatch from the same table without sending a message twice.
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Due messages: pending ones whose next attempt has come, and claims whose lease ran out. Messages of
+     * {@code excludedProviders} are skipped so that a poll can look past providers whose rate limit is exhausted.
+     */
+    @Query("select m.id as id, m.provider as provider from EmailOutboxMessage m "
+            + "where ((m.status = :pending and m.nextAttemptAt <= :now) "
+            + "or (m.status = :sending and m.lockedUntil < :now)) "
+            + "and m.provider not in :excludedProviders "
+            + "order by m.nextAttemptAt")
+    List<DueMessage> findDue(
+            @Param("pending") EmailOutboxStatus pending,
+            @Param("sending") EmailOutboxStatus sending,
+            @Param("now") LocalDateTime now,
+            @Param("excludedProviders") Collection<String> excludedProviders,
+            Pageable page);
+
+    @Modifying
+    @Query("update EmailOutboxMessage m set m.status = :sending, m.claimToken = :token, m.lockedUntil = :lockedUntil, "
+            + "m.attempts = m.attempts + 1, m.updatedAt = :now "
+            + "where m.id in :ids and ((m.status = :pending and m.nextAttemptAt <= :now) "
+            + "or (m.status = :sending and m.lockedUntil < :now))")
+    int claim(
+            @Param("ids") Collection<Long> ids,
+            @Param("token") String token,
+            @Param("lockedUntil") LocalDateTime lockedUntil,
+            @Param("pending") EmailOutboxStatus pending,
+            @Param("sending") EmailOutboxStatus sending,
+            @Param("now") LocalDateTime now);
+
+    List<EmailOutboxMessage> findByClaimToken(String claimToken);
+
+    @Modifying
+    @Query("update EmailOutboxMessage m set m.status = :status, m.payload = null, m.lastError = :error, "
+            + "m.sentAt = :sentAt, m.lockedUntil = null, m.updatedAt = :now "
+            + "where m.id = :id and m.claimToken = :token")
+    int complete(
+            @Param("id") Long id,
+            @Param("token") String token,
+            @Param("status") EmailOutboxStatus status,
+            @Param("error") String error,
+            @Param("sentAt") LocalDateTime sentAt,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update EmailOutboxMessage m set m.status = :pending, m.nextAttemptAt = :nextAttemptAt, "
+            + "m.lastError = :error, m.claimToken = null, m.lockedUntil = null, m.updatedAt = :now "
+            + "where m.id = :id and m.claimToken = :token")
+    int reschedule(
+            @Param("id") Long id,
+            @Param("token") String token,
+            @Param("pending") EmailOutboxStatus pending,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("error") String error,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from EmailOutboxMessage m where m.status in :statuses and m.updatedAt < :before")
+    int purge(@Param("statuses") Collection<EmailOutboxStatus> statuses, @Param("before") LocalDateTime before);
+
+    /** Projection used to pick due messages without loading their payload. */
+    interface DueMessage {
+        Long getId();
+
+        String getProvider();
+    }
+}
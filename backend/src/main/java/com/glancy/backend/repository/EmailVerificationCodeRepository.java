@@ -3,29 +3,56 @@ package com.glancy.backend.repository;
 import com.glancy.backend.entity.EmailVerificationCode;
 import com.glancy.backend.entity.EmailVerificationPurpose;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-/** Repository for persisting issued email verification codes. */
+/**
+ * Repository for issued email verification codes. Each (email, purpose) pair owns at most one row, so issuing,
+ * consuming and invalidating are single conditional updates on the unique key rather than read-modify-write cycles.
+ */
 @Repository
 public interface EmailVerificationCodeRepository extends JpaRepository<EmailVerificationCode, Long> {
-    Optional<EmailVerificationCode> findTopByEmailAndPurposeAndCodeAndDeletedFalseOrderByCreatedAtDesc(
-            String email, EmailVerificationPurpose purpose, String code);
 
-    List<EmailVerificationCode> findByEmailAndPurposeAndUsedFalseAndDeletedFalse(
-            String email, EmailVerificationPurpose purpose);
+    boolean existsByEmailAndPurpose(String email, EmailVerificationPurpose purpose);
 
-    @Modifying
-    @Query("update EmailVerificationCode c set c.used = true "
-            + "where c.email = :email and c.purpose = :purpose "
-            + "and c.used = false and c.deleted = false and c.expiresAt < :now")
-    int markExpiredAsUsed(
+    /** Replaces the code of an existing row in place; returns 0 when the pair has no row yet. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update EmailVerificationCode c set c.code = :code, c.expiresAt = :expiresAt, c.used = false, "
+            + "c.deleted = false, c.createdAt = :now, c.updatedAt = :now "
+            + "where c.email = :email and c.purpose = :purpose")
+    int reissue(
+            @Param("email") String email,
+            @Param("purpose") EmailVerificationPurpose purpose,
+            @Param("code") String code,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("now") LocalDateTime now);
+
+    /** Marks the code used if it matches and is still valid; returns 1 for exactly one successful caller. */
+    @Modifying(clearAutomatically = true)
+    @Query("update EmailVerificationCode c set c.used = true, c.updatedAt = :now "
+            + "where c.email = :email and c.purpose = :purpose and c.code = :code "
+            + "and c.used = false and c.deleted = false and c.expiresAt >= :now")
+    int consume(
             @Param("email") String email,
             @Param("purpose") EmailVerificationPurpose purpose,
+            @Param("code") String code,
             @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update EmailVerificationCode c set c.used = true, c.updatedAt = :now "
+            + "where c.email = :email and c.purpose = :purpose and c.used = false")
+    int invalidate(
+            @Param("email") String email,
+            @Param("purpose") EmailVerificationPurpose purpose,
+            @Param("now") LocalDateTime now);
+
+    /** Hard-deletes at most {@code limit} codes that expired before {@code before}, used or not. */
+    @Modifying
+    @Query(
+            value = "delete from email_verification_codes where expires_at < :before limit :limit",
+            nativeQuery = true)
+    int deleteExpired(@Param("before") LocalDateTime before, @Param("limit") int limit);
 }
@@ -3,10 +3,25 @@ package com.glancy.backend.repository;
 import com.glancy.backend.entity.LoginDevice;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /** Repository tracking devices used for user logins. */
 @Repository
 public interface LoginDeviceRepository extends JpaRepository<LoginDevice, Long> {
     List<LoginDevice> findByUserIdOrderByLoginTimeAsc(Long userId);
+
+    /**
+     * Deletes every device of the user except the {@code keep} most recent logins in one statement. The ranked rows
+     * sit in a derived table, which MySQL materializes before deleting from the same table.
+     */
+    @Modifying
+    @Query(
+            value = "delete from login_devices where id in (select id from ("
+                    + "select id, row_number() over (order by login_time desc, id desc) as rn "
+                    + "from login_devices where user_id = :userId) ranked where rn > :keep)",
+            nativeQuery = true)
+    int deleteAllButLatest(@Param("userId") Long userId, @Param("keep") int keep);
 }
@@ -7,6 +7,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 /** Repository for persisting and querying user search history. */
@@ -32,4 +34,22 @@ public interface SearchRecordRepository extends JpaRepository<SearchRecord, Long
     java.util.Optional<SearchRecord> findByIdAndDeletedFalse(Long id);
 
     List<SearchRecord> findByUserIdAndDeletedFalse(Long userId);
+
+    long countByUserIdAndDeletedFalse(Long userId);
+
+    /** Soft-deletes at most {@code limit} active records of the user in one statement. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            value = "update search_records set deleted = true, updated_at = :updatedAt "
+                    + "where user_id = :userId and deleted = false limit :limit",
+            nativeQuery = true)
+    int softDeleteActiveByUserId(Long userId, LocalDateTime updatedAt, int limit);
+
+    /** Reserves the next version number; the row lock it takes serializes concurrent reservations for the record. */
+    @Modifying
+    @Query("update SearchRecord r set r.versionCount = r.versionCount + 1 where r.id = :id")
+    int incrementVersionCount(Long id);
+
+    @Query("select r.versionCount from SearchRecord r where r.id = :id")
+    int findVersionCount(Long id);
 }
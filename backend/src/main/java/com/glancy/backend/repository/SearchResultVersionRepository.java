@@ -30,4 +30,13 @@ public interface SearchResultVersionRepository extends JpaRepository<SearchResul
     @Query("update SearchResultVersion v set v.deleted = true "
             + "where v.searchRecord.id in (:recordIds) and v.deleted = false")
     int softDeleteBySearchRecordIdIn(Collection<Long> recordIds);
+
+    /** Soft-deletes at most {@code limit} active versions of the user whose search record is already deleted. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            value = "update search_result_versions set deleted = true "
+                    + "where user_id = :userId and deleted = false and exists (select 1 from search_records r "
+                    + "where r.id = search_result_versions.search_record_id and r.deleted = true) limit :limit",
+            nativeQuery = true)
+    int softDeleteOrphanedByUserId(Long userId, int limit);
 }
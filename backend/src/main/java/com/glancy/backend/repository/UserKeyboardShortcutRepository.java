@@ -1,16 +1,24 @@
 package com.glancy.backend.repository;
 
-import com.glancy.backend.entity.ShortcutAction;
 import com.glancy.backend.entity.UserKeyboardShortcut;
 import java.util.List;
-import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /** Repository storing per-user overrides for keyboard shortcuts. */
 public interface UserKeyboardShortcutRepository extends JpaRepository<UserKeyboardShortcut, Long> {
     List<UserKeyboardShortcut> findByUserId(Long userId);
 
-    Optional<UserKeyboardShortcut> findByUserIdAndAction(Long userId, ShortcutAction action);
+    /**
+     * Loads the user's overrides and checks that the user exists in one query: an unknown user yields no rows, a user
+     * without overrides yields a single {@code null} element.
+     */
+    @Query("SELECT s FROM User u LEFT JOIN UserKeyboardShortcut s ON s.user = u WHERE u.id = :userId")
+    List<UserKeyboardShortcut> findOverridesOfExistingUser(@Param("userId") Long userId);
 
-    void deleteByUserId(Long userId);
+    @Modifying
+    @Query("DELETE FROM UserKeyboardShortcut s WHERE s.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
 }
@@ -4,6 +4,7 @@ import com.glancy.backend.entity.User;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -29,4 +30,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
     long countByDeletedFalseAndLastLoginAtAfter(LocalDateTime time);
 
     Optional<User> findByLoginToken(String loginToken);
+
+    /**
+     * Writes only the columns a login changes. Pending changes are flushed first and the persistence context is cleared
+     * afterwards, so the loaded user is not written back in full by dirty checking.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.loginToken = :token, u.lastLoginAt = :loginAt, u.member = :member, "
+            + "u.updatedAt = :loginAt WHERE u.id = :id")
+    int recordLogin(
+            @Param("id") Long id,
+            @Param("token") String token,
+            @Param("loginAt") LocalDateTime loginAt,
+            @Param("member") Boolean member);
+
+    @Query("SELECT u.settingsRevision FROM User u WHERE u.id = :id")
+    Optional<Long> findSettingsRevision(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.settingsRevision = u.settingsRevision + 1 WHERE u.id = :id")
+    int incrementSettingsRevision(@Param("id") Long id);
 }
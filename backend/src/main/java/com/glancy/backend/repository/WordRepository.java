@@ -3,6 +3,8 @@ package com.glancy.backend.repository;
 import com.glancy.backend.entity.DictionaryFlavor;
 import com.glancy.backend.entity.Language;
 import com.glancy.backend.entity.Word;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -25,4 +27,15 @@ public interface WordRepository extends JpaRepository<Word, Long> {
             @Param("normalizedTerm") String normalizedTerm,
             @Param("language") Language language,
             @Param("flavor") DictionaryFlavor flavor);
+
+    @Query("SELECT w FROM Word w "
+            + "WHERE w.deleted = false "
+            + "AND w.language = :language "
+            + "AND w.flavor = :flavor "
+            + "AND (w.normalizedTerm IN :normalizedTerms "
+            + "OR (w.normalizedTerm IS NULL AND LOWER(TRIM(w.term)) IN :normalizedTerms))")
+    List<Word> findActiveByNormalizedTermIn(
+            @Param("normalizedTerms") Collection<String> normalizedTerms,
+            @Param("language") Language language,
+            @Param("flavor") DictionaryFlavor flavor);
 }
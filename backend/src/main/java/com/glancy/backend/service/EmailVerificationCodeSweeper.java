@@ -0,0 +1,65 @@
+package com.glancy.backend.service;
+
+import com.glancy.backend.config.EmailVerificationProperties;
+import com.glancy.backend.config.EmailVerificationSweeperProperties;
+import com.glancy.backend.repository.EmailVerificationCodeRepository;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hard-deletes expired verification codes. Deletes run as repeated {@code DELETE ... LIMIT batchSize} statements that
+ * commit independently, so a large backlog never holds long row locks against concurrent logins, and the table stays
+ * proportional to the number of codes issued within one TTL.
+ */
+@Slf4j
+@Component
+public class EmailVerificationCodeSweeper {
+
+    private final EmailVerificationCodeRepository repository;
+    private final EmailVerificationSweeperProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public EmailVerificationCodeSweeper(
+            EmailVerificationCodeRepository repository,
+            EmailVerificationProperties verificationProperties,
+            PlatformTransactionManager transactionManager,
+            Clock clock) {
+        this.repository = repository;
+        this.properties = verificationProperties.getSweeper();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    @Scheduled(
+            initialDelayString = "${mail.verification.sweeper.interval:PT5M}",
+            fixedDelayString = "${mail.verification.sweeper.interval:PT5M}")
+    public void scheduledSweep() {
+        try {
+            sweep();
+        } catch (RuntimeException ex) {
+            log.warn("Sweeping expired verification codes failed: {}", ex.getMessage());
+        }
+    }
+
+    /** Deletes every code that expired more than the grace period ago; returns the number of deleted rows. */
+    public int sweep() {
+        LocalDateTime before = LocalDateTime.now(clock).minus(properties.getGrace());
+        int batchSize = properties.getBatchSize();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> repository.deleteExpired(before, batchSize));
+            total += deleted;
+        } while (deleted >= batchSize && !Thread.currentThread().isInterrupted());
+        if (total > 0) {
+            log.info("Deleted {} verification codes that expired before {}", total, before);
+        }
+        return total;
+    }
+}
@@ -12,12 +12,15 @@ import jakarta.mail.internet.MimeMessage;
 import java.security.SecureRandom;
 import java.time.Clock;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Locale;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.mail.MailException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /** Handles issuing and validating email verification codes for authentication flows. */
 @Slf4j
@@ -28,6 +31,7 @@ public class EmailVerificationService {
     private final EmailVerificationProperties properties;
     private final VerificationEmailComposer emailComposer;
     private final EmailDeliveryService emailDeliveryService;
+    private final TransactionTemplate insertTransaction;
     private final Clock clock;
     private final SecureRandom random = new SecureRandom();
 
@@ -36,68 +40,77 @@ public class EmailVerificationService {
             EmailVerificationProperties properties,
             EmailDeliveryService emailDeliveryService,
             VerificationEmailComposer emailComposer,
+            PlatformTransactionManager transactionManager,
             Clock clock) {
         this.repository = repository;
         this.properties = properties;
         this.emailDeliveryService = emailDeliveryService;
         this.emailComposer = emailComposer;
+        this.insertTransaction = new TransactionTemplate(transactionManager);
+        this.insertTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
         this.clock = clock;
     }
 
-    /** Issue a new verification code for the given email and invalidate previous active codes. */
+    /**
+     * Issue a new verification code for the given email. The pair's row is overwritten in place, which also
+     * invalidates the previous code; only the very first code of a pair needs an insert. The overwrite and the outbox
+     * row commit together, so a rejected or failed enqueue leaves the previous code valid.
+     */
     @Transactional
     public void issueCode(String email, EmailVerificationPurpose purpose, String clientIp) {
         String normalizedEmail = normalize(email);
         LocalDateTime now = LocalDateTime.now(clock);
+        String code = generateCode();
+        LocalDateTime expiresAt = now.plus(properties.getTtl());
         log.info("Starting verification code issuance for {} with purpose {} at {}", normalizedEmail, purpose, now);
-        invalidateExisting(normalizedEmail, purpose, now);
-
-        EmailVerificationCode code = new EmailVerificationCode();
-        code.setEmail(normalizedEmail);
-        code.setPurpose(purpose);
-        code.setCode(generateCode());
-        code.setExpiresAt(now.plus(properties.getTtl()));
-        repository.save(code);
-        log.info(
-                "Persisted verification code entity {} for {} expiring at {}",
-                code.getId(),
-                normalizedEmail,
-                code.getExpiresAt());
+        storeCode(normalizedEmail, purpose, code, expiresAt, now);
+        log.info("Stored verification code for {} purpose {} expiring at {}", normalizedEmail, purpose, expiresAt);
 
-        dispatchEmail(normalizedEmail, purpose, code.getCode(), code.getExpiresAt(), clientIp);
+        dispatchEmail(normalizedEmail, purpose, code, expiresAt, clientIp);
     }
 
-    /** Validate and consume a verification code. */
+    /** Validate and consume a verification code in one conditional update, so a code can be used only once. */
     @Transactional
     public void consumeCode(String email, String code, EmailVerificationPurpose purpose) {
         String normalizedEmail = normalize(email);
         LocalDateTime now = LocalDateTime.now(clock);
-        log.info("Consuming verification code for {} with purpose {} at {}", normalizedEmail, purpose, now);
-        repository.markExpiredAsUsed(normalizedEmail, purpose, now);
-        EmailVerificationCode latest = loadLatestCode(normalizedEmail, purpose, code);
-        if (isExpiredOrUsed(latest, now)) {
-            handleInvalidConsumption(latest, normalizedEmail, purpose, now);
-            return;
+        if (repository.consume(normalizedEmail, purpose, code, now) == 0) {
+            log.warn("Rejected verification code for {} purpose {} at {}", normalizedEmail, purpose, now);
+            throw new InvalidRequestException("验证码无效或已过期");
         }
-        markAsUsed(latest);
-        log.info(
-                "Verification code {} for {} purpose {} consumed successfully",
-                latest.getId(),
-                normalizedEmail,
-                purpose);
+        log.info("Verification code for {} purpose {} consumed successfully", normalizedEmail, purpose);
     }
 
-    private void invalidateExisting(String email, EmailVerificationPurpose purpose, LocalDateTime now) {
-        repository.markExpiredAsUsed(email, purpose, now);
-        List<EmailVerificationCode> active =
-                repository.findByEmailAndPurposeAndUsedFalseAndDeletedFalse(email, purpose);
-        if (active.isEmpty()) {
-            log.info("No active verification codes to invalidate for {} purpose {}", email, purpose);
+    /**
+     * The first code of a pair is inserted in its own transaction, so that losing the insert race to a concurrent
+     * first request only rolls back that insert and the code can still overwrite the winner's row here. Existence is
+     * checked with a plain read rather than by a failed {@code reissue}, which would leave a gap lock on the unique
+     * key that the nested insert then waits on.
+     */
+    private void storeCode(
+            String email, EmailVerificationPurpose purpose, String code, LocalDateTime expiresAt, LocalDateTime now) {
+        if (!repository.existsByEmailAndPurpose(email, purpose) && insert(email, purpose, code, expiresAt)) {
             return;
         }
-        log.info("Marking {} active verification codes as used for {} purpose {}", active.size(), email, purpose);
-        active.forEach(code -> code.setUsed(true));
-        repository.saveAll(active);
+        if (repository.reissue(email, purpose, code, expiresAt, now) == 0) {
+            throw new IllegalStateException("Verification code row for " + email + " disappeared while issuing");
+        }
+    }
+
+    private boolean insert(String email, EmailVerificationPurpose purpose, String code, LocalDateTime expiresAt) {
+        EmailVerificationCode entity = new EmailVerificationCode();
+        entity.setEmail(email);
+        entity.setPurpose(purpose);
+        entity.setCode(code);
+        entity.setExpiresAt(expiresAt);
+        try {
+            insertTransaction.executeWithoutResult(status -> repository.saveAndFlush(entity));
+            return true;
+        } catch (DataIntegrityViolationException ex) {
+            // 并发的首次请求抢先插入了同一 (email, purpose) 行，改为在外层事务中覆盖该行。
+            log.info("Verification code row for {} purpose {} was inserted concurrently, reissuing", email, purpose);
+            return false;
+        }
     }
 
     private String normalize(String email) {
@@ -123,8 +136,8 @@ public class EmailVerificationService {
             log.info(
                     "Preparing verification email payload for {} purpose {} expiring at {}", email, purpose, expiresAt);
             emailComposer.populate(message, email, purpose, code, expiresAt, clientIp);
-            emailDeliveryService.sendTransactional(message, email);
-            log.info("Dispatched verification email to {} for purpose {} with expiry {}", email, purpose, expiresAt);
+            emailDeliveryService.queueTransactional(message, email, expiresAt);
+            log.info("Queued verification email to {} for purpose {} with expiry {}", email, purpose, expiresAt);
         } catch (MessagingException | MailException e) {
             log.error("Failed to compose verification email", e);
             throw new IllegalStateException("邮件发送失败，请稍后重试");
@@ -132,43 +145,14 @@ public class EmailVerificationService {
     }
 
     /**
-     * 意图：基于模板方法复用 {@link #invalidateExisting(String, EmailVerificationPurpose, LocalDateTime)} 的核心流程，
-     * 为解绑或业务取消场景快速失效验证码，避免遗留请求继续生效。 输入：email（需要清理验证码的邮箱地址），purpose（验证码用途枚举）。
-     * 输出：无显式返回，通过持久层将相关验证码标记为已使用。 流程： 1) 归一化邮箱，确保大小写和空白一致； 2) 计算当前时间戳； 3) 调用模板方法统一完成过期与活跃验证码的失效处理。
-     * 错误处理：邮箱为空时抛出业务异常，底层数据库或邮件异常向上传递。 复杂度：O(n) —— n 为同一邮箱、用途下仍活跃验证码数量，通常极小。
+     * 意图：为解绑或业务取消场景立即失效验证码，避免遗留请求继续生效。 输入：email（需要清理验证码的邮箱地址），purpose（验证码用途枚举）。
+     * 输出：无显式返回，通过单条条件更新将该邮箱、用途下未使用的验证码标记为已使用。 错误处理：邮箱为空时抛出业务异常，底层数据库异常向上传递。
      */
     @Transactional
     public void invalidateCodes(String email, EmailVerificationPurpose purpose) {
         String normalizedEmail = normalize(email);
         LocalDateTime now = LocalDateTime.now(clock);
-        log.info("Invalidating verification codes for {} with purpose {} at {}", normalizedEmail, purpose, now);
-        invalidateExisting(normalizedEmail, purpose, now);
-    }
-
-    private EmailVerificationCode loadLatestCode(String email, EmailVerificationPurpose purpose, String code) {
-        return repository
-                .findTopByEmailAndPurposeAndCodeAndDeletedFalseOrderByCreatedAtDesc(email, purpose, code)
-                .orElseThrow(() -> new InvalidRequestException("验证码无效或已过期"));
-    }
-
-    private boolean isExpiredOrUsed(EmailVerificationCode code, LocalDateTime now) {
-        return Boolean.TRUE.equals(code.getUsed()) || code.getExpiresAt().isBefore(now);
-    }
-
-    private void handleInvalidConsumption(
-            EmailVerificationCode code, String email, EmailVerificationPurpose purpose, LocalDateTime now) {
-        markAsUsed(code);
-        log.warn(
-                "Verification code {} for {} purpose {} already used or expired at {}",
-                code.getId(),
-                email,
-                purpose,
-                now);
-        throw new InvalidRequestException("验证码无效或已过期");
-    }
-
-    private void markAsUsed(EmailVerificationCode code) {
-        code.setUsed(true);
-        repository.save(code);
+        int invalidated = repository.invalidate(normalizedEmail, purpose, now);
+        log.info("Invalidated {} verification codes for {} with purpose {}", invalidated, normalizedEmail, purpose);
     }
 }
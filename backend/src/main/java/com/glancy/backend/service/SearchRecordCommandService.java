@@ -11,6 +11,7 @@ import com.glancy.backend.exception.InvalidRequestException;
 import com.glancy.backend.exception.ResourceNotFoundException;
 import com.glancy.backend.repository.SearchRecordRepository;
 import com.glancy.backend.repository.UserRepository;
+import com.glancy.backend.service.personalization.PersonalizationContextCache;
 import com.glancy.backend.service.support.DictionaryTermNormalizer;
 import com.glancy.backend.service.support.SearchRecordLogFormatter;
 import com.glancy.backend.service.support.SearchRecordViewAssembler;
@@ -18,7 +19,6 @@ import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -41,6 +41,7 @@ class SearchRecordCommandService {
     private final DictionaryTermNormalizer termNormalizer;
     private final Clock clock;
     private final SearchProperties properties;
+    private final PersonalizationContextCache personalizationContextCache;
 
     SearchRecordResponse saveRecord(Long userId, SearchRecordRequest request) {
         log.info("Saving search record for user {} with term '{}'", userId, request.getTerm());
@@ -52,11 +53,14 @@ class SearchRecordCommandService {
         SearchRecord existing =
                 findExistingRecord(userId, request.getTerm(), normalizedTerm, request.getLanguage(), flavor);
         if (existing != null) {
+            personalizationContextCache.recordSearch(userId, existing.getTerm());
             return refreshExistingRecord(userId, existing);
         }
 
         enforceDailyLimit(user);
-        return persistNewRecord(userId, user, request, flavor);
+        SearchRecordResponse created = persistNewRecord(userId, user, request, flavor);
+        personalizationContextCache.recordSearch(userId, request.getTerm());
+        return created;
     }
 
     SearchRecordResponse favoriteRecord(Long userId, Long recordId) {
@@ -72,20 +76,6 @@ class SearchRecordCommandService {
         return response;
     }
 
-    void clearRecords(Long userId) {
-        List<SearchRecord> records = searchRecordRepository.findByUserIdAndDeletedFalse(userId);
-        log.info("Clearing {} search records for user {}", records.size(), userId);
-        if (records.isEmpty()) {
-            return;
-        }
-        records.forEach(record -> record.setDeleted(true));
-        searchResultService.softDeleteByRecordIds(records.stream()
-                .map(SearchRecord::getId)
-                .filter(Objects::nonNull)
-                .toList());
-        searchRecordRepository.saveAll(records);
-    }
-
     void unfavoriteRecord(Long userId, Long recordId) {
         log.info("Unfavoriting search record {} for user {}", recordId, userId);
         SearchRecord record = searchRecordRepository
@@ -128,6 +118,7 @@ class SearchRecordCommandService {
         record.setDeleted(true);
         searchResultService.softDeleteByRecordId(record.getId());
         searchRecordRepository.save(record);
+        personalizationContextCache.invalidate(userId);
         log.info("Soft deleted search record: {}", SearchRecordLogFormatter.record(record));
     }
 
@@ -1,7 +1,9 @@
 package com.glancy.backend.service;
 
+import com.glancy.backend.dto.SearchHistoryClearResponse;
 import com.glancy.backend.dto.SearchRecordRequest;
 import com.glancy.backend.dto.SearchRecordResponse;
+import com.glancy.backend.service.search.SearchHistoryCleaner;
 import com.glancy.backend.service.support.SearchRecordPageRequest;
 import jakarta.transaction.Transactional;
 import java.util.List;
@@ -15,6 +17,7 @@ public class SearchRecordService {
 
     private final SearchRecordCommandService commandService;
     private final SearchRecordQueryService queryService;
+    private final SearchHistoryCleaner historyCleaner;
 
     @Transactional
     public SearchRecordResponse saveRecord(Long userId, SearchRecordRequest request) {
@@ -26,9 +29,13 @@ public class SearchRecordService {
         return commandService.favoriteRecord(userId, recordId);
     }
 
-    @Transactional
-    public void clearRecords(Long userId) {
-        commandService.clearRecords(userId);
+    /** Not transactional on purpose: the cleaner commits each chunk separately. */
+    public SearchHistoryClearResponse clearRecords(Long userId) {
+        return historyCleaner.clear(userId);
+    }
+
+    public SearchHistoryClearResponse getClearJob(Long userId, String jobId) {
+        return historyCleaner.getJob(userId, jobId);
     }
 
     @Transactional
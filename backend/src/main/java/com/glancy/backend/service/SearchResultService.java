@@ -30,7 +30,7 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class SearchResultService {
 
-    private static final String DEFAULT_MODEL = "unspecified";
+    public static final String DEFAULT_MODEL = "unspecified";
 
     private final SearchResultVersionRepository searchResultVersionRepository;
     private final SearchRecordRepository searchRecordRepository;
@@ -64,15 +64,6 @@ public class SearchResultService {
                 .orElseThrow(() -> new ResourceNotFoundException("结果版本不存在"));
     }
 
-    @Transactional
-    public void softDeleteByRecordIds(Collection<Long> recordIds) {
-        if (recordIds == null || recordIds.isEmpty()) {
-            return;
-        }
-        int affected = searchResultVersionRepository.softDeleteBySearchRecordIdIn(recordIds);
-        log.info("Soft-deleted {} search result versions for records {}", affected, recordIds);
-    }
-
     @Transactional
     public void softDeleteByRecordId(Long recordId) {
         if (recordId == null) {
@@ -100,10 +91,8 @@ public class SearchResultService {
     }
 
     private int determineNextVersionNumber(Long recordId) {
-        return searchResultVersionRepository
-                .findTopBySearchRecordIdAndDeletedFalseOrderByVersionNumberDesc(recordId)
-                .map(version -> version.getVersionNumber() + 1)
-                .orElse(1);
+        searchRecordRepository.incrementVersionCount(recordId);
+        return searchRecordRepository.findVersionCount(recordId);
     }
 
     private SearchRecord resolveAccessibleRecord(Long userId, Long recordId) {
@@ -19,14 +19,19 @@ public class UserPreferenceService {
 
     private final UserPreferenceRepository userPreferenceRepository;
     private final UserRepository userRepository;
+    private final UserSettingsRevisionService settingsRevisionService;
 
     private static final String DEFAULT_THEME = "light";
     private static final String DEFAULT_SYSTEM_LANGUAGE = "en";
     private static final String DEFAULT_SEARCH_LANGUAGE = "en";
 
-    public UserPreferenceService(UserPreferenceRepository userPreferenceRepository, UserRepository userRepository) {
+    public UserPreferenceService(
+            UserPreferenceRepository userPreferenceRepository,
+            UserRepository userRepository,
+            UserSettingsRevisionService settingsRevisionService) {
         this.userPreferenceRepository = userPreferenceRepository;
         this.userRepository = userRepository;
+        this.settingsRevisionService = settingsRevisionService;
     }
 
     private UserPreference createDefaultPreference(Long userId) {
@@ -50,6 +55,7 @@ public class UserPreferenceService {
         pref.setSystemLanguage(req.getSystemLanguage());
         pref.setSearchLanguage(req.getSearchLanguage());
         UserPreference saved = userPreferenceRepository.save(pref);
+        settingsRevisionService.markChanged(userId);
         return toResponse(saved);
     }
 
@@ -80,6 +86,7 @@ public class UserPreferenceService {
         }
 
         UserPreference saved = userPreferenceRepository.save(pref);
+        settingsRevisionService.markChanged(userId);
         return toResponse(saved);
     }
 
@@ -8,6 +8,7 @@ import com.glancy.backend.entity.UserProfile;
 import com.glancy.backend.exception.ResourceNotFoundException;
 import com.glancy.backend.repository.UserProfileRepository;
 import com.glancy.backend.repository.UserRepository;
+import com.glancy.backend.service.personalization.PersonalizationContextCache;
 import com.glancy.backend.service.profile.ProfileSectionCodec;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
@@ -21,14 +22,20 @@ public class UserProfileService {
     private final UserProfileRepository userProfileRepository;
     private final UserRepository userRepository;
     private final ProfileSectionCodec profileSectionCodec;
+    private final PersonalizationContextCache personalizationContextCache;
+    private final UserSettingsRevisionService settingsRevisionService;
 
     public UserProfileService(
             UserProfileRepository userProfileRepository,
             UserRepository userRepository,
-            ProfileSectionCodec profileSectionCodec) {
+            ProfileSectionCodec profileSectionCodec,
+            PersonalizationContextCache personalizationContextCache,
+            UserSettingsRevisionService settingsRevisionService) {
         this.userProfileRepository = userProfileRepository;
         this.userRepository = userRepository;
         this.profileSectionCodec = profileSectionCodec;
+        this.personalizationContextCache = personalizationContextCache;
+        this.settingsRevisionService = settingsRevisionService;
     }
 
     private UserProfile createDefaultProfile(Long userId) {
@@ -43,6 +50,7 @@ public class UserProfileService {
         if (userProfileRepository.findByUserId(userId).isEmpty()) {
             log.info("Initializing default profile for user {}", userId);
             userProfileRepository.save(createDefaultProfile(userId));
+            settingsRevisionService.markChanged(userId);
         }
     }
 
@@ -63,6 +71,8 @@ public class UserProfileService {
         profile.setResponseStyle(req.responseStyle());
         profile.setCustomSections(profileSectionCodec.serialize(req.customSections()));
         UserProfile saved = userProfileRepository.save(profile);
+        personalizationContextCache.invalidate(userId);
+        settingsRevisionService.markChanged(userId);
         return toResponse(saved);
     }
 
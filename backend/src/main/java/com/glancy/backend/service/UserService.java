@@ -94,10 +94,9 @@ public class UserService {
         return authenticationCommand.loginWithEmailCode(request);
     }
 
-    /** 意图：使用账号与密码登录。 */
-    @Transactional
-    public LoginResponse login(LoginRequest request) {
-        return authenticationCommand.login(request);
+    /** 意图：使用账号与密码登录。事务由内部按查询与写入拆分，密码校验期间不持有数据库连接。 */
+    public LoginResponse login(LoginRequest request, String clientIp) {
+        return authenticationCommand.login(request, clientIp);
     }
 
     /** 意图：绑定第三方账号。 */
@@ -0,0 +1,45 @@
+package com.glancy.backend.service;
+
+import com.glancy.backend.repository.UserRepository;
+import java.util.Optional;
+import org.springframework.stereotype.Service;
+
+/**
+ * 背景：
+ *  - 客户端每次切回前台都会轮询偏好、资料与快捷键，即便内容未变也要完整加载实体并序列化。
+ * 目的：
+ *  - 以用户行上的设置修订号生成弱 ETag，读取只需一次按主键的标量查询，未变化的资源直接返回 304。
+ * 关键决策与取舍：
+ *  - 三类设置共用一个修订号，任一变更都会让其余资源多返回一次 200，换来所有写路径只需维护一处；
+ *  - 修订号在写事务内自增，与设置变更一起提交，不存在已提交内容对应旧 ETag 的窗口；
+ *  - 进程内缓存的响应以修订号为键，其它实例的写入使修订号前进后本地旧条目自然失效，无需跨实例驱逐。
+ */
+@Service
+public class UserSettingsRevisionService {
+
+    private final UserRepository userRepository;
+
+    public UserSettingsRevisionService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /** 意图：返回资源当前的弱 ETag；用户不存在时为空，由后续加载给出未找到。 */
+    public Optional<String> currentEtag(Long userId, String resource) {
+        return currentRevision(userId).map(revision -> etag(resource, revision));
+    }
+
+    /** 意图：返回用户当前的设置修订号；在写事务内调用时读到的是本事务自增后的值。 */
+    public Optional<Long> currentRevision(Long userId) {
+        return userRepository.findSettingsRevision(userId);
+    }
+
+    /** 意图：以资源名与修订号拼出弱 ETag。 */
+    public static String etag(String resource, long revision) {
+        return "W/\"" + resource + "-" + revision + "\"";
+    }
+
+    /** 意图：在调用方的写事务内标记设置已变更。 */
+    public void markChanged(Long userId) {
+        userRepository.incrementSettingsRevision(userId);
+    }
+}
@@ -0,0 +1,250 @@
+package com.glancy.backend.service;
+
+import com.glancy.backend.config.WordBatchProperties;
+import com.glancy.backend.dto.WordBatchLookupItem;
+import com.glancy.backend.dto.WordBatchLookupRequest;
+import com.glancy.backend.dto.WordResponse;
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.exception.BusinessException;
+import com.glancy.backend.exception.InvalidRequestException;
+import com.glancy.backend.service.support.DictionaryTermNormalizer;
+import com.glancy.backend.service.word.WordSearchOptions;
+import com.glancy.backend.util.SensitiveDataUtil;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Looks up several words at once for clients such as the reading assistant and flashcard import.
+ *
+ * <p>All cache hits are answered from one multi-key query and emitted first. Misses go through the regular
+ * {@link WordService#findWordForUser} pipeline on a shared worker pool, at most {@code concurrency} per request, and
+ * are emitted as each completes. A failing term produces a {@link WordBatchLookupItem.Status#FAILED} item instead of
+ * failing the batch. Terms are de-duplicated by their normalized form and batch lookups never record search history.
+ */
+@Slf4j
+@Service
+public class WordBatchService {
+
+    private static final String GENERIC_FAILURE = "词条查询失败";
+
+    private final WordService wordService;
+    private final DictionaryTermNormalizer termNormalizer;
+    private final WordBatchProperties properties;
+    private final ExecutorService executor;
+
+    public WordBatchService(
+            WordService wordService, DictionaryTermNormalizer termNormalizer, WordBatchProperties properties) {
+        this.wordService = wordService;
+        this.termNormalizer = termNormalizer;
+        this.properties = properties;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getWorkerThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "word-batch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Rejects requests the batch endpoint will not serve, before the response starts streaming. */
+    public void validate(WordBatchLookupRequest request) {
+        int maxTerms = properties.getMaxTerms();
+        if (request.getTerms().size() > maxTerms) {
+            throw new InvalidRequestException("单次最多查询" + maxTerms + "个词");
+        }
+    }
+
+    /** Emits one item per distinct term to {@code sink}; blocks until every term has been answered. */
+    public void lookup(Long userId, WordBatchLookupRequest request, Consumer<WordBatchLookupItem> sink) {
+        validate(request);
+        DictionaryFlavor flavor = request.getFlavor() != null ? request.getFlavor() : DictionaryFlavor.BILINGUAL;
+        Map<String, String> termsByKey = new LinkedHashMap<>();
+        for (String term : request.getTerms()) {
+            String key = term != null ? termNormalizer.normalize(term) : null;
+            if (key == null || key.isBlank()) {
+                sink.accept(WordBatchLookupItem.failed(term, "查询词不能为空"));
+                continue;
+            }
+            termsByKey.putIfAbsent(key, term.trim());
+        }
+        if (termsByKey.isEmpty()) {
+            return;
+        }
+
+        Map<String, WordResponse> cached =
+                wordService.findCachedWordsForUser(userId, termsByKey.keySet(), request.getLanguage(), flavor);
+        List<String> misses = new ArrayList<>();
+        termsByKey.forEach((key, term) -> {
+            WordResponse hit = cached.get(key);
+            if (hit != null) {
+                sink.accept(WordBatchLookupItem.cached(term, hit));
+            } else {
+                misses.add(term);
+            }
+        });
+        log.info(
+                "Batch lookup for user {}: {} terms, {} cached, {} to generate",
+                userId,
+                termsByKey.size(),
+                cached.size(),
+                misses.size());
+        fanOut(userId, request, flavor, misses, sink);
+    }
+
+    /**
+     * Generates the misses on the worker pool. When {@code sink} fails, typically because the client disconnected,
+     * no further terms are started, queued and running generations are cancelled and the sink failure is rethrown.
+     */
+    private void fanOut(
+            Long userId,
+            WordBatchLookupRequest request,
+            DictionaryFlavor flavor,
+            List<String> terms,
+            Consumer<WordBatchLookupItem> sink) {
+        FanOut fanOut = new FanOut(sink, Math.max(1, properties.getConcurrency()));
+        try {
+            for (String term : terms) {
+                if (!fanOut.acquire()) {
+                    break;
+                }
+                WordSearchOptions options =
+                        WordSearchOptions.of(term, request.getLanguage(), flavor, request.getModel(), false, false);
+                fanOut.submit(term, () -> generate(userId, options));
+            }
+            fanOut.awaitAll();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            fanOut.cancel();
+            log.warn("Batch lookup for user {} interrupted", userId);
+        }
+        fanOut.rethrowSinkFailure();
+    }
+
+    private WordBatchLookupItem generate(Long userId, WordSearchOptions options) {
+        try {
+            return WordBatchLookupItem.generated(options.term(), wordService.findWordForUser(userId, options));
+        } catch (BusinessException ex) {
+            return WordBatchLookupItem.failed(options.term(), ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.warn(
+                    "Batch lookup of '{}' failed for user {}: {}",
+                    options.term(),
+                    userId,
+                    SensitiveDataUtil.previewText(ex.getMessage()));
+            return WordBatchLookupItem.failed(options.term(), GENERIC_FAILURE);
+        }
+    }
+
+    /** Per-request bookkeeping for {@link #fanOut}: concurrency permits, outstanding futures and sink failure. */
+    private final class FanOut {
+
+        private static final long ACQUIRE_POLL_MILLIS = 100;
+
+        private final Consumer<WordBatchLookupItem> sink;
+        private final Semaphore permits;
+        private final List<Future<?>> futures = new ArrayList<>();
+        private final AtomicReference<RuntimeException> sinkFailure = new AtomicReference<>();
+
+        private FanOut(Consumer<WordBatchLookupItem> sink, int concurrency) {
+            this.sink = sink;
+            this.permits = new Semaphore(concurrency);
+        }
+
+        /** Waits for a free slot; {@code false} once the sink has failed and nothing more should start. */
+        private boolean acquire() throws InterruptedException {
+            while (!permits.tryAcquire(ACQUIRE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (sinkFailure.get() != null) {
+                    return false;
+                }
+            }
+            if (sinkFailure.get() != null) {
+                permits.release();
+                return false;
+            }
+            return true;
+        }
+
+        private void submit(String term, Supplier<WordBatchLookupItem> generation) {
+            try {
+                Future<?> future = executor.submit(() -> {
+                    try {
+                        emit(generation.get());
+                    } finally {
+                        permits.release();
+                    }
+                });
+                synchronized (futures) {
+                    futures.add(future);
+                }
+                if (sinkFailure.get() != null) {
+                    future.cancel(true);
+                }
+            } catch (RejectedExecutionException ex) {
+                permits.release();
+                emit(WordBatchLookupItem.failed(term, GENERIC_FAILURE));
+            }
+        }
+
+        private void emit(WordBatchLookupItem item) {
+            if (sinkFailure.get() != null) {
+                return;
+            }
+            try {
+                sink.accept(item);
+            } catch (RuntimeException ex) {
+                if (sinkFailure.compareAndSet(null, ex)) {
+                    cancel();
+                }
+            }
+        }
+
+        private void awaitAll() throws InterruptedException {
+            List<Future<?>> snapshot;
+            synchronized (futures) {
+                snapshot = List.copyOf(futures);
+            }
+            for (Future<?> future : snapshot) {
+                try {
+                    future.get();
+                } catch (CancellationException | ExecutionException ignored) {
+                    // failures are emitted as items; cancellation follows a sink failure reported below
+                }
+            }
+        }
+
+        private void cancel() {
+            synchronized (futures) {
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+
+        private void rethrowSinkFailure() {
+            RuntimeException failure = sinkFailure.get();
+            if (failure != null) {
+                log.info("Batch lookup stopped after the response could not be written: {}", failure.getMessage());
+                throw failure;
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,14 +1,24 @@
 package com.glancy.backend.service;
 
+import com.glancy.backend.config.timing.LookupStage;
+import com.glancy.backend.config.timing.LookupStageTimer;
 import com.glancy.backend.dto.WordPersonalizationContext;
 import com.glancy.backend.dto.WordResponse;
+import com.glancy.backend.entity.DictionaryFlavor;
 import com.glancy.backend.entity.DictionaryModel;
+import com.glancy.backend.entity.Language;
+import com.glancy.backend.entity.Word;
 import com.glancy.backend.service.personalization.WordPersonalizationService;
 import com.glancy.backend.service.support.DictionaryTermNormalizer;
 import com.glancy.backend.service.word.SynchronousWordRetrievalStrategy;
+import com.glancy.backend.service.word.WordCacheManager;
+import com.glancy.backend.service.word.WordPersonalizationApplier;
 import com.glancy.backend.service.word.WordQueryContext;
 import com.glancy.backend.service.word.WordRetrievalStrategy;
 import com.glancy.backend.service.word.WordSearchOptions;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,14 +32,23 @@ public class WordService {
     private final DictionaryTermNormalizer termNormalizer;
     private final WordPersonalizationService wordPersonalizationService;
     private final WordRetrievalStrategy<WordResponse> synchronousStrategy;
+    private final WordCacheManager cacheManager;
+    private final WordPersonalizationApplier personalizationApplier;
+    private final LookupStageTimer stageTimer;
 
     public WordService(
             DictionaryTermNormalizer termNormalizer,
             WordPersonalizationService wordPersonalizationService,
-            SynchronousWordRetrievalStrategy synchronousStrategy) {
+            SynchronousWordRetrievalStrategy synchronousStrategy,
+            WordCacheManager cacheManager,
+            WordPersonalizationApplier personalizationApplier,
+            LookupStageTimer stageTimer) {
         this.termNormalizer = termNormalizer;
         this.wordPersonalizationService = wordPersonalizationService;
         this.synchronousStrategy = synchronousStrategy;
+        this.cacheManager = cacheManager;
+        this.personalizationApplier = personalizationApplier;
+        this.stageTimer = stageTimer;
     }
 
     @Transactional
@@ -38,10 +57,35 @@ public class WordService {
         return synchronousStrategy.execute(context);
     }
 
+    /**
+     * Resolves every cached entry among the given normalized terms with a single query and personalizes them. Terms
+     * missing from the result have to be looked up one by one. No search history is recorded.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, WordResponse> findCachedWordsForUser(
+            Long userId, Collection<String> normalizedTerms, Language language, DictionaryFlavor flavor) {
+        Map<String, WordResponse> responses = new LinkedHashMap<>();
+        WordPersonalizationContext personalizationContext = null;
+        Map<String, Word> cached = cacheManager.findCachedWords(normalizedTerms, language, flavor);
+        for (Map.Entry<String, Word> entry : cached.entrySet()) {
+            if (personalizationContext == null) {
+                personalizationContext = resolvePersonalization(userId);
+            }
+            WordResponse response = cacheManager.toResponse(entry.getValue());
+            response.setFlavor(flavor);
+            responses.put(entry.getKey(), personalizationApplier.apply(userId, response, personalizationContext));
+        }
+        return responses;
+    }
+
     private WordQueryContext buildContext(Long userId, WordSearchOptions options) {
+        long normalizeStart = stageTimer.start();
         String normalizedTerm = termNormalizer.normalize(options.term());
+        stageTimer.stop(LookupStage.NORMALIZATION, normalizeStart);
         String model = resolveModelName(options.model());
+        long personalizationStart = stageTimer.start();
         WordPersonalizationContext personalizationContext = resolvePersonalization(userId);
+        stageTimer.stop(LookupStage.PERSONALIZATION_CONTEXT, personalizationStart);
         log.info(
                 "Building word query context for user {} term '{}' (normalized '{}') language {} flavor {} model {}",
                 userId,
@@ -0,0 +1,139 @@
+package com.glancy.backend.service.email;
+
+import com.glancy.backend.config.EmailVerificationProperties;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Coalesces interaction and delivery timestamps of email audiences in memory and writes them in JDBC batches.
+ *
+ * <p>Every send used to rewrite the audience row twice. Now repeated events of one audience collapse into its latest
+ * timestamps, and a flush issues one batched statement per column for up to {@code interactionFlushBatchSize}
+ * audiences. Updates only ever move a timestamp forward and touch no other column, so they cannot undo a bounce or
+ * suppression written in the meantime. Timestamps pending at a crash are lost, which only delays the inactivity policy
+ * by at most one flush interval.
+ */
+@Slf4j
+@Component
+class EmailAudienceInteractionBuffer {
+
+    private static final String INTERACTION_SQL = "update email_audience "
+            + "set last_interaction_at = :timestamp, updated_at = :timestamp "
+            + "where id = :id and (last_interaction_at is null or last_interaction_at < :timestamp)";
+    private static final String DELIVERY_SQL = "update email_audience set last_delivered_at = :timestamp "
+            + "where id = :id and (last_delivered_at is null or last_delivered_at < :timestamp)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    EmailAudienceInteractionBuffer(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            EmailVerificationProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, properties.getAudiencePolicy().getInteractionFlushBatchSize());
+    }
+
+    void recordInteraction(Long audienceId, LocalDateTime timestamp) {
+        record(audienceId, new Pending(timestamp, null));
+    }
+
+    /** A delivery also counts as an interaction, as in {@code EmailAudience#markDelivered}. */
+    void recordDelivery(Long audienceId, LocalDateTime timestamp) {
+        record(audienceId, new Pending(timestamp, timestamp));
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(
+            initialDelayString = "${mail.verification.audience-policy.interaction-flush-interval:PT30S}",
+            fixedDelayString = "${mail.verification.audience-policy.interaction-flush-interval:PT30S}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Flushing email audience interactions failed: {}", ex.getMessage());
+        }
+    }
+
+    /** Writes every pending timestamp; entries of a failed batch are put back for the next flush. */
+    int flush() {
+        int written = 0;
+        Iterator<Long> ids = pending.keySet().iterator();
+        while (ids.hasNext()) {
+            Map<Long, Pending> batch = new HashMap<>();
+            while (ids.hasNext() && batch.size() < batchSize) {
+                Long id = ids.next();
+                Pending removed = pending.remove(id);
+                if (removed != null) {
+                    batch.put(id, removed);
+                }
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(batch));
+                written += batch.size();
+            } catch (RuntimeException ex) {
+                batch.forEach(this::record);
+                throw ex;
+            }
+        }
+        return written;
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        scheduledFlush();
+    }
+
+    private void record(Long audienceId, Pending update) {
+        if (audienceId != null) {
+            pending.merge(audienceId, update, Pending::merge);
+        }
+    }
+
+    private void write(Map<Long, Pending> batch) {
+        List<Map<String, Object>> interactions = new ArrayList<>(batch.size());
+        List<Map<String, Object>> deliveries = new ArrayList<>();
+        batch.forEach((id, update) -> {
+            interactions.add(Map.of("id", id, "timestamp", update.interactionAt()));
+            if (update.deliveredAt() != null) {
+                deliveries.add(Map.of("id", id, "timestamp", update.deliveredAt()));
+            }
+        });
+        jdbcTemplate.batchUpdate(INTERACTION_SQL, interactions.toArray(Map[]::new));
+        if (!deliveries.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELIVERY_SQL, deliveries.toArray(Map[]::new));
+        }
+    }
+
+    private record Pending(LocalDateTime interactionAt, LocalDateTime deliveredAt) {
+
+        Pending merge(Pending other) {
+            return new Pending(latest(interactionAt, other.interactionAt), latest(deliveredAt, other.deliveredAt));
+        }
+
+        private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+            if (a == null) {
+                return b;
+            }
+            return b == null || a.isAfter(b) ? a : b;
+        }
+    }
+}
@@ -15,52 +15,73 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-/** Centralizes subscription and suppression policy enforcement prior to dispatching emails. */
+/**
+ * Centralizes subscription and suppression policy enforcement prior to dispatching emails.
+ *
+ * <p>Consent is checked against {@link EmailAudienceStateCache}, so the steady-state check costs no database access;
+ * only the first email to an address inserts its audience row. Interaction and delivery timestamps go through
+ * {@link EmailAudienceInteractionBuffer} instead of rewriting the row on every send. Bounces and inactivity changes
+ * are written directly and refresh the cached state.
+ */
 @Service
 public class EmailAudienceService {
 
     private final EmailAudienceRepository repository;
     private final EmailVerificationProperties properties;
+    private final EmailAudienceStateCache stateCache;
+    private final EmailAudienceInteractionBuffer interactions;
     private final Clock clock;
 
-    public EmailAudienceService(
-            EmailAudienceRepository repository, EmailVerificationProperties properties, Clock clock) {
+    EmailAudienceService(
+            EmailAudienceRepository repository,
+            EmailVerificationProperties properties,
+            EmailAudienceStateCache stateCache,
+            EmailAudienceInteractionBuffer interactions,
+            Clock clock) {
         this.repository = repository;
         this.properties = properties;
+        this.stateCache = stateCache;
+        this.interactions = interactions;
         this.clock = clock;
     }
 
     @Transactional
-    public EmailAudience ensureTransactionalConsent(String email) {
-        return ensureConsent(email, EmailStream.TRANSACTIONAL);
+    public void ensureTransactionalConsent(String email) {
+        ensureConsent(email, EmailStream.TRANSACTIONAL);
     }
 
     @Transactional
-    public EmailAudience ensureConsent(String email, EmailStream stream) {
+    public void ensureConsent(String email, EmailStream stream) {
         String normalized = normalize(email);
         LocalDateTime now = LocalDateTime.now(clock);
-        EmailAudience audience = repository
-                .findByEmailAndStream(normalized, stream)
-                .orElseGet(() -> repository.save(new EmailAudience(normalized, stream, now)));
+        EmailAudienceState state = stateCache.get(normalized, stream, () -> loadOrCreate(normalized, stream, now));
 
-        guardAgainstInactivity(audience, now);
-        guardAgainstUnsubscribe(audience);
-        guardAgainstSuppression(audience);
+        guardAgainstInactivity(state, normalized, stream, now);
+        guardAgainstUnsubscribe(state);
+        guardAgainstSuppression(state);
 
-        audience.registerInteraction(now);
-        return repository.save(audience);
+        state.touch(now);
+        interactions.recordInteraction(state.id(), now);
     }
 
     @Transactional
-    public void recordDeliverySuccess(EmailAudience audience, LocalDateTime timestamp) {
-        audience.markDelivered(timestamp);
-        repository.save(audience);
+    public void recordDeliverySuccess(String email, EmailStream stream, LocalDateTime timestamp) {
+        String normalized = normalize(email);
+        EmailAudienceState state = stateCache.get(normalized, stream, () -> repository
+                .findByEmailAndStream(normalized, stream)
+                .map(audience -> EmailAudienceState.of(audience))
+                .orElse(null));
+        if (state != null) {
+            state.touch(timestamp);
+            interactions.recordDelivery(state.id(), timestamp);
+        }
     }
 
     @Transactional
     public void recordDeliveryFailure(
             String email, EmailStream stream, EmailDeliveryFailure failure, LocalDateTime timestamp) {
-        Optional<EmailAudience> optional = repository.findByEmailAndStream(normalize(email), stream);
+        String normalized = normalize(email);
+        Optional<EmailAudience> optional = repository.findByEmailAndStream(normalized, stream);
         if (optional.isEmpty()) {
             return;
         }
@@ -72,6 +93,7 @@ public class EmailAudienceService {
             evaluateBounceThresholds(audience, timestamp);
         }
         repository.save(audience);
+        stateCache.invalidate(normalized, stream);
     }
 
     public String normalize(String email) {
@@ -81,30 +103,39 @@ public class EmailAudienceService {
         return email.trim().toLowerCase(Locale.ROOT);
     }
 
-    private void guardAgainstInactivity(EmailAudience audience, LocalDateTime now) {
+    private EmailAudienceState loadOrCreate(String email, EmailStream stream, LocalDateTime now) {
+        EmailAudience audience = repository
+                .findByEmailAndStream(email, stream)
+                .orElseGet(() -> repository.save(new EmailAudience(email, stream, now)));
+        return EmailAudienceState.of(audience);
+    }
+
+    private void guardAgainstInactivity(
+            EmailAudienceState state, String email, EmailStream stream, LocalDateTime now) {
         Duration threshold = properties.getAudiencePolicy().getInactivityThreshold();
         if (threshold == null || threshold.isZero() || threshold.isNegative()) {
             return;
         }
-        LocalDateTime lastInteraction = audience.getLastInteractionAt();
-        if (lastInteraction == null) {
+        LocalDateTime lastInteraction = state.lastInteractionAt();
+        if (lastInteraction == null || !lastInteraction.isBefore(now.minus(threshold))) {
             return;
         }
-        if (lastInteraction.isBefore(now.minus(threshold))) {
+        repository.findByEmailAndStream(email, stream).ifPresent(audience -> {
             audience.setSubscribed(false, now);
             repository.save(audience);
-            throw new InvalidRequestException("该邮箱因长期未互动已停止发送");
-        }
+        });
+        stateCache.invalidate(email, stream);
+        throw new InvalidRequestException("该邮箱因长期未互动已停止发送");
     }
 
-    private void guardAgainstUnsubscribe(EmailAudience audience) {
-        if (Boolean.FALSE.equals(audience.getSubscribed())) {
+    private void guardAgainstUnsubscribe(EmailAudienceState state) {
+        if (!state.subscribed()) {
             throw new InvalidRequestException("该邮箱已退订此类通知");
         }
     }
 
-    private void guardAgainstSuppression(EmailAudience audience) {
-        if (audience.getSuppressionStatus().isSuppressed()) {
+    private void guardAgainstSuppression(EmailAudienceState state) {
+        if (state.suppressed()) {
             throw new InvalidRequestException("该邮箱当前处于暂停发送状态");
         }
     }
@@ -0,0 +1,54 @@
+package com.glancy.backend.service.email;
+
+import com.glancy.backend.entity.EmailAudience;
+import java.time.LocalDateTime;
+
+/**
+ * Consent-relevant snapshot of one {@link EmailAudience} row. Subscription and suppression are fixed for the lifetime
+ * of the snapshot, which is replaced whenever they change; the interaction timestamp moves forward in memory ahead of
+ * the coalesced database write.
+ */
+final class EmailAudienceState {
+
+    private final Long id;
+    private final boolean subscribed;
+    private final boolean suppressed;
+    private LocalDateTime lastInteractionAt;
+
+    private EmailAudienceState(Long id, boolean subscribed, boolean suppressed, LocalDateTime lastInteractionAt) {
+        this.id = id;
+        this.subscribed = subscribed;
+        this.suppressed = suppressed;
+        this.lastInteractionAt = lastInteractionAt;
+    }
+
+    static EmailAudienceState of(EmailAudience audience) {
+        return new EmailAudienceState(
+                audience.getId(),
+                !Boolean.FALSE.equals(audience.getSubscribed()),
+                audience.getSuppressionStatus().isSuppressed(),
+                audience.getLastInteractionAt());
+    }
+
+    Long id() {
+        return id;
+    }
+
+    boolean subscribed() {
+        return subscribed;
+    }
+
+    boolean suppressed() {
+        return suppressed;
+    }
+
+    synchronized LocalDateTime lastInteractionAt() {
+        return lastInteractionAt;
+    }
+
+    synchronized void touch(LocalDateTime timestamp) {
+        if (lastInteractionAt == null || lastInteractionAt.isBefore(timestamp)) {
+            lastInteractionAt = timestamp;
+        }
+    }
+}
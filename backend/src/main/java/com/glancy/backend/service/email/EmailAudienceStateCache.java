@@ -0,0 +1,48 @@
+package com.glancy.backend.service.email;
+
+import com.glancy.backend.config.EmailVerificationAudiencePolicyProperties;
+import com.glancy.backend.config.EmailVerificationProperties;
+import com.glancy.backend.entity.EmailStream;
+import com.glancy.backend.util.ExpiringLruCache;
+import com.glancy.backend.util.TransactionCallbacks;
+import java.time.Clock;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded LRU cache of audience consent state, so that the consent check in front of every transactional email is
+ * answered from memory instead of reading and rewriting the {@code email_audience} row.
+ *
+ * <p>Loaded state is cached only once the loading transaction commits, so a rolled back insert never leaves a phantom
+ * audience behind. Bounce and inactivity handling invalidate the entry now and again after commit; loads that overlap
+ * an invalidation are returned but not cached. Entries expire after {@code cacheTtl}, which bounds how long a
+ * suppression recorded by another instance can go unnoticed.
+ */
+@Component
+class EmailAudienceStateCache {
+
+    private final ExpiringLruCache<Key, EmailAudienceState> entries;
+
+    EmailAudienceStateCache(EmailVerificationProperties verificationProperties, Clock clock) {
+        EmailVerificationAudiencePolicyProperties properties = verificationProperties.getAudiencePolicy();
+        this.entries = new ExpiringLruCache<>(properties.getCacheMaxEntries(), properties.getCacheTtl(), clock);
+    }
+
+    /** Returns the cached state or loads it; a loader returning {@code null} means the audience does not exist. */
+    EmailAudienceState get(String email, EmailStream stream, Supplier<EmailAudienceState> loader) {
+        return entries.getAfterCommit(new Key(email, stream), key -> loader.get());
+    }
+
+    /** Drops the cached state, now and again once the current transaction commits. */
+    void invalidate(String email, EmailStream stream) {
+        Key key = new Key(email, stream);
+        entries.invalidate(key);
+        TransactionCallbacks.afterCommit(() -> entries.invalidate(key));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private record Key(String email, EmailStream stream) {}
+}
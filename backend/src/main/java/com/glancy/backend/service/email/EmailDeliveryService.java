@@ -1,13 +1,11 @@
 package com.glancy.backend.service.email;
 
 import com.glancy.backend.config.EmailVerificationProperties;
-import com.glancy.backend.entity.EmailAudience;
 import com.glancy.backend.entity.EmailStream;
+import com.glancy.backend.service.email.outbox.EmailOutbox;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
-import java.time.Clock;
 import java.time.LocalDateTime;
-import org.springframework.mail.MailException;
 import org.springframework.mail.MailPreparationException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
@@ -20,47 +18,43 @@ public class EmailDeliveryService {
 
     private final JavaMailSender mailSender;
     private final EmailAudienceService audienceService;
-    private final EmailDeliveryFailureClassifier failureClassifier;
+    private final EmailOutbox outbox;
     private final EmailVerificationProperties properties;
     private final EmailMessagePreparer messagePreparer;
     private final MailboxProviderPolicyEngine mailboxProviderPolicyEngine;
-    private final Clock clock;
 
     public EmailDeliveryService(
             JavaMailSender mailSender,
             EmailAudienceService audienceService,
-            EmailDeliveryFailureClassifier failureClassifier,
-            EmailOutboundToolkit toolkit,
-            Clock clock) {
+            EmailOutbox outbox,
+            EmailOutboundToolkit toolkit) {
         this.mailSender = mailSender;
         this.audienceService = audienceService;
-        this.failureClassifier = failureClassifier;
+        this.outbox = outbox;
         this.properties = toolkit.properties();
         this.messagePreparer = toolkit.messagePreparer();
         this.mailboxProviderPolicyEngine = toolkit.mailboxProviderPolicyEngine();
-        this.clock = clock;
     }
 
     public MimeMessage createMessage() {
         return mailSender.createMimeMessage();
     }
 
-    public void sendTransactional(MimeMessage message, String recipient) {
-        EmailAudience audience = audienceService.ensureTransactionalConsent(recipient);
-        LocalDateTime timestamp = LocalDateTime.now(clock);
+    /**
+     * Applies consent, stream and mailbox provider policies to a transactional message and queues it in the outbox,
+     * joining the caller's transaction. The SMTP exchange happens later on the outbox dispatcher, which also records
+     * deliveries and bounces, so a slow or unreachable mail server never holds up the request that produced the mail.
+     */
+    public void queueTransactional(MimeMessage message, String recipient, LocalDateTime expiresAt) {
+        audienceService.ensureTransactionalConsent(recipient);
         try {
             ensureStreamConsistency();
             messagePreparer.prepare(message, EmailStream.TRANSACTIONAL);
             mailboxProviderPolicyEngine.apply(message, EmailStream.TRANSACTIONAL, recipient);
-            mailSender.send(message);
-            audienceService.recordDeliverySuccess(audience, timestamp);
         } catch (MessagingException exception) {
             throw new MailPreparationException("发送事务邮件前准备失败", exception);
-        } catch (MailException exception) {
-            EmailDeliveryFailure failure = failureClassifier.classify(exception);
-            audienceService.recordDeliveryFailure(recipient, EmailStream.TRANSACTIONAL, failure, timestamp);
-            throw exception;
         }
+        outbox.enqueue(message, recipient, EmailStream.TRANSACTIONAL, expiresAt);
     }
 
     private void ensureStreamConsistency() {
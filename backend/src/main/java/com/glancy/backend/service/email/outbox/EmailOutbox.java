@@ -0,0 +1,90 @@
+package com.glancy.backend.service.email.outbox;
+
+import com.glancy.backend.entity.EmailOutboxMessage;
+import com.glancy.backend.entity.EmailStream;
+import com.glancy.backend.repository.EmailOutboxRepository;
+import com.glancy.backend.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Date;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Write side of the email outbox: stores fully rendered messages in the caller's transaction so that a message exists
+ * exactly when the business change that produced it commits. {@link EmailOutboxDispatcher} is woken after the commit
+ * and sends the message on its own threads.
+ */
+@Service
+public class EmailOutbox {
+
+    private final EmailOutboxRepository repository;
+    private final EmailProviderRateLimiter rateLimiter;
+    private final EmailOutboxDispatcher dispatcher;
+    private final Clock clock;
+    private final Counter queued;
+
+    public EmailOutbox(
+            EmailOutboxRepository repository,
+            EmailProviderRateLimiter rateLimiter,
+            EmailOutboxDispatcher dispatcher,
+            Clock clock,
+            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.rateLimiter = rateLimiter;
+        this.dispatcher = dispatcher;
+        this.clock = clock;
+        this.queued = EmailOutboxDispatcher.outcomeCounter(meterRegistry, "queued");
+    }
+
+    /**
+     * Queues {@code message} for {@code recipient}. Messages still unsent at {@code expiresAt} are dropped instead of
+     * delivered; pass {@code null} for messages that never go stale.
+     */
+    @Transactional
+    public EmailOutboxMessage enqueue(
+            MimeMessage message, String recipient, EmailStream stream, LocalDateTime expiresAt) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        EmailOutboxMessage entry = new EmailOutboxMessage();
+        entry.setRecipient(recipient);
+        entry.setStream(stream);
+        entry.setProvider(rateLimiter.providerOf(recipient));
+        entry.setPayload(serialize(message, new Date(clock.millis())));
+        entry.setNextAttemptAt(now);
+        entry.setExpiresAt(expiresAt);
+        EmailOutboxMessage saved = repository.save(entry);
+        queued.increment();
+        TransactionCallbacks.afterCommit(dispatcher::wakeUp);
+        return saved;
+    }
+
+    /**
+     * Renders the message to RFC 822 bytes. Like {@code JavaMailSenderImpl}, the sent date is stamped now and a
+     * Message-ID assigned by the mailbox provider policies survives {@code saveChanges()}, so retries resend the very
+     * same message.
+     */
+    private static byte[] serialize(MimeMessage message, Date sentDate) {
+        try {
+            if (message.getSentDate() == null) {
+                message.setSentDate(sentDate);
+            }
+            String messageId = message.getMessageID();
+            message.saveChanges();
+            if (messageId != null) {
+                message.setHeader("Message-ID", messageId);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+            message.writeTo(out);
+            return out.toByteArray();
+        } catch (MessagingException | IOException exception) {
+            throw new MailPreparationException("邮件序列化失败", exception);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.glancy.backend.service.email.outbox;
+
+import com.glancy.backend.config.EmailOutboxProperties;
+import com.glancy.backend.entity.EmailOutboxMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.mail.MailException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the email outbox. A poller thread claims due messages, at most as many as there are free sender slots and
+ * only as fast as {@link EmailProviderRateLimiter} allows for each recipient's mailbox provider, and hands them to a
+ * fixed pool of sender threads that deliver over pooled SMTP connections. Commits that queue a message wake the
+ * poller, so delivery normally starts within milliseconds; the poll interval only matters for retries and for
+ * messages queued by other instances.
+ */
+@Slf4j
+@Component
+public class EmailOutboxDispatcher implements SmartLifecycle {
+
+    static final String METRIC_PREFIX = "glancy.mail.outbox";
+    private static final long BACKLOG_POLL_MILLIS = 100;
+    private static final long PURGE_INTERVAL_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    private final EmailOutboxProperties properties;
+    private final EmailOutboxLedger ledger;
+    private final EmailOutboxTransport transport;
+    private final EmailProviderRateLimiter rateLimiter;
+    private final Map<EmailOutboxLedger.Outcome, Counter> outcomes = new EnumMap<>(EmailOutboxLedger.Outcome.class);
+    private final Timer sendTimer;
+    private final Object signal = new Object();
+    private boolean signalled;
+
+    private ExecutorService senders;
+    private Semaphore senderSlots;
+    private Thread poller;
+    private volatile boolean running;
+
+    public EmailOutboxDispatcher(
+            EmailOutboxProperties properties,
+            EmailOutboxLedger ledger,
+            EmailOutboxTransport transport,
+            EmailProviderRateLimiter rateLimiter,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ledger = ledger;
+        this.transport = transport;
+        this.rateLimiter = rateLimiter;
+        for (EmailOutboxLedger.Outcome outcome : EmailOutboxLedger.Outcome.values()) {
+            outcomes.put(outcome, outcomeCounter(meterRegistry, outcome.name().toLowerCase(Locale.ROOT)));
+        }
+        this.sendTimer = Timer.builder(METRIC_PREFIX + ".send")
+                .description("Duration of one SMTP delivery attempt")
+                .register(meterRegistry);
+    }
+
+    /** Asks the poller to look for due messages now instead of at the end of its poll interval. */
+    public void wakeUp() {
+        synchronized (signal) {
+            signalled = true;
+            signal.notifyAll();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isDispatcherEnabled() || running) {
+            return;
+        }
+        int workers = Math.max(1, properties.getWorkers());
+        AtomicInteger threadIndex = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-sender-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        senderSlots = new Semaphore(workers);
+        transport.open();
+        running = true;
+        poller = new Thread(this::pollLoop, "email-outbox-dispatcher");
+        poller.setDaemon(true);
+        poller.start();
+        log.info("Email outbox dispatcher started (workers={}, batchSize={})", workers, properties.getBatchSize());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        wakeUp();
+        long timeoutMillis = properties.getShutdownTimeout().toMillis();
+        try {
+            poller.join(timeoutMillis);
+            senders.shutdown();
+            if (!senders.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Email outbox senders did not finish in time; unfinished messages are retried after lease");
+                senders.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            senders.shutdownNow();
+        }
+        transport.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Stops after the embedded web server, so that codes requested during shutdown are still handed to SMTP. */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void pollLoop() {
+        long lastPurge = System.nanoTime() - PURGE_INTERVAL_NANOS;
+        while (running) {
+            boolean backlog = false;
+            try {
+                backlog = dispatchDue();
+                if (System.nanoTime() - lastPurge >= PURGE_INTERVAL_NANOS) {
+                    lastPurge = System.nanoTime();
+                    int purged = ledger.purge();
+                    log.debug("Purged {} finished outbox messages", purged);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Email outbox poll failed: {}", ex.getMessage());
+            }
+            awaitSignal(backlog ? BACKLOG_POLL_MILLIS : properties.getPollInterval().toMillis());
+        }
+    }
+
+    /** Claims and submits due messages; returns whether due messages had to be left for the next poll. */
+    boolean dispatchDue() {
+        int free = senderSlots.availablePermits();
+        if (free == 0) {
+            return true;
+        }
+        int limit = Math.min(free, Math.max(1, properties.getBatchSize()));
+        EmailOutboxLedger.Claim claim = ledger.claimDue(limit, rateLimiter);
+        for (EmailOutboxMessage message : claim.messages()) {
+            senderSlots.acquireUninterruptibly();
+            senders.execute(() -> {
+                try {
+                    deliver(message);
+                } finally {
+                    senderSlots.release();
+                }
+            });
+        }
+        return claim.backlog();
+    }
+
+    void deliver(EmailOutboxMessage message) {
+        EmailOutboxLedger.Outcome outcome;
+        try {
+            if (ledger.isExpired(message)) {
+                outcome = ledger.expire(message);
+            } else {
+                outcome = send(message);
+            }
+        } catch (RuntimeException ex) {
+            log.error(
+                    "Outbox message {} is retried after its lease: recording the outcome failed", message.getId(), ex);
+            return;
+        }
+        outcomes.get(outcome).increment();
+        if (outcome != EmailOutboxLedger.Outcome.SENT) {
+            log.warn("Outbox message {} to {}: {}", message.getId(), message.getProvider(), outcome);
+        }
+    }
+
+    private EmailOutboxLedger.Outcome send(EmailOutboxMessage message) {
+        Timer.Sample sample = Timer.start();
+        try {
+            transport.send(message.getPayload());
+        } catch (MailException ex) {
+            log.debug("Delivery attempt {} of outbox message {} failed", message.getAttempts(), message.getId(), ex);
+            return ledger.recordFailure(message, ex);
+        } finally {
+            sample.stop(sendTimer);
+        }
+        return ledger.recordSuccess(message);
+    }
+
+    private void awaitSignal(long millis) {
+        synchronized (signal) {
+            try {
+                if (!signalled && running) {
+                    signal.wait(Math.max(1, millis));
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            signalled = false;
+        }
+    }
+
+    static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(METRIC_PREFIX + ".messages")
+                .description("Outbox messages by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,215 @@
+package com.glancy.backend.service.email.outbox;
+
+import com.glancy.backend.config.EmailOutboxProperties;
+import com.glancy.backend.entity.EmailOutboxMessage;
+import com.glancy.backend.entity.EmailOutboxStatus;
+import com.glancy.backend.repository.EmailOutboxRepository;
+import com.glancy.backend.repository.EmailOutboxRepository.DueMessage;
+import com.glancy.backend.service.email.EmailAudienceService;
+import com.glancy.backend.service.email.EmailDeliveryFailure;
+import com.glancy.backend.service.email.EmailDeliveryFailureClassifier;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * State transitions of outbox messages. Every change after the claim is conditional on the claim token, so a
+ * dispatcher whose lease expired while it was still sending cannot overwrite the outcome recorded by the one that took
+ * the message over. Bounces feed {@link EmailAudienceService} exactly as synchronous sends used to.
+ */
+@Component
+class EmailOutboxLedger {
+
+    private static final int MAX_ERROR_LENGTH = 512;
+    private static final int MAX_BACKOFF_DOUBLINGS = 10;
+
+    /** Result of one delivery attempt, also used as metric tag. */
+    enum Outcome {
+        SENT,
+        RETRIED,
+        FAILED,
+        EXPIRED
+    }
+
+    private final EmailOutboxRepository repository;
+    private final EmailAudienceService audienceService;
+    private final EmailDeliveryFailureClassifier failureClassifier;
+    private final EmailOutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    EmailOutboxLedger(
+            EmailOutboxRepository repository,
+            EmailAudienceService audienceService,
+            EmailDeliveryFailureClassifier failureClassifier,
+            EmailOutboxProperties properties,
+            PlatformTransactionManager transactionManager,
+            Clock clock) {
+        this.repository = repository;
+        this.audienceService = audienceService;
+        this.failureClassifier = failureClassifier;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    /**
+     * Claims up to {@code slots} due messages, oldest first, taking a send permit for each from {@code rateLimiter}.
+     * A provider that refuses a permit is left out of the rest of the poll and the scan continues past its messages,
+     * so a backlog for one slow provider cannot hold back messages for the others. Permits taken for messages that
+     * another dispatcher claimed first are returned.
+     */
+    Claim claimDue(int slots, EmailProviderRateLimiter rateLimiter) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int limit = Math.max(1, slots);
+        int pageSize = Math.max(limit, properties.getBatchSize());
+        Set<String> throttled = new HashSet<>();
+        List<EmailOutboxMessage> claimed = new ArrayList<>();
+        boolean backlog = false;
+        while (claimed.size() < limit) {
+            List<DueMessage> due = repository.findDue(
+                    EmailOutboxStatus.PENDING,
+                    EmailOutboxStatus.SENDING,
+                    now,
+                    throttled,
+                    PageRequest.of(0, pageSize));
+            int throttledBefore = throttled.size();
+            Map<Long, String> admitted = new LinkedHashMap<>();
+            for (DueMessage message : due) {
+                String provider = message.getProvider();
+                if (claimed.size() + admitted.size() >= limit || throttled.contains(provider)) {
+                    continue;
+                }
+                if (rateLimiter.tryAcquire(provider)) {
+                    admitted.put(message.getId(), provider);
+                } else {
+                    throttled.add(provider);
+                }
+            }
+            backlog |= due.size() > admitted.size() || due.size() == pageSize;
+            claimed.addAll(claim(admitted, now, rateLimiter));
+            // 本页已是全部到期消息，或没有新的服务商被限流（再查只会得到同一批消息）时结束本轮扫描
+            if (due.size() < pageSize || throttled.size() == throttledBefore) {
+                break;
+            }
+        }
+        return new Claim(claimed, backlog);
+    }
+
+    boolean isExpired(EmailOutboxMessage message) {
+        return message.getExpiresAt() != null && message.getExpiresAt().isBefore(LocalDateTime.now(clock));
+    }
+
+    Outcome expire(EmailOutboxMessage message) {
+        complete(message, EmailOutboxStatus.FAILED, "expired before delivery", null);
+        return Outcome.EXPIRED;
+    }
+
+    Outcome recordSuccess(EmailOutboxMessage message) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        complete(message, EmailOutboxStatus.SENT, null, now);
+        audienceService.recordDeliverySuccess(message.getRecipient(), message.getStream(), now);
+        return Outcome.SENT;
+    }
+
+    /**
+     * Records a failed attempt. Server or login problems are retried without touching the recipient's bounce record;
+     * rejections are classified, counted against the recipient and retried only when temporary.
+     */
+    Outcome recordFailure(EmailOutboxMessage message, MailException exception) {
+        String error = truncate(exception.getMessage());
+        if (EmailOutboxTransport.isTransportFailure(exception)) {
+            return retry(message, error);
+        }
+        EmailDeliveryFailure failure = failureClassifier.classify(exception);
+        audienceService.recordDeliveryFailure(
+                message.getRecipient(), message.getStream(), failure, LocalDateTime.now(clock));
+        if (failure.permanent()) {
+            complete(message, EmailOutboxStatus.FAILED, error, null);
+            return Outcome.FAILED;
+        }
+        return retry(message, error);
+    }
+
+    /** Deletes finished messages older than the retention period. */
+    int purge() {
+        LocalDateTime before = LocalDateTime.now(clock).minus(properties.getRetention());
+        Integer purged = transactionTemplate.execute(status ->
+                repository.purge(List.of(EmailOutboxStatus.SENT, EmailOutboxStatus.FAILED), before));
+        return purged == null ? 0 : purged;
+    }
+
+    private Outcome retry(EmailOutboxMessage message, String error) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int attempts = message.getAttempts();
+        Duration backoff = properties.getRetryBackoff()
+                .multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), MAX_BACKOFF_DOUBLINGS));
+        LocalDateTime nextAttemptAt = now.plus(backoff);
+        boolean staleBeforeRetry =
+                message.getExpiresAt() != null && nextAttemptAt.isAfter(message.getExpiresAt());
+        if (attempts >= properties.getMaxAttempts() || staleBeforeRetry) {
+            complete(message, EmailOutboxStatus.FAILED, error, null);
+            return Outcome.FAILED;
+        }
+        transactionTemplate.executeWithoutResult(status -> repository.reschedule(
+                message.getId(), message.getClaimToken(), EmailOutboxStatus.PENDING, nextAttemptAt, error, now));
+        return Outcome.RETRIED;
+    }
+
+    private void complete(EmailOutboxMessage message, EmailOutboxStatus status, String error, LocalDateTime sentAt) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        transactionTemplate.executeWithoutResult(tx -> repository.complete(
+                message.getId(), message.getClaimToken(), status, error, sentAt, now));
+    }
+
+    private List<EmailOutboxMessage> claim(
+            Map<Long, String> admitted, LocalDateTime now, EmailProviderRateLimiter rateLimiter) {
+        if (admitted.isEmpty()) {
+            return List.of();
+        }
+        String token = UUID.randomUUID().toString();
+        LocalDateTime lockedUntil = now.plus(properties.getLease());
+        List<EmailOutboxMessage> claimed = transactionTemplate.execute(status -> {
+            repository.claim(
+                    admitted.keySet(),
+                    token,
+                    lockedUntil,
+                    EmailOutboxStatus.PENDING,
+                    EmailOutboxStatus.SENDING,
+                    now);
+            return repository.findByClaimToken(token);
+        });
+        if (claimed.size() < admitted.size()) {
+            Set<Long> won = new HashSet<>();
+            claimed.forEach(message -> won.add(message.getId()));
+            admitted.forEach((id, provider) -> {
+                if (!won.contains(id)) {
+                    rateLimiter.release(provider);
+                }
+            });
+        }
+        return claimed;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /** Messages claimed by one poll, and whether due messages were left for the next one. */
+    record Claim(List<EmailOutboxMessage> messages, boolean backlog) {}
+}
@@ -0,0 +1,114 @@
+package com.glancy.backend.service.email.outbox;
+
+import com.glancy.backend.config.EmailOutboxProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends serialized outbox messages, over pooled SMTP connections when the configured sender is a
+ * {@link JavaMailSenderImpl} and through {@link JavaMailSender#send} otherwise. Failures are reported the way
+ * {@code JavaMailSenderImpl} reports them, so that {@link #isTransportFailure} can tell a mail server that could not
+ * be reached or refused our credentials from a message the server rejected.
+ */
+@Component
+class EmailOutboxTransport {
+
+    private final JavaMailSender mailSender;
+    private final EmailOutboxProperties properties;
+    private final Counter connectionsOpened;
+    private volatile SmtpTransportPool pool;
+
+    EmailOutboxTransport(JavaMailSender mailSender, EmailOutboxProperties properties, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.connectionsOpened = Counter.builder("glancy.mail.outbox.connections.opened")
+                .description("SMTP connections opened by the outbox dispatcher")
+                .register(meterRegistry);
+        Gauge.builder("glancy.mail.outbox.connections.idle", this, EmailOutboxTransport::idleConnections)
+                .register(meterRegistry);
+    }
+
+    void open() {
+        if (mailSender instanceof JavaMailSenderImpl impl) {
+            pool = new SmtpTransportPool(impl, properties.getConnectionIdleTimeout(), connectionsOpened::increment);
+        }
+    }
+
+    void close() {
+        SmtpTransportPool current = pool;
+        pool = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    void send(byte[] payload) {
+        MimeMessage message = mailSender.createMimeMessage(new ByteArrayInputStream(payload));
+        SmtpTransportPool current = pool;
+        if (current == null) {
+            mailSender.send(message);
+            return;
+        }
+        try {
+            send(current, message);
+        } catch (AuthenticationFailedException ex) {
+            throw new MailAuthenticationException(ex);
+        } catch (SendFailedException ex) {
+            throw new MailSendException(Map.of(message, ex));
+        } catch (MessagingException ex) {
+            throw new MailSendException("Mail server connection failed", ex);
+        }
+    }
+
+    /** Whether {@code exception} says nothing about the recipient: the server was unreachable or rejected our login. */
+    static boolean isTransportFailure(MailException exception) {
+        return exception instanceof MailAuthenticationException
+                || (exception instanceof MailSendException send
+                        && send.getFailedMessages().isEmpty());
+    }
+
+    /**
+     * Sends on a pooled connection. A connection that served earlier messages may have been dropped by the server in
+     * the meantime; its failure is retried once on a new connection. Recipient rejections leave the session usable.
+     */
+    private static void send(SmtpTransportPool pool, MimeMessage message) throws MessagingException {
+        SmtpTransportPool.Connection connection = pool.borrow();
+        boolean reusable = false;
+        try {
+            connection.send(message);
+            reusable = true;
+        } catch (SendFailedException ex) {
+            reusable = true;
+            throw ex;
+        } catch (MessagingException ex) {
+            if (!connection.reused()) {
+                throw ex;
+            }
+            SmtpTransportPool.Connection fresh = pool.open();
+            pool.release(connection, false);
+            connection = fresh;
+            connection.send(message);
+            reusable = true;
+        } finally {
+            pool.release(connection, reusable);
+        }
+    }
+
+    private double idleConnections() {
+        SmtpTransportPool current = pool;
+        return current == null ? 0 : current.idleConnections();
+    }
+}
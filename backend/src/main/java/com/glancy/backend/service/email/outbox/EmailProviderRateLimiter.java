@@ -0,0 +1,92 @@
+package com.glancy.backend.service.email.outbox;
+
+import com.glancy.backend.config.EmailOutboxProperties;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Paces sends per recipient mailbox provider. Large providers throttle or defer senders that open too many
+ * connections or push too many messages per second, so every configured provider gets its own token bucket, refilled
+ * at {@code permitsPerSecond} and holding at most one second worth of burst. Recipients of unlisted domains share the
+ * {@value #DEFAULT_PROVIDER} bucket.
+ */
+@Component
+public class EmailProviderRateLimiter {
+
+    static final String DEFAULT_PROVIDER = "default";
+
+    private final Map<String, String> providerByDomain = new HashMap<>();
+    private final Map<String, Bucket> buckets = new HashMap<>();
+    private final Bucket defaultBucket;
+
+    public EmailProviderRateLimiter(EmailOutboxProperties properties) {
+        properties.getProviders().forEach((provider, limit) -> {
+            limit.getDomains()
+                    .forEach(domain -> providerByDomain.put(domain.trim().toLowerCase(Locale.ROOT), provider));
+            buckets.put(provider, new Bucket(limit.getPermitsPerSecond()));
+        });
+        this.defaultBucket = new Bucket(properties.getDefaultPermitsPerSecond());
+        buckets.put(DEFAULT_PROVIDER, defaultBucket);
+    }
+
+    /** Resolves the provider serving {@code recipient}, matching parent domains so that subdomains share a limit. */
+    public String providerOf(String recipient) {
+        int at = recipient == null ? -1 : recipient.lastIndexOf('@');
+        if (at < 0) {
+            return DEFAULT_PROVIDER;
+        }
+        String domain = recipient.substring(at + 1).trim().toLowerCase(Locale.ROOT);
+        while (!domain.isEmpty()) {
+            String provider = providerByDomain.get(domain);
+            if (provider != null) {
+                return provider;
+            }
+            int dot = domain.indexOf('.');
+            domain = dot < 0 ? "" : domain.substring(dot + 1);
+        }
+        return DEFAULT_PROVIDER;
+    }
+
+    /** Takes a permit for {@code provider} if one is available; providers no longer configured use the default. */
+    public boolean tryAcquire(String provider) {
+        return buckets.getOrDefault(provider, defaultBucket).tryAcquire(System.nanoTime());
+    }
+
+    /** Returns a permit taken by {@link #tryAcquire} for a message that ended up not being sent by this instance. */
+    public void release(String provider) {
+        buckets.getOrDefault(provider, defaultBucket).release();
+    }
+
+    private static final class Bucket {
+
+        private final double permitsPerNano;
+        private final double capacity;
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(double permitsPerSecond) {
+            double rate = Math.max(permitsPerSecond, 0.01);
+            this.permitsPerNano = rate / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, rate);
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        synchronized boolean tryAcquire(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized void release() {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.glancy.backend.service.email.outbox;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * Keeps authenticated SMTP connections open between messages. {@code JavaMailSenderImpl.send} connects, performs the
+ * TLS handshake and authenticates for every call, which costs several round trips per verification email; the pool
+ * reuses idle connections instead and closes those unused for longer than the idle timeout, before the server drops
+ * them. Connections are handed out most recently used first, so a quiet period lets the surplus age out.
+ */
+@Slf4j
+final class SmtpTransportPool implements AutoCloseable {
+
+    private final JavaMailSenderImpl sender;
+    private final long idleTimeoutNanos;
+    private final LongSupplier nanoClock;
+    private final Runnable onConnect;
+    private final Deque<Connection> idle = new ArrayDeque<>();
+    private boolean closed;
+
+    SmtpTransportPool(JavaMailSenderImpl sender, Duration idleTimeout, Runnable onConnect) {
+        this(sender, idleTimeout, System::nanoTime, onConnect);
+    }
+
+    SmtpTransportPool(JavaMailSenderImpl sender, Duration idleTimeout, LongSupplier nanoClock, Runnable onConnect) {
+        this.sender = sender;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.nanoClock = nanoClock;
+        this.onConnect = onConnect;
+    }
+
+    /** Returns an idle connection that has not timed out, or opens a new one. */
+    Connection borrow() throws MessagingException {
+        long now = nanoClock.getAsLong();
+        while (true) {
+            Connection connection;
+            synchronized (this) {
+                connection = idle.pollFirst();
+            }
+            if (connection == null) {
+                return open();
+            }
+            if (now - connection.releasedAt <= idleTimeoutNanos && connection.transport.isConnected()) {
+                return connection;
+            }
+            connection.closeQuietly();
+        }
+    }
+
+    /** Opens a fresh connection, bypassing idle ones; used after a reused connection turned out to be dead. */
+    Connection open() throws MessagingException {
+        Transport transport = sender.getSession().getTransport(sender.getProtocol());
+        transport.connect(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+        onConnect.run();
+        return new Connection(transport, false);
+    }
+
+    /** Returns {@code connection} to the pool, or closes it when it is broken or the pool is shutting down. */
+    void release(Connection connection, boolean reusable) {
+        if (reusable) {
+            synchronized (this) {
+                if (!closed) {
+                    connection.releasedAt = nanoClock.getAsLong();
+                    connection.reused = true;
+                    idle.addFirst(connection);
+                    return;
+                }
+            }
+        }
+        connection.closeQuietly();
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        while (true) {
+            Connection connection;
+            synchronized (this) {
+                connection = idle.pollFirst();
+            }
+            if (connection == null) {
+                return;
+            }
+            connection.closeQuietly();
+        }
+    }
+
+    synchronized int idleConnections() {
+        return idle.size();
+    }
+
+    /** One SMTP connection; used by a single sender thread at a time. */
+    static final class Connection {
+
+        private final Transport transport;
+        private boolean reused;
+        private long releasedAt;
+
+        Connection(Transport transport, boolean reused) {
+            this.transport = transport;
+            this.reused = reused;
+        }
+
+        /** Whether the connection served an earlier message and may therefore have been dropped by the server. */
+        boolean reused() {
+            return reused;
+        }
+
+        void send(MimeMessage message) throws MessagingException {
+            transport.sendMessage(message, message.getAllRecipients());
+        }
+
+        void closeQuietly() {
+            try {
+                transport.close();
+            } catch (MessagingException ex) {
+                log.debug("Closing SMTP connection failed: {}", ex.getMessage());
+            }
+        }
+    }
+}
@@ -31,18 +31,25 @@ public class DefaultWordPersonalizationService implements WordPersonalizationSer
     private final UserProfileRepository userProfileRepository;
     private final SearchRecordRepository searchRecordRepository;
     private final PersonalizationNarrativeBuilder narrativeBuilder;
+    private final PersonalizationContextCache contextCache;
 
     public DefaultWordPersonalizationService(
             UserProfileRepository userProfileRepository,
             SearchRecordRepository searchRecordRepository,
-            PersonalizationNarrativeBuilder narrativeBuilder) {
+            PersonalizationNarrativeBuilder narrativeBuilder,
+            PersonalizationContextCache contextCache) {
         this.userProfileRepository = userProfileRepository;
         this.searchRecordRepository = searchRecordRepository;
         this.narrativeBuilder = narrativeBuilder;
+        this.contextCache = contextCache;
     }
 
     @Override
     public WordPersonalizationContext resolveContext(Long userId) {
+        return contextCache.get(userId, this::loadState).toContext();
+    }
+
+    private PersonalizationState loadState(Long userId) {
         Optional<UserProfile> profile = userProfileRepository.findByUserId(userId);
         PersonaProfile personaProfile = resolvePersonaProfile(profile);
         String goal = profile.map(UserProfile::getGoal).map(this::normalizeText).orElse(null);
@@ -53,14 +60,12 @@ public class DefaultWordPersonalizationService implements WordPersonalizationSer
                 .filter(StringUtils::hasText)
                 .orElse(null);
         List<String> recentTerms = fetchRecentTerms(userId);
-        return new WordPersonalizationContext(
-                personaProfile.descriptor(),
-                personaProfile.derivedFromProfile(),
-                personaProfile.audience(),
+        return new PersonalizationState(
+                personaProfile,
                 goal,
                 responseStyle != null ? responseStyle : personaProfile.preferredTone(),
                 interests,
-                recentTerms);
+                new RecentTermsBuffer(RECENT_HISTORY_LIMIT, recentTerms));
     }
 
     private PersonaProfile resolvePersonaProfile(Optional<UserProfile> profile) {
@@ -0,0 +1,55 @@
+package com.glancy.backend.service.personalization;
+
+import com.glancy.backend.config.PersonalizationProperties;
+import com.glancy.backend.util.ExpiringLruCache;
+import com.glancy.backend.util.TransactionCallbacks;
+import java.time.Clock;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Bounded LRU cache of per-user personalization state, so that a lookup resolves its context from memory instead of
+ * reading the profile and the latest search records every time.
+ *
+ * <p>Profile writes invalidate the entry; saved searches are pushed into the cached recent terms rather than
+ * re-queried. Both take effect again after the surrounding transaction commits, so a load racing the write cannot
+ * re-cache what was just replaced. Loads that overlap an invalidation are returned but not cached.
+ */
+@Component
+public class PersonalizationContextCache {
+
+    private final ExpiringLruCache<Long, PersonalizationState> entries;
+
+    public PersonalizationContextCache(PersonalizationProperties personalizationProperties, Clock clock) {
+        PersonalizationProperties.Cache properties = personalizationProperties.getCache();
+        this.entries = new ExpiringLruCache<>(properties.getMaxEntries(), properties.getTtl(), clock);
+    }
+
+    PersonalizationState get(Long userId, Function<Long, PersonalizationState> loader) {
+        return entries.get(userId, loader);
+    }
+
+    /** Pushes a saved search term into the user's cached recent terms, if the user is cached. */
+    public void recordSearch(Long userId, String term) {
+        if (userId == null || !StringUtils.hasText(term)) {
+            return;
+        }
+        String normalized = term.trim();
+        TransactionCallbacks.afterCommit(() -> {
+            PersonalizationState state = entries.getIfPresent(userId);
+            if (state != null) {
+                state.recordSearch(normalized);
+            }
+        });
+    }
+
+    /** Drops the user's cached state, now and again once the current transaction commits. */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        entries.invalidate(userId);
+        TransactionCallbacks.afterCommit(() -> entries.invalidate(userId));
+    }
+}
@@ -0,0 +1,42 @@
+package com.glancy.backend.service.personalization;
+
+import com.glancy.backend.dto.WordPersonalizationContext;
+import java.util.List;
+
+/** Cached per-user inputs of {@link WordPersonalizationContext}: profile-derived signals plus recent terms. */
+final class PersonalizationState {
+
+    private final PersonaProfile persona;
+    private final String goal;
+    private final String preferredTone;
+    private final List<String> interests;
+    private final RecentTermsBuffer recentTerms;
+
+    PersonalizationState(
+            PersonaProfile persona,
+            String goal,
+            String preferredTone,
+            List<String> interests,
+            RecentTermsBuffer recentTerms) {
+        this.persona = persona;
+        this.goal = goal;
+        this.preferredTone = preferredTone;
+        this.interests = List.copyOf(interests);
+        this.recentTerms = recentTerms;
+    }
+
+    void recordSearch(String term) {
+        recentTerms.push(term);
+    }
+
+    WordPersonalizationContext toContext() {
+        return new WordPersonalizationContext(
+                persona.descriptor(),
+                persona.derivedFromProfile(),
+                persona.audience(),
+                goal,
+                preferredTone,
+                interests,
+                recentTerms.snapshot());
+    }
+}
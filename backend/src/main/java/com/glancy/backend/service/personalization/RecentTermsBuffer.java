@@ -0,0 +1,52 @@
+package com.glancy.backend.service.personalization;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Fixed-size, most-recent-first set of search terms. Pushing a term already present moves it to the front, which
+ * matches ordering the history by {@code updatedAt} and de-duplicating.
+ */
+final class RecentTermsBuffer {
+
+    private final String[] terms;
+    private int size;
+
+    RecentTermsBuffer(int capacity, Collection<String> mostRecentFirst) {
+        this.terms = new String[capacity];
+        for (String term : mostRecentFirst) {
+            if (size == capacity) {
+                break;
+            }
+            terms[size++] = term;
+        }
+    }
+
+    synchronized void push(String term) {
+        int existing = indexOf(term);
+        int shiftFrom = existing >= 0 ? existing : Math.min(size, terms.length - 1);
+        System.arraycopy(terms, 0, terms, 1, shiftFrom);
+        terms[0] = term;
+        if (existing < 0 && size < terms.length) {
+            size++;
+        }
+    }
+
+    synchronized List<String> snapshot() {
+        List<String> copy = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            copy.add(terms[i]);
+        }
+        return copy;
+    }
+
+    private int indexOf(String term) {
+        for (int i = 0; i < size; i++) {
+            if (terms[i].equals(term)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,157 @@
+package com.glancy.backend.service.search;
+
+import com.glancy.backend.config.SearchProperties;
+import com.glancy.backend.dto.SearchHistoryClearResponse;
+import com.glancy.backend.dto.SearchHistoryClearResponse.Status;
+import com.glancy.backend.exception.ResourceNotFoundException;
+import com.glancy.backend.repository.SearchRecordRepository;
+import com.glancy.backend.repository.SearchResultVersionRepository;
+import com.glancy.backend.service.personalization.PersonalizationContextCache;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Clears a user's search history with set-based, chunked soft deletes.
+ *
+ * <p>Records go first and versions follow, each as repeated {@code UPDATE ... LIMIT batchSize} statements that commit
+ * independently, so neither the heap nor row locks grow with the size of the history. Histories up to
+ * {@code asyncThreshold} records are cleared on the calling thread; larger ones run on a small worker pool and the
+ * caller gets a job id to poll. A second request while a job is active returns that job. Every chunk is idempotent,
+ * so a job cut short by a restart is finished by simply clearing again.
+ */
+@Slf4j
+@Component
+public class SearchHistoryCleaner {
+
+    private final SearchRecordRepository searchRecordRepository;
+    private final SearchResultVersionRepository searchResultVersionRepository;
+    private final PersonalizationContextCache personalizationContextCache;
+    private final TransactionTemplate transactionTemplate;
+    private final SearchProperties.HistoryClear properties;
+    private final Clock clock;
+    private final ExecutorService executor;
+    private final Map<String, SearchHistoryClearJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, SearchHistoryClearJob> activeJobs = new ConcurrentHashMap<>();
+
+    public SearchHistoryCleaner(
+            SearchRecordRepository searchRecordRepository,
+            SearchResultVersionRepository searchResultVersionRepository,
+            PersonalizationContextCache personalizationContextCache,
+            PlatformTransactionManager transactionManager,
+            SearchProperties searchProperties,
+            Clock clock) {
+        this.searchRecordRepository = searchRecordRepository;
+        this.searchResultVersionRepository = searchResultVersionRepository;
+        this.personalizationContextCache = personalizationContextCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = searchProperties.getHistoryClear();
+        this.clock = clock;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getWorkerThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "search-history-clear-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Clears every active record and version of the user, inline or in the background depending on size. */
+    public SearchHistoryClearResponse clear(Long userId) {
+        evictExpiredJobs();
+        long total = searchRecordRepository.countByUserIdAndDeletedFalse(userId);
+        SearchHistoryClearJob job =
+                new SearchHistoryClearJob(UUID.randomUUID().toString(), userId, total, LocalDateTime.now(clock));
+        SearchHistoryClearJob active = activeJobs.putIfAbsent(userId, job);
+        if (active != null) {
+            log.info("Search history clear for user {} already in progress as job {}", userId, active.getId());
+            return active.toResponse();
+        }
+        jobs.put(job.getId(), job);
+        if (total <= properties.getAsyncThreshold()) {
+            run(job);
+            return job.toResponse();
+        }
+        log.info("Clearing {} search records for user {} in background job {}", total, userId, job.getId());
+        executor.execute(() -> {
+            try {
+                run(job);
+            } catch (RuntimeException ignored) {
+                // already logged and recorded on the job
+            }
+        });
+        return job.toResponse();
+    }
+
+    /** Reports the progress of a clear job; jobs of other users are indistinguishable from missing ones. */
+    public SearchHistoryClearResponse getJob(Long userId, String jobId) {
+        SearchHistoryClearJob job = jobs.get(jobId);
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new ResourceNotFoundException("清除任务不存在");
+        }
+        return job.toResponse();
+    }
+
+    private void run(SearchHistoryClearJob job) {
+        Long userId = job.getUserId();
+        job.markRunning();
+        try {
+            sweep(
+                    () -> searchRecordRepository.softDeleteActiveByUserId(
+                            userId, LocalDateTime.now(clock), batchSize()),
+                    job::addClearedRecords);
+            sweep(
+                    () -> searchResultVersionRepository.softDeleteOrphanedByUserId(userId, batchSize()),
+                    job::addClearedVersions);
+            job.finish(Status.COMPLETED, LocalDateTime.now(clock));
+            SearchHistoryClearResponse result = job.toResponse();
+            log.info(
+                    "Cleared {} search records and {} versions for user {} (job {})",
+                    result.clearedRecords(),
+                    result.clearedVersions(),
+                    userId,
+                    job.getId());
+        } catch (RuntimeException ex) {
+            job.finish(Status.FAILED, LocalDateTime.now(clock));
+            log.error("Clearing search history for user {} failed (job {})", userId, job.getId(), ex);
+            throw ex;
+        } finally {
+            personalizationContextCache.invalidate(userId);
+            activeJobs.remove(userId, job);
+        }
+    }
+
+    private void sweep(IntSupplier chunk, IntConsumer progress) {
+        int batchSize = batchSize();
+        int affected;
+        do {
+            affected = transactionTemplate.execute(status -> chunk.getAsInt());
+            progress.accept(affected);
+        } while (affected >= batchSize && !Thread.currentThread().isInterrupted());
+    }
+
+    private int batchSize() {
+        return Math.max(1, properties.getBatchSize());
+    }
+
+    private void evictExpiredJobs() {
+        LocalDateTime threshold = LocalDateTime.now(clock).minus(properties.getJobRetention());
+        jobs.values().removeIf(job -> job.finishedBefore(threshold));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,68 @@
+package com.glancy.backend.service.search;
+
+import com.glancy.backend.dto.SearchHistoryClearResponse;
+import com.glancy.backend.dto.SearchHistoryClearResponse.Status;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+
+/** Mutable progress of one clear request; written by the worker, read by status polls. */
+final class SearchHistoryClearJob {
+
+    @Getter
+    private final String id;
+
+    @Getter
+    private final Long userId;
+
+    private final long totalRecords;
+    private final LocalDateTime startedAt;
+    private final AtomicLong clearedRecords = new AtomicLong();
+    private final AtomicLong clearedVersions = new AtomicLong();
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime finishedAt;
+
+    SearchHistoryClearJob(String id, Long userId, long totalRecords, LocalDateTime startedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.totalRecords = totalRecords;
+        this.startedAt = startedAt;
+    }
+
+    void markRunning() {
+        status = Status.RUNNING;
+    }
+
+    void addClearedRecords(int count) {
+        clearedRecords.addAndGet(count);
+    }
+
+    void addClearedVersions(int count) {
+        clearedVersions.addAndGet(count);
+    }
+
+    void finish(Status outcome, LocalDateTime at) {
+        finishedAt = at;
+        status = outcome;
+    }
+
+    boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    boolean finishedBefore(LocalDateTime threshold) {
+        LocalDateTime at = finishedAt;
+        return isFinished() && at != null && at.isBefore(threshold);
+    }
+
+    SearchHistoryClearResponse toResponse() {
+        return new SearchHistoryClearResponse(
+                id,
+                status,
+                totalRecords,
+                clearedRecords.get(),
+                clearedVersions.get(),
+                startedAt,
+                finishedAt);
+    }
+}
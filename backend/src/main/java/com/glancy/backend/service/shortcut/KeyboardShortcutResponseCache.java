@@ -0,0 +1,53 @@
+package com.glancy.backend.service.shortcut;
+
+import com.glancy.backend.config.KeyboardShortcutProperties;
+import com.glancy.backend.dto.KeyboardShortcutResponse;
+import com.glancy.backend.util.ExpiringLruCache;
+import com.glancy.backend.util.TransactionCallbacks;
+import java.time.Clock;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded LRU cache of each user's resolved shortcut list, so that settings screens are answered without loading the
+ * overrides.
+ *
+ * <p>Entries are keyed by the user's settings revision as well as the user: a lookup for any other revision misses
+ * and reloads. A write on another instance therefore retires this instance's entry as soon as the revision moves,
+ * instead of serving the old body under the new ETag until the TTL expires. Callers must read the revision before
+ * loading, so a cached body is never older than the revision it is stored under.
+ *
+ * <p>Updates and resets drop the entry immediately and store the response they computed, under the revision their
+ * transaction wrote, once it commits; a rollback leaves the entry empty. Loads that overlap such a write are returned
+ * but not cached.
+ */
+@Component
+class KeyboardShortcutResponseCache {
+
+    private final ExpiringLruCache<Long, Entry> entries;
+
+    KeyboardShortcutResponseCache(KeyboardShortcutProperties shortcutProperties, Clock clock) {
+        KeyboardShortcutProperties.Cache properties = shortcutProperties.getCache();
+        this.entries = new ExpiringLruCache<>(properties.getMaxEntries(), properties.getTtl(), clock);
+    }
+
+    KeyboardShortcutResponse get(Long userId, long revision, Function<Long, KeyboardShortcutResponse> loader) {
+        return entries.get(
+                        userId,
+                        cached -> cached.revision() == revision,
+                        id -> new Entry(revision, loader.apply(id)))
+                .response();
+    }
+
+    /** Replaces the user's entry with {@code response} at {@code revision} once the current transaction commits. */
+    void replace(Long userId, long revision, KeyboardShortcutResponse response) {
+        entries.invalidate(userId);
+        TransactionCallbacks.afterCommit(() -> entries.replace(userId, new Entry(revision, response)));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private record Entry(long revision, KeyboardShortcutResponse response) {}
+}
@@ -4,22 +4,30 @@ import com.glancy.backend.dto.KeyboardShortcutResponse;
 import com.glancy.backend.dto.KeyboardShortcutUpdateRequest;
 import com.glancy.backend.dto.KeyboardShortcutView;
 import com.glancy.backend.entity.ShortcutAction;
-import com.glancy.backend.entity.User;
 import com.glancy.backend.entity.UserKeyboardShortcut;
 import com.glancy.backend.exception.InvalidRequestException;
 import com.glancy.backend.exception.ResourceNotFoundException;
 import com.glancy.backend.repository.UserKeyboardShortcutRepository;
 import com.glancy.backend.repository.UserRepository;
+import com.glancy.backend.service.UserSettingsRevisionService;
 import jakarta.transaction.Transactional;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+/**
+ * 背景：
+ *  - 冲突校验曾按枚举逐个查询覆盖记录，组装响应时再整体查询一次，每次打开设置页都要多次往返数据库。
+ * 目的：
+ *  - 覆盖记录一次查询装入 {@link EnumMap}，默认键位的别名集合在启动时预先展开；
+ *  - 解析后的响应按用户与设置修订号缓存，读取命中时无需载入覆盖记录，更新与重置在事务提交后以新修订号写入新的响应。
+ */
 @Slf4j
 @Service
 public class KeyboardShortcutService {
@@ -27,36 +35,48 @@ public class KeyboardShortcutService {
     private final UserKeyboardShortcutRepository shortcutRepository;
     private final UserRepository userRepository;
     private final ShortcutBindingNormalizer bindingNormalizer;
+    private final KeyboardShortcutResponseCache responseCache;
+    private final UserSettingsRevisionService settingsRevisionService;
+    private final Map<ShortcutAction, Set<String>> defaultAliases = new EnumMap<>(ShortcutAction.class);
+    private final KeyboardShortcutResponse defaultResponse;
 
     public KeyboardShortcutService(
             UserKeyboardShortcutRepository shortcutRepository,
             UserRepository userRepository,
-            ShortcutBindingNormalizer bindingNormalizer) {
+            ShortcutBindingNormalizer bindingNormalizer,
+            KeyboardShortcutResponseCache responseCache,
+            UserSettingsRevisionService settingsRevisionService) {
         this.shortcutRepository = shortcutRepository;
         this.userRepository = userRepository;
         this.bindingNormalizer = bindingNormalizer;
+        this.responseCache = responseCache;
+        this.settingsRevisionService = settingsRevisionService;
+        for (ShortcutAction action : ShortcutAction.values()) {
+            defaultAliases.put(action, expandBindingAliases(String.join("+", action.getDefaultKeys())));
+        }
+        this.defaultResponse = buildResponse(new EnumMap<>(ShortcutAction.class));
     }
 
     @Transactional
     public KeyboardShortcutResponse updateShortcut(
             Long userId, ShortcutAction action, KeyboardShortcutUpdateRequest request) {
         log.info("Updating shortcut {} for user {}", action, userId);
-        User user = userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("用户不存在"));
-
         String normalizedBinding = bindingNormalizer.normalize(request.keys());
-        ensureBindingNotConflicting(userId, action, normalizedBinding);
+        Map<ShortcutAction, UserKeyboardShortcut> overrides = loadOverrides(userId);
+        ensureBindingNotConflicting(overrides, action, normalizedBinding);
 
-        UserKeyboardShortcut entity = shortcutRepository
-                .findByUserIdAndAction(userId, action)
-                .orElseGet(() -> {
-                    UserKeyboardShortcut shortcut = new UserKeyboardShortcut();
-                    shortcut.setUser(user);
-                    shortcut.setAction(action);
-                    return shortcut;
-                });
+        UserKeyboardShortcut entity = overrides.computeIfAbsent(action, missing -> {
+            UserKeyboardShortcut shortcut = new UserKeyboardShortcut();
+            shortcut.setUser(userRepository.getReferenceById(userId));
+            shortcut.setAction(action);
+            return shortcut;
+        });
         entity.setBinding(normalizedBinding);
         shortcutRepository.save(entity);
-        return buildResponse(userId);
+        settingsRevisionService.markChanged(userId);
+        KeyboardShortcutResponse response = buildResponse(overrides);
+        responseCache.replace(userId, writtenRevision(userId), response);
+        return response;
     }
 
     @Transactional
@@ -66,22 +86,45 @@ public class KeyboardShortcutService {
             throw new ResourceNotFoundException("用户不存在");
         }
         shortcutRepository.deleteByUserId(userId);
-        return buildResponse(userId);
+        settingsRevisionService.markChanged(userId);
+        responseCache.replace(userId, writtenRevision(userId), defaultResponse);
+        return defaultResponse;
     }
 
     @Transactional
     public KeyboardShortcutResponse getShortcuts(Long userId) {
+        return settingsRevisionService
+                .currentRevision(userId)
+                .map(revision -> getShortcuts(userId, revision))
+                .orElseGet(() -> buildResponse(loadOverrides(userId)));
+    }
+
+    /** 意图：按调用方先行读取的设置修订号返回快捷键，修订号与缓存条目不一致时重新加载。 */
+    @Transactional
+    public KeyboardShortcutResponse getShortcuts(Long userId, long revision) {
         log.info("Fetching shortcuts for user {}", userId);
-        if (!userRepository.existsById(userId)) {
+        return responseCache.get(userId, revision, id -> buildResponse(loadOverrides(id)));
+    }
+
+    /** 意图：读取本事务自增后的修订号，作为提交后写入缓存的键。 */
+    private long writtenRevision(Long userId) {
+        return settingsRevisionService
+                .currentRevision(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("用户不存在"));
+    }
+
+    /** 意图：一次查询载入用户的全部覆盖记录，同时确认用户存在。 */
+    private Map<ShortcutAction, UserKeyboardShortcut> loadOverrides(Long userId) {
+        List<UserKeyboardShortcut> rows = shortcutRepository.findOverridesOfExistingUser(userId);
+        if (rows.isEmpty()) {
             throw new ResourceNotFoundException("用户不存在");
         }
-        return buildResponse(userId);
+        Map<ShortcutAction, UserKeyboardShortcut> overrides = new EnumMap<>(ShortcutAction.class);
+        rows.stream().filter(Objects::nonNull).forEach(shortcut -> overrides.put(shortcut.getAction(), shortcut));
+        return overrides;
     }
 
-    private KeyboardShortcutResponse buildResponse(Long userId) {
-        Map<ShortcutAction, UserKeyboardShortcut> overrides = shortcutRepository.findByUserId(userId).stream()
-                .collect(Collectors.toMap(UserKeyboardShortcut::getAction, shortcut -> shortcut));
-
+    private KeyboardShortcutResponse buildResponse(Map<ShortcutAction, UserKeyboardShortcut> overrides) {
         List<KeyboardShortcutView> views = Arrays.stream(ShortcutAction.values())
                 .map(action -> {
                     UserKeyboardShortcut override = overrides.get(action);
@@ -94,20 +137,17 @@ public class KeyboardShortcutService {
         return new KeyboardShortcutResponse(views);
     }
 
-    private void ensureBindingNotConflicting(Long userId, ShortcutAction targetAction, String binding) {
-        Map<ShortcutAction, String> existingBindings = Arrays.stream(ShortcutAction.values())
-                .collect(Collectors.toMap(action -> action, action -> shortcutRepository
-                        .findByUserIdAndAction(userId, action)
-                        .map(UserKeyboardShortcut::getBinding)
-                        .orElseGet(() -> String.join("+", action.getDefaultKeys()))));
-
+    private void ensureBindingNotConflicting(
+            Map<ShortcutAction, UserKeyboardShortcut> overrides, ShortcutAction targetAction, String binding) {
         Set<String> candidateAliases = bindingNormalizer.expandAliases(binding);
-        for (Map.Entry<ShortcutAction, String> entry : existingBindings.entrySet()) {
-            if (entry.getKey() == targetAction) {
+        for (ShortcutAction action : ShortcutAction.values()) {
+            if (action == targetAction) {
                 continue;
             }
-            Set<String> existingAliases = expandBindingAliases(entry.getValue());
-            boolean conflicting = existingAliases.stream().anyMatch(alias -> candidateAliases.contains(alias));
+            UserKeyboardShortcut override = overrides.get(action);
+            Set<String> existingAliases =
+                    override != null ? expandBindingAliases(override.getBinding()) : defaultAliases.get(action);
+            boolean conflicting = existingAliases.stream().anyMatch(candidateAliases::contains);
             if (conflicting) {
                 throw new InvalidRequestException("快捷键已被其他功能占用");
             }
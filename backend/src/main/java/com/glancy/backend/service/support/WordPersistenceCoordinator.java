@@ -1,5 +1,7 @@
 package com.glancy.backend.service.support;
 
+import com.glancy.backend.config.timing.LookupStage;
+import com.glancy.backend.config.timing.LookupStageTimer;
 import com.glancy.backend.dto.WordResponse;
 import com.glancy.backend.entity.SearchResultVersion;
 import com.glancy.backend.entity.Word;
@@ -11,6 +13,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class WordPersistenceCoordinator {
 
+    private final LookupStageTimer stageTimer;
+
+    public WordPersistenceCoordinator(LookupStageTimer stageTimer) {
+        this.stageTimer = stageTimer;
+    }
+
     /**
      * 意图：统一执行“保存词条→同步搜索记录→持久化版本→写回个性化”的骨架流程。\ 输入： - context：封装流程依赖与外部状态；\ - strategy：决定版本内容生成方式。\
      * 输出：持久化后的实体、响应与版本。 流程： 1) 使用上下文提供的保存实现写入词条；\ 2) 在需要记录历史时同步搜索记录并生成版本内容；\ 3) 调用版本持久化实现并回写
@@ -18,9 +26,13 @@ public class WordPersistenceCoordinator {
      */
     public PersistenceOutcome persist(WordPersistenceContext context, WordVersionContentStrategy strategy) {
         validateInputs(context, strategy);
+        long persistStart = stageTimer.start();
         Word savedWord = saveWord(context);
+        stageTimer.stop(LookupStage.PERSISTENCE, persistStart);
         SearchResultVersion version = context.captureHistory() ? persistHistory(context, strategy, savedWord) : null;
+        long personalizationStart = stageTimer.start();
         WordResponse personalized = personalize(context);
+        stageTimer.stop(LookupStage.PERSONALIZATION_NARRATIVE, personalizationStart);
         return new PersistenceOutcome(savedWord, personalized, version);
     }
 
@@ -52,8 +64,10 @@ public class WordPersistenceCoordinator {
         if (content == null) {
             return null;
         }
+        long versionStart = stageTimer.start();
         SearchResultVersion version = context.versionPersistStep()
                 .persist(context.recordId(), context.userId(), context.model(), content, savedWord, context.flavor());
+        stageTimer.stop(LookupStage.VERSION_WRITE, versionStart);
         if (version != null && version.getId() != null) {
             context.response().setVersionId(version.getId());
         }
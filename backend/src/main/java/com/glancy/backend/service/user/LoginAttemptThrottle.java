@@ -0,0 +1,119 @@
+package com.glancy.backend.service.user;
+
+import com.glancy.backend.config.PasswordHashingProperties;
+import com.glancy.backend.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory fixed-window limits on failed password attempts per account and per client IP. The limit is checked
+ * before the user lookup and the bcrypt verification so that throttled attempts cost neither; only failed
+ * verifications and unknown accounts are counted, so users who log in often are never throttled.
+ * Suitable for single-node deployments, like {@code TtsRateLimiter}; windows that have ended are purged on a schedule.
+ */
+@Slf4j
+@Component
+public class LoginAttemptThrottle {
+
+    private static final String METRIC = "glancy.auth.login.throttled";
+
+    private final PasswordHashingProperties.Throttle properties;
+    private final Clock clock;
+    private final Map<String, Window> accountWindows = new ConcurrentHashMap<>();
+    private final Map<String, Window> ipWindows = new ConcurrentHashMap<>();
+    private final Counter accountThrottled;
+    private final Counter ipThrottled;
+
+    public LoginAttemptThrottle(PasswordHashingProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        this.properties = properties.getThrottle();
+        this.clock = clock;
+        this.accountThrottled = Counter.builder(METRIC).tag("scope", "account").register(meterRegistry);
+        this.ipThrottled = Counter.builder(METRIC).tag("scope", "ip").register(meterRegistry);
+    }
+
+    /** 意图：账号或 IP 在当前窗口内的失败次数已达上限时抛出限流异常；仅检查，不计数。 */
+    public void checkAllowed(String account, String clientIp) {
+        long now = clock.millis();
+        if (clientIp != null) {
+            long retryIp = retryAfter(ipWindows.get(clientIp), properties.getMaxAttemptsPerIp(), now);
+            if (retryIp > 0) {
+                ipThrottled.increment();
+                log.warn("Login attempts from IP {} throttled for {}s", maskIp(clientIp), retryIp);
+                throw new RateLimitExceededException("请" + retryIp + "秒后重试");
+            }
+        }
+        long retryAccount =
+                retryAfter(accountWindows.get(accountKey(account)), properties.getMaxAttemptsPerAccount(), now);
+        if (retryAccount > 0) {
+            accountThrottled.increment();
+            log.warn("Login attempts for account throttled for {}s", retryAccount);
+            throw new RateLimitExceededException("请" + retryAccount + "秒后重试");
+        }
+    }
+
+    /** 意图：登记一次失败的密码登录（密码错误或账号不存在），计入账号与 IP 的当前窗口。 */
+    public void recordFailure(String account, String clientIp) {
+        long now = clock.millis();
+        if (clientIp != null) {
+            countFailure(ipWindows, clientIp, now);
+        }
+        countFailure(accountWindows, accountKey(account), now);
+    }
+
+    @Scheduled(fixedDelayString = "${password-hashing.throttle.window:PT1M}")
+    public void purgeExpiredWindows() {
+        long now = clock.millis();
+        accountWindows.values().removeIf(window -> window.endsBefore(now));
+        ipWindows.values().removeIf(window -> window.endsBefore(now));
+    }
+
+    int trackedKeys() {
+        return accountWindows.size() + ipWindows.size();
+    }
+
+    private void countFailure(Map<String, Window> windows, String key, long now) {
+        long windowMillis = properties.getWindow().toMillis();
+        windows.compute(key, (k, current) -> {
+            Window active = current == null || current.endsBefore(now) ? new Window(now + windowMillis) : current;
+            active.failures++;
+            return active;
+        });
+    }
+
+    private static long retryAfter(Window window, int limit, long now) {
+        if (window == null || window.endsBefore(now) || window.failures < limit) {
+            return 0;
+        }
+        return (window.endsAt - now + 999) / 1000;
+    }
+
+    private static String accountKey(String account) {
+        return account.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String maskIp(String ip) {
+        int idx = ip.lastIndexOf('.');
+        return idx > 0 ? ip.substring(0, idx) + ".xxx" : ip;
+    }
+
+    private static final class Window {
+
+        private final long endsAt;
+        private volatile int failures;
+
+        private Window(long endsAt) {
+            this.endsAt = endsAt;
+        }
+
+        private boolean endsBefore(long now) {
+            return endsAt <= now;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.glancy.backend.service.user;
+
+import com.glancy.backend.config.PasswordHashingProperties;
+import com.glancy.backend.exception.ServiceDegradedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 背景：
+ *  - BCrypt 校验原本在 Tomcat 线程上内联执行，登录突发或撞库时会占满全部请求线程，拖慢查词等其余接口。
+ * 目的：
+ *  - 所有密码哈希与校验都在按核数配置的专用线程池中完成，队列有界；池与队列都满时立即以 503 拒绝，而不是排队放大延迟。
+ * 关键决策与取舍：
+ *  - 等待超过 {@code maxWait} 的请求同样返回 503 并取消任务，仍在排队的任务因此不会再消耗 CPU；
+ *  - 全局共用一个编码器，强度由配置决定，注册与登录保持一致。
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private static final String METRIC_PREFIX = "glancy.auth.password";
+    private static final String BUSY_MESSAGE = "登录请求繁忙，请稍后重试";
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final Timer matchTimer;
+    private final Timer encodeTimer;
+    private final Counter saturated;
+    private final Counter timedOut;
+
+    public PasswordHasher(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.encoder = new BCryptPasswordEncoder(properties.getStrength());
+        int threads = properties.getWorkerThreads() > 0
+                ? properties.getWorkerThreads()
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.maxWaitMillis = properties.getMaxWait().toMillis();
+        this.matchTimer = hashTimer(meterRegistry, "match");
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.saturated = rejectionCounter(meterRegistry, "saturated");
+        this.timedOut = rejectionCounter(meterRegistry, "timeout");
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hash requests waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    /** 意图：校验明文密码与存储的哈希是否匹配。 */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(matchTimer, () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /** 意图：生成密码哈希。 */
+    public String encode(String rawPassword) {
+        return execute(encodeTimer, () -> encoder.encode(rawPassword));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T execute(Timer timer, Supplier<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.record(work));
+        } catch (RejectedExecutionException ex) {
+            saturated.increment();
+            log.warn("Password hashing pool saturated with {} queued requests", executor.getQueue().size());
+            throw new ServiceDegradedException(BUSY_MESSAGE);
+        }
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new ServiceDegradedException(BUSY_MESSAGE);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceDegradedException(BUSY_MESSAGE);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder(METRIC_PREFIX + ".hash")
+                .description("BCrypt work on the hashing pool, excluding queue wait")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(METRIC_PREFIX + ".rejected")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
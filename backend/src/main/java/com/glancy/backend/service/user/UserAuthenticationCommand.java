@@ -14,25 +14,29 @@ import com.glancy.backend.repository.UserRepository;
 import com.glancy.backend.service.EmailVerificationService;
 import java.time.Clock;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Component
 public class UserAuthenticationCommand {
 
     private static final Logger log = LoggerFactory.getLogger(UserAuthenticationCommand.class);
+    private static final int MAX_LOGIN_DEVICES = 3;
 
     private final UserRepository userRepository;
     private final LoginDeviceRepository loginDeviceRepository;
     private final EmailVerificationService emailVerificationService;
     private final UserResponseAssembler responseAssembler;
     private final UserDataSanitizer dataSanitizer;
+    private final PasswordHasher passwordHasher;
+    private final LoginAttemptThrottle loginAttemptThrottle;
     private final Clock clock;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final TransactionTemplate lookupTransaction;
+    private final TransactionTemplate loginTransaction;
 
     public UserAuthenticationCommand(
             UserRepository userRepository,
@@ -40,13 +44,21 @@ public class UserAuthenticationCommand {
             EmailVerificationService emailVerificationService,
             UserResponseAssembler responseAssembler,
             UserDataSanitizer dataSanitizer,
-            Clock clock) {
+            PasswordHasher passwordHasher,
+            LoginAttemptThrottle loginAttemptThrottle,
+            Clock clock,
+            PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.loginDeviceRepository = loginDeviceRepository;
         this.emailVerificationService = emailVerificationService;
         this.responseAssembler = responseAssembler;
         this.dataSanitizer = dataSanitizer;
+        this.passwordHasher = passwordHasher;
+        this.loginAttemptThrottle = loginAttemptThrottle;
         this.clock = clock;
+        this.lookupTransaction = new TransactionTemplate(transactionManager);
+        this.lookupTransaction.setReadOnly(true);
+        this.loginTransaction = new TransactionTemplate(transactionManager);
     }
 
     /** 意图：使用邮箱验证码登录。 */
@@ -60,20 +72,33 @@ public class UserAuthenticationCommand {
         return completeLogin(user, request.deviceInfo());
     }
 
-    /** 意图：使用账号（用户名/邮箱/手机号）与密码登录。 */
-    public LoginResponse login(LoginRequest request) {
+    /**
+     * 意图：使用账号（用户名/邮箱/手机号）与密码登录；限流先于用户查询与密码校验执行。
+     *
+     * <p>用户查询与登录写入各自使用短事务，BCrypt 校验（含在哈希线程池排队的时间）发生在两者之间且不持有数据库连接，
+     * 登录突发因此不会占满连接池、拖垮其余接口。只有密码错误或账号不存在才计入限流窗口。
+     */
+    public LoginResponse login(LoginRequest request, String clientIp) {
         String account = request.getAccount();
         if (account == null || account.isEmpty()) {
             log.warn("No account provided for login");
             throw new InvalidRequestException("用户名、邮箱或手机号必须填写其一");
         }
+        loginAttemptThrottle.checkAllowed(account, clientIp);
         LoginIdentifier.Type type = LoginIdentifier.resolveType(account);
-        User user = resolveUser(type, account);
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        User user;
+        try {
+            user = lookupTransaction.execute(status -> resolveUser(type, account));
+        } catch (ResourceNotFoundException ex) {
+            loginAttemptThrottle.recordFailure(account, clientIp);
+            throw ex;
+        }
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
+            loginAttemptThrottle.recordFailure(account, clientIp);
             log.warn("Password mismatch for user {}", user.getUsername());
             throw new InvalidRequestException("密码错误");
         }
-        return completeLogin(user, request.getDeviceInfo());
+        return loginTransaction.execute(status -> completeLogin(user, request.getDeviceInfo()));
     }
 
     /** 意图：根据登录令牌查找用户。 */
@@ -141,25 +166,25 @@ public class UserAuthenticationCommand {
         });
     }
 
+    /**
+     * 意图：登录成功后的写入收敛为固定的三条语句——插入设备、一次窗口删除裁剪超出上限的旧设备、按列更新用户登录字段，
+     * 使密码校验成为登录路径上唯一的高开销步骤。
+     */
     private LoginResponse completeLogin(User user, String deviceInfo) {
+        LocalDateTime now = LocalDateTime.now(clock);
         if (deviceInfo != null && !deviceInfo.isEmpty()) {
             LoginDevice device = new LoginDevice();
             device.setUser(user);
             device.setDeviceInfo(deviceInfo);
+            device.setLoginTime(now);
             loginDeviceRepository.save(device);
-            List<LoginDevice> devices = loginDeviceRepository.findByUserIdOrderByLoginTimeAsc(user.getId());
-            if (devices.size() > 3) {
-                for (int i = 0; i < devices.size() - 3; i++) {
-                    loginDeviceRepository.delete(devices.get(i));
-                }
-            }
+            loginDeviceRepository.deleteAllButLatest(user.getId(), MAX_LOGIN_DEVICES);
         }
-        LocalDateTime now = LocalDateTime.now(clock);
-        user.setLastLoginAt(now);
-        user.synchronizeMembershipStatus(now);
         String token = UUID.randomUUID().toString();
+        userRepository.recordLogin(user.getId(), token, now, user.hasActiveMembershipAt(now));
+        user.synchronizeMembershipStatus(now);
+        user.setLastLoginAt(now);
         user.setLoginToken(token);
-        userRepository.save(user);
         log.info("User {} logged in", user.getId());
         return responseAssembler.toLoginResponse(user, token);
     }
@@ -9,7 +9,6 @@ import com.glancy.backend.exception.DuplicateResourceException;
 import com.glancy.backend.repository.UserRepository;
 import com.glancy.backend.service.EmailVerificationService;
 import com.glancy.backend.service.UserProfileService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -20,19 +19,21 @@ public class UserRegistrationCommand {
     private final EmailVerificationService emailVerificationService;
     private final UserDataSanitizer dataSanitizer;
     private final UserResponseAssembler responseAssembler;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final PasswordHasher passwordHasher;
 
     public UserRegistrationCommand(
             UserRepository userRepository,
             UserProfileService userProfileService,
             EmailVerificationService emailVerificationService,
             UserDataSanitizer dataSanitizer,
-            UserResponseAssembler responseAssembler) {
+            UserResponseAssembler responseAssembler,
+            PasswordHasher passwordHasher) {
         this.userRepository = userRepository;
         this.userProfileService = userProfileService;
         this.emailVerificationService = emailVerificationService;
         this.dataSanitizer = dataSanitizer;
         this.responseAssembler = responseAssembler;
+        this.passwordHasher = passwordHasher;
     }
 
     /** 意图：处理常规注册请求。 */
@@ -55,7 +56,7 @@ public class UserRegistrationCommand {
         validateUniqueness(username, email, phone);
         User user = new User();
         user.setUsername(username);
-        user.setPassword(passwordEncoder.encode(rawPassword));
+        user.setPassword(passwordHasher.encode(rawPassword));
         user.setEmail(dataSanitizer.normalizeEmail(email));
         user.setAvatar(dataSanitizer.normalizeAvatar(avatar));
         user.setPhone(phone);
@@ -3,6 +3,10 @@ package com.glancy.backend.service.word;
 import com.glancy.backend.dto.SearchRecordRequest;
 import com.glancy.backend.dto.SearchRecordResponse;
 import com.glancy.backend.service.SearchRecordService;
+import com.glancy.backend.service.word.writebehind.LookupSideEffect;
+import com.glancy.backend.service.word.writebehind.LookupWriteBehindQueue;
+import java.time.Clock;
+import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -13,6 +17,8 @@ import org.springframework.stereotype.Component;
 public class SearchRecordCoordinator {
 
     private final SearchRecordService searchRecordService;
+    private final LookupWriteBehindQueue writeBehindQueue;
+    private final Clock clock;
 
     public SearchRecordResponse createRecord(WordQueryContext context) {
         if (!context.captureHistory()) {
@@ -29,6 +35,11 @@ public class SearchRecordCoordinator {
         if (recordId == null || canonicalTerm == null || canonicalTerm.isBlank()) {
             return;
         }
+        LookupSideEffect effect =
+                LookupSideEffect.synchronizeTerm(userId, recordId, canonicalTerm.trim(), LocalDateTime.now(clock));
+        if (writeBehindQueue.submit(effect)) {
+            return;
+        }
         try {
             searchRecordService.synchronizeRecordTerm(userId, recordId, canonicalTerm);
         } catch (Exception ex) {
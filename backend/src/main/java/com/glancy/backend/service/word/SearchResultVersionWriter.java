@@ -5,6 +5,13 @@ import com.glancy.backend.entity.SearchResultVersion;
 import com.glancy.backend.entity.Word;
 import com.glancy.backend.service.SearchResultService;
 import com.glancy.backend.service.search.dto.CreateVersionCommand;
+import com.glancy.backend.service.word.writebehind.LookupSideEffect;
+import com.glancy.backend.service.word.writebehind.LookupWriteBehindQueue;
+import com.glancy.backend.service.word.writebehind.SearchResultVersionIdAllocator;
+import com.glancy.backend.util.SensitiveDataUtil;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -13,12 +20,21 @@ import org.springframework.stereotype.Component;
 public class SearchResultVersionWriter {
 
     private final SearchResultService searchResultService;
+    private final LookupWriteBehindQueue writeBehindQueue;
+    private final SearchResultVersionIdAllocator idAllocator;
+    private final Clock clock;
 
     public SearchResultVersion persistVersion(
             Long recordId, Long userId, String model, String content, Word word, DictionaryFlavor flavor) {
         if (recordId == null) {
             return null;
         }
+        if (writeBehindQueue.isRunning() && content != null) {
+            SearchResultVersion deferred = deferVersion(recordId, userId, model, content, word, flavor);
+            if (deferred != null) {
+                return deferred;
+            }
+        }
         CreateVersionCommand command = CreateVersionCommand.builder()
                 .recordId(recordId)
                 .userId(userId)
@@ -31,4 +47,38 @@ public class SearchResultVersionWriter {
                 .build();
         return searchResultService.createVersion(command);
     }
+
+    /**
+     * Queues the version insert with a pre-allocated id and returns an unsaved snapshot carrying that id, or
+     * {@code null} when the queue declined and the version has to be written inline.
+     */
+    private SearchResultVersion deferVersion(
+            Long recordId, Long userId, String model, String content, Word word, DictionaryFlavor flavor) {
+        String effectiveModel = model == null || model.isBlank() ? SearchResultService.DEFAULT_MODEL : model;
+        DictionaryFlavor effectiveFlavor = Objects.requireNonNullElse(flavor, DictionaryFlavor.BILINGUAL);
+        LookupSideEffect effect = LookupSideEffect.createVersion(
+                userId,
+                recordId,
+                idAllocator.allocate(),
+                word.getId(),
+                word.getTerm(),
+                word.getLanguage(),
+                effectiveFlavor,
+                effectiveModel,
+                content,
+                LocalDateTime.now(clock));
+        if (!writeBehindQueue.submit(effect)) {
+            return null;
+        }
+        SearchResultVersion version = new SearchResultVersion();
+        version.setId(effect.versionId());
+        version.setWord(word);
+        version.setTerm(word.getTerm());
+        version.setLanguage(word.getLanguage());
+        version.setFlavor(effectiveFlavor);
+        version.setModel(effectiveModel);
+        version.setContent(content);
+        version.setPreview(SensitiveDataUtil.previewText(content));
+        return version;
+    }
 }
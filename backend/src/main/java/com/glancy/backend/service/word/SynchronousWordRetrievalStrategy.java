@@ -1,7 +1,10 @@
 package com.glancy.backend.service.word;
 
+import com.glancy.backend.config.timing.LookupStage;
+import com.glancy.backend.config.timing.LookupStageTimer;
 import com.glancy.backend.dto.SearchRecordResponse;
 import com.glancy.backend.dto.WordResponse;
+import com.glancy.backend.entity.Word;
 import com.glancy.backend.llm.service.WordSearcher;
 import com.glancy.backend.service.support.ResponseMarkdownOrSerializedWordStrategy;
 import com.glancy.backend.service.support.WordPersistenceCoordinator;
@@ -11,6 +14,8 @@ import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Slf4j
 @Component
@@ -23,12 +28,15 @@ public class SynchronousWordRetrievalStrategy implements WordRetrievalStrategy<W
     private final WordPersistenceContextFactory contextFactory;
     private final WordPersistenceCoordinator coordinator;
     private final WordPersonalizationApplier personalizationApplier;
+    private final LookupStageTimer stageTimer;
 
     private final WordVersionContentStrategy defaultContentStrategy = new ResponseMarkdownOrSerializedWordStrategy();
 
     @Override
     public WordResponse execute(WordQueryContext context) {
+        long recordStart = stageTimer.start();
         SearchRecordResponse record = searchRecordCoordinator.createRecord(context);
+        stageTimer.stop(LookupStage.RECORD_UPSERT, recordStart);
         Optional<WordResponse> cached = tryLoadFromCache(context, record);
         if (cached.isPresent()) {
             return cached.get();
@@ -40,16 +48,21 @@ public class SynchronousWordRetrievalStrategy implements WordRetrievalStrategy<W
         if (context.forceNew()) {
             return Optional.empty();
         }
-        return cacheManager
-                .findCachedWord(context.normalizedTerm(), context.language(), context.flavor())
-                .map(word -> {
-                    log.info("Found word '{}' in local repository", word.getTerm());
-                    WordResponse response = cacheManager.toResponse(word);
-                    response.setFlavor(context.flavor());
-                    searchRecordCoordinator.synchronizeRecordTermQuietly(
-                            context.userId(), idOf(record), word.getTerm());
-                    return personalizationApplier.apply(context.userId(), response, context.personalizationContext());
-                });
+        long cacheStart = stageTimer.start();
+        Optional<Word> cached =
+                cacheManager.findCachedWord(context.normalizedTerm(), context.language(), context.flavor());
+        stageTimer.stop(LookupStage.CACHE_QUERY, cacheStart);
+        return cached.map(word -> {
+            log.info("Found word '{}' in local repository", word.getTerm());
+            WordResponse response = cacheManager.toResponse(word);
+            response.setFlavor(context.flavor());
+            searchRecordCoordinator.synchronizeRecordTermQuietly(context.userId(), idOf(record), word.getTerm());
+            long personalizationStart = stageTimer.start();
+            WordResponse personalized =
+                    personalizationApplier.apply(context.userId(), response, context.personalizationContext());
+            stageTimer.stop(LookupStage.PERSONALIZATION_NARRATIVE, personalizationStart);
+            return personalized;
+        });
     }
 
     private WordResponse fetchAndPersist(WordQueryContext context, SearchRecordResponse record) {
@@ -59,10 +72,24 @@ public class SynchronousWordRetrievalStrategy implements WordRetrievalStrategy<W
                 context.normalizedTerm(),
                 context.model());
         WordResponse response = requestWordFromModel(context);
+        if (response.isDegraded()) {
+            discardLookupWrites(context);
+            return response;
+        }
         PersistenceOutcome outcome = persistResponse(context, record, response);
         return outcome.response();
     }
 
+    /**
+     * 离线占位既不写词条缓存也不留版本，连同先行写入的检索记录一起回滚，使历史中不出现一条没有释义的记录。
+     */
+    private void discardLookupWrites(WordQueryContext context) {
+        log.warn("Degraded entry for '{}' will not be cached or recorded", context.normalizedTerm());
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+    }
+
     private WordResponse requestWordFromModel(WordQueryContext context) {
         WordResponse response = wordSearcher.search(
                 context.rawTerm(),
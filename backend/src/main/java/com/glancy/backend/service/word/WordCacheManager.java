@@ -8,6 +8,11 @@ import com.glancy.backend.entity.Language;
 import com.glancy.backend.entity.Word;
 import com.glancy.backend.repository.WordRepository;
 import com.glancy.backend.service.support.DictionaryTermNormalizer;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +34,26 @@ public class WordCacheManager {
         return wordRepository.findActiveByNormalizedTerm(normalizedTerm, language, flavor);
     }
 
+    /** Resolves many normalized terms with one query; the result is keyed by normalized term. */
+    public Map<String, Word> findCachedWords(
+            Collection<String> normalizedTerms, Language language, DictionaryFlavor flavor) {
+        List<String> keys = normalizedTerms.stream()
+                .filter(term -> term != null && !term.isBlank())
+                .distinct()
+                .toList();
+        Map<String, Word> words = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return words;
+        }
+        for (Word word : wordRepository.findActiveByNormalizedTermIn(keys, language, flavor)) {
+            String key = word.getNormalizedTerm() != null
+                    ? word.getNormalizedTerm()
+                    : word.getTerm().trim().toLowerCase(Locale.ROOT);
+            words.putIfAbsent(key, word);
+        }
+        return words;
+    }
+
     public Word saveWord(String requestedTerm, WordResponse resp, Language language, DictionaryFlavor flavor) {
         WordPersistenceContext context = buildContext(requestedTerm, resp, language, flavor);
         Word word = findCachedWord(context.normalizedTerm(), context.language(), context.flavor())
@@ -60,7 +85,8 @@ public class WordCacheManager {
                 word.getMarkdown(),
                 null,
                 null,
-                word.getFlavor());
+                word.getFlavor(),
+                false);
     }
 
     public String serializeWord(Word word) throws JsonProcessingException {
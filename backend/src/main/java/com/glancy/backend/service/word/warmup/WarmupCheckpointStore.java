@@ -0,0 +1,71 @@
+package com.glancy.backend.service.word.warmup;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Persists how far each warm-up job got, as a small properties file per target. Files are replaced atomically so a
+ * crash leaves either the previous or the new checkpoint. Deleting a file restarts that target from the top.
+ */
+class WarmupCheckpointStore {
+
+    private final Path directory;
+
+    WarmupCheckpointStore(Path directory) {
+        this.directory = directory;
+    }
+
+    Checkpoint load(WarmupTarget target) {
+        Path file = fileFor(target);
+        if (!Files.exists(file)) {
+            return Checkpoint.START;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read warm-up checkpoint " + file, ex);
+        }
+        return new Checkpoint(
+                Integer.parseInt(properties.getProperty("position", "0")),
+                Long.parseLong(properties.getProperty("generated", "0")),
+                Long.parseLong(properties.getProperty("skipped", "0")),
+                Long.parseLong(properties.getProperty("failed", "0")));
+    }
+
+    void store(WarmupTarget target, Checkpoint checkpoint) {
+        Properties properties = new Properties();
+        properties.setProperty("position", Integer.toString(checkpoint.position()));
+        properties.setProperty("generated", Long.toString(checkpoint.generated()));
+        properties.setProperty("skipped", Long.toString(checkpoint.skipped()));
+        properties.setProperty("failed", Long.toString(checkpoint.failed()));
+        Path file = fileFor(target);
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, target.key(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, "word warm-up checkpoint");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write warm-up checkpoint " + file, ex);
+        }
+    }
+
+    private Path fileFor(WarmupTarget target) {
+        return directory.resolve(target.key() + ".checkpoint");
+    }
+
+    /** Index of the next term to process plus the outcome counters accumulated before it. */
+    record Checkpoint(int position, long generated, long skipped, long failed) {
+
+        static final Checkpoint START = new Checkpoint(0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,26 @@
+package com.glancy.backend.service.word.warmup;
+
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
+
+/** Snapshot of a warm-up job as reported by the actuator endpoint. */
+public record WarmupProgress(
+        Language language,
+        DictionaryFlavor flavor,
+        State state,
+        int position,
+        int totalTerms,
+        long generated,
+        long skipped,
+        long failed) {
+
+    /** Lifecycle of a warm-up job. */
+    public enum State {
+        IDLE,
+        RUNNING,
+        PAUSING,
+        PAUSED,
+        COMPLETED,
+        FAILED
+    }
+}
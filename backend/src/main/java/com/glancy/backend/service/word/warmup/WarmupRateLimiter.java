@@ -0,0 +1,27 @@
+package com.glancy.backend.service.word.warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Spaces model calls evenly across all warm-up jobs; callers sleep until their slot. */
+class WarmupRateLimiter {
+
+    private final long intervalNanos;
+    private long nextSlot = System.nanoTime();
+
+    WarmupRateLimiter(int permitsPerMinute) {
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, permitsPerMinute);
+    }
+
+    void acquire() throws InterruptedException {
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextSlot);
+            nextSlot = slot + intervalNanos;
+            wait = slot - now;
+        }
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.glancy.backend.service.word.warmup;
+
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
+
+/** One warm-up job scope: the entries of a single language and flavor. */
+public record WarmupTarget(Language language, DictionaryFlavor flavor) {
+
+    String key() {
+        return language.name() + "-" + flavor.name();
+    }
+}
@@ -0,0 +1,36 @@
+package com.glancy.backend.service.word.warmup;
+
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Operator controls for cache warm-up: {@code GET /actuator/wordwarmup} lists progress and
+ * {@code POST /actuator/wordwarmup/{language}/{flavor}} with {@code {"action":"start"|"pause"}} drives one job.
+ */
+@Component
+@Endpoint(id = "wordwarmup")
+@RequiredArgsConstructor
+public class WordCacheWarmupEndpoint {
+
+    private final WordCacheWarmupService warmupService;
+
+    @ReadOperation
+    public List<WarmupProgress> progress() {
+        return warmupService.progress();
+    }
+
+    @WriteOperation
+    public WarmupProgress control(@Selector Language language, @Selector DictionaryFlavor flavor, String action) {
+        if ("pause".equalsIgnoreCase(action)) {
+            return warmupService.pause(language, flavor);
+        }
+        return warmupService.start(language, flavor);
+    }
+}
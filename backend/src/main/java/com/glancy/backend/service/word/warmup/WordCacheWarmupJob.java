@@ -0,0 +1,186 @@
+package com.glancy.backend.service.word.warmup;
+
+import com.glancy.backend.dto.WordResponse;
+import com.glancy.backend.llm.service.WordSearcher;
+import com.glancy.backend.service.support.DictionaryTermNormalizer;
+import com.glancy.backend.service.word.WordCacheManager;
+import com.glancy.backend.service.word.warmup.WarmupCheckpointStore.Checkpoint;
+import com.glancy.backend.service.word.warmup.WarmupProgress.State;
+import com.glancy.backend.util.SensitiveDataUtil;
+import io.micrometer.core.instrument.Counter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Walks one ranked term list from its checkpoint, generating and persisting every term that is not cached yet.
+ *
+ * <p>Pausing lets the current term finish, then writes a checkpoint and ends the run; starting again continues from
+ * that checkpoint. Individual failures are counted and skipped so that one bad term cannot stall the list.
+ */
+@Slf4j
+class WordCacheWarmupJob implements Runnable {
+
+    private final WarmupTarget target;
+    private final List<String> terms;
+    private final Collaborators collaborators;
+    private final AtomicLong generated = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile int position;
+    private volatile State state = State.IDLE;
+
+    WordCacheWarmupJob(WarmupTarget target, List<String> terms, Collaborators collaborators) {
+        this.target = target;
+        this.terms = List.copyOf(terms);
+        this.collaborators = collaborators;
+        restore(collaborators.checkpoints().load(target));
+    }
+
+    /** Marks the job as scheduled; returns {@code false} if it is already running or finished. */
+    synchronized boolean prepareStart() {
+        if (state == State.RUNNING || state == State.PAUSING || state == State.COMPLETED) {
+            return false;
+        }
+        state = State.RUNNING;
+        return true;
+    }
+
+    synchronized void requestPause() {
+        if (state == State.RUNNING) {
+            state = State.PAUSING;
+        }
+    }
+
+    @Override
+    public void run() {
+        log.info("Word warm-up {} starting at term {}/{}", target.key(), position, terms.size());
+        try {
+            int sinceCheckpoint = 0;
+            while (position < terms.size()) {
+                if (state == State.PAUSING || Thread.currentThread().isInterrupted()) {
+                    checkpoint();
+                    state = State.PAUSED;
+                    log.info("Word warm-up {} paused at term {}/{}", target.key(), position, terms.size());
+                    return;
+                }
+                process(terms.get(position));
+                position++;
+                if (++sinceCheckpoint >= collaborators.checkpointInterval()) {
+                    checkpoint();
+                    sinceCheckpoint = 0;
+                }
+            }
+            checkpoint();
+            state = State.COMPLETED;
+            log.info(
+                    "Word warm-up {} completed: generated={} skipped={} failed={}",
+                    target.key(),
+                    generated.get(),
+                    skipped.get(),
+                    failed.get());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            checkpoint();
+            state = State.PAUSED;
+        } catch (RuntimeException ex) {
+            state = State.FAILED;
+            log.error("Word warm-up {} stopped at term {}", target.key(), position, ex);
+        }
+    }
+
+    WarmupProgress progress() {
+        return new WarmupProgress(
+                target.language(),
+                target.flavor(),
+                state,
+                position,
+                terms.size(),
+                generated.get(),
+                skipped.get(),
+                failed.get());
+    }
+
+    int position() {
+        return position;
+    }
+
+    int totalTerms() {
+        return terms.size();
+    }
+
+    private void process(String term) throws InterruptedException {
+        String normalized = collaborators.normalizer().normalize(term);
+        if (normalized == null || normalized.isBlank()) {
+            count(skipped, collaborators.skippedCounter());
+            return;
+        }
+        if (collaborators
+                .cacheManager()
+                .findCachedWord(normalized, target.language(), target.flavor())
+                .isPresent()) {
+            count(skipped, collaborators.skippedCounter());
+            return;
+        }
+        collaborators.rateLimiter().acquire();
+        try {
+            if (generate(term)) {
+                count(generated, collaborators.generatedCounter());
+            } else {
+                count(failed, collaborators.failedCounter());
+            }
+        } catch (RuntimeException ex) {
+            count(failed, collaborators.failedCounter());
+            log.warn(
+                    "Word warm-up {} failed for term '{}': {}",
+                    target.key(),
+                    term,
+                    SensitiveDataUtil.previewText(ex.getMessage()));
+        }
+    }
+
+    /** Generates and caches one term; a degraded offline entry is not cached and counts as a failure. */
+    private boolean generate(String term) {
+        WordResponse response = collaborators
+                .wordSearcher()
+                .search(term, target.language(), target.flavor(), collaborators.model(), null);
+        if (response.isDegraded()) {
+            log.warn("Word warm-up {} got a degraded entry for term '{}', not caching it", target.key(), term);
+            return false;
+        }
+        response.setFlavor(target.flavor());
+        collaborators.cacheManager().saveWord(term, response, target.language(), target.flavor());
+        return true;
+    }
+
+    private void checkpoint() {
+        collaborators
+                .checkpoints()
+                .store(target, new Checkpoint(position, generated.get(), skipped.get(), failed.get()));
+    }
+
+    private void restore(Checkpoint checkpoint) {
+        position = Math.min(checkpoint.position(), terms.size());
+        generated.set(checkpoint.generated());
+        skipped.set(checkpoint.skipped());
+        failed.set(checkpoint.failed());
+    }
+
+    private static void count(AtomicLong total, Counter counter) {
+        total.incrementAndGet();
+        counter.increment();
+    }
+
+    /** Shared services plus the per-target outcome counters. */
+    record Collaborators(
+            WordCacheManager cacheManager,
+            WordSearcher wordSearcher,
+            DictionaryTermNormalizer normalizer,
+            WarmupRateLimiter rateLimiter,
+            WarmupCheckpointStore checkpoints,
+            String model,
+            int checkpointInterval,
+            Counter generatedCounter,
+            Counter skippedCounter,
+            Counter failedCounter) {}
+}
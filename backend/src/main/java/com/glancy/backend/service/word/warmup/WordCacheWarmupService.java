@@ -0,0 +1,206 @@
+package com.glancy.backend.service.word.warmup;
+
+import com.glancy.backend.config.WordWarmupProperties;
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
+import com.glancy.backend.exception.InvalidRequestException;
+import com.glancy.backend.exception.ServiceDegradedException;
+import com.glancy.backend.llm.service.WordSearcher;
+import com.glancy.backend.service.support.DictionaryTermNormalizer;
+import com.glancy.backend.service.word.WordCacheManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Owns the cache warm-up jobs, one per configured (language, flavor) term list.
+ *
+ * <p>Jobs share a single rate limiter so that warming several targets at once still respects
+ * {@code word-warmup.rate-per-minute}. Progress is exported as {@code glancy.word.warmup.*} meters and through the
+ * {@code wordwarmup} actuator endpoint; running jobs checkpoint and stop when the application shuts down.
+ */
+@Slf4j
+@Component
+public class WordCacheWarmupService implements SmartLifecycle {
+
+    private static final String METRIC_PREFIX = "glancy.word.warmup";
+    /** How long {@link #stop()} waits for interrupted jobs to write their checkpoint. */
+    private static final long SHUTDOWN_WAIT_SECONDS = 5;
+
+    private final WordWarmupProperties properties;
+    private final WordCacheManager cacheManager;
+    private final WordSearcher wordSearcher;
+    private final DictionaryTermNormalizer termNormalizer;
+    private final ResourceLoader resourceLoader;
+    private final MeterRegistry meterRegistry;
+    private final WarmupRateLimiter rateLimiter;
+    private final WarmupCheckpointStore checkpoints;
+    private final Map<WarmupTarget, WordCacheWarmupJob> jobs = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public WordCacheWarmupService(
+            WordWarmupProperties properties,
+            WordCacheManager cacheManager,
+            WordSearcher wordSearcher,
+            DictionaryTermNormalizer termNormalizer,
+            ResourceLoader resourceLoader,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cacheManager = cacheManager;
+        this.wordSearcher = wordSearcher;
+        this.termNormalizer = termNormalizer;
+        this.resourceLoader = resourceLoader;
+        this.meterRegistry = meterRegistry;
+        this.rateLimiter = new WarmupRateLimiter(properties.getRatePerMinute());
+        this.checkpoints = new WarmupCheckpointStore(Path.of(properties.getCheckpointDir()));
+    }
+
+    /** Starts or resumes the job for a target from its last checkpoint. */
+    public synchronized WarmupProgress start(Language language, DictionaryFlavor flavor) {
+        if (!running) {
+            throw new ServiceDegradedException("词库预热服务未运行");
+        }
+        WordCacheWarmupJob job = job(new WarmupTarget(language, flavor));
+        if (job.prepareStart()) {
+            executor.execute(job);
+        }
+        return job.progress();
+    }
+
+    /** Asks a running job to stop after the current term; {@link #start} picks it up again. */
+    public WarmupProgress pause(Language language, DictionaryFlavor flavor) {
+        WordCacheWarmupJob job = job(new WarmupTarget(language, flavor));
+        job.requestPause();
+        return job.progress();
+    }
+
+    public List<WarmupProgress> progress() {
+        List<WarmupProgress> snapshot = new ArrayList<>();
+        properties.getTermLists().forEach((language, lists) -> lists.keySet()
+                .forEach(flavor -> snapshot.add(job(new WarmupTarget(language, flavor)).progress())));
+        return snapshot;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "word-warmup");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        running = true;
+        if (properties.isAutoStart()) {
+            properties
+                    .getTermLists()
+                    .forEach((language, lists) -> lists.keySet().forEach(flavor -> start(language, flavor)));
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        jobs.values().forEach(WordCacheWarmupJob::requestPause);
+        executor.shutdownNow();
+        try {
+            // Jobs checkpoint and move to PAUSED when interrupted; waiting lets a later start() resume them.
+            if (!executor.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Word warm-up jobs did not stop in time; they resume from their last checkpoint");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private WordCacheWarmupJob job(WarmupTarget target) {
+        return jobs.computeIfAbsent(target, this::createJob);
+    }
+
+    private WordCacheWarmupJob createJob(WarmupTarget target) {
+        Map<DictionaryFlavor, String> lists = properties.getTermLists().get(target.language());
+        String location = lists != null ? lists.get(target.flavor()) : null;
+        if (location == null) {
+            throw new InvalidRequestException("未配置该语言与风格的预热词表");
+        }
+        Tags tags = Tags.of("language", target.language().name(), "flavor", target.flavor().name());
+        WordCacheWarmupJob job = new WordCacheWarmupJob(
+                target,
+                readTerms(location),
+                new WordCacheWarmupJob.Collaborators(
+                        cacheManager,
+                        wordSearcher,
+                        termNormalizer,
+                        rateLimiter,
+                        checkpoints,
+                        properties.getModel(),
+                        Math.max(1, properties.getCheckpointInterval()),
+                        outcomeCounter(tags, "generated"),
+                        outcomeCounter(tags, "skipped"),
+                        outcomeCounter(tags, "failed")));
+        Gauge.builder(METRIC_PREFIX + ".position", job, WordCacheWarmupJob::position)
+                .tags(tags)
+                .description("Index of the next term the warm-up job will process")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".terms.total", job, WordCacheWarmupJob::totalTerms)
+                .tags(tags)
+                .register(meterRegistry);
+        return job;
+    }
+
+    private List<String> readTerms(String location) {
+        Resource resource = resourceLoader.getResource(location);
+        List<String> terms = new ArrayList<>();
+        try (BufferedReader reader =
+                new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String term = line.strip();
+                if (!term.isEmpty() && !term.startsWith("#")) {
+                    terms.add(term);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read warm-up term list " + location, ex);
+        }
+        log.info("Loaded {} warm-up terms from {}", terms.size(), location);
+        return terms;
+    }
+
+    private Counter outcomeCounter(Tags tags, String outcome) {
+        return Counter.builder(METRIC_PREFIX + ".terms")
+                .tags(tags)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,88 @@
+package com.glancy.backend.service.word.writebehind;
+
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * History write produced by a word lookup and applied after the response has been returned.
+ *
+ * <p>{@code idempotencyKey} identifies the effect in the journal; {@code versionId} is allocated before the effect is
+ * queued so that replaying a {@link Kind#CREATE_VERSION} effect never inserts a second row.
+ */
+public record LookupSideEffect(
+        String idempotencyKey,
+        Kind kind,
+        Long userId,
+        Long recordId,
+        String canonicalTerm,
+        Long versionId,
+        Long wordId,
+        Language language,
+        DictionaryFlavor flavor,
+        String model,
+        String content,
+        LocalDateTime occurredAt) {
+
+    public enum Kind {
+        SYNCHRONIZE_TERM,
+        CREATE_VERSION
+    }
+
+    public LookupSideEffect {
+        Objects.requireNonNull(idempotencyKey, "idempotencyKey must not be null");
+        Objects.requireNonNull(kind, "kind must not be null");
+        Objects.requireNonNull(userId, "userId must not be null");
+        Objects.requireNonNull(recordId, "recordId must not be null");
+        Objects.requireNonNull(occurredAt, "occurredAt must not be null");
+        if (kind == Kind.CREATE_VERSION) {
+            Objects.requireNonNull(versionId, "versionId must not be null");
+            Objects.requireNonNull(content, "content must not be null");
+        }
+    }
+
+    public static LookupSideEffect synchronizeTerm(
+            Long userId, Long recordId, String canonicalTerm, LocalDateTime occurredAt) {
+        return new LookupSideEffect(
+                UUID.randomUUID().toString(),
+                Kind.SYNCHRONIZE_TERM,
+                userId,
+                recordId,
+                canonicalTerm,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                occurredAt);
+    }
+
+    public static LookupSideEffect createVersion(
+            Long userId,
+            Long recordId,
+            Long versionId,
+            Long wordId,
+            String term,
+            Language language,
+            DictionaryFlavor flavor,
+            String model,
+            String content,
+            LocalDateTime occurredAt) {
+        return new LookupSideEffect(
+                UUID.randomUUID().toString(),
+                Kind.CREATE_VERSION,
+                userId,
+                recordId,
+                term,
+                versionId,
+                wordId,
+                language,
+                flavor,
+                model,
+                content,
+                occurredAt);
+    }
+}
@@ -0,0 +1,205 @@
+package com.glancy.backend.service.word.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log that keeps queued {@link LookupSideEffect}s across restarts.
+ *
+ * <p>Each line is either a {@code PUT} carrying an effect or an {@code ACK} listing the idempotency keys that have
+ * been applied. Recovery replays the file and returns the effects without an acknowledgement; the file is truncated
+ * whenever nothing is outstanding so that it never grows beyond the in-flight window. Effects that keep failing are
+ * moved to a sibling {@code .dead} file and acknowledged, so one poisoned batch does not pin the journal.
+ */
+@Slf4j
+final class LookupSideEffectJournal implements AutoCloseable {
+
+    private static final String PUT = "PUT";
+    private static final String ACK = "ACK";
+
+    private final Path path;
+    private final Path deadLetterPath;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper;
+    private FileChannel channel;
+    private long outstanding;
+
+    private LookupSideEffectJournal(Path path, boolean fsync, ObjectMapper objectMapper) {
+        this.path = path;
+        this.deadLetterPath = path == null ? null : path.resolveSibling(path.getFileName() + ".dead");
+        this.fsync = fsync;
+        this.objectMapper = objectMapper;
+    }
+
+    static LookupSideEffectJournal open(Path path, boolean fsync, ObjectMapper objectMapper) {
+        return new LookupSideEffectJournal(path, fsync, objectMapper);
+    }
+
+    static LookupSideEffectJournal inMemory() {
+        return new LookupSideEffectJournal(null, false, null);
+    }
+
+    boolean isDurable() {
+        return path != null;
+    }
+
+    /** Reads unacknowledged effects and compacts the file so that only they remain. */
+    synchronized List<LookupSideEffect> recover() {
+        if (!isDurable()) {
+            return List.of();
+        }
+        try {
+            Map<String, LookupSideEffect> pending = readPending();
+            rewrite(pending.values());
+            outstanding = pending.size();
+            if (!pending.isEmpty()) {
+                log.info("Recovered {} unapplied lookup side effects from {}", pending.size(), path);
+            }
+            return List.copyOf(pending.values());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to recover write-behind journal " + path, ex);
+        }
+    }
+
+    synchronized void append(LookupSideEffect effect) {
+        if (!isDurable()) {
+            return;
+        }
+        write(new JournalEntry(PUT, effect, null));
+        outstanding++;
+    }
+
+    synchronized void acknowledge(Collection<String> keys) {
+        if (!isDurable() || keys.isEmpty()) {
+            return;
+        }
+        outstanding = Math.max(0, outstanding - keys.size());
+        if (outstanding == 0) {
+            truncate();
+            return;
+        }
+        write(new JournalEntry(ACK, null, List.copyOf(keys)));
+    }
+
+    /** Appends the effects to the dead-letter file for manual inspection and acknowledges them here. */
+    synchronized void deadLetter(List<LookupSideEffect> effects) {
+        if (!isDurable() || effects.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (LookupSideEffect effect : effects) {
+                lines.append(objectMapper.writeValueAsString(new JournalEntry(PUT, effect, null)))
+                        .append('\n');
+            }
+            Files.writeString(
+                    deadLetterPath,
+                    lines,
+                    StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            log.error(
+                    "Failed to dead-letter {} side effects to {}; keeping them journaled",
+                    effects.size(),
+                    deadLetterPath,
+                    ex);
+            return;
+        }
+        acknowledge(effects.stream().map(LookupSideEffect::idempotencyKey).toList());
+    }
+
+    @Override
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            log.warn("Failed to close write-behind journal {}: {}", path, ex.getMessage());
+        } finally {
+            channel = null;
+        }
+    }
+
+    private Map<String, LookupSideEffect> readPending() throws IOException {
+        Map<String, LookupSideEffect> pending = new LinkedHashMap<>();
+        if (!Files.exists(path)) {
+            return pending;
+        }
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JournalEntry entry;
+            try {
+                entry = objectMapper.readValue(line, JournalEntry.class);
+            } catch (IOException ex) {
+                log.warn("Skipping unreadable write-behind journal line in {}: {}", path, ex.getMessage());
+                continue;
+            }
+            if (PUT.equals(entry.op()) && entry.effect() != null) {
+                pending.put(entry.effect().idempotencyKey(), entry.effect());
+            } else if (ACK.equals(entry.op()) && entry.keys() != null) {
+                entry.keys().forEach(pending::remove);
+            }
+        }
+        return pending;
+    }
+
+    private void rewrite(Collection<LookupSideEffect> pending) throws IOException {
+        close();
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        for (LookupSideEffect effect : pending) {
+            write(new JournalEntry(PUT, effect, null));
+        }
+        channel.force(false);
+    }
+
+    private void truncate() {
+        try {
+            channel.truncate(0);
+            channel.position(0);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to truncate write-behind journal " + path, ex);
+        }
+    }
+
+    private void write(JournalEntry entry) {
+        if (channel == null) {
+            throw new IllegalStateException("write-behind journal " + path + " has not been recovered");
+        }
+        try {
+            byte[] line = (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to append to write-behind journal " + path, ex);
+        }
+    }
+
+    record JournalEntry(String op, LookupSideEffect effect, List<String> keys) {}
+}
@@ -0,0 +1,164 @@
+package com.glancy.backend.service.word.writebehind;
+
+import com.glancy.backend.service.word.writebehind.LookupSideEffect.Kind;
+import com.glancy.backend.util.SensitiveDataUtil;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies batches of {@link LookupSideEffect}s with one JDBC batch per statement shape.
+ *
+ * <p>Version inserts are idempotent: ids already present are skipped, so a batch replayed from the journal after a
+ * crash never produces duplicates. Records that were deleted or re-owned in the meantime are ignored, mirroring the
+ * ownership checks performed by the synchronous path.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LookupSideEffectWriter {
+
+    private static final String SYNCHRONIZE_TERM_SQL = "update search_records set term = :term, updated_at = :updatedAt "
+            + "where id = :recordId and user_id = :userId and deleted = false and term <> :term";
+    private static final String SELECT_EXISTING_VERSIONS_SQL = "select id from search_result_versions where id in (:ids)";
+    private static final String SELECT_RECORDS_SQL =
+            "select id, user_id, term, language from search_records where id in (:ids) and deleted = false";
+    private static final String RESERVE_VERSION_NUMBERS_SQL =
+            "update search_records set version_count = version_count + :count where id = :recordId";
+    private static final String SELECT_VERSION_COUNTS_SQL =
+            "select id, version_count from search_records where id in (:ids)";
+    private static final String INSERT_VERSION_SQL = "insert into search_result_versions "
+            + "(id, user_id, search_record_id, word_id, term, language, flavor, model, version_number, content, "
+            + "preview, deleted, created_at, updated_at) values (:id, :userId, :recordId, :wordId, :term, :language, "
+            + ":flavor, :model, :versionNumber, :content, :preview, false, :createdAt, :createdAt)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /** Runs in its own transaction so that callers inside an already committed transaction get a fresh one. */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void apply(List<LookupSideEffect> effects) {
+        if (effects.isEmpty()) {
+            return;
+        }
+        synchronizeTerms(effects.stream()
+                .filter(effect -> effect.kind() == Kind.SYNCHRONIZE_TERM)
+                .toList());
+        insertVersions(effects.stream()
+                .filter(effect -> effect.kind() == Kind.CREATE_VERSION)
+                .toList());
+    }
+
+    private void synchronizeTerms(List<LookupSideEffect> effects) {
+        if (effects.isEmpty()) {
+            return;
+        }
+        Map<String, ?>[] batch = effects.stream()
+                .map(effect -> Map.of(
+                        "term", effect.canonicalTerm(),
+                        "updatedAt", effect.occurredAt(),
+                        "recordId", effect.recordId(),
+                        "userId", effect.userId()))
+                .toArray(Map[]::new);
+        jdbcTemplate.batchUpdate(SYNCHRONIZE_TERM_SQL, batch);
+    }
+
+    private void insertVersions(List<LookupSideEffect> effects) {
+        if (effects.isEmpty()) {
+            return;
+        }
+        Set<Long> existing = loadExistingVersionIds(effects);
+        Map<Long, RecordRow> records = loadRecords(effects);
+        List<LookupSideEffect> inserts = effects.stream()
+                .filter(effect -> !existing.contains(effect.versionId()))
+                .filter(effect -> isOwnedBy(records.get(effect.recordId()), effect))
+                .toList();
+        Map<Long, Integer> versionNumbers = reserveVersionNumbers(inserts);
+        List<Map<String, Object>> batch = inserts.stream()
+                .map(effect -> toInsertParameters(effect, records.get(effect.recordId()), versionNumbers))
+                .toList();
+        if (batch.size() < effects.size()) {
+            log.debug(
+                    "Skipped {} write-behind versions that already exist or whose record is gone",
+                    effects.size() - batch.size());
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_VERSION_SQL, batch.toArray(Map[]::new));
+        }
+    }
+
+    private Set<Long> loadExistingVersionIds(List<LookupSideEffect> effects) {
+        List<Long> ids =
+                effects.stream().map(LookupSideEffect::versionId).distinct().toList();
+        return new HashSet<>(jdbcTemplate.queryForList(SELECT_EXISTING_VERSIONS_SQL, Map.of("ids", ids), Long.class));
+    }
+
+    private Map<Long, RecordRow> loadRecords(List<LookupSideEffect> effects) {
+        List<Long> ids = effects.stream().map(LookupSideEffect::recordId).distinct().toList();
+        Map<Long, RecordRow> rows = new HashMap<>();
+        jdbcTemplate.query(SELECT_RECORDS_SQL, Map.of("ids", ids), rs -> {
+            long id = rs.getLong(1);
+            rows.put(id, new RecordRow(rs.getLong(2), rs.getString(3), rs.getString(4)));
+        });
+        return rows;
+    }
+
+    /**
+     * Advances each record's version counter by the number of versions about to be inserted and returns the number
+     * preceding the reserved range. The increment locks the record row, so the synchronous path cannot hand out the
+     * same numbers concurrently.
+     */
+    private Map<Long, Integer> reserveVersionNumbers(List<LookupSideEffect> inserts) {
+        Map<Long, Integer> counts = new HashMap<>();
+        inserts.forEach(effect -> counts.merge(effect.recordId(), 1, Integer::sum));
+        if (counts.isEmpty()) {
+            return counts;
+        }
+        Map<String, ?>[] batch = counts.entrySet().stream()
+                .map(entry -> Map.of("recordId", entry.getKey(), "count", entry.getValue()))
+                .toArray(Map[]::new);
+        jdbcTemplate.batchUpdate(RESERVE_VERSION_NUMBERS_SQL, batch);
+        Map<Long, Integer> preceding = new HashMap<>();
+        jdbcTemplate.query(SELECT_VERSION_COUNTS_SQL, Map.of("ids", counts.keySet()), rs -> {
+            long id = rs.getLong(1);
+            preceding.put(id, rs.getInt(2) - counts.get(id));
+        });
+        return preceding;
+    }
+
+    private boolean isOwnedBy(RecordRow record, LookupSideEffect effect) {
+        return record != null && record.userId() == effect.userId();
+    }
+
+    private Map<String, Object> toInsertParameters(
+            LookupSideEffect effect, RecordRow record, Map<Long, Integer> versionNumbers) {
+        int versionNumber = versionNumbers.merge(effect.recordId(), 1, Integer::sum);
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", effect.versionId());
+        params.put("userId", effect.userId());
+        params.put("recordId", effect.recordId());
+        params.put("wordId", effect.wordId());
+        params.put("term", defaultIfBlank(effect.canonicalTerm(), record.term()));
+        params.put("language", effect.language() != null ? effect.language().name() : record.language());
+        params.put("flavor", effect.flavor().name());
+        params.put("model", effect.model());
+        params.put("versionNumber", versionNumber);
+        params.put("content", effect.content());
+        params.put("preview", SensitiveDataUtil.previewText(effect.content()));
+        params.put("createdAt", effect.occurredAt());
+        return params;
+    }
+
+    private static String defaultIfBlank(String value, String fallback) {
+        return value == null || value.isBlank() ? fallback : value;
+    }
+
+    private record RecordRow(long userId, String term, String language) {}
+}
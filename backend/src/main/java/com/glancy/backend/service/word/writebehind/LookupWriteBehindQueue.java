@@ -0,0 +1,261 @@
+package com.glancy.backend.service.word.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glancy.backend.config.SearchProperties;
+import com.glancy.backend.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+/**
+ * Bounded, journal-backed queue that applies lookup history writes off the request thread.
+ *
+ * <p>Effects submitted inside a transaction are only queued once it commits, so the flusher never races the search
+ * record it refers to. A single flusher thread drains up to {@code batchSize} effects at a time into
+ * {@link LookupSideEffectWriter}. Delivery is at-least-once: effects stay in the journal until their batch is
+ * acknowledged and are replayed on the next start otherwise. Replay runs on the flusher thread ahead of new work, so
+ * startup does not wait for the database. A batch that still fails after {@code maxAttempts} is moved to the
+ * journal's dead-letter file instead of being retried forever. On shutdown the queue stops accepting work and drains
+ * for at most {@code shutdownTimeout}, after the web server has stopped taking requests.
+ */
+@Slf4j
+@Component
+public class LookupWriteBehindQueue implements SmartLifecycle {
+
+    private static final String METRIC_PREFIX = "glancy.lookup.write_behind";
+
+    private final SearchProperties.WriteBehind properties;
+    private final LookupSideEffectWriter writer;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<LookupSideEffect> queue;
+    private final Counter enqueued;
+    private final Counter rejected;
+    private final Counter applied;
+    private final Counter failed;
+    private final Timer flushTimer;
+
+    private LookupSideEffectJournal journal = LookupSideEffectJournal.inMemory();
+    private Thread flusher;
+    private volatile boolean running;
+
+    public LookupWriteBehindQueue(
+            SearchProperties searchProperties,
+            LookupSideEffectWriter writer,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = searchProperties.getWriteBehind();
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getCapacity()));
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", queue, BlockingQueue::size)
+                .description("Lookup side effects waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue.capacity", queue, q -> q.size() + q.remainingCapacity())
+                .register(meterRegistry);
+        this.enqueued = outcomeCounter(meterRegistry, "enqueued");
+        this.rejected = outcomeCounter(meterRegistry, "rejected");
+        this.applied = outcomeCounter(meterRegistry, "applied");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+        this.flushTimer = Timer.builder(METRIC_PREFIX + ".flush").register(meterRegistry);
+    }
+
+    /**
+     * Hands an effect to the write-behind pipeline.
+     *
+     * @return {@code false} when the caller must write the effect itself, either because the pipeline is disabled or
+     *     because the queue is full and there is no transaction to defer to
+     */
+    public boolean submit(LookupSideEffect effect) {
+        if (!running) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionCallbacks.afterCommit(() -> handOffAfterCommit(effect));
+            return true;
+        }
+        return enqueue(effect);
+    }
+
+    /**
+     * Runs after the caller's transaction has committed, where an exception would only turn the already successful
+     * lookup into an error response. A failed journal append or inline write therefore dead-letters the effect.
+     */
+    private void handOffAfterCommit(LookupSideEffect effect) {
+        try {
+            if (!enqueue(effect)) {
+                writer.apply(List.of(effect));
+            }
+        } catch (RuntimeException ex) {
+            log.error("Failed to hand off side effect {} after commit: {}", effect.kind(), ex.getMessage());
+            try {
+                deadLetter(List.of(effect));
+            } catch (RuntimeException deadLetterFailure) {
+                log.error("Failed to dead-letter side effect {}; it is lost", effect.kind(), deadLetterFailure);
+            }
+        }
+    }
+
+    int depth() {
+        return queue.size();
+    }
+
+    private synchronized boolean enqueue(LookupSideEffect effect) {
+        if (!running || queue.remainingCapacity() == 0) {
+            rejected.increment();
+            log.warn("Write-behind queue is full ({}), applying side effect {} inline", queue.size(), effect.kind());
+            return false;
+        }
+        journal.append(effect);
+        queue.add(effect);
+        enqueued.increment();
+        return true;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        journal = openJournal();
+        List<LookupSideEffect> recovered = journal.recover();
+        running = true;
+        flusher = new Thread(() -> {
+                    replay(recovered);
+                    drainLoop();
+                }, "lookup-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info(
+                "Lookup write-behind started (capacity={}, batchSize={}, journal={})",
+                properties.getCapacity(),
+                properties.getBatchSize(),
+                journal.isDurable() ? properties.getJournalPath() : "memory");
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        synchronized (this) {
+            running = false;
+        }
+        try {
+            flusher.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            flusher.interrupt();
+            log.warn("Write-behind drain timed out; {} side effects left in the journal for replay", queue.size());
+        }
+        journal.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Stops after the embedded web server so that in-flight lookups can still enqueue while it drains. */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private LookupSideEffectJournal openJournal() {
+        if (!StringUtils.hasText(properties.getJournalPath())) {
+            return LookupSideEffectJournal.inMemory();
+        }
+        return LookupSideEffectJournal.open(
+                Path.of(properties.getJournalPath()), properties.isJournalFsync(), objectMapper);
+    }
+
+    private void replay(List<LookupSideEffect> recovered) {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        for (int from = 0; from < recovered.size() && !Thread.currentThread().isInterrupted(); from += batchSize) {
+            flush(recovered.subList(from, Math.min(recovered.size(), from + batchSize)));
+        }
+    }
+
+    private void drainLoop() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long pollMillis = Math.max(1, properties.getFlushInterval().toMillis());
+        List<LookupSideEffect> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                LookupSideEffect first = queue.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<LookupSideEffect> batch) {
+        int maxAttempts = Math.max(1, properties.getMaxAttempts());
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                flushTimer.record(() -> writer.apply(batch));
+                journal.acknowledge(
+                        batch.stream().map(LookupSideEffect::idempotencyKey).toList());
+                applied.increment(batch.size());
+                return;
+            } catch (RuntimeException ex) {
+                log.warn(
+                        "Write-behind flush of {} side effects failed (attempt {}/{}): {}",
+                        batch.size(),
+                        attempt,
+                        maxAttempts,
+                        ex.getMessage());
+                if (attempt < maxAttempts && !backOff(attempt)) {
+                    log.warn("Write-behind flush interrupted; {} side effects stay journaled", batch.size());
+                    return;
+                }
+            }
+        }
+        deadLetter(batch);
+    }
+
+    private void deadLetter(List<LookupSideEffect> batch) {
+        failed.increment(batch.size());
+        log.error("Giving up on {} write-behind side effects; moving them to the dead-letter file", batch.size());
+        journal.deadLetter(List.copyOf(batch));
+    }
+
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(properties.getFlushInterval().toMillis() * attempt);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(METRIC_PREFIX + ".effects")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
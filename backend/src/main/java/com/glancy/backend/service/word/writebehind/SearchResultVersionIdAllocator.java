@@ -0,0 +1,38 @@
+package com.glancy.backend.service.word.writebehind;
+
+import com.glancy.backend.entity.SearchResultVersion;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out {@link SearchResultVersion} identifiers ahead of the insert.
+ *
+ * <p>Draws from the entity's own sequence generator so that ids reserved here and ids assigned by Hibernate on a
+ * regular {@code save} share one pooled range and can never collide.
+ */
+@Component
+public class SearchResultVersionIdAllocator {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final BeforeExecutionGenerator generator;
+
+    public SearchResultVersionIdAllocator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.generator = (BeforeExecutionGenerator) sessionFactory
+                .getMappingMetamodel()
+                .getEntityDescriptor(SearchResultVersion.class)
+                .getGenerator();
+    }
+
+    public Long allocate() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Object id = generator.generate((SharedSessionContractImplementor) session, null, null, EventType.INSERT);
+            return ((Number) id).longValue();
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.glancy.backend.simulator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.glancy.backend.config.SimulatorProperties;
+import com.glancy.backend.llm.completion.CompletionSentinel;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+/**
+ * Doubao-compatible {@code /api/v3/chat/completions} endpoint for load tests.
+ *
+ * <p>Each request gets a lognormal time to first token and a lognormal generation speed; non-streaming answers are
+ * released after both, streaming answers emit SSE chunks of {@code tokensPerChunk} tokens at that speed. The request's
+ * {@code stop}, {@code max_completion_tokens} and {@code stream_options.include_usage} are honoured the way the real
+ * API does, so sentinel restoration, truncation and continuation paths see realistic input. Faults are injected per
+ * {@link SimulatorProperties.Faults}.
+ */
+@Component
+@Profile("simulator")
+class DoubaoChatSimulator {
+
+    static final String DONE = "[DONE]";
+
+    private static final Pattern TERM_PATTERN = Pattern.compile("查询词汇[:：]\\s*([^\\n]+)");
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(10);
+
+    private final SimulatorProperties.Doubao properties;
+    private final SimulationRandom randoms;
+    private final SimulatedEntryCatalog catalog;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    DoubaoChatSimulator(
+            SimulatorProperties properties,
+            SimulationRandom randoms,
+            SimulatedEntryCatalog catalog,
+            ObjectMapper objectMapper,
+            Clock clock) {
+        this.properties = properties.getDoubao();
+        this.randoms = randoms;
+        this.catalog = catalog;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    ServerResponse handle(ServerRequest request) throws ServletException, IOException {
+        SimulatedCompletion completion = simulate(request.body(JsonNode.class));
+        if (completion.fault().failsRequest()) {
+            return SimulatorResponses.delayedJson(completion.firstByte(), completion.fault(), errorBody(completion));
+        }
+        if (!completion.stream()) {
+            return SimulatorResponses.delayed(
+                    completion.firstByte().plus(completion.generation()),
+                    ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(completionBody(completion)));
+        }
+        return ServerResponse.sse(sse -> stream(sse, completion), STREAM_TIMEOUT);
+    }
+
+    SimulatedCompletion simulate(JsonNode body) {
+        List<JsonNode> messages = new ArrayList<>();
+        body.path("messages").forEach(messages::add);
+        String term = inferTerm(messages);
+        boolean stream = body.path("stream").asBoolean(false);
+        RandomGenerator random = randoms.forRequest("doubao", term);
+
+        UpstreamFault fault = SimulationRandom.fault(random, properties.getFaults(), stream);
+        Duration firstByte =
+                switch (fault) {
+                    case RATE_LIMITED, SERVER_ERROR -> SimulationRandom.lognormal(
+                            random, properties.getFaults().getErrorLatency());
+                    case TIMEOUT -> properties.getFaults().getTimeoutHang();
+                    default -> SimulationRandom.lognormal(random, properties.getTtft());
+                };
+
+        String content = remainderAfterPartial(catalog.entryFor(term, random), lastContent(messages, "assistant"));
+        String finishReason = "stop";
+        if (requestsSentinelStop(body)) {
+            int marker = content.lastIndexOf(CompletionSentinel.MARKER);
+            if (marker >= 0) {
+                content = content.substring(0, marker);
+            }
+        }
+        int maxTokens = body.path("max_completion_tokens").asInt(0);
+        if (maxTokens > 0 && tokens(content) > maxTokens) {
+            content = truncate(content, (int) (maxTokens * properties.getCharsPerToken()));
+            finishReason = "length";
+        }
+
+        int completionTokens = tokens(content);
+        double tokensPerSecond = Math.max(
+                1,
+                SimulationRandom.lognormal(
+                        random, properties.getTokensPerSecond(), properties.getTokensPerSecondSigma()));
+        Duration generation = Duration.ofNanos(Math.round(completionTokens / tokensPerSecond * 1_000_000_000L));
+        int promptTokens = 0;
+        for (JsonNode message : messages) {
+            promptTokens += tokens(message.path("content").asText(""));
+        }
+        return new SimulatedCompletion(
+                "sim-" + Long.toHexString(random.nextLong()),
+                body.path("model").asText("simulated"),
+                stream,
+                body.path("stream_options").path("include_usage").asBoolean(false),
+                fault,
+                firstByte,
+                generation,
+                content,
+                finishReason,
+                promptTokens,
+                completionTokens);
+    }
+
+    /** Renders the SSE data payloads of a streamed completion, ending with {@code [DONE]} unless truncated. */
+    List<String> streamEvents(SimulatedCompletion completion) {
+        List<String> pieces = chunk(completion.content());
+        boolean truncated = completion.fault() == UpstreamFault.TRUNCATED_STREAM;
+        int emitted = truncated ? pieces.size() / 2 : pieces.size();
+        long created = clock.instant().getEpochSecond();
+        List<String> events = new ArrayList<>(emitted + 3);
+        for (int i = 0; i < emitted; i++) {
+            ObjectNode delta = objectMapper.createObjectNode();
+            if (i == 0) {
+                delta.put("role", "assistant");
+            }
+            delta.put("content", pieces.get(i));
+            events.add(write(chunkEnvelope(completion, created, delta, null)));
+        }
+        if (truncated) {
+            return events;
+        }
+        ObjectNode finish = chunkEnvelope(completion, created, objectMapper.createObjectNode(), completion.finishReason());
+        events.add(write(finish));
+        if (completion.includeUsage()) {
+            ObjectNode usageChunk = envelope(completion, created, "chat.completion.chunk");
+            usageChunk.putArray("choices");
+            usageChunk.set("usage", usage(completion));
+            events.add(write(usageChunk));
+        }
+        events.add(DONE);
+        return events;
+    }
+
+    String completionBody(SimulatedCompletion completion) {
+        ObjectNode root = envelope(completion, clock.instant().getEpochSecond(), "chat.completion");
+        ObjectNode choice = root.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.putObject("message").put("role", "assistant").put("content", completion.content());
+        choice.put("finish_reason", completion.finishReason());
+        root.set("usage", usage(completion));
+        return write(root);
+    }
+
+    private void stream(ServerResponse.SseBuilder sse, SimulatedCompletion completion) {
+        List<String> events = streamEvents(completion);
+        Duration interval = events.size() <= 1 ? Duration.ZERO : completion.generation().dividedBy(events.size());
+        Disposable subscription = Flux.fromIterable(events)
+                .delayElements(interval)
+                .delaySubscription(completion.firstByte())
+                .subscribe(event -> send(sse, event), sse::error, sse::complete);
+        sse.onError(ex -> subscription.dispose());
+        sse.onTimeout(subscription::dispose);
+    }
+
+    private static void send(ServerResponse.SseBuilder sse, String data) {
+        try {
+            sse.data(data);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String errorBody(SimulatedCompletion completion) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode error = root.putObject("error");
+        switch (completion.fault()) {
+            case RATE_LIMITED -> error.put("code", "RateLimitExceeded.EndpointRPMExceeded")
+                    .put("message", "Simulated rate limit")
+                    .put("type", "TooManyRequests");
+            case TIMEOUT -> error.put("code", "RequestTimeout")
+                    .put("message", "Simulated upstream timeout")
+                    .put("type", "GatewayTimeout");
+            default -> error.put("code", "InternalServiceError")
+                    .put("message", "Simulated internal error")
+                    .put("type", "InternalServerError");
+        }
+        return write(root);
+    }
+
+    private ObjectNode chunkEnvelope(SimulatedCompletion completion, long created, ObjectNode delta, String finish) {
+        ObjectNode root = envelope(completion, created, "chat.completion.chunk");
+        ObjectNode choice = root.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.set("delta", delta);
+        choice.put("finish_reason", finish);
+        return root;
+    }
+
+    private ObjectNode envelope(SimulatedCompletion completion, long created, String object) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("id", completion.id());
+        root.put("object", object);
+        root.put("created", created);
+        root.put("model", completion.model());
+        return root;
+    }
+
+    private ObjectNode usage(SimulatedCompletion completion) {
+        ObjectNode usage = objectMapper.createObjectNode();
+        usage.put("prompt_tokens", completion.promptTokens());
+        usage.put("completion_tokens", completion.completionTokens());
+        usage.put("total_tokens", completion.promptTokens() + completion.completionTokens());
+        return usage;
+    }
+
+    private List<String> chunk(String content) {
+        int size = (int) Math.max(1, Math.round(properties.getTokensPerChunk() * properties.getCharsPerToken()));
+        List<String> pieces = new ArrayList<>(content.length() / size + 1);
+        int start = 0;
+        while (start < content.length()) {
+            int end = Math.min(content.length(), start + size);
+            if (end < content.length() && Character.isHighSurrogate(content.charAt(end - 1))) {
+                end++;
+            }
+            pieces.add(content.substring(start, end));
+            start = end;
+        }
+        return pieces;
+    }
+
+    private int tokens(String text) {
+        return (int) Math.ceil(text.length() / properties.getCharsPerToken());
+    }
+
+    private String write(JsonNode node) {
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to render simulated completion", ex);
+        }
+    }
+
+    private static String truncate(String content, int chars) {
+        int end = Math.min(content.length(), Math.max(0, chars));
+        if (end > 0 && end < content.length() && Character.isHighSurrogate(content.charAt(end - 1))) {
+            end--;
+        }
+        return content.substring(0, end);
+    }
+
+    private static boolean requestsSentinelStop(JsonNode body) {
+        for (JsonNode stop : body.path("stop")) {
+            if (CompletionSentinel.MARKER.equals(stop.asText())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** A continuation request carries the partial answer as the last assistant message; resume right after it. */
+    private static String remainderAfterPartial(String entry, String partial) {
+        if (partial == null || partial.isEmpty() || !entry.startsWith(partial)) {
+            return entry;
+        }
+        return entry.substring(partial.length());
+    }
+
+    private static String inferTerm(List<JsonNode> messages) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            JsonNode message = messages.get(i);
+            if (!"user".equals(message.path("role").asText())) {
+                continue;
+            }
+            Matcher matcher = TERM_PATTERN.matcher(message.path("content").asText(""));
+            if (matcher.find()) {
+                return matcher.group(1).trim();
+            }
+        }
+        String last = lastContent(messages, "user");
+        if (last == null || last.isBlank()) {
+            return "entry";
+        }
+        return last.strip().lines().findFirst().orElse("entry");
+    }
+
+    private static String lastContent(List<JsonNode> messages, String role) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            JsonNode message = messages.get(i);
+            if (role.equals(message.path("role").asText())) {
+                return message.path("content").asText("");
+            }
+        }
+        return null;
+    }
+
+    record SimulatedCompletion(
+            String id,
+            String model,
+            boolean stream,
+            boolean includeUsage,
+            UpstreamFault fault,
+            Duration firstByte,
+            Duration generation,
+            String content,
+            String finishReason,
+            int promptTokens,
+            int completionTokens) {}
+}
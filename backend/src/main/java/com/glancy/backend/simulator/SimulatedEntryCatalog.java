@@ -0,0 +1,99 @@
+package com.glancy.backend.simulator;
+
+import com.glancy.backend.config.SimulatorProperties;
+import com.glancy.backend.llm.completion.CompletionSentinel;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Supplies the text a simulated model "generates" for a term: a recorded output from the replay directory when one
+ * exists, otherwise a synthetic entry shaped like the dictionary prompts' markdown and sized like real answers.
+ */
+@Slf4j
+@Component
+@Profile("simulator")
+class SimulatedEntryCatalog {
+
+    private final Map<String, String> recordings;
+    private final int syntheticEntryChars;
+
+    SimulatedEntryCatalog(SimulatorProperties properties) {
+        SimulatorProperties.Doubao doubao = properties.getDoubao();
+        this.recordings = loadRecordings(doubao.getReplayDirectory());
+        this.syntheticEntryChars = Math.max(200, doubao.getSyntheticEntryChars());
+    }
+
+    String entryFor(String term, RandomGenerator random) {
+        String recorded = recordings.get(term.toLowerCase(Locale.ROOT));
+        if (recorded != null) {
+            return recorded;
+        }
+        int target = (int) (syntheticEntryChars * (0.75 + 0.5 * random.nextDouble()));
+        return synthesize(term, target);
+    }
+
+    int recordingCount() {
+        return recordings.size();
+    }
+
+    static String synthesize(String term, int targetChars) {
+        StringBuilder entry = new StringBuilder(targetChars + 256);
+        entry.append("# ").append(term).append("\n\n");
+        entry.append("## 音标\n- 英式: /").append(term).append("/\n- 美式: /").append(term).append("/\n\n");
+        entry.append("## 释义与例句\n");
+        int sense = 1;
+        while (entry.length() < targetChars) {
+            entry.append("### ").append(sense).append(". 释义：n. noun — 模拟释义 ").append(sense).append('\n');
+            for (int example = 1; example <= 2; example++) {
+                entry.append("- **例句 ")
+                        .append(example)
+                        .append("**: This simulated sentence shows sense ")
+                        .append(sense)
+                        .append(" of ")
+                        .append(term)
+                        .append(" in context.\n  **翻译**: 这是用于压测的模拟例句，展示该词的第 ")
+                        .append(sense)
+                        .append(" 个义项。\n");
+            }
+            sense++;
+        }
+        entry.append("\n").append(CompletionSentinel.MARKER);
+        return entry.toString();
+    }
+
+    private static Map<String, String> loadRecordings(String directory) {
+        Map<String, String> loaded = new HashMap<>();
+        if (!StringUtils.hasText(directory)) {
+            return loaded;
+        }
+        Path root = Path.of(directory);
+        if (!Files.isDirectory(root)) {
+            log.warn("Simulator replay directory {} does not exist; using synthetic entries only", root);
+            return loaded;
+        }
+        try (Stream<Path> files = Files.list(root)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                String name = file.getFileName().toString();
+                int dot = name.lastIndexOf('.');
+                String term = (dot > 0 ? name.substring(0, dot) : name).toLowerCase(Locale.ROOT);
+                loaded.put(term, Files.readString(file, StandardCharsets.UTF_8));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to load simulator recordings from " + root, ex);
+        }
+        log.info("Loaded {} recorded model outputs for replay from {}", loaded.size(), root);
+        return loaded;
+    }
+}
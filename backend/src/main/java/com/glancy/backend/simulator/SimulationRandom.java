@@ -0,0 +1,75 @@
+package com.glancy.backend.simulator;
+
+import com.glancy.backend.config.SimulatorProperties;
+import com.glancy.backend.config.SimulatorProperties.Faults;
+import com.glancy.backend.config.SimulatorProperties.Latency;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out one random generator per simulated request.
+ *
+ * <p>Generators are seeded from the configured seed, the request key (for example the looked-up term) and how often
+ * that key has been seen, not from arrival order. Concurrent load therefore replays identically as long as each key
+ * is requested the same number of times, and a retried request draws fresh numbers instead of repeating its fault.
+ */
+@Component
+@Profile("simulator")
+class SimulationRandom {
+
+    /** Keys are forgotten past this size so that open-ended term sets cannot grow the map without bound. */
+    private static final int MAX_TRACKED_KEYS = 100_000;
+
+    private final long seed;
+    private final ConcurrentMap<String, AtomicLong> occurrences = new ConcurrentHashMap<>();
+
+    SimulationRandom(SimulatorProperties properties) {
+        this.seed = properties.getSeed();
+    }
+
+    RandomGenerator forRequest(String channel, String key) {
+        if (occurrences.size() > MAX_TRACKED_KEYS) {
+            occurrences.clear();
+        }
+        String scoped = channel + '\u0000' + key;
+        long occurrence = occurrences.computeIfAbsent(scoped, k -> new AtomicLong()).getAndIncrement();
+        long mixed = seed;
+        mixed = 31 * mixed + scoped.hashCode();
+        mixed = 31 * mixed + occurrence;
+        return new SplittableRandom(mixed);
+    }
+
+    static Duration lognormal(RandomGenerator random, Latency latency) {
+        double factor = Math.exp(latency.getSigma() * random.nextGaussian());
+        return Duration.ofNanos(Math.round(latency.getMedian().toNanos() * factor));
+    }
+
+    static double lognormal(RandomGenerator random, double median, double sigma) {
+        return median * Math.exp(sigma * random.nextGaussian());
+    }
+
+    /** Draws at most one fault; the random number is consumed even when all rates are zero to keep sequences stable. */
+    static UpstreamFault fault(RandomGenerator random, Faults faults, boolean stream) {
+        double roll = random.nextDouble();
+        double threshold = faults.getRateLimitedRate();
+        if (roll < threshold) {
+            return UpstreamFault.RATE_LIMITED;
+        }
+        threshold += faults.getServerErrorRate();
+        if (roll < threshold) {
+            return UpstreamFault.SERVER_ERROR;
+        }
+        threshold += faults.getTimeoutRate();
+        if (roll < threshold) {
+            return UpstreamFault.TIMEOUT;
+        }
+        threshold += stream ? faults.getTruncatedStreamRate() : 0;
+        return roll < threshold ? UpstreamFault.TRUNCATED_STREAM : UpstreamFault.NONE;
+    }
+}
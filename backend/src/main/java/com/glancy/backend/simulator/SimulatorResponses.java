@@ -0,0 +1,30 @@
+package com.glancy.backend.simulator;
+
+import java.time.Duration;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Builds delayed responses without parking a servlet thread: the request goes async and the response is released by a
+ * Reactor timer, so thousands of slow simulated calls cost no more than a few scheduler threads.
+ */
+final class SimulatorResponses {
+
+    /** Extra time granted to the async request beyond the planned delay before the container times it out. */
+    static final Duration ASYNC_GRACE = Duration.ofSeconds(30);
+
+    private SimulatorResponses() {}
+
+    static ServerResponse delayed(Duration delay, ServerResponse response) {
+        return ServerResponse.async(Mono.delay(delay).thenReturn(response), delay.plus(ASYNC_GRACE));
+    }
+
+    static ServerResponse delayedJson(Duration delay, UpstreamFault fault, String body) {
+        return delayed(
+                delay,
+                ServerResponse.status(fault.status())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body));
+    }
+}
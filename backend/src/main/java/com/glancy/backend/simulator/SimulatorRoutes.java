@@ -0,0 +1,30 @@
+package com.glancy.backend.simulator;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+/**
+ * Mounts the upstream simulators under {@code /simulator}. Only active with the {@code simulator} profile, which also
+ * points {@code thirdparty.doubao} and {@code tts.volcengine} at these routes (see {@code application-simulator.yml}).
+ * The routes are functional endpoints because a single handler has to answer with either a delayed JSON body or an
+ * SSE stream depending on the request payload.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("simulator")
+public class SimulatorRoutes {
+
+    public static final String DOUBAO_CHAT_PATH = "/simulator/doubao/api/v3/chat/completions";
+    public static final String VOLCENGINE_TTS_PATH = "/simulator/volcengine/api/v1/tts";
+
+    @Bean
+    RouterFunction<ServerResponse> simulatorRouter(DoubaoChatSimulator doubao, VolcengineTtsSimulator tts) {
+        return RouterFunctions.route()
+                .POST(DOUBAO_CHAT_PATH, doubao::handle)
+                .POST(VOLCENGINE_TTS_PATH, tts::handle)
+                .build();
+    }
+}
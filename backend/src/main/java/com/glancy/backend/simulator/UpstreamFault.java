@@ -0,0 +1,29 @@
+package com.glancy.backend.simulator;
+
+import org.springframework.http.HttpStatus;
+
+/** Failure modes the simulators can inject into an upstream response. */
+enum UpstreamFault {
+    NONE(HttpStatus.OK),
+    RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS),
+    SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR),
+    /** Keeps the connection open for the configured hang time, then answers 504. */
+    TIMEOUT(HttpStatus.GATEWAY_TIMEOUT),
+    /** Streams half of the chunks and closes the stream without a finish reason or {@code [DONE]}. */
+    TRUNCATED_STREAM(HttpStatus.OK);
+
+    private final HttpStatus status;
+
+    UpstreamFault(HttpStatus status) {
+        this.status = status;
+    }
+
+    HttpStatus status() {
+        return status;
+    }
+
+    /** Whether the fault replaces the whole response with an error status. */
+    boolean failsRequest() {
+        return status.isError();
+    }
+}
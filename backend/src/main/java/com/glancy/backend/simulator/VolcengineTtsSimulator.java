@@ -0,0 +1,100 @@
+package com.glancy.backend.simulator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.glancy.backend.config.SimulatorProperties;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+/**
+ * Volcengine-compatible {@code /api/v1/tts} endpoint for load tests.
+ *
+ * <p>Audio length follows the text length and {@code speed_ratio}; the payload is sized for the configured bitrate
+ * so base64 decoding, caching and upload paths handle production-sized bodies. Latency is a lognormal base plus a
+ * real-time factor of the audio length.
+ */
+@Component
+@Profile("simulator")
+class VolcengineTtsSimulator {
+
+    static final int SUCCESS_CODE = 3000;
+
+    private static final Duration MIN_AUDIO = Duration.ofMillis(300);
+
+    private final SimulatorProperties.Tts properties;
+    private final SimulationRandom randoms;
+    private final ObjectMapper objectMapper;
+
+    VolcengineTtsSimulator(SimulatorProperties properties, SimulationRandom randoms, ObjectMapper objectMapper) {
+        this.properties = properties.getTts();
+        this.randoms = randoms;
+        this.objectMapper = objectMapper;
+    }
+
+    ServerResponse handle(ServerRequest request) throws ServletException, IOException {
+        SimulatedSynthesis synthesis = simulate(request.body(JsonNode.class));
+        return SimulatorResponses.delayedJson(synthesis.latency(), synthesis.fault(), synthesis.body());
+    }
+
+    SimulatedSynthesis simulate(JsonNode body) {
+        String text = body.path("request").path("text").asText("");
+        String voice = body.path("audio").path("voice_type").asText("");
+        String reqId = body.path("request").path("reqid").asText("");
+        RandomGenerator random = randoms.forRequest("tts", voice + '\u0000' + text);
+
+        UpstreamFault fault = SimulationRandom.fault(random, properties.getFaults(), false);
+        if (fault.failsRequest()) {
+            Duration latency = fault == UpstreamFault.TIMEOUT
+                    ? properties.getFaults().getTimeoutHang()
+                    : SimulationRandom.lognormal(random, properties.getFaults().getErrorLatency());
+            return new SimulatedSynthesis(fault, latency, Duration.ZERO, errorBody(reqId, fault));
+        }
+
+        double speed = body.path("audio").path("speed_ratio").asDouble(1.0);
+        long characters = text.codePointCount(0, text.length());
+        long spoken = Math.round(characters * properties.getAudioPerChar().toMillis() / Math.max(0.1, speed));
+        long audioMillis = Math.max(MIN_AUDIO.toMillis(), spoken);
+        byte[] audio = new byte[(int) (audioMillis * properties.getBitrateKbps() / 8)];
+        random.nextBytes(audio);
+        Duration latency = SimulationRandom.lognormal(random, properties.getLatency())
+                .plusMillis(Math.round(audioMillis * properties.getRealTimeFactor()));
+
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("reqid", reqId);
+        root.put("code", SUCCESS_CODE);
+        root.put("operation", body.path("request").path("operation").asText("query"));
+        root.put("message", "Success");
+        root.put("sequence", -1);
+        root.put("data", Base64.getEncoder().encodeToString(audio));
+        root.putObject("addition").put("duration", Long.toString(audioMillis));
+        return new SimulatedSynthesis(fault, latency, Duration.ofMillis(audioMillis), write(root));
+    }
+
+    private String errorBody(String reqId, UpstreamFault fault) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("reqid", reqId);
+        root.put("code", fault == UpstreamFault.RATE_LIMITED ? 3005 : 3031);
+        root.put("message", "Simulated " + fault.name().toLowerCase(Locale.ROOT).replace('_', ' '));
+        return write(root);
+    }
+
+    private String write(JsonNode node) {
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to render simulated synthesis", ex);
+        }
+    }
+
+    record SimulatedSynthesis(UpstreamFault fault, Duration latency, Duration audio, String body) {}
+}
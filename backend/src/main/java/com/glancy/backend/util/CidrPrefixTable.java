@@ -0,0 +1,225 @@
+package com.glancy.backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable longest-prefix-match table from CIDR blocks to values, backed by one binary trie per address family.
+ *
+ * <p>Nodes live in flat {@code int} arrays (two child slots per node plus a value slot), so a lookup is at most 32 or
+ * 128 array reads and allocates nothing, whatever the number of rules; tables with tens of thousands of blocks, such
+ * as country-level geo-IP data, stay cheap. When the same block is added twice the first value wins. Client addresses
+ * are parsed with {@link IpAddressLiterals}, so IPv4-mapped IPv6 addresses match IPv4 blocks and malformed input
+ * simply misses.
+ */
+public final class CidrPrefixTable<V> {
+
+    private final Trie ipv4;
+    private final Trie ipv6;
+    private final Object[] values;
+    private final IpAddressLiterals.Visitor<V> lookupVisitor = new IpAddressLiterals.Visitor<>() {
+        @Override
+        public V ipv4(int address) {
+            return CidrPrefixTable.this.lookupIpv4(address);
+        }
+
+        @Override
+        public V ipv6(long high, long low) {
+            return CidrPrefixTable.this.lookupIpv6(high, low);
+        }
+
+        @Override
+        public V invalid() {
+            return null;
+        }
+    };
+
+    private CidrPrefixTable(Trie ipv4, Trie ipv6, Object[] values) {
+        this.ipv4 = ipv4;
+        this.ipv6 = ipv6;
+        this.values = values;
+    }
+
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    /** Returns the value of the most specific block containing {@code address}, or {@code null}. */
+    public V lookup(CharSequence address) {
+        return IpAddressLiterals.parse(address, lookupVisitor);
+    }
+
+    public V lookupIpv4(int address) {
+        return valueAt(ipv4.longestMatch((long) address << 32, 0L, 32));
+    }
+
+    public V lookupIpv6(long high, long low) {
+        return valueAt(ipv6.longestMatch(high, low, 128));
+    }
+
+    /** Number of distinct blocks in the table. */
+    public int size() {
+        return values.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int index) {
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /** Collects blocks; not thread-safe. */
+    public static final class Builder<V> {
+
+        private final Trie ipv4 = new Trie();
+        private final Trie ipv6 = new Trie();
+        private final List<Object> values = new ArrayList<>();
+
+        private Builder() {}
+
+        /**
+         * Adds a block in {@code address/prefix} notation. Host bits beyond the prefix are ignored. An IPv4-mapped
+         * IPv6 block of at least {@code /96} is stored as the IPv4 block it covers.
+         *
+         * @throws IllegalArgumentException when {@code cidr} is not a valid block
+         */
+        public Builder<V> add(String cidr, V value) {
+            Objects.requireNonNull(value, "value");
+            int slash = cidr == null ? -1 : cidr.indexOf('/');
+            if (slash < 0) {
+                throw new IllegalArgumentException("Invalid CIDR expression: " + cidr);
+            }
+            String address = cidr.substring(0, slash);
+            Block block = IpAddressLiterals.parse(address, BlockParser.INSTANCE);
+            if (block == null) {
+                throw new IllegalArgumentException("Invalid IP address in CIDR " + cidr);
+            }
+            boolean mappedIpv4 = !block.ipv6() && address.indexOf(':') >= 0;
+            int prefix = parsePrefix(cidr.substring(slash + 1).trim(), block.ipv6() || mappedIpv4 ? 128 : 32, cidr);
+            if (mappedIpv4) {
+                if (prefix < 96) {
+                    throw new IllegalArgumentException("IPv4-mapped CIDR must have a prefix of at least 96: " + cidr);
+                }
+                prefix -= 96;
+            }
+            Trie trie = block.ipv6() ? ipv6 : ipv4;
+            if (trie.insert(block.high(), block.low(), prefix, values.size())) {
+                values.add(value);
+            }
+            return this;
+        }
+
+        public CidrPrefixTable<V> build() {
+            return new CidrPrefixTable<>(ipv4.compact(), ipv6.compact(), values.toArray());
+        }
+
+        private static int parsePrefix(String prefix, int maxBits, String cidr) {
+            try {
+                int parsed = Integer.parseInt(prefix);
+                if (parsed < 0 || parsed > maxBits) {
+                    throw new IllegalArgumentException("CIDR prefix out of range in " + cidr);
+                }
+                return parsed;
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid CIDR prefix in " + cidr, ex);
+            }
+        }
+    }
+
+    /** Address bits left-aligned in {@code (high, low)}; IPv4 uses the top 32 bits of {@code high}. */
+    private record Block(boolean ipv6, long high, long low) {}
+
+    private enum BlockParser implements IpAddressLiterals.Visitor<Block> {
+        INSTANCE;
+
+        @Override
+        public Block ipv4(int address) {
+            return new Block(false, (long) address << 32, 0L);
+        }
+
+        @Override
+        public Block ipv6(long high, long low) {
+            return new Block(true, high, low);
+        }
+
+        @Override
+        public Block invalid() {
+            return null;
+        }
+    }
+
+    /**
+     * Binary trie over address bits, most significant first. Node 0 is the root; a child slot of 0 therefore means
+     * "no child". Value slots hold an index into the table's value array or -1.
+     */
+    private static final class Trie {
+
+        private int[] children;
+        private int[] valueIndexes;
+        private int nodes;
+
+        Trie() {
+            this(new int[32], new int[16], 1);
+            Arrays.fill(valueIndexes, -1);
+        }
+
+        private Trie(int[] children, int[] valueIndexes, int nodes) {
+            this.children = children;
+            this.valueIndexes = valueIndexes;
+            this.nodes = nodes;
+        }
+
+        /** Returns {@code false} when the block is already present. */
+        boolean insert(long high, long low, int prefix, int valueIndex) {
+            int node = 0;
+            for (int depth = 0; depth < prefix; depth++) {
+                int slot = 2 * node + bit(high, low, depth);
+                int child = children[slot];
+                if (child == 0) {
+                    child = allocate();
+                    children[slot] = child;
+                }
+                node = child;
+            }
+            if (valueIndexes[node] >= 0) {
+                return false;
+            }
+            valueIndexes[node] = valueIndex;
+            return true;
+        }
+
+        int longestMatch(long high, long low, int bits) {
+            int node = 0;
+            int best = valueIndexes[0];
+            for (int depth = 0; depth < bits; depth++) {
+                node = children[2 * node + bit(high, low, depth)];
+                if (node == 0) {
+                    break;
+                }
+                if (valueIndexes[node] >= 0) {
+                    best = valueIndexes[node];
+                }
+            }
+            return best;
+        }
+
+        Trie compact() {
+            return new Trie(Arrays.copyOf(children, 2 * nodes), Arrays.copyOf(valueIndexes, nodes), nodes);
+        }
+
+        private int allocate() {
+            if (nodes == valueIndexes.length) {
+                int capacity = nodes * 2;
+                children = Arrays.copyOf(children, 2 * capacity);
+                valueIndexes = Arrays.copyOf(valueIndexes, capacity);
+                Arrays.fill(valueIndexes, nodes, capacity, -1);
+            }
+            return nodes++;
+        }
+
+        private static int bit(long high, long low, int depth) {
+            return (int) (depth < 64 ? high >>> (63 - depth) : low >>> (127 - depth)) & 1;
+        }
+    }
+}
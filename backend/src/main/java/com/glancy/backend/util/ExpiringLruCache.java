@@ -0,0 +1,120 @@
+package com.glancy.backend.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded LRU cache whose entries expire a fixed time after they were stored, for per-user state that is cheap to
+ * keep in memory but must never outlive a write to its source.
+ *
+ * <p>Every invalidation or replacement bumps a counter; a load that overlaps one, for any key, is returned to its
+ * caller but not cached, so a load racing a write cannot re-cache what the write just replaced. Callers that write
+ * inside a transaction invalidate now and again once it commits (see {@link TransactionCallbacks#afterCommit}).
+ * {@code null} values are never cached.
+ */
+public final class ExpiringLruCache<K, V> {
+
+    private final Map<K, Entry<V>> entries;
+    private final Duration ttl;
+    private final Clock clock;
+    private long invalidations;
+
+    public ExpiringLruCache(int maxEntries, Duration ttl, Clock clock) {
+        int capacity = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /** Returns the cached value or loads and caches it. */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        return get(key, value -> true, loader);
+    }
+
+    /** Like {@link #get(Object, Function)}, but a cached value failing {@code usable} counts as a miss. */
+    public V get(K key, Predicate<? super V> usable, Function<? super K, ? extends V> loader) {
+        long observedInvalidations;
+        synchronized (this) {
+            V cached = fresh(key, usable);
+            if (cached != null) {
+                return cached;
+            }
+            observedInvalidations = invalidations;
+        }
+        V loaded = loader.apply(key);
+        putUnlessInvalidated(key, loaded, observedInvalidations);
+        return loaded;
+    }
+
+    /**
+     * Like {@link #get(Object, Function)}, but caches the loaded value only once the current transaction commits, so
+     * that state created by a transaction that rolls back is never cached.
+     */
+    public V getAfterCommit(K key, Function<? super K, ? extends V> loader) {
+        long observedInvalidations;
+        synchronized (this) {
+            V cached = fresh(key, value -> true);
+            if (cached != null) {
+                return cached;
+            }
+            observedInvalidations = invalidations;
+        }
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            TransactionCallbacks.afterCommit(() -> putUnlessInvalidated(key, loaded, observedInvalidations));
+        }
+        return loaded;
+    }
+
+    /** Returns the cached value if it has not expired, without loading. */
+    public synchronized V getIfPresent(K key) {
+        return fresh(key, value -> true);
+    }
+
+    /** Stores {@code value} in place of the current entry, discarding loads in flight. */
+    public synchronized void replace(K key, V value) {
+        invalidations++;
+        if (value == null) {
+            entries.remove(key);
+        } else {
+            entries.put(key, new Entry<>(value, Instant.now(clock)));
+        }
+    }
+
+    /** Drops the entry, discarding loads in flight. */
+    public void invalidate(K key) {
+        replace(key, null);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private V fresh(K key, Predicate<? super V> usable) {
+        Entry<V> cached = entries.get(key);
+        if (cached == null
+                || cached.storedAt().isBefore(Instant.now(clock).minus(ttl))
+                || !usable.test(cached.value())) {
+            return null;
+        }
+        return cached.value();
+    }
+
+    private synchronized void putUnlessInvalidated(K key, V value, long observedInvalidations) {
+        if (value != null && invalidations == observedInvalidations) {
+            entries.put(key, new Entry<>(value, Instant.now(clock)));
+        }
+    }
+
+    private record Entry<V>(V value, Instant storedAt) {}
+}
@@ -0,0 +1,208 @@
+package com.glancy.backend.util;
+
+/**
+ * Parses textual IPv4 and IPv6 addresses without allocating and without ever touching DNS, unlike
+ * {@link java.net.InetAddress#getByName(String)} which resolves anything that is not a literal.
+ *
+ * <p>Accepted forms are dotted-quad IPv4 (no leading zeros, so that {@code 010} is never read as octal) and RFC 4291
+ * IPv6 including {@code ::} compression and an embedded IPv4 tail. Surrounding whitespace, square brackets and an
+ * IPv6 zone id ({@code %eth0}) are ignored. IPv4-mapped IPv6 addresses ({@code ::ffff:a.b.c.d}) are reported as the
+ * IPv4 address they carry, so that both spellings of a client address match the same IPv4 rules.
+ */
+public final class IpAddressLiterals {
+
+    private static final long INVALID = -1L;
+
+    private IpAddressLiterals() {}
+
+    /** Receives the parsed address; implementations are usually long-lived so that parsing stays allocation-free. */
+    public interface Visitor<R> {
+
+        R ipv4(int address);
+
+        /** Called with the 128-bit address split into its upper and lower 64 bits. */
+        R ipv6(long high, long low);
+
+        R invalid();
+    }
+
+    public static <R> R parse(CharSequence text, Visitor<R> visitor) {
+        if (text == null) {
+            return visitor.invalid();
+        }
+        int from = 0;
+        int to = text.length();
+        while (from < to && text.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && text.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        if (to - from >= 2 && text.charAt(from) == '[' && text.charAt(to - 1) == ']') {
+            from++;
+            to--;
+        }
+        int colon = indexOf(text, ':', from, to);
+        if (colon < 0) {
+            long address = parseIpv4(text, from, to);
+            return address == INVALID ? visitor.invalid() : visitor.ipv4((int) address);
+        }
+        int zone = indexOf(text, '%', from, to);
+        return parseIpv6(text, from, zone < 0 ? to : zone, visitor);
+    }
+
+    /** Returns whether {@code text} is an address literal accepted by {@link #parse}. */
+    public static boolean isLiteral(CharSequence text) {
+        return parse(text, LiteralCheck.INSTANCE);
+    }
+
+    private static long parseIpv4(CharSequence text, int from, int to) {
+        long address = 0;
+        int octets = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = from; i <= to; i++) {
+            char c = i < to ? text.charAt(i) : '.';
+            if (c >= '0' && c <= '9') {
+                if (digits > 0 && value == 0) {
+                    return INVALID;
+                }
+                value = value * 10 + (c - '0');
+                digits++;
+                if (value > 255) {
+                    return INVALID;
+                }
+            } else if (c == '.' && digits > 0 && octets < 4) {
+                address = (address << 8) | value;
+                octets++;
+                value = 0;
+                digits = 0;
+            } else {
+                return INVALID;
+            }
+        }
+        return octets == 4 ? address : INVALID;
+    }
+
+    private static <R> R parseIpv6(CharSequence text, int from, int to, Visitor<R> visitor) {
+        // Groups are shifted into (high, low) as they are read. Once "::" is seen the groups read so far are parked in
+        // (headHigh, headLow) and the tail is accumulated right-aligned, so the gap never has to be known in advance.
+        long high = 0;
+        long low = 0;
+        long headHigh = 0;
+        long headLow = 0;
+        int groups = 0;
+        int headGroups = -1;
+        int i = from;
+        if (to - from >= 2 && text.charAt(from) == ':' && text.charAt(from + 1) == ':') {
+            headGroups = 0;
+            i += 2;
+        }
+        while (i < to) {
+            int start = i;
+            int value = 0;
+            while (i < to && i - start < 5) {
+                int digit = hexDigit(text.charAt(i));
+                if (digit < 0) {
+                    break;
+                }
+                value = (value << 4) | digit;
+                i++;
+            }
+            if (i < to && text.charAt(i) == '.') {
+                long embedded = groups <= 6 ? parseIpv4(text, start, to) : INVALID;
+                if (embedded == INVALID) {
+                    return visitor.invalid();
+                }
+                high = (high << 32) | (low >>> 32);
+                low = (low << 32) | embedded;
+                groups += 2;
+                break;
+            }
+            int length = i - start;
+            if (length == 0 || length > 4 || ++groups > 8) {
+                return visitor.invalid();
+            }
+            high = (high << 16) | (low >>> 48);
+            low = (low << 16) | value;
+            if (i == to) {
+                break;
+            }
+            if (text.charAt(i) != ':' || ++i == to) {
+                return visitor.invalid();
+            }
+            if (text.charAt(i) == ':') {
+                if (headGroups >= 0) {
+                    return visitor.invalid();
+                }
+                headGroups = groups;
+                headHigh = high;
+                headLow = low;
+                high = 0;
+                low = 0;
+                i++;
+            }
+        }
+        if (headGroups < 0) {
+            if (groups != 8) {
+                return visitor.invalid();
+            }
+        } else {
+            if (groups > 7) {
+                return visitor.invalid();
+            }
+            int shift = 16 * (8 - headGroups);
+            if (shift < 64) {
+                high |= (headHigh << shift) | (headLow >>> (64 - shift));
+                low |= headLow << shift;
+            } else if (shift < 128) {
+                high |= headLow << (shift - 64);
+            }
+        }
+        if (high == 0 && (low >>> 32) == 0xFFFFL) {
+            return visitor.ipv4((int) low);
+        }
+        return visitor.ipv6(high, low);
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static int indexOf(CharSequence text, char target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private enum LiteralCheck implements Visitor<Boolean> {
+        INSTANCE;
+
+        @Override
+        public Boolean ipv4(int address) {
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public Boolean ipv6(long high, long low) {
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public Boolean invalid() {
+            return Boolean.FALSE;
+        }
+    }
+}
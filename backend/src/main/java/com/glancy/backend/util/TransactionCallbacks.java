@@ -0,0 +1,24 @@
+package com.glancy.backend.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Defers work to the commit of the surrounding transaction, so that a rollback never leaves its effects behind. */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {}
+
+    /** Runs {@code action} once the current transaction commits, or right away when there is none. */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
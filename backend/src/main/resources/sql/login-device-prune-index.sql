@@ -0,0 +1,3 @@
+-- Logins prune surplus devices with one windowed DELETE ranked by (login_time, id) per user.
+-- Run before deploying so the ranking reads a single user's rows from the index.
+CREATE INDEX idx_login_devices_user_time ON login_devices (user_id, login_time);
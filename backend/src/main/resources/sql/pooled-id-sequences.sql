@@ -0,0 +1,32 @@
+-- High-volume tables draw ids from pooled sequences (emulated as tables on MySQL) instead of
+-- AUTO_INCREMENT so that Hibernate can batch their inserts. Run before deploying so that each
+-- sequence starts above the ids already in use.
+CREATE TABLE IF NOT EXISTS search_records_seq (next_val BIGINT);
+INSERT INTO search_records_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM search_records
+WHERE NOT EXISTS (SELECT 1 FROM search_records_seq);
+ALTER TABLE search_records MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE IF NOT EXISTS search_result_versions_seq (next_val BIGINT);
+INSERT INTO search_result_versions_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM search_result_versions
+WHERE NOT EXISTS (SELECT 1 FROM search_result_versions_seq);
+ALTER TABLE search_result_versions MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE IF NOT EXISTS words_seq (next_val BIGINT);
+INSERT INTO words_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM words
+WHERE NOT EXISTS (SELECT 1 FROM words_seq);
+ALTER TABLE words MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE IF NOT EXISTS tts_usage_seq (next_val BIGINT);
+INSERT INTO tts_usage_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM tts_usage
+WHERE NOT EXISTS (SELECT 1 FROM tts_usage_seq);
+ALTER TABLE tts_usage MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE IF NOT EXISTS email_verification_codes_seq (next_val BIGINT);
+INSERT INTO email_verification_codes_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM email_verification_codes
+WHERE NOT EXISTS (SELECT 1 FROM email_verification_codes_seq);
+ALTER TABLE email_verification_codes MODIFY id BIGINT NOT NULL;
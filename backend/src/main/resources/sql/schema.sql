@@ -11,11 +11,12 @@ CREATE TABLE IF NOT EXISTS users (
   createdAt DATETIME (6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
   updatedAt DATETIME (6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
   lastLoginAt DATETIME,
-  loginToken VARCHAR(64)
+  loginToken VARCHAR(64),
+  settings_revision BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE IF NOT EXISTS search_records (
-  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  id BIGINT NOT NULL PRIMARY KEY,
   user_id BIGINT NOT NULL,
   term VARCHAR(100) NOT NULL,
   language VARCHAR(10) NOT NULL,
@@ -23,11 +24,12 @@ CREATE TABLE IF NOT EXISTS search_records (
   createdAt DATETIME (6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
   updatedAt DATETIME (6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
   favorite BOOLEAN NOT NULL DEFAULT FALSE,
+  version_count INT NOT NULL DEFAULT 0,
   CONSTRAINT fk_search_record_user FOREIGN KEY (user_id) REFERENCES users (id)
 );
 
 CREATE TABLE IF NOT EXISTS words (
-  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  id BIGINT NOT NULL PRIMARY KEY,
   term VARCHAR(100) NOT NULL,
   normalized_term VARCHAR(120) NOT NULL,
   language VARCHAR(10) NOT NULL,
@@ -126,3 +128,16 @@ CREATE TABLE IF NOT EXISTS user_keyboard_shortcuts (
   CONSTRAINT uk_user_action UNIQUE (user_id, action),
   CONSTRAINT uk_user_binding UNIQUE (user_id, binding)
 );
+
+-- Pooled-id entities take their ids from these sequences (emulated as tables on MySQL) rather than
+-- AUTO_INCREMENT; see pooled-id-sequences.sql for migrating an existing database.
+CREATE TABLE IF NOT EXISTS search_records_seq (next_val BIGINT);
+INSERT INTO search_records_seq (next_val) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM search_records_seq);
+CREATE TABLE IF NOT EXISTS search_result_versions_seq (next_val BIGINT);
+INSERT INTO search_result_versions_seq (next_val) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM search_result_versions_seq);
+CREATE TABLE IF NOT EXISTS words_seq (next_val BIGINT);
+INSERT INTO words_seq (next_val) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM words_seq);
+CREATE TABLE IF NOT EXISTS tts_usage_seq (next_val BIGINT);
+INSERT INTO tts_usage_seq (next_val) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM tts_usage_seq);
+CREATE TABLE IF NOT EXISTS email_verification_codes_seq (next_val BIGINT);
+INSERT INTO email_verification_codes_seq (next_val) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM email_verification_codes_seq);
@@ -0,0 +1,6 @@
+-- Version numbers are reserved by incrementing search_records.version_count instead of reading max(version_number),
+-- so the synchronous path and the write-behind flusher cannot assign the same number to one record.
+ALTER TABLE search_records ADD COLUMN version_count INT NOT NULL DEFAULT 0;
+UPDATE search_records r
+SET version_count = (SELECT COALESCE(MAX(v.version_number), 0) FROM search_result_versions v
+                     WHERE v.search_record_id = r.id);
@@ -0,0 +1,2 @@
+-- Preference, profile and shortcut writes bump this counter; GET endpoints derive their ETag from it.
+ALTER TABLE users ADD COLUMN settings_revision BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,13 @@
+-- Verification codes keep one row per (email, purpose) that is overwritten on every issue and
+-- hard-deleted after expiry. Run before deploying: keep only the latest row of each pair, then
+-- replace the old lookup indexes with the unique key and the sweeper's expiry index.
+DELETE c FROM email_verification_codes c
+JOIN email_verification_codes newer
+  ON newer.email = c.email AND newer.purpose = c.purpose
+ AND (newer.created_at > c.created_at OR (newer.created_at = c.created_at AND newer.id > c.id));
+DELETE FROM email_verification_codes WHERE expires_at < NOW() - INTERVAL 1 HOUR;
+ALTER TABLE email_verification_codes DROP INDEX idx_email_purpose_active;
+ALTER TABLE email_verification_codes DROP INDEX idx_email_created;
+ALTER TABLE email_verification_codes
+  ADD CONSTRAINT uk_email_verification_email_purpose UNIQUE (email, purpose);
+CREATE INDEX idx_email_verification_expires ON email_verification_codes (expires_at);
@@ -1,13 +1,18 @@
 package com.glancy.backend.client;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.glancy.backend.config.DoubaoProperties;
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
+import com.glancy.backend.llm.llm.DictionaryModelCallMetrics;
 import com.glancy.backend.llm.llm.DictionaryModelRequestOptions;
 import com.glancy.backend.llm.model.ChatMessage;
 import com.glancy.backend.llm.model.ChatRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
@@ -59,6 +64,8 @@ class DoubaoClientTest {
     private DoubaoClient client;
     private DoubaoProperties properties;
     private DoubaoOfflineResponseBuilder offlineResponseBuilder;
+    private SimpleMeterRegistry meterRegistry;
+    private DictionaryModelCallMetrics callMetrics;
 
     @BeforeEach
     void setUp() {
@@ -68,6 +75,8 @@ class DoubaoClientTest {
         properties.setApiKey(" key ");
         properties.setModel("test-model");
         offlineResponseBuilder = new DoubaoOfflineResponseBuilder();
+        meterRegistry = new SimpleMeterRegistry();
+        callMetrics = new DictionaryModelCallMetrics(meterRegistry);
     }
 
     @Test
@@ -77,7 +86,7 @@ class DoubaoClientTest {
      */
     void GivenValidResponse_WhenGenerateEntry_ThenReturnAssistantContent() {
         ExchangeFunction ef = this::successResponse;
-        client = new DoubaoClient(WebClient.builder().exchangeFunction(ef), properties, offlineResponseBuilder);
+        client = newClient(ef);
         String result = client.generateEntry(List.of(new ChatMessage(ChatRole.USER.role(), "hi")), 0.5);
         assertEquals("hi", result);
     }
@@ -95,7 +104,7 @@ class DoubaoClientTest {
             assertTrue(requestBody.contains("\"thinking\":{\"type\":\"disabled\"}"));
             return Mono.just(ClientResponse.create(HttpStatus.UNAUTHORIZED).build());
         };
-        client = new DoubaoClient(WebClient.builder().exchangeFunction(ef), properties, offlineResponseBuilder);
+        client = newClient(ef);
         assertThrows(
                 com.glancy.backend.exception.UnauthorizedException.class,
                 () -> client.generateEntry(List.of(new ChatMessage(ChatRole.USER.role(), "hi")), 0.5));
@@ -109,10 +118,17 @@ class DoubaoClientTest {
     void GivenServerError_WhenGenerateEntry_ThenThrowBusinessException() {
         ExchangeFunction ef = req -> Mono.just(
                 ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
-        client = new DoubaoClient(WebClient.builder().exchangeFunction(ef), properties, offlineResponseBuilder);
+        client = newClient(ef);
         assertThrows(
                 com.glancy.backend.exception.BusinessException.class,
                 () -> client.generateEntry(List.of(new ChatMessage(ChatRole.USER.role(), "hi")), 0.5));
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("glancy.llm.request.errors")
+                        .tag("status_class", "5xx")
+                        .counter()
+                        .count());
     }
 
     @Test
@@ -130,13 +146,129 @@ class DoubaoClientTest {
                     .body("{\"choices\":[]}")
                     .build());
         };
-        client = new DoubaoClient(WebClient.builder().exchangeFunction(ef), properties, offlineResponseBuilder);
+        client = newClient(ef);
         DictionaryModelRequestOptions options =
                 DictionaryModelRequestOptions.builder().thinkingType("detailed").build();
         String result = client.generateEntry(List.of(new ChatMessage(ChatRole.USER.role(), "hi")), 0.5, options);
         assertEquals("", result);
     }
 
+    @Test
+    /**
+     * 测试目标：确认不下发停止序列，模型自然结束（finish_reason=stop）但未输出哨兵时原样返回，交由哨兵检查拒绝；调用方预算覆盖默认上限。 前置条件：模拟
+     * finish_reason=stop 且内容不含哨兵的响应。 步骤： 1) 携带 maxCompletionTokens 调用 generateEntry 并检查请求体。 断言： - 请求体不含 stop，包含覆盖后的预算； -
+     * 返回内容不补哨兵。
+     */
+    void GivenNaturalStopWithoutSentinel_WhenGenerateEntry_ThenContentIsNotMarkedComplete() {
+        ExchangeFunction ef = req -> {
+            String body = extractRequestBody(req);
+            assertFalse(body.contains("\"stop\""));
+            assertTrue(body.contains("\"max_completion_tokens\":2048"));
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body("{\"choices\":[{\"message\":{\"content\":\"entry\"},\"finish_reason\":\"stop\"}]}")
+                    .build());
+        };
+        client = newClient(ef);
+        DictionaryModelRequestOptions options =
+                DictionaryModelRequestOptions.builder().maxCompletionTokens(2048).build();
+        String result = client.generateEntry(List.of(new ChatMessage(ChatRole.USER.role(), "hi")), 0.5, options);
+        assertEquals("entry", result);
+    }
+
+    @Test
+    /**
+     * 测试目标：验证 usage 块按类型计入 token 指标，且延迟与缺失哨兵按语言/风味打标签。 前置条件：模拟携带 usage 且不含哨兵的 200 响应。 步骤： 1) 携带语言与风味调用
+     * generateEntry。 断言： - prompt/completion/cached 计数与响应一致； - 成功延迟与缺失哨兵各记录一次。
+     */
+    void GivenUsageBlock_WhenGenerateEntry_ThenRecordTokensLatencyAndMissingSentinel() {
+        ExchangeFunction ef = req -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"choices\":[{\"message\":{\"content\":\"entry\"},\"finish_reason\":\"length\"}],"
+                        + "\"usage\":{\"prompt_tokens\":120,\"completion_tokens\":80,"
+                        + "\"prompt_tokens_details\":{\"cached_tokens\":100}}}")
+                .build());
+        client = newClient(ef);
+
+        client.generateEntry(List.of(new ChatMessage(ChatRole.USER.role(), "hi")), 0.5, taggedOptions(false));
+
+        assertEquals(120.0, tokens("prompt"));
+        assertEquals(80.0, tokens("completion"));
+        assertEquals(100.0, tokens("cached"));
+        assertEquals(
+                1L,
+                meterRegistry
+                        .get("glancy.llm.request.latency")
+                        .tags("language", "ENGLISH", "flavor", "BILINGUAL", "outcome", "success")
+                        .timer()
+                        .count());
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("glancy.llm.request.sentinel_missing")
+                        .tag("finish_reason", "length")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    /**
+     * 测试目标：验证流式响应按增量聚合正文，并记录首 token 时间与末块 usage。 前置条件：模拟 text/event-stream 响应，包含两个增量、finish_reason=stop 与 usage
+     * 末块。 步骤： 1) 以 stream=true 调用 generateEntry。 断言： - 请求体开启 stream 与 include_usage； - 返回内容为增量拼接且保留模型输出的哨兵； - TTFT
+     * 记录一次，completion token 计数正确。
+     */
+    void GivenStreamingResponse_WhenGenerateEntry_ThenAggregateDeltasAndRecordTtft() {
+        ExchangeFunction ef = req -> {
+            assertEquals(MediaType.TEXT_EVENT_STREAM_VALUE, req.headers().getFirst(HttpHeaders.ACCEPT));
+            String body = extractRequestBody(req);
+            assertTrue(body.contains("\"stream\":true"));
+            assertTrue(body.contains("\"include_usage\":true"));
+            String events = "data: {\"choices\":[{\"delta\":{\"content\":\"en\"}}]}\n\n"
+                    + "data: {\"choices\":[{\"delta\":{\"content\":\"try<END>\"},\"finish_reason\":\"stop\"}]}\n\n"
+                    + "data: {\"choices\":[],\"usage\":{\"prompt_tokens\":10,\"completion_tokens\":2}}\n\n"
+                    + "data: [DONE]\n\n";
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+                    .body(events)
+                    .build());
+        };
+        client = newClient(ef);
+
+        String result =
+                client.generateEntry(List.of(new ChatMessage(ChatRole.USER.role(), "hi")), 0.5, taggedOptions(true));
+
+        assertEquals("entry<END>", result);
+        assertEquals(
+                1L,
+                meterRegistry
+                        .get("glancy.llm.request.ttft")
+                        .tags("language", "ENGLISH", "flavor", "BILINGUAL")
+                        .timer()
+                        .count());
+        assertEquals(2.0, tokens("completion"));
+    }
+
+    private DoubaoClient newClient(ExchangeFunction ef) {
+        return new DoubaoClient(
+                WebClient.builder().exchangeFunction(ef), properties, offlineResponseBuilder, callMetrics);
+    }
+
+    private DictionaryModelRequestOptions taggedOptions(boolean stream) {
+        return DictionaryModelRequestOptions.builder()
+                .stream(stream)
+                .language(Language.ENGLISH)
+                .flavor(DictionaryFlavor.BILINGUAL)
+                .build();
+    }
+
+    private double tokens(String type) {
+        return meterRegistry
+                .get("glancy.llm.tokens")
+                .tags("model", "test-model", "type", type, "language", "ENGLISH")
+                .counter()
+                .count();
+    }
+
     private Mono<ClientResponse> successResponse(ClientRequest request) {
         assertEquals("http://mock/api/v3/chat/completions", request.url().toString());
         assertEquals("Bearer key", request.headers().getFirst(HttpHeaders.AUTHORIZATION));
@@ -0,0 +1,92 @@
+package com.glancy.backend.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.glancy.backend.config.ControllerLoggingProperties;
+import java.time.Duration;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.LoggerFactory;
+
+class ControllerLoggingAspectTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ControllerLoggingAspect.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private ControllerLoggingProperties properties;
+    private ProceedingJoinPoint joinPoint;
+
+    @BeforeEach
+    void setUp() throws Throwable {
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.INFO);
+        properties = new ControllerLoggingProperties();
+        MethodSignature signature = Mockito.mock(MethodSignature.class);
+        Mockito.when(signature.getDeclaringType()).thenReturn(ControllerLoggingAspectTest.class);
+        Mockito.when(signature.getName()).thenReturn("lookup");
+        Mockito.when(signature.getParameterNames()).thenReturn(new String[] {"payload"});
+        joinPoint = Mockito.mock(ProceedingJoinPoint.class);
+        Mockito.when(joinPoint.getSignature()).thenReturn(signature);
+        Mockito.when(joinPoint.getArgs()).thenReturn(new Object[] {new byte[1024]});
+        Mockito.when(joinPoint.proceed()).thenReturn("ok");
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+
+    /** 成功调用未被采样时不写日志。 */
+    @Test
+    void unsampledSuccessIsNotLogged() throws Throwable {
+        properties.setSuccessSampleRate(0.0);
+
+        new ControllerLoggingAspect(properties).logAround(joinPoint);
+
+        Assertions.assertTrue(appender.list.isEmpty());
+    }
+
+    /** 采样命中时以摘要形式记录参数与返回值。 */
+    @Test
+    void sampledSuccessIsLoggedWithSummaries() throws Throwable {
+        properties.setSuccessSampleRate(1.0);
+
+        new ControllerLoggingAspect(properties).logAround(joinPoint);
+
+        Assertions.assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        Assertions.assertEquals(Level.INFO, event.getLevel());
+        Assertions.assertTrue(event.getFormattedMessage().contains("params={payload=byte[1024]}"));
+    }
+
+    /** 慢调用无论是否采样都以 WARN 记录。 */
+    @Test
+    void slowSuccessIsAlwaysLogged() throws Throwable {
+        properties.setSuccessSampleRate(0.0);
+        properties.setSlowThreshold(Duration.ZERO);
+
+        new ControllerLoggingAspect(properties).logAround(joinPoint);
+
+        Assertions.assertEquals(Level.WARN, appender.list.get(0).getLevel());
+    }
+
+    /** 失败调用始终以 ERROR 记录并继续抛出。 */
+    @Test
+    void failureIsAlwaysLogged() throws Throwable {
+        properties.setSuccessSampleRate(0.0);
+        Mockito.when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+
+        Assertions.assertThrows(
+                IllegalStateException.class, () -> new ControllerLoggingAspect(properties).logAround(joinPoint));
+
+        Assertions.assertEquals(Level.ERROR, appender.list.get(0).getLevel());
+    }
+}
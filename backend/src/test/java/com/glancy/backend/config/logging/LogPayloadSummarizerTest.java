@@ -0,0 +1,57 @@
+package com.glancy.backend.config.logging;
+
+import com.glancy.backend.dto.TtsResponse;
+import com.glancy.backend.dto.WordResponse;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+class LogPayloadSummarizerTest {
+
+    private final LogPayloadSummarizer summarizer = new LogPayloadSummarizer(32, 2);
+
+    /** 音频字节只输出长度，不会被逐字节展开。 */
+    @Test
+    void ttsResponseIsReducedToMetadata() {
+        TtsResponse response = new TtsResponse(new byte[64 * 1024], 1200, "mp3", true);
+
+        String summary = summarizer.summarize(ResponseEntity.ok(response));
+
+        Assertions.assertEquals(
+                "ResponseEntity(status=200, body="
+                        + "TtsResponse(bytes=65536, format=mp3, durationMs=1200, fromCache=true))",
+                summary);
+    }
+
+    /** 词条响应只保留标识字段与 markdown 长度。 */
+    @Test
+    void wordResponseOmitsMarkdown() {
+        WordResponse response = new WordResponse();
+        response.setId("7");
+        response.setTerm("hello");
+        response.setMarkdown("x".repeat(10_000));
+
+        String summary = summarizer.summarize(response);
+
+        Assertions.assertTrue(summary.contains("markdownLength=10000"), summary);
+        Assertions.assertFalse(summary.contains("xxx"), summary);
+    }
+
+    /** 超长字符串按上限截断并附带原始长度。 */
+    @Test
+    void longStringsAreCapped() {
+        String summary = summarizer.summarize("a".repeat(100));
+
+        Assertions.assertEquals("a".repeat(32) + "…(length=100)", summary);
+    }
+
+    /** 集合与 Map 只展示前若干项。 */
+    @Test
+    void collectionsShowLeadingItemsOnly() {
+        Assertions.assertEquals("[size=3: 1, 2, …]", summarizer.summarize(List.of(1, 2, 3)));
+        Assertions.assertEquals("[size=1: k=byte[4]]", summarizer.summarize(Map.of("k", new byte[4])));
+        Assertions.assertEquals("null", summarizer.summarize(null));
+    }
+}
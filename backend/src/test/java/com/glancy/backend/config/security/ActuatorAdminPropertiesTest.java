@@ -0,0 +1,34 @@
+package com.glancy.backend.config.security;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class ActuatorAdminPropertiesTest {
+
+    /** 验证未配置管理员凭据时启动失败，而不是退回内置的默认账号。 */
+    @Test
+    void missingCredentialsFailStartup() {
+        ActuatorAdminProperties properties = new ActuatorAdminProperties();
+        properties.setUsername("ops-admin");
+        properties.setPassword(" ");
+
+        assertThatThrownBy(properties::validate)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("actuator.admin.password");
+    }
+
+    /** 验证密码必须带编码器前缀，明文密码被拒绝。 */
+    @Test
+    void passwordRequiresEncoderPrefix() {
+        ActuatorAdminProperties properties = new ActuatorAdminProperties();
+        properties.setUsername("ops-admin");
+        properties.setPassword("secret");
+
+        assertThatThrownBy(properties::validate).isInstanceOf(IllegalStateException.class);
+
+        properties.setPassword("{noop}secret");
+        assertThatCode(properties::validate).doesNotThrowAnyException();
+    }
+}
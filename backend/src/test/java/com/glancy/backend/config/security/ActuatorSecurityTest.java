@@ -0,0 +1,41 @@
+package com.glancy.backend.config.security;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+/** Actuator 端点访问控制测试；完整上下文开启了 JPA 审计，用完即关闭以免影响后续的仓库切片测试。 */
+@SpringBootTest(
+        properties = {
+            "management.endpoints.web.exposure.include=health,metrics",
+            "management.health.defaults.enabled=false",
+            "management.endpoint.health.status.http-mapping.down=200"
+        })
+@AutoConfigureMockMvc
+@DirtiesContext
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /** 验证健康检查无需凭据即可访问。 */
+    @Test
+    void healthIsPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    /** 验证匿名访问指标端点按既有策略伪装为 404，管理员凭据可正常访问。 */
+    @Test
+    void metricsRequireAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("ops-admin", "test-actuator-secret")))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,73 @@
+package com.glancy.backend.config.timing;
+
+import com.glancy.backend.config.SearchProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LookupStageTimerTest {
+
+    private SearchProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private LookupStageTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SearchProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        timer = new LookupStageTimer(properties, meterRegistry);
+    }
+
+    /** 未被采样的请求只记录指标，不生成 Server-Timing。 */
+    @Test
+    void givenNoSample_whenStageStops_thenOnlyTimerIsRecorded() {
+        Assertions.assertFalse(timer.beginSampledRequest());
+
+        timer.stop(LookupStage.CACHE_QUERY, timer.start());
+
+        Assertions.assertEquals(
+                1L,
+                meterRegistry
+                        .get("glancy.lookup.stage")
+                        .tag("stage", "cache_query")
+                        .timer()
+                        .count());
+        Assertions.assertNull(timer.finishSampledRequest());
+    }
+
+    /** 被采样的请求每个阶段记录一个样本，只输出出现过的阶段并以 total 结尾，结束后清理线程状态。 */
+    @Test
+    void givenSampledRequest_whenFinished_thenHeaderListsRecordedStagesAndTotal() {
+        properties.getStageTiming().setServerTimingSampleRate(1.0);
+        Assertions.assertTrue(timer.beginSampledRequest());
+
+        timer.stop(LookupStage.NORMALIZATION, timer.start() - 1_000_000);
+        timer.stop(LookupStage.MODEL_CALL, timer.start() - 5_000_000);
+        String header = timer.finishSampledRequest();
+
+        Assertions.assertTrue(
+                header.matches("normalize;dur=\\d+\\.\\d, model_call;dur=\\d+\\.\\d, total;dur=\\d+\\.\\d"), header);
+        Assertions.assertEquals(1L, stageCount("normalize"));
+        Assertions.assertEquals(1L, stageCount("model_call"));
+        Assertions.assertNull(timer.finishSampledRequest());
+    }
+
+    /** 关闭后既不记录指标也不采样。 */
+    @Test
+    void givenDisabled_whenStageStops_thenNothingIsRecorded() {
+        properties.getStageTiming().setEnabled(false);
+        properties.getStageTiming().setServerTimingSampleRate(1.0);
+
+        Assertions.assertFalse(timer.beginSampledRequest());
+        timer.stop(LookupStage.PARSE, timer.start());
+
+        Assertions.assertEquals(
+                0L,
+                meterRegistry.get("glancy.lookup.stage").tag("stage", "parse").timer().count());
+    }
+
+    private long stageCount(String stage) {
+        return meterRegistry.get("glancy.lookup.stage").tag("stage", stage).timer().count();
+    }
+}
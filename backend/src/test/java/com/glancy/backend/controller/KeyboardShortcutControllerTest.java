@@ -9,6 +9,7 @@ import com.glancy.backend.dto.KeyboardShortcutResponse;
 import com.glancy.backend.dto.KeyboardShortcutUpdateRequest;
 import com.glancy.backend.dto.KeyboardShortcutView;
 import com.glancy.backend.entity.ShortcutAction;
+import com.glancy.backend.service.UserSettingsRevisionService;
 import com.glancy.backend.service.shortcut.KeyboardShortcutService;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -40,6 +41,9 @@ class KeyboardShortcutControllerTest {
     @MockitoBean
     private com.glancy.backend.service.UserService userService;
 
+    @MockitoBean
+    private UserSettingsRevisionService settingsRevisionService;
+
     /**
      * 测试目标：GET /api/preferences/shortcuts/user 应返回服务层提供的快捷键列表。 前置条件：服务层返回包含一个快捷键的响应。 步骤： 1) 模拟服务层响应；
      * 2) 发送 GET 请求； 断言： - HTTP 状态 200； - 响应体包含约定的字段和值。 边界/异常： - 若服务抛出异常应交由全局异常处理（此处不覆盖）。
@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.glancy.backend.dto.SearchHistoryClearResponse;
 import com.glancy.backend.dto.SearchRecordRequest;
 import com.glancy.backend.dto.SearchRecordResponse;
 import com.glancy.backend.dto.SearchRecordVersionSummary;
@@ -114,6 +115,29 @@ class SearchRecordControllerTest {
         verify(searchRecordService).getRecords(eq(1L), eq(new SearchRecordPageRequest(2, 50)));
     }
 
+    /** 小体量历史同步清空，返回 204。 */
+    @Test
+    void whenClearingSmallHistory_thenNoContent() throws Exception {
+        when(searchRecordService.clearRecords(1L)).thenReturn(clearJob(SearchHistoryClearResponse.Status.COMPLETED));
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/search-records/user")
+                        .header("X-USER-TOKEN", "tkn"))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+    }
+
+    /** 大体量历史转入后台任务，返回 202 与任务编号。 */
+    @Test
+    void whenClearingLargeHistory_thenAcceptedWithJobId() throws Exception {
+        when(searchRecordService.clearRecords(1L)).thenReturn(clearJob(SearchHistoryClearResponse.Status.RUNNING));
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/search-records/user")
+                        .header("X-USER-TOKEN", "tkn"))
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.jobId").value("job-1"));
+    }
+
+    private SearchHistoryClearResponse clearJob(SearchHistoryClearResponse.Status status) {
+        return new SearchHistoryClearResponse("job-1", status, 10, 4, 0, LocalDateTime.now(), null);
+    }
+
     private ResultActions performCreateRecord() throws Exception {
         LocalDateTime createdAt = LocalDateTime.now();
         SearchRecordVersionSummary version = version(2L, 1, createdAt, "gpt-4", "preview");
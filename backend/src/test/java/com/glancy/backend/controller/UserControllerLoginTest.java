@@ -1,6 +1,7 @@
 package com.glancy.backend.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -30,7 +31,7 @@ class UserControllerLoginTest extends BaseUserControllerWebMvcTest {
     @Test
     void login() throws Exception {
         LoginResponse resp = new LoginResponse(1L, "u", "e", null, null, false, MembershipType.NONE, null, "tkn");
-        when(userService.login(any(LoginRequest.class))).thenReturn(resp);
+        when(userService.login(any(LoginRequest.class), eq("127.0.0.1"))).thenReturn(resp);
 
         LoginRequest req = new LoginRequest();
         req.setAccount("u");
@@ -46,7 +47,7 @@ class UserControllerLoginTest extends BaseUserControllerWebMvcTest {
     @Test
     void loginWithPhone() throws Exception {
         LoginResponse resp = new LoginResponse(1L, "u", "e", null, "555", false, MembershipType.NONE, null, "tkn");
-        when(userService.login(any(LoginRequest.class))).thenReturn(resp);
+        when(userService.login(any(LoginRequest.class), eq("127.0.0.1"))).thenReturn(resp);
 
         LoginRequest req = new LoginRequest();
         req.setAccount("555");
@@ -1,7 +1,10 @@
 package com.glancy.backend.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -9,6 +12,8 @@ import com.glancy.backend.dto.UserPreferenceRequest;
 import com.glancy.backend.dto.UserPreferenceResponse;
 import com.glancy.backend.dto.UserPreferenceUpdateRequest;
 import com.glancy.backend.service.UserPreferenceService;
+import com.glancy.backend.service.UserSettingsRevisionService;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -27,6 +32,8 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 })
 class UserPreferenceControllerTest {
 
+    private static final String ETAG = "W/\"preferences-3\"";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -36,6 +43,9 @@ class UserPreferenceControllerTest {
     @MockitoBean
     private com.glancy.backend.service.UserService userService;
 
+    @MockitoBean
+    private UserSettingsRevisionService settingsRevisionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -74,6 +84,35 @@ class UserPreferenceControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.userId").value(2L));
     }
 
+    /** 验证 getPreference 返回带当前修订号的 ETag */
+    @Test
+    void getPreferenceReturnsEtag() throws Exception {
+        when(settingsRevisionService.currentEtag(2L, "preferences")).thenReturn(Optional.of(ETAG));
+        UserPreferenceResponse resp = new UserPreferenceResponse(1L, 2L, "dark", "en", "en");
+        when(userPreferenceService.getPreference(2L)).thenReturn(resp);
+        when(userService.authenticateToken("tkn")).thenReturn(2L);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/preferences/user").header("X-USER-TOKEN", "tkn"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", ETAG))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.theme").value("dark"));
+    }
+
+    /** 验证 If-None-Match 命中当前 ETag 时返回 304 且不加载偏好 */
+    @Test
+    void getPreferenceNotModified() throws Exception {
+        when(settingsRevisionService.currentEtag(2L, "preferences")).thenReturn(Optional.of(ETAG));
+        when(userService.authenticateToken("tkn")).thenReturn(2L);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/preferences/user")
+                        .header("X-USER-TOKEN", "tkn")
+                        .header("If-None-Match", ETAG))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", ETAG))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        verify(userPreferenceService, never()).getPreference(anyLong());
+    }
+
     /** 测试 updatePreference 接口 */
     @Test
     void updatePreference() throws Exception {
@@ -10,6 +10,7 @@ import com.glancy.backend.dto.ProfileCustomSectionItemDto;
 import com.glancy.backend.dto.UserProfileRequest;
 import com.glancy.backend.dto.UserProfileResponse;
 import com.glancy.backend.service.UserProfileService;
+import com.glancy.backend.service.UserSettingsRevisionService;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,6 +40,9 @@ class UserProfileControllerTest {
     @MockitoBean
     private com.glancy.backend.service.UserService userService;
 
+    @MockitoBean
+    private UserSettingsRevisionService settingsRevisionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -1,16 +1,22 @@
 package com.glancy.backend.controller;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 
+import com.glancy.backend.config.timing.LookupStageTimer;
+import com.glancy.backend.dto.WordBatchLookupItem;
 import com.glancy.backend.dto.WordResponse;
 import com.glancy.backend.entity.DictionaryFlavor;
 import com.glancy.backend.entity.Language;
 import com.glancy.backend.service.UserService;
+import com.glancy.backend.service.WordBatchService;
 import com.glancy.backend.service.WordService;
 import com.glancy.backend.service.word.WordSearchOptions;
 import java.util.List;
 import java.util.function.Consumer;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
@@ -39,9 +45,15 @@ class WordControllerTest {
     @MockitoBean
     private WordService wordService;
 
+    @MockitoBean
+    private WordBatchService wordBatchService;
+
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private LookupStageTimer stageTimer;
+
     @BeforeEach
     void mockAuthentication() {
         Mockito.when(userService.authenticateToken("tkn")).thenReturn(1L);
@@ -74,6 +86,19 @@ class WordControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value("1"));
     }
 
+    /** 被采样的查询在响应头中返回各阶段耗时。 */
+    @Test
+    void whenLookupSampled_thenServerTimingHeaderPresent() throws Exception {
+        Mockito.when(stageTimer.beginSampledRequest()).thenReturn(true);
+        Mockito.when(stageTimer.finishSampledRequest()).thenReturn("cache_query;dur=1.5, total;dur=3.0");
+        performWordLookup(defaultOptions("hello"), response("1", "hello"), builder -> builder.withHeaderToken("tkn")
+                        .withTerm("hello")
+                        .withLanguage(Language.ENGLISH))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header()
+                        .string(LookupStageTimer.SERVER_TIMING_HEADER, "cache_query;dur=1.5, total;dur=3.0"));
+    }
+
     /** 测试 testGetWordMissingTerm 接口 */
     @Test
     void testGetWordMissingTerm() throws Exception {
@@ -127,6 +152,46 @@ class WordControllerTest {
         Mockito.verify(wordService).findWordForUser(ArgumentMatchers.eq(1L), ArgumentMatchers.eq(options));
     }
 
+    /** 批量查询以 NDJSON 逐行返回每个词的结果。 */
+    @Test
+    void whenBatchLookup_thenStreamsOneLinePerTerm() throws Exception {
+        Mockito.doAnswer(invocation -> {
+                    Consumer<WordBatchLookupItem> sink = invocation.getArgument(2);
+                    sink.accept(WordBatchLookupItem.cached("hello", response("1", "hello")));
+                    sink.accept(WordBatchLookupItem.failed("oops", "词条查询失败"));
+                    return null;
+                })
+                .when(wordBatchService)
+                .lookup(ArgumentMatchers.eq(1L), ArgumentMatchers.any(), ArgumentMatchers.any());
+
+        ResultActions started = mockMvc.perform(post("/api/words/batch")
+                        .header("X-USER-TOKEN", "tkn")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"terms\":[\"hello\",\"oops\"],\"language\":\"ENGLISH\"}"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted());
+
+        String body = mockMvc.perform(asyncDispatch(started.andReturn()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String[] lines = body.strip().split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertTrue(lines[0].contains("\"status\":\"CACHED\""));
+        Assertions.assertTrue(lines[1].contains("\"status\":\"FAILED\""));
+    }
+
+    /** 缺少语言时直接返回校验错误，不开始流式输出。 */
+    @Test
+    void whenBatchLookupMissingLanguage_thenUnprocessable() throws Exception {
+        mockMvc.perform(post("/api/words/batch")
+                        .header("X-USER-TOKEN", "tkn")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"terms\":[\"hello\"]}"))
+                .andExpect(MockMvcResultMatchers.status().isUnprocessableEntity());
+    }
+
     private ResultActions performQueryTokenLookup() throws Exception {
         return performWordLookup(defaultOptions("hi"), response("1", "hi"), builder -> builder.withQueryToken("tkn")
                 .withTerm("hi")
@@ -178,7 +243,8 @@ class WordControllerTest {
                 null,
                 null,
                 null,
-                DictionaryFlavor.BILINGUAL);
+                DictionaryFlavor.BILINGUAL,
+                false);
     }
 
     private static final class WordRequestBuilder {
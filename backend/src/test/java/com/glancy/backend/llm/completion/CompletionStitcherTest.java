@@ -0,0 +1,20 @@
+package com.glancy.backend.llm.completion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class CompletionStitcherTest {
+
+    @Test
+    void GivenContinuationRepeatsTail_WhenStitch_ThenKeepSingleCopy() {
+        String stitched = CompletionStitcher.stitch("## 释义\n1. 优雅的", "优雅的举止\n<END>", 50);
+        assertEquals("## 释义\n1. 优雅的举止\n<END>", stitched);
+    }
+
+    @Test
+    void GivenNoOverlapWithinWindow_WhenStitch_ThenAppend() {
+        assertEquals("abcdef", CompletionStitcher.stitch("abc", "def", 50));
+        assertEquals("abcabc", CompletionStitcher.stitch("abc", "abc", 2));
+    }
+}
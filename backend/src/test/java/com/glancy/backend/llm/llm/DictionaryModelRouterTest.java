@@ -0,0 +1,286 @@
+package com.glancy.backend.llm.llm;
+
+import com.glancy.backend.exception.BusinessException;
+import com.glancy.backend.exception.ServiceDegradedException;
+import com.glancy.backend.llm.config.LLMConfig;
+import com.glancy.backend.llm.model.ChatMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+class DictionaryModelRouterTest {
+
+    private static final List<ChatMessage> MESSAGES = List.of(new ChatMessage("user", "hello"));
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2024-01-01T00:00:00Z"));
+    private DictionaryModelClient primary;
+    private DictionaryModelClient secondary;
+    private LLMConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private DictionaryModelRouter router;
+
+    @BeforeEach
+    void setUp() {
+        primary = client("doubao");
+        secondary = client("backup");
+        config = new LLMConfig();
+        config.setDefaultClient("doubao");
+        config.getRouting().setFailureThreshold(2);
+        config.getRouting().setOpenDuration(Duration.ofSeconds(30));
+        Clock clock = Mockito.mock(Clock.class);
+        Mockito.when(clock.instant()).thenAnswer(invocation -> now.get());
+        meterRegistry = new SimpleMeterRegistry();
+        DictionaryModelClientFactory factory = new DictionaryModelClientFactory(List.of(primary, secondary));
+        DictionaryModelHedger hedger = new DictionaryModelHedger(config, meterRegistry);
+        router = new DictionaryModelRouter(factory, config, messages -> "offline", hedger, clock, meterRegistry);
+    }
+
+    /** 验证请求的客户端失败时会转而调用下一个候选，且连续失败达到阈值后熔断，不再尝试该客户端。 */
+    @Test
+    void opensCircuitAfterConsecutiveFailuresAndRoutesToNextClient() {
+        Mockito.when(primary.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenThrow(new BusinessException("Doubao API returned 5xx"));
+        Mockito.when(secondary.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenReturn("backup-entry");
+
+        generate();
+        generate();
+        DictionaryModelRouter.RoutedEntry third = generate();
+
+        Assertions.assertEquals("backup", third.clientName());
+        Assertions.assertEquals("backup-entry", third.content());
+        Mockito.verify(primary, Mockito.times(2))
+                .generateEntry(ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any());
+        Assertions.assertEquals(DictionaryModelHealth.State.OPEN, stateOf("doubao"));
+    }
+
+    /** 验证冷却期结束后仅放行一次探测，探测成功即恢复为闭合状态。 */
+    @Test
+    void halfOpenProbeClosesCircuitOnSuccess() {
+        Mockito.when(primary.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenThrow(new BusinessException("Doubao API returned 5xx"))
+                .thenThrow(new BusinessException("Doubao API returned 5xx"))
+                .thenReturn("recovered");
+        Mockito.when(secondary.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenReturn("backup-entry");
+        generate();
+        generate();
+
+        now.set(now.get().plusSeconds(31));
+        DictionaryModelRouter.RoutedEntry probe = generate();
+
+        Assertions.assertEquals("doubao", probe.clientName());
+        Assertions.assertEquals(DictionaryModelHealth.State.CLOSED, stateOf("doubao"));
+    }
+
+    /** 验证定向调用只请求指定客户端：熔断打开时直接报不可用，既不改道到其他客户端也不返回离线兜底。 */
+    @Test
+    void pinnedGenerationNeverFailsOver() {
+        Mockito.when(primary.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenThrow(new BusinessException("Doubao API returned 5xx"));
+        Mockito.when(secondary.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenReturn("backup-entry");
+
+        Assertions.assertThrows(BusinessException.class, this::generatePinned);
+        Assertions.assertThrows(BusinessException.class, this::generatePinned);
+        Assertions.assertThrows(ServiceDegradedException.class, this::generatePinned);
+
+        Assertions.assertEquals(DictionaryModelHealth.State.OPEN, stateOf("doubao"));
+        Mockito.verify(secondary, Mockito.never())
+                .generateEntry(ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any());
+        Assertions.assertEquals(0.0, meterRegistry.counter("glancy.llm.routing.offline_fallbacks").count());
+    }
+
+    /** 验证所有客户端熔断时使用离线兜底；仅有一次失败且无其他候选时则原样抛出异常。 */
+    @Test
+    void fallsBackToOfflineOnlyWhenEveryCircuitIsOpen() {
+        BusinessException failure = new BusinessException("Doubao API returned 5xx");
+        Mockito.when(primary.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenThrow(failure);
+        Mockito.when(secondary.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenThrow(failure);
+
+        Assertions.assertSame(failure, Assertions.assertThrows(BusinessException.class, this::generate));
+        Assertions.assertSame(failure, Assertions.assertThrows(BusinessException.class, this::generate));
+        DictionaryModelRouter.RoutedEntry offline = generate();
+
+        Assertions.assertTrue(offline.offline());
+        Assertions.assertEquals("offline", offline.content());
+        Assertions.assertEquals(1.0, meterRegistry.counter("glancy.llm.routing.offline_fallbacks").count());
+    }
+
+    /** 验证请求的客户端 p95 超过慢调用阈值后，会优先路由到更快的健康客户端。 */
+    @Test
+    void prefersFasterClientWhenRequestedOneIsSlow() {
+        config.getRouting().setMinSamples(1);
+        config.getRouting().setSlowCallThreshold(Duration.ofSeconds(5));
+        Mockito.when(primary.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenAnswer(invocation -> {
+                    now.set(now.get().plusSeconds(10));
+                    return "slow";
+                });
+        Mockito.when(secondary.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenReturn("fast");
+
+        Assertions.assertEquals("doubao", generate().clientName());
+        Assertions.assertEquals("backup", generate().clientName());
+    }
+
+    /** 验证主请求超过对冲延迟仍未返回时，会向备用客户端补发请求，采用先带哨兵返回的结果并中断落败的主请求。 */
+    @Test
+    void hedgesSlowPrimaryAndCancelsLoser() throws Exception {
+        enableHedging(1.0);
+        CountDownLatch primaryInterrupted = new CountDownLatch(1);
+        Mockito.when(primary.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenAnswer(invocation -> {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException ex) {
+                        primaryInterrupted.countDown();
+                        throw new IllegalStateException("cancelled", ex);
+                    }
+                    return "slow<END>";
+                });
+        Mockito.when(secondary.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenReturn("fast<END>");
+
+        DictionaryModelRouter.RoutedEntry entry = generate();
+
+        Assertions.assertEquals("backup", entry.clientName());
+        Assertions.assertEquals("fast<END>", entry.content());
+        Assertions.assertTrue(primaryInterrupted.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(
+                1.0,
+                meterRegistry
+                        .counter("glancy.llm.hedging.hedges", "outcome", "hedge_won")
+                        .count());
+        Assertions.assertEquals(DictionaryModelHealth.State.CLOSED, stateOf("doubao"));
+    }
+
+    /** 验证半开探测中的客户端在对冲中落败被放弃后会归还探测名额，之后仍能被路由并恢复闭合。 */
+    @Test
+    void abandonedHalfOpenProbeStaysRoutable() throws Exception {
+        enableHedging(1.0);
+        AtomicInteger primaryCalls = new AtomicInteger();
+        Mockito.when(primary.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenAnswer(invocation -> {
+                    int call = primaryCalls.incrementAndGet();
+                    if (call <= 2) {
+                        throw new BusinessException("Doubao API returned 5xx");
+                    }
+                    if (call == 3) {
+                        try {
+                            Thread.sleep(10_000);
+                        } catch (InterruptedException ex) {
+                            throw new IllegalStateException("cancelled", ex);
+                        }
+                    }
+                    return "recovered<END>";
+                });
+        Mockito.when(secondary.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenReturn("fast<END>");
+        generate();
+        generate();
+        Assertions.assertEquals(DictionaryModelHealth.State.OPEN, stateOf("doubao"));
+
+        now.set(now.get().plusSeconds(31));
+        Assertions.assertEquals("backup", generate().clientName());
+        awaitAbandoned("doubao");
+
+        DictionaryModelRouter.RoutedEntry recovered = generate();
+        Assertions.assertEquals("doubao", recovered.clientName());
+        Assertions.assertEquals(DictionaryModelHealth.State.CLOSED, stateOf("doubao"));
+    }
+
+    /** 验证对冲预算耗尽后不再补发请求，只等待主请求返回。 */
+    @Test
+    void skipsHedgeWhenBudgetIsExhausted() {
+        enableHedging(0.0);
+        Mockito.when(primary.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(200);
+                    return "slow<END>";
+                });
+        Mockito.when(secondary.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenReturn("fast<END>");
+
+        generate();
+        DictionaryModelRouter.RoutedEntry second = generate();
+
+        Assertions.assertEquals("doubao", second.clientName());
+        Mockito.verify(secondary, Mockito.times(1))
+                .generateEntry(ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any());
+        Assertions.assertEquals(
+                1.0,
+                meterRegistry
+                        .counter("glancy.llm.hedging.hedges", "outcome", "budget_exhausted")
+                        .count());
+    }
+
+    private void enableHedging(double budgetRatio) {
+        config.getHedging().setEnabled(true);
+        config.getHedging().setInitialDelay(Duration.ofMillis(50));
+        config.getHedging().setMinDelay(Duration.ofMillis(50));
+        config.getHedging().setBudgetRatio(budgetRatio);
+    }
+
+    private void awaitAbandoned(String client) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry
+                        .counter("glancy.llm.routing.calls", "client", client, "outcome", "abandoned")
+                        .count()
+                < 1.0) {
+            Assertions.assertTrue(System.nanoTime() < deadline, "abandoned call was not recorded");
+            Thread.sleep(10);
+        }
+    }
+
+    private DictionaryModelRouter.RoutedEntry generate() {
+        return router.generate("doubao", MESSAGES, 0.5, DictionaryModelRequestOptions.defaults());
+    }
+
+    private DictionaryModelRouter.RoutedEntry generatePinned() {
+        return router.generatePinned("doubao", MESSAGES, 0.5, DictionaryModelRequestOptions.defaults());
+    }
+
+    private DictionaryModelHealth.State stateOf(String client) {
+        return router.snapshot().stream()
+                .filter(snapshot -> snapshot.client().equals(client))
+                .findFirst()
+                .orElseThrow()
+                .state();
+    }
+
+    private static DictionaryModelClient client(String name) {
+        DictionaryModelClient client = Mockito.mock(DictionaryModelClient.class);
+        Mockito.when(client.name()).thenReturn(name);
+        return client;
+    }
+}
@@ -58,6 +58,7 @@ class JacksonWordResponseParserTest {
         ParsedWord parsed = parser.parse(markdown, "serendipity", Language.ENGLISH);
 
         Assertions.assertEquals(markdown, parsed.markdown());
+        Assertions.assertFalse(parsed.fallbackOnly());
         var response = parsed.parsed();
         Assertions.assertEquals("Serendipity", response.getTerm());
         Assertions.assertEquals(1, response.getDefinitions().size());
@@ -92,4 +93,15 @@ class JacksonWordResponseParserTest {
         Assertions.assertEquals("The lantern illuminated the cave.", response.getExample());
         Assertions.assertEquals("/ɪˈluːməˌneɪt/", response.getPhonetic());
     }
+
+    /** 测试流程：Markdown 中没有任何可识别的释义，只能以首行兜底时，解析结果应标记为不可用。 */
+    @Test
+    void shouldFlagFallbackOnlyWhenNoDefinitionRecognised() {
+        String markdown = "# Glow\n" + "## 例句\n" + "The embers glow softly.";
+
+        ParsedWord parsed = parser.parse(markdown, "glow", Language.ENGLISH);
+
+        Assertions.assertTrue(parsed.fallbackOnly());
+        Assertions.assertEquals(List.of("The embers glow softly."), parsed.parsed().getDefinitions());
+    }
 }
@@ -0,0 +1,60 @@
+package com.glancy.backend.llm.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
+import com.glancy.backend.llm.config.LLMConfig;
+import com.glancy.backend.llm.prompt.PromptTemplateRenderer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CompletionTokenBudgetsTest {
+
+    private LLMConfig config;
+    private CompletionTokenBudgets budgets;
+
+    @BeforeEach
+    void setUp() {
+        config = new LLMConfig();
+        config.getTokenBudget().setMinSamples(3);
+        config.getTokenBudget().setMinTokens(100);
+        config.getTokenBudget().setHeadroom(1.5);
+        budgets = new CompletionTokenBudgets(
+                config, new WordEntryProfileResolver(new PromptTemplateRenderer()), new SimpleMeterRegistry());
+    }
+
+    /** 测试目标：样本不足时不下发预算，达到最小样本数后按长度分位数乘以余量计算，且单字与多字词分桶独立。 */
+    @Test
+    void GivenEnoughCompleteSamples_WhenOptionsFor_ThenBudgetFollowsObservedLength() {
+        CompletionTokenBudgets.BudgetKey single = budgets.keyFor(Language.CHINESE, DictionaryFlavor.BILINGUAL, "汉");
+        CompletionTokenBudgets.BudgetKey multi = budgets.keyFor(Language.CHINESE, DictionaryFlavor.BILINGUAL, "汉字");
+
+        budgets.observe(single, "a".repeat(400), true);
+        budgets.observe(single, "a".repeat(400), true);
+        assertNull(budgets.optionsFor(single).maxCompletionTokens());
+
+        budgets.observe(single, "a".repeat(400), true);
+        assertEquals(600, budgets.optionsFor(single).maxCompletionTokens());
+        assertNull(budgets.optionsFor(multi).maxCompletionTokens());
+    }
+
+    /** 测试目标：被截断的输出不计入样本，预算结果受上下限约束。 */
+    @Test
+    void GivenTruncatedSamples_WhenObserve_ThenIgnoredAndBudgetClamped() {
+        CompletionTokenBudgets.BudgetKey key =
+                budgets.keyFor(Language.ENGLISH, DictionaryFlavor.MONOLINGUAL_ENGLISH, "break a leg");
+        for (int i = 0; i < 3; i++) {
+            budgets.observe(key, "a".repeat(50_000), false);
+        }
+        assertNull(budgets.optionsFor(key).maxCompletionTokens());
+
+        for (int i = 0; i < 3; i++) {
+            budgets.observe(key, "short", true);
+        }
+        assertEquals(100, budgets.optionsFor(key).maxCompletionTokens());
+        assertEquals("PHRASE", key.category());
+    }
+}
@@ -0,0 +1,78 @@
+package com.glancy.backend.llm.service;
+
+import com.glancy.backend.exception.ServiceDegradedException;
+import com.glancy.backend.llm.config.LLMConfig;
+import com.glancy.backend.llm.llm.DictionaryModelRequestOptions;
+import com.glancy.backend.llm.llm.DictionaryModelRouter;
+import com.glancy.backend.llm.llm.DictionaryModelRouter.RoutedEntry;
+import com.glancy.backend.llm.model.ChatMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+class WordCompletionContinuatorTest {
+
+    private static final List<ChatMessage> MESSAGES = List.of(new ChatMessage("user", "elegance"));
+    private static final RoutedEntry PARTIAL = new RoutedEntry("# Elegance\n- grace", "doubao", false);
+
+    private DictionaryModelRouter router;
+    private SimpleMeterRegistry meterRegistry;
+    private WordCompletionContinuator continuator;
+
+    @BeforeEach
+    void setUp() {
+        router = Mockito.mock(DictionaryModelRouter.class);
+        meterRegistry = new SimpleMeterRegistry();
+        continuator = new WordCompletionContinuator(router, new LLMConfig(), meterRegistry);
+    }
+
+    /** 验证续写固定发往生成首段的客户端，不经可改道的 generate。 */
+    @Test
+    void continuationIsPinnedToTheFirstClient() {
+        Mockito.when(router.generatePinned(
+                        ArgumentMatchers.eq("doubao"),
+                        ArgumentMatchers.anyList(),
+                        ArgumentMatchers.anyDouble(),
+                        ArgumentMatchers.any()))
+                .thenReturn(new RoutedEntry("ful style<END>", "doubao", false));
+
+        RoutedEntry result = complete();
+
+        Assertions.assertEquals("# Elegance\n- graceful style<END>", result.content());
+        Assertions.assertEquals("doubao", result.clientName());
+        Mockito.verify(router, Mockito.never())
+                .generate(
+                        ArgumentMatchers.any(),
+                        ArgumentMatchers.anyList(),
+                        ArgumentMatchers.anyDouble(),
+                        ArgumentMatchers.any());
+    }
+
+    /** 验证续写途中客户端熔断时停止续写并原样返回残缺首段，交由质量闸门拒绝，而不是拼接离线占位。 */
+    @Test
+    void unavailableClientKeepsPartialEntry() {
+        Mockito.when(router.generatePinned(
+                        ArgumentMatchers.eq("doubao"),
+                        ArgumentMatchers.anyList(),
+                        ArgumentMatchers.anyDouble(),
+                        ArgumentMatchers.any()))
+                .thenThrow(new ServiceDegradedException("unavailable"));
+
+        RoutedEntry result = complete();
+
+        Assertions.assertSame(PARTIAL, result);
+        Assertions.assertEquals(
+                1.0,
+                meterRegistry
+                        .counter("glancy.llm.continuation.requests", "outcome", "unavailable")
+                        .count());
+    }
+
+    private RoutedEntry complete() {
+        return continuator.complete(PARTIAL, MESSAGES, 0.5, DictionaryModelRequestOptions.defaults());
+    }
+}
@@ -1,18 +1,28 @@
 package com.glancy.backend.llm.service;
 
+import com.glancy.backend.config.SearchProperties;
+import com.glancy.backend.config.timing.LookupStageTimer;
 import com.glancy.backend.dto.WordPersonalizationContext;
 import com.glancy.backend.dto.WordResponse;
 import com.glancy.backend.entity.DictionaryFlavor;
 import com.glancy.backend.entity.Language;
+import com.glancy.backend.exception.GenerationRejectedException;
 import com.glancy.backend.llm.config.LLMConfig;
 import com.glancy.backend.llm.llm.DictionaryModelClient;
 import com.glancy.backend.llm.llm.DictionaryModelClientFactory;
+import com.glancy.backend.llm.llm.DictionaryModelHedger;
+import com.glancy.backend.llm.llm.DictionaryModelRouter;
 import com.glancy.backend.llm.model.ChatMessage;
 import com.glancy.backend.llm.parser.ParsedWord;
 import com.glancy.backend.llm.parser.WordResponseParser;
 import com.glancy.backend.llm.prompt.PromptManager;
 import com.glancy.backend.llm.prompt.PromptTemplateRenderer;
+import com.glancy.backend.llm.quality.GenerationQualityGate;
 import com.glancy.backend.llm.search.SearchContentManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Assertions;
@@ -35,6 +45,9 @@ class WordSearcherImplTest {
     private DictionaryModelClient defaultClient;
     private WordPromptAssembler promptAssembler;
     private PromptTemplateRenderer templateRenderer;
+    private WordEntryProfileResolver entryProfileResolver;
+    private Clock clock;
+    private SimpleMeterRegistry meterRegistry;
     private static final String DEFAULT_CLIENT = "doubao";
 
     @SuppressWarnings("unchecked")
@@ -54,9 +67,13 @@ class WordSearcherImplTest {
         searchContentManager = Mockito.mock(SearchContentManager.class);
         parser = Mockito.mock(WordResponseParser.class);
         defaultClient = Mockito.mock(DictionaryModelClient.class);
+        Mockito.when(defaultClient.name()).thenReturn(DEFAULT_CLIENT);
         templateRenderer = new PromptTemplateRenderer();
-        WordEntryProfileResolver entryProfileResolver = new WordEntryProfileResolver(templateRenderer);
+        entryProfileResolver = new WordEntryProfileResolver(templateRenderer);
         promptAssembler = new WordPromptAssembler(templateRenderer, entryProfileResolver);
+        clock = Mockito.mock(Clock.class);
+        Mockito.when(clock.instant()).thenReturn(Instant.parse("2024-01-01T00:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
     }
 
     /** 验证当指定的模型不存在时，会优雅回退到默认的 doubao 模型并完成查询。测试通过模拟工厂返回空实例，随后校验默认模型被调用。 */
@@ -70,7 +87,8 @@ class WordSearcherImplTest {
         Assertions.assertSame(expected, result);
         Mockito.verify(factory).get("invalid");
         Mockito.verify(factory).get(DEFAULT_CLIENT);
-        Mockito.verify(defaultClient).generateEntry(ArgumentMatchers.anyList(), ArgumentMatchers.eq(0.5));
+        Mockito.verify(defaultClient)
+                .generateEntry(ArgumentMatchers.anyList(), ArgumentMatchers.eq(0.5), ArgumentMatchers.any());
         Mockito.verify(promptManager).loadPrompt("path-en");
     }
 
@@ -98,7 +116,8 @@ class WordSearcherImplTest {
         searcher.search("汉", Language.CHINESE, DictionaryFlavor.BILINGUAL, "doubao", NO_PERSONALIZATION_CONTEXT);
 
         ArgumentCaptor<List<ChatMessage>> messagesCaptor = chatMessagesCaptor();
-        Mockito.verify(defaultClient).generateEntry(messagesCaptor.capture(), ArgumentMatchers.eq(0.5));
+        Mockito.verify(defaultClient)
+                .generateEntry(messagesCaptor.capture(), ArgumentMatchers.eq(0.5), ArgumentMatchers.any());
         ChatMessage userMessage = messagesCaptor.getValue().stream()
                 .filter(msg -> "user".equals(msg.getRole()))
                 .findFirst()
@@ -116,7 +135,8 @@ class WordSearcherImplTest {
         searcher.search("elegance", Language.ENGLISH, DictionaryFlavor.BILINGUAL, "doubao", NO_PERSONALIZATION_CONTEXT);
 
         ArgumentCaptor<List<ChatMessage>> messagesCaptor = chatMessagesCaptor();
-        Mockito.verify(defaultClient).generateEntry(messagesCaptor.capture(), ArgumentMatchers.eq(0.5));
+        Mockito.verify(defaultClient)
+                .generateEntry(messagesCaptor.capture(), ArgumentMatchers.eq(0.5), ArgumentMatchers.any());
         boolean hasInstruction = messagesCaptor.getValue().stream()
                 .filter(message -> "system".equals(message.getRole()))
                 .anyMatch(message -> message.getContent().contains("中文译文"));
@@ -139,7 +159,8 @@ class WordSearcherImplTest {
                 NO_PERSONALIZATION_CONTEXT);
 
         ArgumentCaptor<List<ChatMessage>> messagesCaptor = chatMessagesCaptor();
-        Mockito.verify(defaultClient).generateEntry(messagesCaptor.capture(), ArgumentMatchers.eq(0.5));
+        Mockito.verify(defaultClient)
+                .generateEntry(messagesCaptor.capture(), ArgumentMatchers.eq(0.5), ArgumentMatchers.any());
         ChatMessage userMessage = messagesCaptor.getValue().stream()
                 .filter(message -> "user".equals(message.getRole()))
                 .findFirst()
@@ -148,12 +169,140 @@ class WordSearcherImplTest {
         Assertions.assertFalse(userMessage.getContent().contains("条目类型"), "英文检索用户消息仍包含「条目类型」字段，提示模板未同步");
     }
 
+    /** 验证缺少完成哨兵的输出会被拒绝，且负缓存窗口内的重复请求不会再次调用模型。 */
+    @Test
+    void missingSentinelIsRejectedAndNegativelyCached() {
+        config.getContinuation().setEnabled(false);
+        stubSuccessfulResponse("elegance", Language.ENGLISH, "path-en");
+        Mockito.when(defaultClient.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenReturn("content");
+        WordSearcherImpl searcher = newSearcher();
+
+        Assertions.assertThrows(GenerationRejectedException.class, () -> searchElegance(searcher));
+        Assertions.assertThrows(GenerationRejectedException.class, () -> searchElegance(searcher));
+
+        Mockito.verify(defaultClient, Mockito.times(1))
+                .generateEntry(ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any());
+        Assertions.assertEquals(
+                1.0,
+                meterRegistry
+                        .counter("glancy.llm.quality.rejections", "reason", "MISSING_SENTINEL")
+                        .count());
+        Assertions.assertEquals(
+                1.0, meterRegistry.counter("glancy.llm.quality.negative_cache.hits").count());
+    }
+
+    /** 验证仅有首行兜底释义的解析结果会被拒绝，负缓存过期后重新调用模型。 */
+    @Test
+    void fallbackDefinitionIsRejectedUntilNegativeCacheExpires() {
+        stubSuccessfulResponse("elegance", Language.ENGLISH, "path-en");
+        Mockito.when(parser.parse("content", "elegance", Language.ENGLISH))
+                .thenReturn(new ParsedWord(new WordResponse(), "content", true));
+        WordSearcherImpl searcher = newSearcher();
+
+        Assertions.assertThrows(GenerationRejectedException.class, () -> searchElegance(searcher));
+        Mockito.when(clock.instant())
+                .thenReturn(Instant.parse("2024-01-01T00:00:00Z")
+                        .plus(config.getQualityGate().getNegativeCacheTtl())
+                        .plus(Duration.ofSeconds(1)));
+        Assertions.assertThrows(GenerationRejectedException.class, () -> searchElegance(searcher));
+
+        Mockito.verify(defaultClient, Mockito.times(2))
+                .generateEntry(ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any());
+        Assertions.assertEquals(
+                2.0,
+                meterRegistry
+                        .counter("glancy.llm.quality.rejections", "reason", "FALLBACK_DEFINITION")
+                        .count());
+    }
+
+    /** 验证缺少完成哨兵时会携带已生成内容请求续写，并把拼接后的完整内容交给解析器。 */
+    @Test
+    void truncatedCompletionIsContinuedAndStitched() {
+        stubSuccessfulResponse("elegance", Language.ENGLISH, "path-en");
+        Mockito.when(defaultClient.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenReturn("# Elegance\n- grace")
+                .thenReturn("ful style<END>");
+        WordResponse expected = new WordResponse();
+        Mockito.when(parser.parse("# Elegance\n- graceful style", "elegance", Language.ENGLISH))
+                .thenReturn(new ParsedWord(expected, "# Elegance\n- graceful style"));
+        WordSearcherImpl searcher = newSearcher();
+
+        WordResponse result = searcher.search(
+                "elegance", Language.ENGLISH, DictionaryFlavor.BILINGUAL, "doubao", NO_PERSONALIZATION_CONTEXT);
+
+        Assertions.assertSame(expected, result);
+        ArgumentCaptor<List<ChatMessage>> messagesCaptor = chatMessagesCaptor();
+        Mockito.verify(defaultClient, Mockito.times(2))
+                .generateEntry(messagesCaptor.capture(), ArgumentMatchers.eq(0.5), ArgumentMatchers.any());
+        List<ChatMessage> continuation = messagesCaptor.getAllValues().get(1);
+        ChatMessage partial = continuation.get(continuation.size() - 2);
+        Assertions.assertEquals("assistant", partial.getRole());
+        Assertions.assertEquals("# Elegance\n- grace", partial.getContent());
+        Assertions.assertEquals(
+                WordCompletionContinuator.CONTINUE_INSTRUCTION,
+                continuation.get(continuation.size() - 1).getContent());
+    }
+
+    /** 验证所有熔断打开后的离线占位不经质量门禁、不进入负缓存，并以降级标记返回。 */
+    @Test
+    void offlineEntryIsMarkedDegradedAndSkipsQualityGate() {
+        config.getRouting().setFailureThreshold(1);
+        stubSuccessfulResponse("elegance", Language.ENGLISH, "path-en");
+        Mockito.when(defaultClient.generateEntry(
+                        ArgumentMatchers.anyList(), ArgumentMatchers.anyDouble(), ArgumentMatchers.any()))
+                .thenThrow(new IllegalStateException("model down"));
+        Mockito.when(parser.parse("offline", "elegance", Language.ENGLISH))
+                .thenReturn(new ParsedWord(new WordResponse(), "offline", true));
+        WordSearcherImpl searcher = newSearcher();
+        Assertions.assertThrows(IllegalStateException.class, () -> searchElegance(searcher));
+
+        WordResponse result = searcher.search(
+                "elegance", Language.ENGLISH, DictionaryFlavor.BILINGUAL, "doubao", NO_PERSONALIZATION_CONTEXT);
+
+        Assertions.assertTrue(result.isDegraded());
+        Assertions.assertTrue(meterRegistry.find("glancy.llm.quality.rejections").counters().isEmpty());
+        Assertions.assertTrue(searcher.search(
+                        "elegance", Language.ENGLISH, DictionaryFlavor.BILINGUAL, "doubao", NO_PERSONALIZATION_CONTEXT)
+                .isDegraded());
+    }
+
+    /** 验证一次查询中每个阶段只记录一个样本：提示词组装只计时一次，归一化交由 WordService 计时，这里不再重复记录。 */
+    @Test
+    void searchRecordsOneSamplePerStage() {
+        stubSuccessfulResponse("elegance", Language.ENGLISH, "path-en");
+        WordSearcherImpl searcher = newSearcher();
+
+        searchElegance(searcher);
+
+        Assertions.assertEquals(1L, stageCount("prompt_assembly"));
+        Assertions.assertEquals(1L, stageCount("model_call"));
+        Assertions.assertEquals(1L, stageCount("parse"));
+        Assertions.assertEquals(0L, stageCount("normalize"));
+    }
+
+    private long stageCount(String stage) {
+        return meterRegistry
+                .get("glancy.lookup.stage")
+                .tag("stage", stage)
+                .timer()
+                .count();
+    }
+
+    private void searchElegance(WordSearcherImpl searcher) {
+        searcher.search("elegance", Language.ENGLISH, DictionaryFlavor.BILINGUAL, "doubao", NO_PERSONALIZATION_CONTEXT);
+    }
+
     private void stubSuccessfulResponse(String term, Language language, String promptKey) {
         Mockito.when(factory.get(DEFAULT_CLIENT)).thenReturn(defaultClient);
         Mockito.when(promptManager.loadPrompt(promptKey)).thenReturn("prompt");
         Mockito.when(searchContentManager.normalize(term)).thenReturn(term);
         Mockito.when(defaultClient.generateEntry(
-                        ArgumentMatchers.anyList(), ArgumentMatchers.eq(config.getTemperature())))
+                        ArgumentMatchers.anyList(),
+                        ArgumentMatchers.eq(config.getTemperature()),
+                        ArgumentMatchers.any()))
                 .thenReturn("content<END>");
         Mockito.when(parser.parse("content", term, language))
                 .thenReturn(new ParsedWord(new WordResponse(), "content<END>"));
@@ -165,8 +314,10 @@ class WordSearcherImplTest {
         Mockito.when(promptManager.loadPrompt("path-en")).thenReturn("prompt");
         Mockito.when(searchContentManager.normalize(term)).thenReturn(term);
         Mockito.when(defaultClient.generateEntry(
-                        ArgumentMatchers.anyList(), ArgumentMatchers.eq(config.getTemperature())))
-                .thenReturn("content");
+                        ArgumentMatchers.anyList(),
+                        ArgumentMatchers.eq(config.getTemperature()),
+                        ArgumentMatchers.any()))
+                .thenReturn("content<END>");
         WordResponse expected = new WordResponse();
         expected.setMarkdown("content");
         Mockito.when(parser.parse("content", term, language)).thenReturn(new ParsedWord(expected, "content"));
@@ -174,6 +325,23 @@ class WordSearcherImplTest {
     }
 
     private WordSearcherImpl newSearcher() {
-        return new WordSearcherImpl(factory, config, promptManager, searchContentManager, parser, promptAssembler);
+        DictionaryModelRouter router = new DictionaryModelRouter(
+                factory,
+                config,
+                messages -> "offline<END>",
+                new DictionaryModelHedger(config, meterRegistry),
+                clock,
+                meterRegistry);
+        return new WordSearcherImpl(
+                router,
+                config,
+                promptManager,
+                searchContentManager,
+                parser,
+                promptAssembler,
+                new GenerationQualityGate(config, clock, meterRegistry),
+                new WordCompletionContinuator(router, config, meterRegistry),
+                new CompletionTokenBudgets(config, entryProfileResolver, meterRegistry),
+                new LookupStageTimer(new SearchProperties(), meterRegistry));
     }
 }
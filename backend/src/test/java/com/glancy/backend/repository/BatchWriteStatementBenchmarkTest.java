@@ -0,0 +1,111 @@
+package com.glancy.backend.repository;
+
+import com.glancy.backend.entity.Language;
+import com.glancy.backend.entity.SearchRecord;
+import com.glancy.backend.entity.User;
+import com.glancy.backend.entity.Word;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+/**
+ * Counts JDBC statements per persisted entity on H2 to guard the batching enabled by sequence ids. With identity ids
+ * every insert is its own round trip (1.0 statements per row); with pooled sequences and
+ * {@code hibernate.jdbc.batch_size=50} a flush of many rows costs a handful of batched statements.
+ */
+@Slf4j
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BatchWriteStatementBenchmarkTest {
+
+    private static final int ROWS = 200;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SearchRecordRepository searchRecordRepository;
+
+    @Autowired
+    private WordRepository wordRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.saveAndFlush(TestEntityFactory.user(1));
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void searchRecordInsertsAreBatched() {
+        List<SearchRecord> records = IntStream.range(0, ROWS)
+                .mapToObj(i -> TestEntityFactory.searchRecord(user, "term" + i, Language.ENGLISH, LocalDateTime.now()))
+                .toList();
+
+        double perRow = measure("search_records insert", ROWS, () -> searchRecordRepository.saveAll(records));
+
+        Assertions.assertTrue(perRow < 0.1, "expected batched inserts but got " + perRow + " statements per row");
+    }
+
+    @Test
+    void searchRecordSoftDeletesAreBatched() {
+        List<SearchRecord> records = searchRecordRepository.saveAllAndFlush(IntStream.range(0, ROWS)
+                .mapToObj(i -> TestEntityFactory.searchRecord(user, "term" + i, Language.ENGLISH, LocalDateTime.now()))
+                .toList());
+        records.forEach(record -> record.setDeleted(true));
+        statistics.clear();
+
+        double perRow = measure("search_records soft delete", ROWS, () -> searchRecordRepository.saveAll(records));
+
+        Assertions.assertTrue(perRow < 0.1, "expected batched updates but got " + perRow + " statements per row");
+    }
+
+    @Test
+    void wordElementCollectionsAreBatched() {
+        List<Word> words = new ArrayList<>();
+        for (int i = 0; i < ROWS / 10; i++) {
+            Word word = TestEntityFactory.word("word" + i, Language.ENGLISH);
+            List<String> values = List.of("a", "b", "c");
+            word.setDefinitions(values);
+            word.setVariations(values);
+            word.setSynonyms(values);
+            word.setAntonyms(values);
+            word.setRelated(values);
+            word.setPhrases(values);
+            words.add(word);
+        }
+
+        double perWord = measure("words insert with 6 collections", words.size(), () -> wordRepository.saveAll(words));
+
+        Assertions.assertTrue(perWord < 1.0, "expected batched inserts but got " + perWord + " statements per word");
+    }
+
+    private double measure(String operation, int rows, Runnable work) {
+        work.run();
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+        double perRow = (double) statements / rows;
+        log.info("{}: {} statements for the batch, {} per row", operation, statements, String.format("%.3f", perRow));
+        return perRow;
+    }
+}
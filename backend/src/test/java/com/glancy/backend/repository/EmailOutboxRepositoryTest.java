@@ -0,0 +1,100 @@
+package com.glancy.backend.repository;
+
+import com.glancy.backend.entity.EmailOutboxMessage;
+import com.glancy.backend.entity.EmailOutboxStatus;
+import com.glancy.backend.entity.EmailStream;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+@DataJpaTest
+class EmailOutboxRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Autowired
+    private EmailOutboxRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    /**
+     * 测试目标：到期消息只能被认领一次，租约过期后才可被其他调度实例接管。
+     * 前置条件：一条到期的 PENDING 消息与一条尚未到期的消息。
+     * 步骤：
+     *  1) 查询到期消息并以令牌 a 认领；
+     *  2) 租约内以令牌 b 再次认领；
+     *  3) 租约过期后以令牌 c 认领。
+     * 断言：
+     *  - 仅到期消息被查出；第二次认领返回 0；接管后尝试次数累加为 2。
+     * 边界/异常：
+     *  - 以旧令牌完成消息不生效，避免覆盖接管者的结果。
+     */
+    @Test
+    void claimIsExclusiveUntilLeaseExpires() {
+        EmailOutboxMessage due = repository.save(message(NOW.minusSeconds(1)));
+        repository.save(message(NOW.plusMinutes(5)));
+
+        List<EmailOutboxRepository.DueMessage> found = repository.findDue(
+                EmailOutboxStatus.PENDING, EmailOutboxStatus.SENDING, NOW, List.of(), PageRequest.of(0, 10));
+        Assertions.assertEquals(1, found.size());
+        Assertions.assertEquals(due.getId(), found.get(0).getId());
+        Assertions.assertEquals("qq", found.get(0).getProvider());
+
+        List<Long> ids = List.of(due.getId());
+        LocalDateTime lease = NOW.plusMinutes(2);
+        Assertions.assertEquals(1, claim(ids, "a", lease, NOW));
+        Assertions.assertEquals(0, claim(ids, "b", lease, NOW.plusMinutes(1)));
+        Assertions.assertEquals(1, claim(ids, "c", NOW.plusMinutes(5), lease.plusSeconds(1)));
+
+        Assertions.assertEquals(
+                0, repository.complete(due.getId(), "a", EmailOutboxStatus.SENT, null, NOW, NOW));
+        Assertions.assertEquals(
+                1, repository.complete(due.getId(), "c", EmailOutboxStatus.SENT, null, NOW, NOW));
+        entityManager.clear();
+        EmailOutboxMessage reloaded = repository.findById(due.getId()).orElseThrow();
+        Assertions.assertEquals(EmailOutboxStatus.SENT, reloaded.getStatus());
+        Assertions.assertEquals(2, reloaded.getAttempts());
+        Assertions.assertNull(reloaded.getPayload());
+    }
+
+    /** 验证查询到期消息时可以跳过已限流的服务商，越过其积压找到其他服务商的消息。 */
+    @Test
+    void findDueSkipsExcludedProviders() {
+        repository.save(message(NOW.minusSeconds(2)));
+        EmailOutboxMessage gmail = message(NOW.minusSeconds(1));
+        gmail.setRecipient("user@gmail.com");
+        gmail.setProvider("default");
+        repository.save(gmail);
+
+        List<EmailOutboxRepository.DueMessage> found = repository.findDue(
+                EmailOutboxStatus.PENDING, EmailOutboxStatus.SENDING, NOW, List.of("qq"), PageRequest.of(0, 10));
+
+        Assertions.assertEquals(1, found.size());
+        Assertions.assertEquals(gmail.getId(), found.get(0).getId());
+    }
+
+    private int claim(List<Long> ids, String token, LocalDateTime lockedUntil, LocalDateTime now) {
+        int claimed = repository.claim(
+                ids, token, lockedUntil, EmailOutboxStatus.PENDING, EmailOutboxStatus.SENDING, now);
+        entityManager.clear();
+        return claimed;
+    }
+
+    private static EmailOutboxMessage message(LocalDateTime nextAttemptAt) {
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setRecipient("user@qq.com");
+        message.setStream(EmailStream.TRANSACTIONAL);
+        message.setProvider("qq");
+        message.setPayload(new byte[] {1, 2, 3});
+        message.setNextAttemptAt(nextAttemptAt);
+        message.setCreatedAt(NOW);
+        message.setUpdatedAt(NOW);
+        return message;
+    }
+}
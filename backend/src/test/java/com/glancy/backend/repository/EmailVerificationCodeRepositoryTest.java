@@ -0,0 +1,85 @@
+package com.glancy.backend.repository;
+
+import com.glancy.backend.entity.EmailVerificationCode;
+import com.glancy.backend.entity.EmailVerificationPurpose;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@DataJpaTest
+class EmailVerificationCodeRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+    private static final EmailVerificationPurpose LOGIN = EmailVerificationPurpose.LOGIN;
+
+    @Autowired
+    private EmailVerificationCodeRepository repository;
+
+    /**
+     * 测试目标：重新签发覆盖同一行，旧验证码随之失效，新验证码只能被消费一次。
+     * 前置条件：邮箱已存在一条已使用的验证码记录。
+     * 步骤：
+     *  1) 以新验证码 reissue；
+     *  2) 用旧验证码、新验证码依次 consume，再重复消费新验证码。
+     * 断言：
+     *  - reissue 命中 1 行；旧码 0 行，新码首次 1 行、再次 0 行。
+     * 边界/异常：
+     *  - 同一 (email, purpose) 不允许插入第二行。
+     */
+    @Test
+    void reissueOverwritesPairAndConsumeSucceedsOnce() {
+        EmailVerificationCode existing = code("user@example.com", "111111", NOW.plusMinutes(10));
+        existing.setUsed(true);
+        repository.saveAndFlush(existing);
+
+        Assertions.assertEquals(1, repository.reissue("user@example.com", LOGIN, "222222", NOW.plusMinutes(10), NOW));
+
+        Assertions.assertEquals(0, repository.consume("user@example.com", LOGIN, "111111", NOW));
+        Assertions.assertEquals(1, repository.consume("user@example.com", LOGIN, "222222", NOW));
+        Assertions.assertEquals(0, repository.consume("user@example.com", LOGIN, "222222", NOW));
+        Assertions.assertEquals(0, repository.reissue("other@example.com", LOGIN, "333333", NOW, NOW));
+        Assertions.assertThrows(
+                DataIntegrityViolationException.class,
+                () -> repository.saveAndFlush(code("user@example.com", "444444", NOW)));
+    }
+
+    /** 验证过期验证码无法消费，且失效操作只影响未使用的记录。 */
+    @Test
+    void expiredOrInvalidatedCodesCannotBeConsumed() {
+        repository.saveAndFlush(code("expired@example.com", "123456", NOW.minusSeconds(1)));
+        repository.saveAndFlush(code("cancel@example.com", "123456", NOW.plusMinutes(10)));
+
+        Assertions.assertEquals(0, repository.consume("expired@example.com", LOGIN, "123456", NOW));
+        Assertions.assertEquals(1, repository.invalidate("cancel@example.com", LOGIN, NOW));
+        Assertions.assertEquals(0, repository.invalidate("cancel@example.com", LOGIN, NOW));
+        Assertions.assertEquals(0, repository.consume("cancel@example.com", LOGIN, "123456", NOW));
+    }
+
+    /** 验证清理按批次删除过期记录，未过期记录保留。 */
+    @Test
+    void deleteExpiredRemovesAtMostLimitRows() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(code("old" + i + "@example.com", "123456", NOW.minusHours(2)));
+        }
+        repository.saveAndFlush(code("fresh@example.com", "123456", NOW.plusMinutes(10)));
+
+        Assertions.assertEquals(3, repository.deleteExpired(NOW, 3));
+        Assertions.assertEquals(2, repository.deleteExpired(NOW, 3));
+        Assertions.assertEquals(0, repository.deleteExpired(NOW, 3));
+        Assertions.assertEquals(1, repository.count());
+    }
+
+    private static EmailVerificationCode code(String email, String value, LocalDateTime expiresAt) {
+        EmailVerificationCode code = new EmailVerificationCode();
+        code.setEmail(email);
+        code.setPurpose(LOGIN);
+        code.setCode(value);
+        code.setExpiresAt(expiresAt);
+        code.setCreatedAt(NOW);
+        code.setUpdatedAt(NOW);
+        return code;
+    }
+}
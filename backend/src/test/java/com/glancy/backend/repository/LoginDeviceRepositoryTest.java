@@ -31,4 +31,24 @@ class LoginDeviceRepositoryTest {
         Assertions.assertEquals("d1", list.get(0).getDeviceInfo());
         Assertions.assertEquals(2, list.size());
     }
+
+    /** 验证窗口删除只保留最近的若干设备，登录时间相同时按 id 保留较新的记录。 */
+    @Test
+    void deleteAllButLatestKeepsMostRecentDevices() {
+        User user = userRepository.save(TestEntityFactory.user(31));
+        User other = userRepository.save(TestEntityFactory.user(32));
+        LocalDateTime now = LocalDateTime.now();
+        loginDeviceRepository.save(TestEntityFactory.loginDevice(user, "d1", now));
+        loginDeviceRepository.save(TestEntityFactory.loginDevice(user, "d2", now.plusMinutes(1)));
+        loginDeviceRepository.save(TestEntityFactory.loginDevice(user, "d3", now.plusMinutes(2)));
+        loginDeviceRepository.save(TestEntityFactory.loginDevice(user, "d4", now.plusMinutes(2)));
+        loginDeviceRepository.save(TestEntityFactory.loginDevice(other, "o1", now));
+
+        Assertions.assertEquals(2, loginDeviceRepository.deleteAllButLatest(user.getId(), 2));
+        Assertions.assertEquals(0, loginDeviceRepository.deleteAllButLatest(user.getId(), 2));
+
+        List<LoginDevice> list = loginDeviceRepository.findByUserIdOrderByLoginTimeAsc(user.getId());
+        Assertions.assertEquals(List.of("d3", "d4"), list.stream().map(LoginDevice::getDeviceInfo).sorted().toList());
+        Assertions.assertEquals(1, loginDeviceRepository.findByUserIdOrderByLoginTimeAsc(other.getId()).size());
+    }
 }
@@ -0,0 +1,107 @@
+package com.glancy.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.glancy.backend.config.EmailVerificationProperties;
+import com.glancy.backend.entity.EmailVerificationCode;
+import com.glancy.backend.entity.EmailVerificationPurpose;
+import com.glancy.backend.repository.EmailVerificationCodeRepository;
+import com.glancy.backend.service.email.EmailDeliveryService;
+import com.glancy.backend.service.email.VerificationEmailComposer;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+@ExtendWith(MockitoExtension.class)
+class EmailVerificationServiceTest {
+
+    private static final EmailVerificationPurpose LOGIN = EmailVerificationPurpose.LOGIN;
+    private static final String EMAIL = "user@example.com";
+
+    @Mock
+    private EmailVerificationCodeRepository repository;
+
+    @Mock
+    private EmailDeliveryService emailDeliveryService;
+
+    @Mock
+    private VerificationEmailComposer emailComposer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmailVerificationService service;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2025-01-01T12:00:00Z"), ZoneOffset.UTC);
+        service = new EmailVerificationService(
+                repository,
+                new EmailVerificationProperties(),
+                emailDeliveryService,
+                emailComposer,
+                transactionManager,
+                clock);
+        when(emailDeliveryService.createMessage()).thenReturn(mock(MimeMessage.class));
+    }
+
+    /** 验证已有记录时直接在调用方事务内覆盖验证码，不再插入，也不开启独立事务。 */
+    @Test
+    void existingPairIsReissuedInPlace() {
+        when(repository.existsByEmailAndPurpose(EMAIL, LOGIN)).thenReturn(true);
+        when(repository.reissue(eq(EMAIL), eq(LOGIN), anyString(), any(), any())).thenReturn(1);
+
+        service.issueCode(" User@Example.com ", LOGIN, "127.0.0.1");
+
+        verify(repository, never()).saveAndFlush(any());
+        verify(transactionManager, never()).getTransaction(any());
+        verify(emailDeliveryService).queueTransactional(any(), eq(EMAIL), any());
+    }
+
+    /** 验证首次签发在独立（REQUIRES_NEW）事务中插入，成功后无需再覆盖。 */
+    @Test
+    void firstIssueInsertsInItsOwnTransaction() {
+        when(repository.existsByEmailAndPurpose(EMAIL, LOGIN)).thenReturn(false);
+
+        service.issueCode(EMAIL, LOGIN, "127.0.0.1");
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().getPropagationBehavior())
+                .isEqualTo(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        verify(repository).saveAndFlush(any(EmailVerificationCode.class));
+        verify(repository, never()).reissue(anyString(), any(), anyString(), any(), any());
+        verify(emailDeliveryService).queueTransactional(any(), eq(EMAIL), any());
+    }
+
+    /** 验证首次签发在插入时撞上并发请求写入的同一行，会在外层事务中覆盖该行并照常发送邮件，而不是向上抛出约束冲突。 */
+    @Test
+    void concurrentFirstIssueFallsBackToReissue() {
+        when(repository.existsByEmailAndPurpose(EMAIL, LOGIN)).thenReturn(false);
+        when(repository.saveAndFlush(any(EmailVerificationCode.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_email_verification_email_purpose"));
+        when(repository.reissue(eq(EMAIL), eq(LOGIN), anyString(), any(), any())).thenReturn(1);
+
+        service.issueCode(EMAIL, LOGIN, "127.0.0.1");
+
+        verify(repository).reissue(eq(EMAIL), eq(LOGIN), anyString(), any(), any());
+        verify(emailDeliveryService).queueTransactional(any(), eq(EMAIL), any());
+    }
+}
@@ -0,0 +1,76 @@
+package com.glancy.backend.service;
+
+import com.glancy.backend.dto.LoginRequest;
+import com.glancy.backend.dto.UserRegistrationRequest;
+import com.glancy.backend.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Measures password logins on H2: JDBC statements per login and single-threaded logins per second, which approximates
+ * the throughput of one core. The login path is expected to cost one user lookup plus three writes (device insert,
+ * windowed device prune, targeted user update), leaving bcrypt verification as the dominant cost.
+ */
+@Slf4j
+@TestPropertySource(properties = {"spring.jpa.properties.hibernate.generate_statistics=true"})
+class UserLoginThroughputBenchmarkTest extends AbstractUserServiceTest {
+
+    private static final int LOGINS = 10;
+    private static final long MAX_STATEMENTS_PER_LOGIN = 4;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void passwordLoginIsDominatedByBcrypt() {
+        UserRegistrationRequest registration = new UserRegistrationRequest();
+        registration.setUsername("benchuser");
+        registration.setPassword("pass123");
+        registration.setEmail("bench@example.com");
+        registration.setPhone("104");
+        userService.register(registration);
+        LoginRequest request = new LoginRequest();
+        request.setAccount("benchuser");
+        request.setPassword("pass123");
+        request.setDeviceInfo("warmup");
+        userService.login(request, CLIENT_IP);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long started = System.nanoTime();
+        for (int i = 0; i < LOGINS; i++) {
+            request.setDeviceInfo("device-" + i);
+            userService.login(request, CLIENT_IP);
+        }
+        long loginNanos = System.nanoTime() - started;
+        long statementsPerLogin = statistics.getPrepareStatementCount() / LOGINS;
+        double bcryptShare = (double) measureBcrypt() / loginNanos;
+
+        log.info(
+                "password login: {} statements, {} logins/s per core, bcrypt {}% of login time",
+                statementsPerLogin,
+                String.format("%.1f", LOGINS * 1e9 / loginNanos),
+                String.format("%.1f", bcryptShare * 100));
+        Assertions.assertTrue(
+                statementsPerLogin <= MAX_STATEMENTS_PER_LOGIN,
+                "expected at most " + MAX_STATEMENTS_PER_LOGIN + " statements per login but got " + statementsPerLogin);
+        Assertions.assertEquals(3, loginDeviceRepository.count());
+    }
+
+    private long measureBcrypt() {
+        User user = userRepository.findByUsernameAndDeletedFalse("benchuser").orElseThrow();
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        long started = System.nanoTime();
+        for (int i = 0; i < LOGINS; i++) {
+            encoder.matches("pass123", user.getPassword());
+        }
+        return System.nanoTime() - started;
+    }
+}
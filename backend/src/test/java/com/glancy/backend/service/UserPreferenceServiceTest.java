@@ -135,4 +135,28 @@ class UserPreferenceServiceTest {
         Assertions.assertEquals("fr", updated.getSystemLanguage());
         Assertions.assertEquals("es", updated.getSearchLanguage());
     }
+
+    /** 验证保存与部分更新偏好都会递增设置修订号，读取则不会 */
+    @Test
+    void testPreferenceWritesAdvanceSettingsRevision() {
+        User user = new User();
+        user.setUsername("prefuser5");
+        user.setPassword("pass");
+        user.setEmail("pref5@example.com");
+        user.setPhone("66");
+        userRepository.save(user);
+        Assertions.assertEquals(0L, userRepository.findSettingsRevision(user.getId()).orElseThrow());
+
+        UserPreferenceRequest req = new UserPreferenceRequest();
+        req.setTheme("light");
+        req.setSystemLanguage("en");
+        req.setSearchLanguage("en");
+        userPreferenceService.savePreference(user.getId(), req);
+        userPreferenceService.getPreference(user.getId());
+        UserPreferenceUpdateRequest updateRequest = new UserPreferenceUpdateRequest();
+        updateRequest.setTheme("dark");
+        userPreferenceService.updatePreference(user.getId(), updateRequest);
+
+        Assertions.assertEquals(2L, userRepository.findSettingsRevision(user.getId()).orElseThrow());
+    }
 }
@@ -24,13 +24,13 @@ class UserServiceAuthTest extends AbstractUserServiceTest {
         loginReq.setPassword("pass123");
 
         loginReq.setDeviceInfo("d1");
-        userService.login(loginReq);
+        userService.login(loginReq, CLIENT_IP);
         loginReq.setDeviceInfo("d2");
-        userService.login(loginReq);
+        userService.login(loginReq, CLIENT_IP);
         loginReq.setDeviceInfo("d3");
-        userService.login(loginReq);
+        userService.login(loginReq, CLIENT_IP);
         loginReq.setDeviceInfo("d4");
-        userService.login(loginReq);
+        userService.login(loginReq, CLIENT_IP);
 
         List<LoginDevice> devices = loginDeviceRepository.findByUserIdOrderByLoginTimeAsc(resp.getId());
         Assertions.assertEquals(3, devices.size());
@@ -50,7 +50,7 @@ class UserServiceAuthTest extends AbstractUserServiceTest {
         loginReq.setAccount("555");
         loginReq.setPassword("pass123");
 
-        Assertions.assertNotNull(userService.login(loginReq).getToken());
+        Assertions.assertNotNull(userService.login(loginReq, CLIENT_IP).getToken());
     }
 
     @Test
@@ -65,7 +65,7 @@ class UserServiceAuthTest extends AbstractUserServiceTest {
         LoginRequest loginReq = new LoginRequest();
         loginReq.setAccount("logoutuser");
         loginReq.setPassword("pass123");
-        String token = userService.login(loginReq).getToken();
+        String token = userService.login(loginReq, CLIENT_IP).getToken();
 
         userService.logout(resp.getId(), token);
 
@@ -0,0 +1,172 @@
+package com.glancy.backend.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.glancy.backend.config.WordBatchProperties;
+import com.glancy.backend.dto.WordBatchLookupItem;
+import com.glancy.backend.dto.WordBatchLookupRequest;
+import com.glancy.backend.dto.WordResponse;
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
+import com.glancy.backend.exception.InvalidRequestException;
+import com.glancy.backend.service.word.WordSearchOptions;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class WordBatchServiceTest {
+
+    @Mock
+    private WordService wordService;
+
+    private WordBatchProperties properties;
+    private WordBatchService service;
+    private final List<WordBatchLookupItem> items = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new WordBatchProperties();
+        properties.setMaxTerms(5);
+        properties.setConcurrency(2);
+        service = new WordBatchService(wordService, term -> term.trim().toLowerCase(), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    /** 缓存命中一次性批量读取，仅未命中的词走模型查询，重复词只查询一次。 */
+    @Test
+    void servesHitsFromOneQueryAndGeneratesMisses() {
+        when(wordService.findCachedWordsForUser(eq(1L), anyCollection(), eq(Language.ENGLISH), any()))
+                .thenReturn(Map.of("hello", response("hello")));
+        when(wordService.findWordForUser(eq(1L), any(WordSearchOptions.class)))
+                .thenAnswer(invocation -> response(invocation.getArgument(1, WordSearchOptions.class).term()));
+
+        service.lookup(1L, request("hello", "world", "Hello "), items::add);
+
+        Map<String, WordBatchLookupItem> byTerm =
+                items.stream().collect(Collectors.toMap(WordBatchLookupItem::term, Function.identity()));
+        Assertions.assertEquals(2, items.size());
+        Assertions.assertEquals(WordBatchLookupItem.Status.CACHED, byTerm.get("hello").status());
+        Assertions.assertEquals(WordBatchLookupItem.Status.GENERATED, byTerm.get("world").status());
+        verify(wordService).findWordForUser(eq(1L), argThat(options -> options.term().equals("world")
+                && !options.captureHistory()
+                && options.flavor() == DictionaryFlavor.BILINGUAL));
+        verify(wordService, never()).findWordForUser(eq(1L), argThat(options -> options.term().equals("hello")));
+    }
+
+    /** 单个词失败只影响该词，其余词照常返回。 */
+    @Test
+    void reportsFailuresPerTerm() {
+        when(wordService.findCachedWordsForUser(eq(1L), anyCollection(), any(), any()))
+                .thenReturn(Map.of());
+        when(wordService.findWordForUser(eq(1L), argThat(options -> options != null && options.term().equals("bad"))))
+                .thenThrow(new InvalidRequestException("服务繁忙"));
+        when(wordService.findWordForUser(eq(1L), argThat(options -> options != null && options.term().equals("ok"))))
+                .thenReturn(response("ok"));
+
+        service.lookup(1L, request("bad", "ok", " "), items::add);
+
+        Map<String, WordBatchLookupItem> byTerm =
+                items.stream().collect(Collectors.toMap(WordBatchLookupItem::term, Function.identity()));
+        Assertions.assertEquals("服务繁忙", byTerm.get("bad").error());
+        Assertions.assertEquals(WordBatchLookupItem.Status.GENERATED, byTerm.get("ok").status());
+        Assertions.assertEquals(WordBatchLookupItem.Status.FAILED, byTerm.get(" ").status());
+    }
+
+    /** 同一请求内并发调用模型的数量不超过配置上限。 */
+    @Test
+    void boundsConcurrentModelLookups() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(wordService.findCachedWordsForUser(eq(1L), anyCollection(), any(), any()))
+                .thenReturn(Map.of());
+        when(wordService.findWordForUser(eq(1L), any(WordSearchOptions.class))).thenAnswer(invocation -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(30);
+            inFlight.decrementAndGet();
+            return response(invocation.getArgument(1, WordSearchOptions.class).term());
+        });
+
+        service.lookup(1L, request("a", "b", "c", "d", "e"), items::add);
+
+        Assertions.assertEquals(5, items.size());
+        Assertions.assertTrue(peak.get() <= 2, "peak concurrency was " + peak.get());
+    }
+
+    /** 响应写入失败（客户端断开）时取消仍在生成的词，不再发起新的模型调用，并把写入异常抛给调用方。 */
+    @Test
+    void cancelsOutstandingGenerationsWhenSinkFails() throws Exception {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(wordService.findCachedWordsForUser(eq(1L), anyCollection(), any(), any()))
+                .thenReturn(Map.of());
+        when(wordService.findWordForUser(eq(1L), any(WordSearchOptions.class))).thenAnswer(invocation -> {
+            String term = invocation.getArgument(1, WordSearchOptions.class).term();
+            if (term.equals("fast")) {
+                slowStarted.await(5, TimeUnit.SECONDS);
+            }
+            if (term.equals("slow")) {
+                slowStarted.countDown();
+                try {
+                    new CountDownLatch(1).await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    interrupted.countDown();
+                    throw ex;
+                }
+            }
+            return response(term);
+        });
+        Consumer<WordBatchLookupItem> disconnected = item -> {
+            throw new UncheckedIOException(new IOException("Broken pipe"));
+        };
+
+        Assertions.assertThrows(
+                UncheckedIOException.class, () -> service.lookup(1L, request("slow", "fast", "never"), disconnected));
+
+        Assertions.assertTrue(interrupted.await(5, TimeUnit.SECONDS), "slow generation should be cancelled");
+        verify(wordService, never()).findWordForUser(eq(1L), argThat(options -> options.term().equals("never")));
+    }
+
+    @Test
+    void rejectsOversizedBatch() {
+        Assertions.assertThrows(
+                InvalidRequestException.class, () -> service.validate(request("a", "b", "c", "d", "e", "f")));
+    }
+
+    private WordBatchLookupRequest request(String... terms) {
+        WordBatchLookupRequest request = new WordBatchLookupRequest();
+        request.setTerms(List.of(terms));
+        request.setLanguage(Language.ENGLISH);
+        return request;
+    }
+
+    private WordResponse response(String term) {
+        WordResponse response = new WordResponse();
+        response.setTerm(term);
+        return response;
+    }
+}
@@ -0,0 +1,97 @@
+package com.glancy.backend.service.email;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.glancy.backend.config.EmailVerificationProperties;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+class EmailAudienceInteractionBufferTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmailAudienceInteractionBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        EmailVerificationProperties properties = new EmailVerificationProperties();
+        properties.getAudiencePolicy().setInteractionFlushBatchSize(2);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        buffer = new EmailAudienceInteractionBuffer(jdbcTemplate, transactionManager, properties);
+    }
+
+    /**
+     * 测试目标：同一受众的多次互动合并为最新时间戳，并按批次写入。
+     * 前置条件：批大小为 2。
+     * 步骤：
+     *  1) 受众 1 记录两次互动与一次投递，受众 2、3 各记录一次互动；
+     *  2) flush。
+     * 断言：
+     *  - 合并后只剩 3 条待写记录，共 2 个批次、1 条投递更新；
+     *  - 受众 1 写入的是最晚的互动时间。
+     * 边界/异常：
+     *  - flush 后缓冲清空，再次 flush 不访问数据库。
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void coalescesPerAudienceAndWritesInBatches() {
+        buffer.recordInteraction(1L, NOW);
+        buffer.recordInteraction(1L, NOW.plusMinutes(5));
+        buffer.recordDelivery(1L, NOW.plusMinutes(1));
+        buffer.recordInteraction(2L, NOW);
+        buffer.recordInteraction(3L, NOW);
+        assertThat(buffer.pendingCount()).isEqualTo(3);
+
+        assertThat(buffer.flush()).isEqualTo(3);
+
+        ArgumentCaptor<Map<String, ?>[]> batches = ArgumentCaptor.forClass(Map[].class);
+        verify(jdbcTemplate, times(2)).batchUpdate(contains("last_interaction_at"), batches.capture());
+        verify(jdbcTemplate, times(1)).batchUpdate(contains("last_delivered_at"), any(Map[].class));
+        assertThat(batches.getAllValues().stream().flatMap(Arrays::stream))
+                .hasSize(3)
+                .contains(Map.of("id", 1L, "timestamp", NOW.plusMinutes(5)));
+        assertThat(buffer.pendingCount()).isZero();
+        assertThat(buffer.flush()).isZero();
+    }
+
+    /** 验证写入失败时该批次放回缓冲，下次 flush 重试。 */
+    @Test
+    void failedBatchIsRequeued() {
+        buffer.recordInteraction(1L, NOW);
+        when(jdbcTemplate.batchUpdate(contains("last_interaction_at"), any(Map[].class)))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[] {1});
+
+        assertThatThrownBy(buffer::flush).isInstanceOf(QueryTimeoutException.class);
+        assertThat(buffer.pendingCount()).isEqualTo(1);
+
+        assertThat(buffer.flush()).isEqualTo(1);
+        assertThat(buffer.pendingCount()).isZero();
+        verify(jdbcTemplate, never()).batchUpdate(contains("last_delivered_at"), any(Map[].class));
+    }
+}
@@ -25,6 +25,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class EmailAudienceServiceTest {
@@ -34,6 +35,9 @@ class EmailAudienceServiceTest {
     @Mock
     private EmailAudienceRepository repository;
 
+    @Mock
+    private EmailAudienceInteractionBuffer interactions;
+
     private EmailVerificationProperties properties;
     private EmailAudienceService service;
 
@@ -48,24 +52,31 @@ class EmailAudienceServiceTest {
         properties.getInfrastructure().setDkimSelector("selector");
         properties.getInfrastructure().setDmarcPolicy("dmarc");
         properties.getAudiencePolicy().setInactivityThreshold(Duration.ofDays(180));
-        service = new EmailAudienceService(repository, properties, FIXED_CLOCK);
+        EmailAudienceStateCache stateCache = new EmailAudienceStateCache(properties, FIXED_CLOCK);
+        service = new EmailAudienceService(repository, properties, stateCache, interactions, FIXED_CLOCK);
     }
 
-    /** 验证首次发送时会创建受众并记录互动时间。 */
+    /** 验证首次发送时会创建受众，之后的同意校验由缓存应答，互动时间交由缓冲合并写入。 */
     @Test
-    void shouldCreateAudienceOnFirstSend() {
+    void shouldCreateAudienceOnFirstSendAndServeRepeatsFromCache() {
         when(repository.findByEmailAndStream("user@mail.glancy.xyz", EmailStream.TRANSACTIONAL))
                 .thenReturn(Optional.empty());
         ArgumentCaptor<EmailAudience> captor = ArgumentCaptor.forClass(EmailAudience.class);
-        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
-
-        EmailAudience audience = service.ensureTransactionalConsent("user@mail.glancy.xyz");
-
-        verify(repository, times(2)).save(captor.capture());
-        assertThat(audience.getEmail()).isEqualTo("user@mail.glancy.xyz");
-        assertThat(audience.getStream()).isEqualTo(EmailStream.TRANSACTIONAL);
-        assertThat(captor.getValue().getLastInteractionAt())
-                .isEqualTo(LocalDateTime.ofInstant(FIXED_CLOCK.instant(), FIXED_CLOCK.getZone()));
+        when(repository.save(any())).thenAnswer(invocation -> {
+            EmailAudience saved = invocation.getArgument(0);
+            ReflectionTestUtils.setField(saved, "id", 7L);
+            return saved;
+        });
+        LocalDateTime now = LocalDateTime.ofInstant(FIXED_CLOCK.instant(), FIXED_CLOCK.getZone());
+
+        service.ensureTransactionalConsent("user@mail.glancy.xyz");
+        service.ensureTransactionalConsent(" User@Mail.Glancy.xyz ");
+
+        verify(repository, times(1)).findByEmailAndStream("user@mail.glancy.xyz", EmailStream.TRANSACTIONAL);
+        verify(repository, times(1)).save(captor.capture());
+        assertThat(captor.getValue().getEmail()).isEqualTo("user@mail.glancy.xyz");
+        assertThat(captor.getValue().getStream()).isEqualTo(EmailStream.TRANSACTIONAL);
+        verify(interactions, times(2)).recordInteraction(7L, now);
     }
 
     /** 验证已退订用户无法再次发送邮件。 */
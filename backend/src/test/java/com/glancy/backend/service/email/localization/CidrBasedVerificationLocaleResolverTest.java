@@ -0,0 +1,60 @@
+package com.glancy.backend.service.email.localization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.glancy.backend.config.EmailVerificationLocalizationProperties.Rule;
+import com.glancy.backend.config.EmailVerificationProperties;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+
+class CidrBasedVerificationLocaleResolverTest {
+
+    /**
+     * 测试目标：规则按最长前缀匹配，窄网段覆盖先声明的宽网段。 前置条件：36.0.0.0/4 → zh-CN，36.112.0.0/16 → en-US，默认 zh-CN。 断言： - 窄网段内 IP
+     * 返回 en-US； - 宽网段其余 IP 返回 zh-CN。
+     */
+    @Test
+    void Given_NestedRules_When_Resolve_Then_MostSpecificRuleWins() {
+        CidrBasedVerificationLocaleResolver resolver =
+                resolver(rule("36.0.0.0/4", "zh-CN"), rule("36.112.0.0/16", "en-US"), rule("2001:200::/23", "ja-JP"));
+
+        assertEquals(Locale.forLanguageTag("en-US"), resolver.resolve("36.112.10.4"));
+        assertEquals(Locale.forLanguageTag("zh-CN"), resolver.resolve("37.1.1.1"));
+        assertEquals(Locale.forLanguageTag("ja-JP"), resolver.resolve("2001:200:1::8"));
+    }
+
+    /**
+     * 测试目标：无法解析或未命中的 IP 回退默认语言，且不会触发 DNS 解析。 前置条件：默认语言 en-GB。 断言： - 主机名、空值与未命中地址均返回 en-GB。
+     */
+    @Test
+    void Given_UnmatchedOrMalformedIp_When_Resolve_Then_ReturnDefault() {
+        CidrBasedVerificationLocaleResolver resolver = resolver(rule("3.0.0.0/8", "en-US"));
+
+        assertEquals(Locale.UK, resolver.resolve("198.51.100.23"));
+        assertEquals(Locale.UK, resolver.resolve("localhost"));
+        assertEquals(Locale.UK, resolver.resolve(" "));
+        assertEquals(Locale.UK, resolver.resolve(null));
+    }
+
+    /** 测试目标：非法 CIDR 在启动时以 IllegalStateException 失败。 */
+    @Test
+    void Given_InvalidCidr_When_Construct_Then_Fail() {
+        assertThrows(IllegalStateException.class, () -> resolver(rule("3.0.0.0/40", "en-US")));
+    }
+
+    private static CidrBasedVerificationLocaleResolver resolver(Rule... rules) {
+        EmailVerificationProperties properties = new EmailVerificationProperties();
+        properties.getLocalization().setDefaultLanguageTag("en-GB");
+        properties.getLocalization().setRules(List.of(rules));
+        return new CidrBasedVerificationLocaleResolver(properties);
+    }
+
+    private static Rule rule(String cidr, String languageTag) {
+        Rule rule = new Rule();
+        rule.setCidr(cidr);
+        rule.setLanguageTag(languageTag);
+        return rule;
+    }
+}
@@ -0,0 +1,210 @@
+package com.glancy.backend.service.email.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.glancy.backend.config.EmailOutboxProperties;
+import com.glancy.backend.entity.EmailOutboxMessage;
+import com.glancy.backend.entity.EmailOutboxStatus;
+import com.glancy.backend.entity.EmailStream;
+import com.glancy.backend.entity.EmailSuppressionStatus;
+import com.glancy.backend.repository.EmailOutboxRepository;
+import com.glancy.backend.service.email.EmailAudienceService;
+import com.glancy.backend.service.email.EmailDeliveryFailure;
+import com.glancy.backend.service.email.EmailDeliveryFailureClassifier;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxLedgerTest {
+
+    private static final Clock FIXED_CLOCK = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime NOW = LocalDateTime.now(FIXED_CLOCK);
+
+    @Mock
+    private EmailOutboxRepository repository;
+
+    @Mock
+    private EmailAudienceService audienceService;
+
+    @Mock
+    private EmailDeliveryFailureClassifier failureClassifier;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmailOutboxProperties properties;
+    private EmailOutboxLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EmailOutboxProperties();
+        properties.setMaxAttempts(3);
+        properties.setRetryBackoff(Duration.ofSeconds(30));
+        ledger = new EmailOutboxLedger(
+                repository, audienceService, failureClassifier, properties, transactionManager, FIXED_CLOCK);
+    }
+
+    /** 验证连接或登录失败只做退避重试，不计入收件人的退信记录。 */
+    @Test
+    void transportFailureIsRetriedWithoutBounce() {
+        EmailOutboxMessage message = claimed(2, null);
+
+        EmailOutboxLedger.Outcome outcome =
+                ledger.recordFailure(message, new MailSendException("Mail server connection failed"));
+
+        assertThat(outcome).isEqualTo(EmailOutboxLedger.Outcome.RETRIED);
+        verify(repository)
+                .reschedule(
+                        eq(7L),
+                        eq("token"),
+                        eq(EmailOutboxStatus.PENDING),
+                        eq(NOW.plusSeconds(60)),
+                        eq("Mail server connection failed"),
+                        eq(NOW));
+        verify(failureClassifier, never()).classify(any());
+        verify(audienceService, never()).recordDeliveryFailure(any(), any(), any(), any());
+    }
+
+    /** 验证认证失败同样视为服务端问题，不会把收件人加入人工抑制名单。 */
+    @Test
+    void authenticationFailureDoesNotSuppressRecipient() {
+        EmailOutboxMessage message = claimed(1, null);
+
+        ledger.recordFailure(message, new MailAuthenticationException("535 authentication failed"));
+
+        verify(audienceService, never()).recordDeliveryFailure(any(), any(), any(), any());
+    }
+
+    /** 验证永久性退信立即终止并记入受众。 */
+    @Test
+    void permanentRejectionFailsImmediately() {
+        EmailOutboxMessage message = claimed(1, null);
+        MailSendException rejection = new MailSendException(Map.of(message, new Exception("550 mailbox not found")));
+        EmailDeliveryFailure failure =
+                new EmailDeliveryFailure(true, EmailSuppressionStatus.HARD_BOUNCE, "550", "550 mailbox not found");
+        when(failureClassifier.classify(rejection)).thenReturn(failure);
+
+        EmailOutboxLedger.Outcome outcome = ledger.recordFailure(message, rejection);
+
+        assertThat(outcome).isEqualTo(EmailOutboxLedger.Outcome.FAILED);
+        verify(audienceService).recordDeliveryFailure("user@qq.com", EmailStream.TRANSACTIONAL, failure, NOW);
+        verify(repository).complete(eq(7L), eq("token"), eq(EmailOutboxStatus.FAILED), any(), eq(null), eq(NOW));
+    }
+
+    /** 验证达到最大尝试次数或下次重试晚于验证码过期时不再重试。 */
+    @Test
+    void retriesStopAtMaxAttemptsOrExpiry() {
+        MailSendException unreachable = new MailSendException("Mail server connection failed");
+
+        assertThat(ledger.recordFailure(claimed(3, null), unreachable)).isEqualTo(EmailOutboxLedger.Outcome.FAILED);
+        assertThat(ledger.recordFailure(claimed(1, NOW.plusSeconds(10)), unreachable))
+                .isEqualTo(EmailOutboxLedger.Outcome.FAILED);
+        verify(repository, never()).reschedule(any(), any(), any(), any(), any(), any());
+    }
+
+    /** 验证发送成功后完成消息并回写受众送达时间。 */
+    @Test
+    void successCompletesMessageAndRecordsDelivery() {
+        EmailOutboxMessage message = claimed(1, null);
+
+        assertThat(ledger.recordSuccess(message)).isEqualTo(EmailOutboxLedger.Outcome.SENT);
+
+        verify(repository).complete(7L, "token", EmailOutboxStatus.SENT, null, NOW, NOW);
+        verify(audienceService).recordDeliverySuccess("user@qq.com", EmailStream.TRANSACTIONAL, NOW);
+    }
+
+    /** 验证限流服务商的积压排在前面时，本轮扫描会跳过它继续认领其他服务商的消息。 */
+    @Test
+    void throttledProviderBacklogDoesNotBlockOtherProviders() {
+        EmailOutboxProperties.ProviderLimit qqLimit = new EmailOutboxProperties.ProviderLimit();
+        qqLimit.setDomains(List.of("qq.com"));
+        qqLimit.setPermitsPerSecond(1);
+        properties.getProviders().put("qq", qqLimit);
+        properties.setBatchSize(3);
+        EmailProviderRateLimiter rateLimiter = new EmailProviderRateLimiter(properties);
+        when(repository.findDue(any(), any(), any(), eq(Set.of()), any()))
+                .thenReturn(List.of(due(1L, "qq"), due(2L, "qq"), due(3L, "qq")));
+        when(repository.findDue(any(), any(), any(), eq(Set.of("qq")), any()))
+                .thenReturn(List.of(due(4L, "default")));
+        when(repository.findByClaimToken(any()))
+                .thenReturn(List.of(claimedMessage(1L, "qq")))
+                .thenReturn(List.of(claimedMessage(4L, "default")));
+
+        EmailOutboxLedger.Claim claim = ledger.claimDue(2, rateLimiter);
+
+        assertThat(claim.messages()).extracting(EmailOutboxMessage::getId).containsExactly(1L, 4L);
+        assertThat(claim.backlog()).isTrue();
+        verify(repository).claim(eq(Set.of(1L)), any(), any(), any(), any(), any());
+        verify(repository).claim(eq(Set.of(4L)), any(), any(), any(), any(), any());
+    }
+
+    /** 验证被其他调度实例抢先认领的消息会归还已取得的发送许可。 */
+    @Test
+    void lostClaimsReturnTheirPermits() {
+        EmailProviderRateLimiter rateLimiter = mock(EmailProviderRateLimiter.class);
+        when(rateLimiter.tryAcquire("default")).thenReturn(true);
+        when(repository.findDue(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(due(1L, "default"), due(2L, "default")));
+        when(repository.findByClaimToken(any())).thenReturn(List.of(claimedMessage(1L, "default")));
+
+        EmailOutboxLedger.Claim claim = ledger.claimDue(2, rateLimiter);
+
+        assertThat(claim.messages()).hasSize(1);
+        verify(rateLimiter, times(1)).release("default");
+    }
+
+    private static EmailOutboxRepository.DueMessage due(Long id, String provider) {
+        return new EmailOutboxRepository.DueMessage() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getProvider() {
+                return provider;
+            }
+        };
+    }
+
+    private static EmailOutboxMessage claimedMessage(Long id, String provider) {
+        EmailOutboxMessage message = claimed(1, null);
+        message.setId(id);
+        message.setProvider(provider);
+        return message;
+    }
+
+    private static EmailOutboxMessage claimed(int attempts, LocalDateTime expiresAt) {
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setId(7L);
+        message.setRecipient("user@qq.com");
+        message.setStream(EmailStream.TRANSACTIONAL);
+        message.setProvider("qq");
+        message.setStatus(EmailOutboxStatus.SENDING);
+        message.setClaimToken("token");
+        message.setAttempts(attempts);
+        message.setExpiresAt(expiresAt);
+        return message;
+    }
+}
@@ -2,8 +2,11 @@ package com.glancy.backend.service.personalization;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.glancy.backend.config.PersonalizationProperties;
 import com.glancy.backend.dto.PersonalizedWordExplanation;
 import com.glancy.backend.dto.WordPersonalizationContext;
 import com.glancy.backend.dto.WordResponse;
@@ -14,6 +17,7 @@ import com.glancy.backend.entity.User;
 import com.glancy.backend.entity.UserProfile;
 import com.glancy.backend.repository.SearchRecordRepository;
 import com.glancy.backend.repository.UserProfileRepository;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -36,12 +40,45 @@ class DefaultWordPersonalizationServiceTest {
 
     private PersonalizationNarrativeBuilder narrativeBuilder;
 
+    private PersonalizationContextCache contextCache;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
         narrativeBuilder = new PersonalizationNarrativeBuilder();
-        service =
-                new DefaultWordPersonalizationService(userProfileRepository, searchRecordRepository, narrativeBuilder);
+        contextCache = new PersonalizationContextCache(new PersonalizationProperties(), Clock.systemUTC());
+        service = new DefaultWordPersonalizationService(
+                userProfileRepository, searchRecordRepository, narrativeBuilder, contextCache);
+    }
+
+    /** 重复解析命中缓存，新保存的搜索词直接推入最近词列表，无需再次查询。 */
+    @Test
+    void resolveContextReusesCachedStateAndAppendsRecentTerms() {
+        mockProfile();
+        mockHistory();
+        service.resolveContext(1L);
+
+        contextCache.recordSearch(1L, " leverage ");
+        contextCache.recordSearch(1L, "portfolio");
+        WordPersonalizationContext context = service.resolveContext(1L);
+
+        Assertions.assertEquals(List.of("portfolio", "leverage", "equity"), context.recentTerms());
+        verify(userProfileRepository, times(1)).findByUserId(1L);
+        verify(searchRecordRepository, times(1))
+                .findByUserIdAndDeletedFalseOrderByUpdatedAtDesc(eq(1L), any(Pageable.class));
+    }
+
+    /** 画像更新使缓存失效，下一次解析重新读取画像。 */
+    @Test
+    void resolveContextReloadsAfterInvalidation() {
+        mockProfile();
+        mockHistory();
+        service.resolveContext(1L);
+
+        contextCache.invalidate(1L);
+        service.resolveContext(1L);
+
+        verify(userProfileRepository, times(2)).findByUserId(1L);
     }
 
     @Test
@@ -122,6 +159,7 @@ class DefaultWordPersonalizationServiceTest {
                 "# leverage",
                 null,
                 null,
-                DictionaryFlavor.BILINGUAL);
+                DictionaryFlavor.BILINGUAL,
+                false);
     }
 }
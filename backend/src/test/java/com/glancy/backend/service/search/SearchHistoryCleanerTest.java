@@ -0,0 +1,128 @@
+package com.glancy.backend.service.search;
+
+import com.glancy.backend.dto.SearchHistoryClearResponse;
+import com.glancy.backend.entity.Language;
+import com.glancy.backend.entity.SearchRecord;
+import com.glancy.backend.entity.SearchResultVersion;
+import com.glancy.backend.entity.User;
+import com.glancy.backend.exception.ResourceNotFoundException;
+import com.glancy.backend.repository.SearchRecordRepository;
+import com.glancy.backend.repository.SearchResultVersionRepository;
+import com.glancy.backend.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/** Integration tests for {@link SearchHistoryCleaner} with tiny chunks against the embedded database. */
+@SpringBootTest(properties = {"search.history-clear.batch-size=2", "search.history-clear.async-threshold=3"})
+class SearchHistoryCleanerTest {
+
+    @Autowired
+    private SearchHistoryCleaner cleaner;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SearchRecordRepository searchRecordRepository;
+
+    @Autowired
+    private SearchResultVersionRepository searchResultVersionRepository;
+
+    private User owner;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        owner = user("history-owner", "4343");
+        other = user("history-other", "4344");
+    }
+
+    /** Chunks commit independently, so rows must not leak into other tests sharing the context. */
+    @AfterEach
+    void cleanUp() {
+        searchResultVersionRepository.deleteAll();
+        searchRecordRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    /** A history under the threshold is cleared in several chunks before the call returns. */
+    @Test
+    void clearsSmallHistoryInline() {
+        seed(owner, 3);
+        seed(other, 1);
+
+        SearchHistoryClearResponse result = cleaner.clear(owner.getId());
+
+        Assertions.assertEquals(SearchHistoryClearResponse.Status.COMPLETED, result.status());
+        Assertions.assertEquals(3, result.clearedRecords());
+        Assertions.assertEquals(3, result.clearedVersions());
+        Assertions.assertEquals(0, searchRecordRepository.countByUserIdAndDeletedFalse(owner.getId()));
+        Assertions.assertEquals(1, searchRecordRepository.countByUserIdAndDeletedFalse(other.getId()));
+        Assertions.assertEquals(1, activeVersions());
+    }
+
+    /** A history over the threshold is handed to a background job whose progress can be polled. */
+    @Test
+    void clearsLargeHistoryInBackground() throws InterruptedException {
+        seed(owner, 5);
+
+        SearchHistoryClearResponse accepted = cleaner.clear(owner.getId());
+        Assertions.assertEquals(5, accepted.totalRecords());
+
+        SearchHistoryClearResponse progress = accepted;
+        for (int i = 0; i < 100 && !progress.finished(); i++) {
+            Thread.sleep(50);
+            progress = cleaner.getJob(owner.getId(), accepted.jobId());
+        }
+        Assertions.assertEquals(SearchHistoryClearResponse.Status.COMPLETED, progress.status());
+        Assertions.assertEquals(5, progress.clearedRecords());
+        Assertions.assertEquals(5, progress.clearedVersions());
+        Assertions.assertEquals(0, searchRecordRepository.countByUserIdAndDeletedFalse(owner.getId()));
+        Assertions.assertThrows(
+                ResourceNotFoundException.class, () -> cleaner.getJob(other.getId(), accepted.jobId()));
+    }
+
+    private long activeVersions() {
+        return searchResultVersionRepository.findAll().stream()
+                .filter(version -> !Boolean.TRUE.equals(version.getDeleted()))
+                .count();
+    }
+
+    private User user(String username, String phone) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("pwd");
+        user.setEmail(username + "@example.com");
+        user.setPhone(phone);
+        return userRepository.save(user);
+    }
+
+    private void seed(User user, int count) {
+        List<SearchResultVersion> versions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SearchRecord record = new SearchRecord();
+            record.setUser(user);
+            record.setTerm("term" + i);
+            record.setLanguage(Language.ENGLISH);
+            searchRecordRepository.save(record);
+            SearchResultVersion version = new SearchResultVersion();
+            version.setUser(user);
+            version.setSearchRecord(record);
+            version.setTerm(record.getTerm());
+            version.setLanguage(Language.ENGLISH);
+            version.setModel("doubao");
+            version.setVersionNumber(1);
+            version.setContent("content");
+            version.setPreview("content");
+            versions.add(version);
+        }
+        searchResultVersionRepository.saveAll(versions);
+    }
+}
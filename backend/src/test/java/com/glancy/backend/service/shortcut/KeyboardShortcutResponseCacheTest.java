@@ -0,0 +1,86 @@
+package com.glancy.backend.service.shortcut;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.glancy.backend.config.KeyboardShortcutProperties;
+import com.glancy.backend.dto.KeyboardShortcutResponse;
+import com.glancy.backend.dto.KeyboardShortcutView;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class KeyboardShortcutResponseCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final KeyboardShortcutResponse LOADED = response("MOD", "SHIFT", "F");
+    private static final KeyboardShortcutResponse UPDATED = response("CONTROL", "SHIFT", "P");
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    /** 验证命中缓存时不再调用加载器，replace 后以新修订号直接返回新响应。 */
+    @Test
+    void servesRepeatedReadsFromMemoryAndReplacesOnWrite() {
+        KeyboardShortcutResponseCache cache = cache(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThat(cache.get(1L, 5L, this::load)).isSameAs(LOADED);
+        assertThat(cache.get(1L, 5L, this::load)).isSameAs(LOADED);
+        cache.replace(1L, 6L, UPDATED);
+
+        assertThat(cache.get(1L, 6L, this::load)).isSameAs(UPDATED);
+        assertThat(loads).hasValue(1);
+    }
+
+    /** 验证其它实例写入使修订号前进而本地未驱逐时，按新修订号读取会重新加载而不是返回旧响应。 */
+    @Test
+    void reloadsWhenRevisionMovesWithoutLocalEviction() {
+        KeyboardShortcutResponseCache cache = cache(Clock.fixed(NOW, ZoneOffset.UTC));
+        assertThat(cache.get(1L, 5L, this::load)).isSameAs(LOADED);
+
+        assertThat(cache.get(1L, 6L, userId -> {
+                    loads.incrementAndGet();
+                    return UPDATED;
+                }))
+                .isSameAs(UPDATED);
+        assertThat(cache.get(1L, 6L, this::load)).isSameAs(UPDATED);
+        assertThat(loads).hasValue(2);
+    }
+
+    /** 验证条目超过 TTL 后重新加载，且容量受 maxEntries 限制。 */
+    @Test
+    void reloadsAfterTtlAndEvictsLeastRecentlyUsed() {
+        Clock clock = Mockito.mock(Clock.class);
+        Mockito.when(clock.instant()).thenReturn(NOW);
+        KeyboardShortcutResponseCache cache = cache(clock);
+        cache.get(1L, 1L, this::load);
+        cache.get(2L, 1L, this::load);
+        cache.get(3L, 1L, this::load);
+        assertThat(cache.size()).isEqualTo(2);
+
+        Mockito.when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(11)));
+        cache.get(3L, 1L, this::load);
+
+        assertThat(loads).hasValue(4);
+    }
+
+    private KeyboardShortcutResponse load(Long userId) {
+        loads.incrementAndGet();
+        return LOADED;
+    }
+
+    private static KeyboardShortcutResponseCache cache(Clock clock) {
+        KeyboardShortcutProperties properties = new KeyboardShortcutProperties();
+        properties.getCache().setMaxEntries(2);
+        properties.getCache().setTtl(Duration.ofMinutes(10));
+        return new KeyboardShortcutResponseCache(properties, clock);
+    }
+
+    private static KeyboardShortcutResponse response(String... keys) {
+        KeyboardShortcutView view = new KeyboardShortcutView("FOCUS_SEARCH", List.of(keys), List.of());
+        return new KeyboardShortcutResponse(List.of(view));
+    }
+}
@@ -5,6 +5,7 @@ import com.glancy.backend.dto.KeyboardShortcutUpdateRequest;
 import com.glancy.backend.entity.ShortcutAction;
 import com.glancy.backend.entity.User;
 import com.glancy.backend.exception.InvalidRequestException;
+import com.glancy.backend.exception.ResourceNotFoundException;
 import com.glancy.backend.repository.UserKeyboardShortcutRepository;
 import com.glancy.backend.repository.UserRepository;
 import io.github.cdimascio.dotenv.Dotenv;
@@ -158,4 +159,24 @@ class KeyboardShortcutServiceTest {
                                 && view.keys().equals(view.defaultKeys())),
                 "open shortcuts should remain default after conflict");
     }
+
+    /** 验证同一次查询在用户不存在时直接返回未找到，而不是默认快捷键。 */
+    @Test
+    void Given_unknownUser_When_getShortcuts_Then_throwNotFound() {
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> keyboardShortcutService.getShortcuts(-1L));
+    }
+
+    /** 验证更新与重置都会递增设置修订号，使快捷键的 ETag 随之失效。 */
+    @Test
+    void Given_updateAndReset_When_writeShortcuts_Then_advanceSettingsRevision() {
+        User user = createUser();
+
+        keyboardShortcutService.updateShortcut(
+                user.getId(),
+                ShortcutAction.FOCUS_SEARCH,
+                new KeyboardShortcutUpdateRequest(List.of("CONTROL", "SHIFT", "P")));
+        keyboardShortcutService.resetShortcuts(user.getId());
+
+        Assertions.assertEquals(2L, userRepository.findSettingsRevision(user.getId()).orElseThrow());
+    }
 }
@@ -1,6 +1,8 @@
 package com.glancy.backend.service.support;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.glancy.backend.config.SearchProperties;
+import com.glancy.backend.config.timing.LookupStageTimer;
 import com.glancy.backend.dto.PersonalizedWordExplanation;
 import com.glancy.backend.dto.WordPersonalizationContext;
 import com.glancy.backend.dto.WordResponse;
@@ -9,6 +11,7 @@ import com.glancy.backend.entity.Language;
 import com.glancy.backend.entity.SearchResultVersion;
 import com.glancy.backend.entity.Word;
 import com.glancy.backend.util.SensitiveDataUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -18,7 +21,8 @@ import org.junit.jupiter.api.Test;
 /** 针对 WordPersistenceCoordinator 的流程编排验证。 */
 class WordPersistenceCoordinatorTest {
 
-    private final WordPersistenceCoordinator coordinator = new WordPersistenceCoordinator();
+    private final WordPersistenceCoordinator coordinator =
+            new WordPersistenceCoordinator(new LookupStageTimer(new SearchProperties(), new SimpleMeterRegistry()));
 
     /**
      * 测试目标：验证同步流程复用响应 markdown 并写回个性化。\ 前置条件：\ - 上下文包含有效的搜索记录 ID 与 markdown；\ - 所有协作步骤均成功执行。\ 步骤：\ 1)
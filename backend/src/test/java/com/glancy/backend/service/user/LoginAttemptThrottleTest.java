@@ -0,0 +1,88 @@
+package com.glancy.backend.service.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.glancy.backend.config.PasswordHashingProperties;
+import com.glancy.backend.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LoginAttemptThrottleTest {
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2025-01-01T00:00:00Z"));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoginAttemptThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.getThrottle().setMaxAttemptsPerAccount(2);
+        properties.getThrottle().setMaxAttemptsPerIp(3);
+        Clock clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        };
+        throttle = new LoginAttemptThrottle(properties, clock, meterRegistry);
+    }
+
+    /** 验证同一账号（忽略大小写）失败次数达到窗口上限后被限流，窗口结束后恢复。 */
+    @Test
+    void throttlesAccountUntilWindowEnds() {
+        throttle.recordFailure("Alice", "10.0.0.1");
+        throttle.recordFailure(" alice ", "10.0.0.2");
+
+        assertThatThrownBy(() -> throttle.checkAllowed("alice", "10.0.0.3"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessage("请60秒后重试");
+
+        now.set(now.get().plus(Duration.ofMinutes(1)));
+        assertThatCode(() -> throttle.checkAllowed("alice", "10.0.0.4")).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("glancy.auth.login.throttled").tag("scope", "account").counter().count())
+                .isEqualTo(1);
+    }
+
+    /** 验证检查本身不计数，频繁成功登录的账号不会被限流。 */
+    @Test
+    void successfulLoginsAreNotCounted() {
+        for (int i = 0; i < 10; i++) {
+            assertThatCode(() -> throttle.checkAllowed("alice", "10.0.0.1")).doesNotThrowAnyException();
+        }
+        assertThat(throttle.trackedKeys()).isZero();
+    }
+
+    /** 验证同一 IP 跨账号的失败次数受限，过期窗口会被定期清理。 */
+    @Test
+    void throttlesIpAcrossAccountsAndPurgesExpiredWindows() {
+        throttle.recordFailure("a", "10.0.0.1");
+        throttle.recordFailure("b", "10.0.0.1");
+        throttle.recordFailure("c", "10.0.0.1");
+
+        assertThatThrownBy(() -> throttle.checkAllowed("d", "10.0.0.1")).isInstanceOf(RateLimitExceededException.class);
+        assertThat(throttle.trackedKeys()).isEqualTo(4);
+
+        now.set(now.get().plus(Duration.ofMinutes(2)));
+        throttle.purgeExpiredWindows();
+        assertThat(throttle.trackedKeys()).isZero();
+    }
+}
@@ -0,0 +1,78 @@
+package com.glancy.backend.service.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.glancy.backend.config.PasswordHashingProperties;
+import com.glancy.backend.exception.ServiceDegradedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        hasher.shutdown();
+    }
+
+    /** 验证哈希与校验在专用线程池上完成并记录耗时。 */
+    @Test
+    void encodesAndMatchesOnWorkerPool() {
+        hasher = new PasswordHasher(properties(4, 1, 1, Duration.ofSeconds(5)), meterRegistry);
+
+        String encoded = hasher.encode("pass123");
+
+        assertThat(hasher.matches("pass123", encoded)).isTrue();
+        assertThat(hasher.matches("wrong", encoded)).isFalse();
+        assertThat(meterRegistry.get("glancy.auth.password.hash").tag("operation", "match").timer().count())
+                .isEqualTo(2);
+    }
+
+    /**
+     * 测试目标：线程池与队列占满时立即以 503 拒绝，等待超时的请求同样返回 503。
+     * 前置条件：1 个工作线程、队列容量 1、最长等待 100ms，哈希强度足以让单次哈希远超等待上限。
+     * 步骤：
+     *  1) 第一次请求占用工作线程后等待超时；
+     *  2) 第二次请求进入队列后等待超时；
+     *  3) 第三次请求提交时线程与队列均已占满。
+     * 断言：
+     *  - 三次均抛出 ServiceDegradedException；timeout 计数 2，saturated 计数 1。
+     * 边界/异常：
+     *  - 超时取消的排队任务不会再被执行。
+     */
+    @Test
+    void rejectsFastWhenSaturated() {
+        hasher = new PasswordHasher(properties(13, 1, 1, Duration.ofMillis(100)), meterRegistry);
+
+        assertThatThrownBy(() -> hasher.encode("a")).isInstanceOf(ServiceDegradedException.class);
+        assertThatThrownBy(() -> hasher.encode("b")).isInstanceOf(ServiceDegradedException.class);
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> hasher.encode("c")).isInstanceOf(ServiceDegradedException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(100));
+        assertThat(rejected("timeout")).isEqualTo(2);
+        assertThat(rejected("saturated")).isEqualTo(1);
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry
+                .get("glancy.auth.password.rejected")
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+
+    private static PasswordHashingProperties properties(int strength, int threads, int queue, Duration maxWait) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setStrength(strength);
+        properties.setWorkerThreads(threads);
+        properties.setQueueCapacity(queue);
+        properties.setMaxWait(maxWait);
+        return properties;
+    }
+}
@@ -0,0 +1,136 @@
+package com.glancy.backend.service.word.warmup;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.glancy.backend.dto.WordResponse;
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
+import com.glancy.backend.entity.Word;
+import com.glancy.backend.llm.service.WordSearcher;
+import com.glancy.backend.service.word.WordCacheManager;
+import com.glancy.backend.service.word.warmup.WarmupProgress.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WordCacheWarmupJobTest {
+
+    private static final WarmupTarget TARGET = new WarmupTarget(Language.ENGLISH, DictionaryFlavor.BILINGUAL);
+
+    @TempDir
+    Path checkpointDir;
+
+    private WordCacheManager cacheManager;
+    private WordSearcher wordSearcher;
+    private WarmupCheckpointStore checkpoints;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = mock(WordCacheManager.class);
+        wordSearcher = mock(WordSearcher.class);
+        checkpoints = new WarmupCheckpointStore(checkpointDir);
+        meterRegistry = new SimpleMeterRegistry();
+        when(cacheManager.findCachedWord(anyString(), eq(Language.ENGLISH), eq(DictionaryFlavor.BILINGUAL)))
+                .thenReturn(Optional.empty());
+        when(wordSearcher.search(anyString(), any(), any(), isNull(), isNull()))
+                .thenAnswer(invocation -> new WordResponse());
+    }
+
+    /** 已缓存的词直接跳过，其余词生成后写入缓存，失败的词计数后继续。 */
+    @Test
+    void generatesMissingTermsAndSkipsCachedOnes() {
+        when(cacheManager.findCachedWord(eq("the"), any(), any())).thenReturn(Optional.of(new Word()));
+        when(wordSearcher.search(eq("broken"), any(), any(), isNull(), isNull()))
+                .thenThrow(new IllegalStateException("model down"));
+
+        WordCacheWarmupJob job = job(List.of("the", "of", "broken", "and"));
+        Assertions.assertTrue(job.prepareStart());
+        job.run();
+
+        WarmupProgress progress = job.progress();
+        Assertions.assertEquals(State.COMPLETED, progress.state());
+        Assertions.assertEquals(4, progress.position());
+        Assertions.assertEquals(2, progress.generated());
+        Assertions.assertEquals(1, progress.skipped());
+        Assertions.assertEquals(1, progress.failed());
+        verify(wordSearcher, never()).search(eq("the"), any(), any(), any(), any());
+        verify(cacheManager).saveWord(eq("of"), any(), eq(Language.ENGLISH), eq(DictionaryFlavor.BILINGUAL));
+        Assertions.assertEquals(
+                2.0,
+                meterRegistry
+                        .get("glancy.word.warmup.terms")
+                        .tag("outcome", "generated")
+                        .counter()
+                        .count());
+    }
+
+    /** 模型全部不可用时返回的降级占位不写入缓存，按失败计数。 */
+    @Test
+    void doesNotCacheDegradedEntries() {
+        WordResponse degraded = new WordResponse();
+        degraded.setDegraded(true);
+        when(wordSearcher.search(eq("of"), any(), any(), isNull(), isNull())).thenReturn(degraded);
+
+        WordCacheWarmupJob job = job(List.of("of"));
+        job.prepareStart();
+        job.run();
+
+        Assertions.assertEquals(1, job.progress().failed());
+        Assertions.assertEquals(0, job.progress().generated());
+        verify(cacheManager, never()).saveWord(any(), any(), any(), any());
+    }
+
+    /** 暂停后写入检查点，新的任务实例从检查点继续而不重复生成。 */
+    @Test
+    void resumesFromCheckpointAfterPause() {
+        WordCacheWarmupJob first = job(List.of("a", "b", "c"));
+        first.prepareStart();
+        when(wordSearcher.search(eq("a"), any(), any(), isNull(), isNull())).thenAnswer(invocation -> {
+            first.requestPause();
+            return new WordResponse();
+        });
+        first.run();
+        Assertions.assertEquals(State.PAUSED, first.progress().state());
+        Assertions.assertEquals(1, first.progress().position());
+
+        WordCacheWarmupJob resumed = job(List.of("a", "b", "c"));
+        Assertions.assertEquals(1, resumed.progress().generated());
+        resumed.prepareStart();
+        resumed.run();
+
+        Assertions.assertEquals(State.COMPLETED, resumed.progress().state());
+        Assertions.assertEquals(3, resumed.progress().generated());
+        verify(wordSearcher, times(1)).search(eq("a"), any(), any(), any(), any());
+    }
+
+    private WordCacheWarmupJob job(List<String> terms) {
+        return new WordCacheWarmupJob(
+                TARGET,
+                terms,
+                new WordCacheWarmupJob.Collaborators(
+                        cacheManager,
+                        wordSearcher,
+                        term -> term.trim().toLowerCase(),
+                        new WarmupRateLimiter(60_000),
+                        checkpoints,
+                        null,
+                        2,
+                        meterRegistry.counter("glancy.word.warmup.terms", "outcome", "generated"),
+                        meterRegistry.counter("glancy.word.warmup.terms", "outcome", "skipped"),
+                        meterRegistry.counter("glancy.word.warmup.terms", "outcome", "failed")));
+    }
+}
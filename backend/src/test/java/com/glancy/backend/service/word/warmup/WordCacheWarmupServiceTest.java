@@ -0,0 +1,81 @@
+package com.glancy.backend.service.word.warmup;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.glancy.backend.config.WordWarmupProperties;
+import com.glancy.backend.dto.WordResponse;
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
+import com.glancy.backend.exception.ServiceDegradedException;
+import com.glancy.backend.llm.service.WordSearcher;
+import com.glancy.backend.service.word.WordCacheManager;
+import com.glancy.backend.service.word.warmup.WarmupProgress.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class WordCacheWarmupServiceTest {
+
+    @TempDir
+    Path dataDir;
+
+    private WordCacheWarmupService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path termList = Files.writeString(dataDir.resolve("english.txt"), "the\nof\n");
+        WordWarmupProperties properties = new WordWarmupProperties();
+        properties.setRatePerMinute(60_000);
+        properties.setCheckpointDir(dataDir.resolve("checkpoints").toString());
+        properties.setTermLists(new EnumMap<>(Map.of(
+                Language.ENGLISH, new EnumMap<>(Map.of(DictionaryFlavor.BILINGUAL, termList.toUri().toString())))));
+        WordCacheManager cacheManager = mock(WordCacheManager.class);
+        when(cacheManager.findCachedWord(anyString(), any(), any())).thenReturn(Optional.empty());
+        WordSearcher wordSearcher = mock(WordSearcher.class);
+        when(wordSearcher.search(anyString(), any(), any(), isNull(), isNull()))
+                .thenAnswer(invocation -> new WordResponse());
+        service = new WordCacheWarmupService(
+                properties,
+                cacheManager,
+                wordSearcher,
+                term -> term.trim().toLowerCase(),
+                new DefaultResourceLoader(),
+                new SimpleMeterRegistry());
+    }
+
+    /** 生命周期停止后再次启动会重新创建线程池，之后仍可启动预热任务。 */
+    @Test
+    void restartAfterStopRunsJobs() throws Exception {
+        service.start();
+        service.stop();
+        service.start();
+
+        service.start(Language.ENGLISH, DictionaryFlavor.BILINGUAL);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (service.progress().get(0).state() != State.COMPLETED && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(State.COMPLETED, service.progress().get(0).state());
+        service.stop();
+    }
+
+    /** 服务未运行时拒绝启动任务，而不是把任务提交给已关闭的线程池。 */
+    @Test
+    void refusesJobsWhileStopped() {
+        Assertions.assertThrows(
+                ServiceDegradedException.class, () -> service.start(Language.ENGLISH, DictionaryFlavor.BILINGUAL));
+    }
+}
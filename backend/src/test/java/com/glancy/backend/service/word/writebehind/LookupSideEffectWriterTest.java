@@ -0,0 +1,141 @@
+package com.glancy.backend.service.word.writebehind;
+
+import com.glancy.backend.entity.DictionaryFlavor;
+import com.glancy.backend.entity.Language;
+import com.glancy.backend.entity.SearchRecord;
+import com.glancy.backend.entity.SearchResultVersion;
+import com.glancy.backend.entity.User;
+import com.glancy.backend.repository.SearchRecordRepository;
+import com.glancy.backend.repository.SearchResultVersionRepository;
+import com.glancy.backend.repository.UserRepository;
+import com.glancy.backend.service.SearchResultService;
+import com.glancy.backend.service.search.dto.CreateVersionCommand;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/** Integration tests for {@link LookupSideEffectWriter} against the embedded database. */
+@SpringBootTest
+class LookupSideEffectWriterTest {
+
+    @Autowired
+    private LookupSideEffectWriter writer;
+
+    @Autowired
+    private SearchResultVersionIdAllocator idAllocator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SearchRecordRepository searchRecordRepository;
+
+    @Autowired
+    private SearchResultVersionRepository searchResultVersionRepository;
+
+    @Autowired
+    private SearchResultService searchResultService;
+
+    private User user;
+    private SearchRecord record;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        user = new User();
+        user.setUsername("write-behind");
+        user.setPassword("pwd");
+        user.setEmail("write-behind@example.com");
+        user.setPhone("4242");
+        userRepository.save(user);
+        record = new SearchRecord();
+        record.setUser(user);
+        record.setTerm("Hello ");
+        record.setLanguage(Language.ENGLISH);
+        searchRecordRepository.save(record);
+    }
+
+    /** The writer commits on its own, so rows must not leak into other tests sharing the context. */
+    @AfterEach
+    void cleanUp() {
+        searchResultVersionRepository.deleteAll();
+        searchRecordRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    /** Replaying the same batch inserts each pre-allocated version once and numbers versions per record. */
+    @Test
+    void appliesVersionsIdempotently() {
+        LookupSideEffect first = version(idAllocator.allocate(), "first");
+        LookupSideEffect second = version(idAllocator.allocate(), "second");
+
+        writer.apply(List.of(first, second));
+        writer.apply(List.of(first, second));
+
+        List<SearchResultVersion> versions =
+                searchResultVersionRepository.findBySearchRecordIdAndDeletedFalseOrderByVersionNumberDesc(
+                        record.getId());
+        Assertions.assertEquals(2, versions.size());
+        Assertions.assertEquals(second.versionId(), versions.get(0).getId());
+        Assertions.assertEquals(2, versions.get(0).getVersionNumber());
+        Assertions.assertEquals(1, versions.get(1).getVersionNumber());
+    }
+
+    /** Versions written synchronously and behind share one counter per record, so numbers never repeat. */
+    @Test
+    void continuesNumberingAfterSynchronousVersion() {
+        searchResultService.createVersion(CreateVersionCommand.builder()
+                .recordId(record.getId())
+                .userId(user.getId())
+                .model("doubao")
+                .content("inline")
+                .build());
+
+        writer.apply(List.of(version(idAllocator.allocate(), "deferred")));
+        searchResultService.createVersion(CreateVersionCommand.builder()
+                .recordId(record.getId())
+                .userId(user.getId())
+                .model("doubao")
+                .content("inline again")
+                .build());
+
+        List<Integer> numbers =
+                searchResultVersionRepository
+                        .findBySearchRecordIdAndDeletedFalseOrderByVersionNumberDesc(record.getId())
+                        .stream()
+                        .map(SearchResultVersion::getVersionNumber)
+                        .toList();
+        Assertions.assertEquals(List.of(3, 2, 1), numbers);
+    }
+
+    /** Term synchronization rewrites the record term and ignores records owned by someone else. */
+    @Test
+    void synchronizesTermForOwnerOnly() {
+        writer.apply(List.of(
+                LookupSideEffect.synchronizeTerm(user.getId() + 1, record.getId(), "intruder", LocalDateTime.now()),
+                LookupSideEffect.synchronizeTerm(user.getId(), record.getId(), "hello", LocalDateTime.now())));
+
+        Assertions.assertEquals(
+                "hello",
+                searchRecordRepository.findById(record.getId()).orElseThrow().getTerm());
+    }
+
+    private LookupSideEffect version(Long versionId, String content) {
+        return LookupSideEffect.createVersion(
+                user.getId(),
+                record.getId(),
+                versionId,
+                null,
+                "hello",
+                Language.ENGLISH,
+                DictionaryFlavor.BILINGUAL,
+                "doubao",
+                content,
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,176 @@
+package com.glancy.backend.service.word.writebehind;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.glancy.backend.config.SearchProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+/** Tests for {@link LookupWriteBehindQueue} covering batching, journaling and replay. */
+class LookupWriteBehindQueueTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final List<LookupSideEffect> applied = new CopyOnWriteArrayList<>();
+    private LookupSideEffectWriter writer;
+    private SearchProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        writer = mock(LookupSideEffectWriter.class);
+        doAnswer(invocation -> {
+                    applied.addAll(invocation.getArgument(0));
+                    return null;
+                })
+                .when(writer)
+                .apply(anyList());
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new SearchProperties();
+        properties.getWriteBehind().setEnabled(true);
+        properties.getWriteBehind().setFlushInterval(Duration.ofMillis(10));
+        properties.getWriteBehind().setJournalPath(tempDir.resolve("journal.log").toString());
+    }
+
+    /** Submitted effects are applied off-thread and the journal is truncated once nothing is outstanding. */
+    @Test
+    void drainsSubmittedEffectsAndCompactsJournal() throws Exception {
+        LookupWriteBehindQueue queue = newQueue();
+        queue.start();
+
+        Assertions.assertTrue(queue.submit(effect(1L)));
+        Assertions.assertTrue(queue.submit(effect(2L)));
+        queue.stop();
+
+        Assertions.assertEquals(2, applied.size());
+        Assertions.assertEquals(0, queue.depth());
+        Assertions.assertEquals(0L, Files.size(tempDir.resolve("journal.log")));
+    }
+
+    /** Effects journaled but never acknowledged are replayed when the queue starts again. */
+    @Test
+    void replaysUnacknowledgedEffectsOnStart() {
+        LookupSideEffectJournal journal = LookupSideEffectJournal.open(
+                tempDir.resolve("journal.log"), false, objectMapper);
+        journal.recover();
+        LookupSideEffect pending = effect(7L);
+        journal.append(pending);
+        journal.append(effect(8L));
+        journal.acknowledge(List.of(pending.idempotencyKey()));
+        journal.close();
+
+        LookupWriteBehindQueue queue = newQueue();
+        queue.start();
+        queue.stop();
+
+        Assertions.assertEquals(1, applied.size());
+        Assertions.assertEquals(8L, applied.get(0).versionId());
+    }
+
+    /** Replay happens on the flusher thread, so start returns while recovered effects are still being written. */
+    @Test
+    void startDoesNotWaitForReplay() throws Exception {
+        LookupSideEffectJournal journal = LookupSideEffectJournal.open(
+                tempDir.resolve("journal.log"), false, objectMapper);
+        journal.recover();
+        journal.append(effect(9L));
+        journal.close();
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    applied.addAll(invocation.getArgument(0));
+                    return null;
+                })
+                .when(writer)
+                .apply(anyList());
+
+        LookupWriteBehindQueue queue = newQueue();
+        queue.start();
+
+        Assertions.assertTrue(queue.isRunning());
+        Assertions.assertTrue(applied.isEmpty());
+        release.countDown();
+        queue.stop();
+        Assertions.assertEquals(1, applied.size());
+    }
+
+    /** A batch that keeps failing is moved to the dead-letter file so the journal can be truncated again. */
+    @Test
+    void deadLettersBatchesThatKeepFailing() throws Exception {
+        doThrow(new IllegalStateException("database down")).when(writer).apply(anyList());
+        properties.getWriteBehind().setMaxAttempts(2);
+        LookupWriteBehindQueue queue = newQueue();
+        queue.start();
+
+        Assertions.assertTrue(queue.submit(effect(5L)));
+        queue.stop();
+
+        Assertions.assertEquals(0L, Files.size(tempDir.resolve("journal.log")));
+        List<String> deadLetters = Files.readAllLines(tempDir.resolve("journal.log.dead"));
+        Assertions.assertEquals(1, deadLetters.size());
+        Assertions.assertTrue(deadLetters.get(0).contains("\"versionId\":5"));
+    }
+
+    /** A failing hand-off after commit is dead-lettered instead of surfacing on the already committed caller. */
+    @Test
+    void failedHandOffAfterCommitIsDeadLetteredWithoutThrowing() {
+        doThrow(new IllegalStateException("database down")).when(writer).apply(anyList());
+        properties.getWriteBehind().setJournalPath("");
+        LookupWriteBehindQueue queue = newQueue();
+        queue.start();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            Assertions.assertTrue(queue.submit(effect(6L)));
+            queue.stop();
+
+            Assertions.assertDoesNotThrow(TransactionSynchronizationUtils::triggerAfterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        Assertions.assertEquals(
+                1.0,
+                meterRegistry
+                        .counter("glancy.lookup.write_behind.effects", "outcome", "failed")
+                        .count());
+    }
+
+    /** A disabled queue declines every effect so that callers write synchronously. */
+    @Test
+    void declinesWhenDisabled() {
+        properties.getWriteBehind().setEnabled(false);
+        LookupWriteBehindQueue queue = newQueue();
+        queue.start();
+
+        Assertions.assertFalse(queue.submit(effect(1L)));
+        Assertions.assertTrue(applied.isEmpty());
+    }
+
+    private LookupWriteBehindQueue newQueue() {
+        return new LookupWriteBehindQueue(properties, writer, objectMapper, meterRegistry);
+    }
+
+    private LookupSideEffect effect(Long versionId) {
+        return LookupSideEffect.createVersion(
+                1L, 10L, versionId, 100L, "term", null, null, "doubao", "content", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,140 @@
+package com.glancy.backend.simulator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.glancy.backend.config.SimulatorProperties;
+import com.glancy.backend.llm.completion.CompletionSentinel;
+import com.glancy.backend.simulator.DoubaoChatSimulator.SimulatedCompletion;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DoubaoChatSimulatorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** 相同种子与相同请求序列应得到完全一致的延迟与内容，且同一词条的重试会抽取新的随机数。 */
+    @Test
+    void replaysIdenticalPlansForTheSameSeed() {
+        SimulatorProperties properties = new SimulatorProperties();
+        DoubaoChatSimulator first = simulator(properties);
+        DoubaoChatSimulator second = simulator(properties);
+
+        SimulatedCompletion a1 = first.simulate(request("run", false));
+        SimulatedCompletion a2 = first.simulate(request("run", false));
+        SimulatedCompletion b1 = second.simulate(request("run", false));
+
+        assertThat(b1).isEqualTo(a1);
+        assertThat(a2.firstByte()).isNotEqualTo(a1.firstByte());
+    }
+
+    /** 请求携带哨兵 stop 序列时应剥离 <END>；超出 max_completion_tokens 时截断并返回 length。 */
+    @Test
+    void honoursStopSequenceAndCompletionLimit() {
+        DoubaoChatSimulator simulator = simulator(new SimulatorProperties());
+
+        ObjectNode stopped = request("glow", false);
+        stopped.putArray("stop").add(CompletionSentinel.MARKER);
+        SimulatedCompletion complete = simulator.simulate(stopped);
+        assertThat(complete.content()).doesNotContain(CompletionSentinel.MARKER);
+        assertThat(complete.finishReason()).isEqualTo("stop");
+
+        ObjectNode limited = request("glow", false);
+        limited.put("max_completion_tokens", 50);
+        SimulatedCompletion truncated = simulator.simulate(limited);
+        assertThat(truncated.finishReason()).isEqualTo("length");
+        assertThat(truncated.completionTokens()).isLessThanOrEqualTo(50);
+    }
+
+    /** 流式事件应以 delta 片段拼出完整正文，随后给出 finish_reason、usage 与 [DONE]。 */
+    @Test
+    void streamsChunksFollowedByUsageAndDone() throws Exception {
+        DoubaoChatSimulator simulator = simulator(new SimulatorProperties());
+        ObjectNode body = request("illuminate", true);
+        body.putObject("stream_options").put("include_usage", true);
+        SimulatedCompletion completion = simulator.simulate(body);
+
+        List<String> events = simulator.streamEvents(completion);
+
+        assertThat(events.get(events.size() - 1)).isEqualTo(DoubaoChatSimulator.DONE);
+        JsonNode usage = objectMapper.readTree(events.get(events.size() - 2));
+        assertThat(usage.path("usage").path("completion_tokens").asInt()).isEqualTo(completion.completionTokens());
+        JsonNode finish = objectMapper.readTree(events.get(events.size() - 3));
+        assertThat(finish.path("choices").get(0).path("finish_reason").asText()).isEqualTo("stop");
+        StringBuilder content = new StringBuilder();
+        for (String event : events.subList(0, events.size() - 3)) {
+            content.append(objectMapper.readTree(event).path("choices").get(0).path("delta").path("content").asText());
+        }
+        assertThat(content.toString()).isEqualTo(completion.content());
+    }
+
+    /** 注入截断故障时流只发送一半片段，不包含结束原因与 [DONE]。 */
+    @Test
+    void truncatedStreamsStopWithoutDone() {
+        SimulatorProperties properties = new SimulatorProperties();
+        properties.getDoubao().getFaults().setTruncatedStreamRate(1.0);
+        DoubaoChatSimulator simulator = simulator(properties);
+
+        SimulatedCompletion completion = simulator.simulate(request("run", true));
+        List<String> events = simulator.streamEvents(completion);
+
+        assertThat(completion.fault()).isEqualTo(UpstreamFault.TRUNCATED_STREAM);
+        assertThat(events).isNotEmpty().doesNotContain(DoubaoChatSimulator.DONE);
+        assertThat(events).noneMatch(event -> event.contains("\"finish_reason\":\"stop\""));
+    }
+
+    /** 续写请求携带已生成的前缀时，模拟器应只返回剩余部分。 */
+    @Test
+    void continuationResumesAfterThePartialAnswer() {
+        DoubaoChatSimulator simulator = simulator(new SimulatorProperties());
+        String entry = simulator.simulate(request("run", false)).content();
+        String partial = entry.substring(0, entry.length() / 2);
+
+        ObjectNode body = request("run", false);
+        body.withArray("messages").addObject().put("role", "assistant").put("content", partial);
+        body.withArray("messages").addObject().put("role", "user").put("content", "continue");
+
+        String remainder = simulator.simulate(body).content();
+        assertThat(remainder).isNotEmpty();
+        assertThat(entry).startsWith(partial + remainder.substring(0, Math.min(20, remainder.length())));
+    }
+
+    /** 故障比例为 1 时请求直接返回对应错误状态，延迟取自错误延迟分布。 */
+    @Test
+    void injectsRateLimitFaults() {
+        SimulatorProperties properties = new SimulatorProperties();
+        properties.getDoubao().getFaults().setRateLimitedRate(1.0);
+        properties.getDoubao().getFaults().getErrorLatency().setMedian(Duration.ofMillis(10));
+
+        SimulatedCompletion completion = simulator(properties).simulate(request("run", false));
+
+        assertThat(completion.fault()).isEqualTo(UpstreamFault.RATE_LIMITED);
+        assertThat(completion.fault().status().value()).isEqualTo(429);
+        assertThat(completion.firstByte()).isLessThan(Duration.ofSeconds(1));
+    }
+
+    private DoubaoChatSimulator simulator(SimulatorProperties properties) {
+        return new DoubaoChatSimulator(
+                properties,
+                new SimulationRandom(properties),
+                new SimulatedEntryCatalog(properties),
+                objectMapper,
+                Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC));
+    }
+
+    private ObjectNode request(String term, boolean stream) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("model", "doubao-seed-1-6-flash-250715");
+        body.put("stream", stream);
+        var messages = body.putArray("messages");
+        messages.addObject().put("role", "system").put("content", "你是一个专业的英译中词典助手。");
+        messages.addObject().put("role", "user").put("content", "查询词汇：" + term + "\n条目结构定位：单词");
+        return body;
+    }
+}
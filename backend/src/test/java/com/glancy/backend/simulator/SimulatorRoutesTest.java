@@ -0,0 +1,85 @@
+package com.glancy.backend.simulator;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glancy.backend.config.SimulatorProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class SimulatorRoutesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimulatorProperties properties;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SimulatorProperties();
+        // Long enough that the response is never ready before MockMvc checks that async processing started.
+        properties.getDoubao().setTtft(new SimulatorProperties.Latency(Duration.ofMillis(100), 0));
+        properties.getDoubao().setTokensPerSecond(1_000_000);
+        properties.getTts().setLatency(new SimulatorProperties.Latency(Duration.ofMillis(100), 0));
+        properties.getTts().setRealTimeFactor(0);
+        SimulationRandom randoms = new SimulationRandom(properties);
+        DoubaoChatSimulator doubao = new DoubaoChatSimulator(
+                properties, randoms, new SimulatedEntryCatalog(properties), objectMapper, Clock.systemUTC());
+        VolcengineTtsSimulator tts = new VolcengineTtsSimulator(properties, randoms, objectMapper);
+        mockMvc = MockMvcBuilders.routerFunctions(new SimulatorRoutes().simulatorRouter(doubao, tts))
+                .build();
+    }
+
+    /** 非流式请求经异步延迟后返回 Doubao 兼容的 JSON 结构。 */
+    @Test
+    void chatCompletionReturnsCompatibleJson() throws Exception {
+        String body = "{\"model\":\"m\",\"stream\":false,\"messages\":[{\"role\":\"user\",\"content\":\"查询词汇：run\"}]}";
+
+        MvcResult pending = mockMvc.perform(post(SimulatorRoutes.DOUBAO_CHAT_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.choices[0].message.role").value("assistant"))
+                .andExpect(jsonPath("$.choices[0].finish_reason").value("stop"))
+                .andExpect(jsonPath("$.usage.completion_tokens").isNumber());
+    }
+
+    /** TTS 桩返回的音频大小应与文本时长和码率匹配。 */
+    @Test
+    void ttsReturnsAudioSizedByDurationAndBitrate() throws Exception {
+        String body = "{\"audio\":{\"voice_type\":\"v\",\"encoding\":\"mp3\",\"speed_ratio\":1.0},"
+                + "\"request\":{\"reqid\":\"r1\",\"text\":\"The children ran across the field.\","
+                + "\"operation\":\"query\"}}";
+
+        MvcResult pending = mockMvc.perform(post(SimulatorRoutes.VOLCENGINE_TTS_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(VolcengineTtsSimulator.SUCCESS_CODE))
+                .andReturn();
+
+        var json = objectMapper.readTree(result.getResponse().getContentAsString());
+        long durationMs = Long.parseLong(json.path("addition").path("duration").asText());
+        byte[] audio = Base64.getDecoder().decode(json.path("data").asText());
+        Assertions.assertThat(durationMs).isEqualTo(34 * 75);
+        Assertions.assertThat(audio).hasSize((int) (durationMs * properties.getTts().getBitrateKbps() / 8));
+    }
+}
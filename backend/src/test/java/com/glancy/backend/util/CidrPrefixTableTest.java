@@ -0,0 +1,119 @@
+package com.glancy.backend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** Tests for {@link CidrPrefixTable} and the literal parsing it relies on in {@link IpAddressLiterals}. */
+class CidrPrefixTableTest {
+
+    /** 更具体的网段优先于更宽的网段，与规则声明顺序无关。 */
+    @Test
+    void mostSpecificBlockWinsRegardlessOfOrder() {
+        CidrPrefixTable<String> table = CidrPrefixTable.<String>builder()
+                .add("10.0.0.0/8", "wide")
+                .add("10.1.2.0/24", "narrow")
+                .add("10.1.0.0/16", "middle")
+                .build();
+
+        assertEquals("narrow", table.lookup("10.1.2.200"));
+        assertEquals("middle", table.lookup("10.1.3.1"));
+        assertEquals("wide", table.lookup("10.200.0.1"));
+        assertNull(table.lookup("11.0.0.1"));
+    }
+
+    /** 重复网段保留首个值，默认路由 /0 兜底所有 IPv4 地址但不影响 IPv6。 */
+    @Test
+    void duplicateBlockKeepsFirstValueAndDefaultRouteCoversFamily() {
+        CidrPrefixTable<String> table = CidrPrefixTable.<String>builder()
+                .add("0.0.0.0/0", "any-v4")
+                .add("192.0.2.0/24", "first")
+                .add("192.0.2.77/24", "second")
+                .build();
+
+        assertEquals("first", table.lookup("192.0.2.1"));
+        assertEquals("any-v4", table.lookup("8.8.8.8"));
+        assertNull(table.lookup("2001:db8::1"));
+        assertEquals(2, table.size());
+    }
+
+    /** IPv6 规则支持压缩写法、跨 64 位边界的前缀以及内嵌 IPv4 尾部。 */
+    @Test
+    void ipv6BlocksMatchAcrossTheSixtyFourBitBoundary() {
+        CidrPrefixTable<String> table = CidrPrefixTable.<String>builder()
+                .add("2001:200::/23", "jp")
+                .add("2001:db8:0:0:8000::/65", "upper-half")
+                .add("64:ff9b::/96", "nat64")
+                .build();
+
+        assertEquals("jp", table.lookup("2001:200:1::8"));
+        assertEquals("jp", table.lookup("[2001:3ff:ffff::1]"));
+        assertNull(table.lookup("2001:400::1"));
+        assertEquals("upper-half", table.lookup("2001:db8::8000:0:0:1"));
+        assertNull(table.lookup("2001:db8::7fff:0:0:1"));
+        assertEquals("nat64", table.lookup("64:ff9b::192.0.2.1"));
+    }
+
+    /** IPv4 映射的 IPv6 地址与 IPv4 规则互通，规则也可用映射写法声明。 */
+    @Test
+    void ipv4MappedAddressesShareTheIpv4Table() {
+        CidrPrefixTable<String> table = CidrPrefixTable.<String>builder()
+                .add("36.0.0.0/4", "cn")
+                .add("::ffff:3.0.0.0/104", "us")
+                .build();
+
+        assertEquals("cn", table.lookup("::ffff:36.112.10.4"));
+        assertEquals("cn", table.lookup("0:0:0:0:0:ffff:2470:a04"));
+        assertEquals("us", table.lookup("3.120.4.9"));
+        assertNull(table.lookup("::3.120.4.9"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "",
+                "localhost",
+                "example.com",
+                "1.2.3",
+                "1.2.3.4.5",
+                "256.1.1.1",
+                "01.2.3.4",
+                "1.2.3.4:8080",
+                "1:2:3:4:5:6:7",
+                "1:2:3:4:5:6:7:8:9",
+                "1::2::3",
+                ":1:2:3:4:5:6:7",
+                "1:2:3:4:5:6:7:",
+                "12345::1",
+                "::1.2.3",
+                "1:2:3:4:5:6:7:1.2.3.4",
+                "１.2.3.4"
+            })
+    void malformedAddressesMissWithoutThrowing(String address) {
+        CidrPrefixTable<String> table =
+                CidrPrefixTable.<String>builder().add("0.0.0.0/0", "v4").add("::/0", "v6").build();
+
+        assertNull(table.lookup(address));
+        assertFalse(IpAddressLiterals.isLiteral(address));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"::", "::1", "1::", " 10.0.0.1 ", "fe80::1%eth0", "1:2:3:4:5:6:7:8", "::ffff:1.2.3.4"})
+    void wellFormedAddressesAreLiterals(String address) {
+        assertTrue(IpAddressLiterals.isLiteral(address));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"10.0.0.0", "10.0.0.0/33", "10.0.0.0/x", "host/8", "2001:db8::/129", "::ffff:1.2.3.0/90"})
+    void invalidBlocksAreRejected(String cidr) {
+        CidrPrefixTable.Builder<String> builder = CidrPrefixTable.builder();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.add(cidr, "value"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.glancy.backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ExpiringLruCacheTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private final ExpiringLruCache<Long, String> cache = new ExpiringLruCache<>(2, Duration.ofMinutes(10), clock);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    /** 加载期间发生失效时，加载结果照常返回但不写入缓存，下次读取重新加载。 */
+    @Test
+    void loadOverlappingInvalidationIsNotCached() {
+        String loaded = cache.get(1L, key -> {
+            loads.incrementAndGet();
+            cache.invalidate(2L);
+            return "stale";
+        });
+
+        assertThat(loaded).isEqualTo("stale");
+        assertThat(cache.getIfPresent(1L)).isNull();
+        assertThat(cache.get(1L, this::load)).isEqualTo("value-1");
+        assertThat(cache.get(1L, this::load)).isEqualTo("value-1");
+        assertThat(loads).hasValue(2);
+    }
+
+    /** 不满足 usable 的缓存值视为未命中；replace 直接覆盖条目。 */
+    @Test
+    void unusableValueIsReloadedAndReplaceOverwrites() {
+        cache.get(1L, this::load);
+
+        assertThat(cache.get(1L, value -> value.startsWith("fresh"), key -> "fresh-" + key))
+                .isEqualTo("fresh-1");
+        cache.replace(1L, "replaced");
+
+        assertThat(cache.get(1L, this::load)).isEqualTo("replaced");
+        assertThat(loads).hasValue(1);
+    }
+
+    /** 没有事务时 getAfterCommit 立即缓存加载结果，而 null 结果从不缓存。 */
+    @Test
+    void getAfterCommitCachesNonNullValuesOnly() {
+        assertThat(cache.getAfterCommit(1L, key -> null)).isNull();
+        assertThat(cache.size()).isZero();
+
+        cache.getAfterCommit(2L, this::load);
+
+        assertThat(cache.getIfPresent(2L)).isEqualTo("value-2");
+    }
+
+    private String load(Long key) {
+        loads.incrementAndGet();
+        return "value-" + key;
+    }
+}